@@ -52,6 +52,12 @@ public class KubernetesClientAutoConfiguration {
 		return new CoreV1Api(apiClient);
 	}
 
+	@Bean
+	@ConditionalOnMissingBean
+	public KubernetesInformerRegistry kubernetesInformerRegistry(ApiClient apiClient) {
+		return new KubernetesInformerRegistry(apiClient);
+	}
+
 	@Bean
 	@ConditionalOnMissingBean
 	public KubernetesNamespaceProvider kubernetesNamespaceProvider(Environment environment) {
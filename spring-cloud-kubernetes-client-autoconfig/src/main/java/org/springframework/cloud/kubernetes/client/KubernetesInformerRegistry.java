@@ -0,0 +1,253 @@
+/*
+ * Copyright 2013-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.kubernetes.client;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Supplier;
+
+import io.kubernetes.client.common.KubernetesListObject;
+import io.kubernetes.client.common.KubernetesObject;
+import io.kubernetes.client.informer.ResourceEventHandler;
+import io.kubernetes.client.informer.SharedIndexInformer;
+import io.kubernetes.client.informer.SharedInformerFactory;
+import io.kubernetes.client.openapi.ApiClient;
+import io.kubernetes.client.util.CallGenerator;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import org.springframework.beans.factory.DisposableBean;
+
+/**
+ * Hands out shared informers, so that the objects of a type, namespace and label selector
+ * are listed and watched once per application, however many components need them. An
+ * informer is started when it is first acquired, and stopped once every component that
+ * acquired it released it.
+ *
+ * Event handlers cannot be removed from an informer, so each informer gets a single
+ * handler that dispatches the events to the handlers of the open registrations. Closing
+ * a registration removes its handlers, they do not pile up on the informer.
+ */
+public class KubernetesInformerRegistry implements DisposableBean {
+
+	private static final Log LOG = LogFactory.getLog(KubernetesInformerRegistry.class);
+
+	private final Supplier<SharedInformerFactory> factories;
+
+	private final Map<Key, Entry<?>> entries = new HashMap<>();
+
+	/**
+	 * Creates a registry whose informers use the default {@link ApiClient}.
+	 */
+	public KubernetesInformerRegistry() {
+		this(SharedInformerFactory::new);
+	}
+
+	public KubernetesInformerRegistry(ApiClient apiClient) {
+		this(() -> new SharedInformerFactory(apiClient));
+	}
+
+	KubernetesInformerRegistry(Supplier<SharedInformerFactory> factories) {
+		this.factories = factories;
+	}
+
+	/**
+	 * Acquires the informer of a type of objects, starting it if no other component
+	 * acquired it yet. The registration must be closed once the informer is no longer
+	 * needed.
+	 * @param apiType type of the objects
+	 * @param apiListType type of the lists of objects
+	 * @param namespace namespace of the objects
+	 * @param labelSelector label selector of the objects, may be {@code null}
+	 * @param callGenerator lists and watches the objects of that namespace matching that
+	 * label selector, only used when the informer is created
+	 * @param <T> type of the objects
+	 * @param <L> type of the lists of objects
+	 * @return the registration of the informer
+	 */
+	@SuppressWarnings("unchecked")
+	public synchronized <T extends KubernetesObject, L extends KubernetesListObject> Registration<T> acquire(
+			Class<T> apiType, Class<L> apiListType, String namespace, String labelSelector,
+			CallGenerator callGenerator) {
+		Key key = new Key(apiType, namespace, labelSelector);
+		Entry<T> entry = (Entry<T>) this.entries.get(key);
+		if (entry == null) {
+			// an informer factory holds a single informer per type
+			SharedInformerFactory factory = this.factories.get();
+			SharedIndexInformer<T> informer = factory.sharedIndexInformerFor(callGenerator, apiType, apiListType);
+			factory.startAllRegisteredInformers();
+			entry = new Entry<>(factory, informer);
+			this.entries.put(key, entry);
+			LOG.debug("Started the informer of " + key);
+		}
+		entry.references++;
+		return new Registration<>(this, key, entry);
+	}
+
+	private synchronized void release(Key key) {
+		Entry<?> entry = this.entries.get(key);
+		if (entry != null && --entry.references == 0) {
+			this.entries.remove(key);
+			entry.factory.stopAllRegisteredInformers();
+			LOG.debug("Stopped the informer of " + key);
+		}
+	}
+
+	synchronized int size() {
+		return this.entries.size();
+	}
+
+	@Override
+	public synchronized void destroy() {
+		List<Entry<?>> entries = new ArrayList<>(this.entries.values());
+		this.entries.clear();
+		entries.forEach(entry -> entry.factory.stopAllRegisteredInformers());
+	}
+
+	/**
+	 * An informer acquired from the registry.
+	 *
+	 * @param <T> type of the objects
+	 */
+	public static final class Registration<T extends KubernetesObject> implements AutoCloseable {
+
+		private final KubernetesInformerRegistry registry;
+
+		private final Key key;
+
+		private final Entry<T> entry;
+
+		private final List<ResourceEventHandler<T>> handlers = new ArrayList<>();
+
+		private boolean closed;
+
+		private Registration(KubernetesInformerRegistry registry, Key key, Entry<T> entry) {
+			this.registry = registry;
+			this.key = key;
+			this.entry = entry;
+		}
+
+		/**
+		 * @return the informer, shared with the other components that acquired it
+		 */
+		public SharedIndexInformer<T> getInformer() {
+			return this.entry.informer;
+		}
+
+		/**
+		 * Adds an event handler to the informer. The handler is no longer called once the
+		 * registration is closed, even though the informer keeps running for the other
+		 * components.
+		 * @param handler the event handler
+		 */
+		public synchronized void addEventHandler(ResourceEventHandler<T> handler) {
+			if (!this.closed) {
+				this.handlers.add(handler);
+				this.entry.handlers.add(handler);
+			}
+		}
+
+		@Override
+		public synchronized void close() {
+			if (!this.closed) {
+				this.closed = true;
+				this.handlers.forEach(this.entry.handlers::remove);
+				this.handlers.clear();
+				this.registry.release(this.key);
+			}
+		}
+
+	}
+
+	private static final class Entry<T extends KubernetesObject> {
+
+		private final SharedInformerFactory factory;
+
+		private final SharedIndexInformer<T> informer;
+
+		private final List<ResourceEventHandler<T>> handlers = new CopyOnWriteArrayList<>();
+
+		private int references;
+
+		private Entry(SharedInformerFactory factory, SharedIndexInformer<T> informer) {
+			this.factory = factory;
+			this.informer = informer;
+			informer.addEventHandler(new ResourceEventHandler<T>() {
+				@Override
+				public void onAdd(T obj) {
+					handlers.forEach(handler -> handler.onAdd(obj));
+				}
+
+				@Override
+				public void onUpdate(T oldObj, T newObj) {
+					handlers.forEach(handler -> handler.onUpdate(oldObj, newObj));
+				}
+
+				@Override
+				public void onDelete(T obj, boolean deletedFinalStateUnknown) {
+					handlers.forEach(handler -> handler.onDelete(obj, deletedFinalStateUnknown));
+				}
+			});
+		}
+
+	}
+
+	private static final class Key {
+
+		private final Class<?> apiType;
+
+		private final String namespace;
+
+		private final String labelSelector;
+
+		private Key(Class<?> apiType, String namespace, String labelSelector) {
+			this.apiType = apiType;
+			this.namespace = namespace;
+			this.labelSelector = labelSelector;
+		}
+
+		@Override
+		public boolean equals(Object o) {
+			if (this == o) {
+				return true;
+			}
+			if (o == null || getClass() != o.getClass()) {
+				return false;
+			}
+			Key key = (Key) o;
+			return this.apiType.equals(key.apiType) && Objects.equals(this.namespace, key.namespace)
+					&& Objects.equals(this.labelSelector, key.labelSelector);
+		}
+
+		@Override
+		public int hashCode() {
+			return Objects.hash(this.apiType, this.namespace, this.labelSelector);
+		}
+
+		@Override
+		public String toString() {
+			return this.apiType.getSimpleName() + " in namespace " + this.namespace
+					+ (this.labelSelector == null ? "" : " with labels " + this.labelSelector);
+		}
+
+	}
+
+}
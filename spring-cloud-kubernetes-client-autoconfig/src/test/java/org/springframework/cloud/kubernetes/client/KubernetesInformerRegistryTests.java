@@ -0,0 +1,144 @@
+/*
+ * Copyright 2013-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.kubernetes.client;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import io.kubernetes.client.informer.ResourceEventHandler;
+import io.kubernetes.client.informer.SharedIndexInformer;
+import io.kubernetes.client.informer.SharedInformerFactory;
+import io.kubernetes.client.openapi.models.V1ConfigMap;
+import io.kubernetes.client.openapi.models.V1ConfigMapList;
+import io.kubernetes.client.openapi.models.V1Secret;
+import io.kubernetes.client.openapi.models.V1SecretList;
+import io.kubernetes.client.util.CallGenerator;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class KubernetesInformerRegistryTests {
+
+	private final List<SharedInformerFactory> factories = new ArrayList<>();
+
+	private final KubernetesInformerRegistry registry = new KubernetesInformerRegistry(() -> {
+		SharedInformerFactory factory = mock(SharedInformerFactory.class);
+		when(factory.sharedIndexInformerFor(any(CallGenerator.class), any(), any()))
+				.thenAnswer(invocation -> mock(SharedIndexInformer.class));
+		factories.add(factory);
+		return factory;
+	});
+
+	private final CallGenerator callGenerator = mock(CallGenerator.class);
+
+	@Test
+	void sharesInformersOfTheSameTypeNamespaceAndSelector() {
+		KubernetesInformerRegistry.Registration<V1ConfigMap> first = registry.acquire(V1ConfigMap.class,
+				V1ConfigMapList.class, "default", null, callGenerator);
+		KubernetesInformerRegistry.Registration<V1ConfigMap> second = registry.acquire(V1ConfigMap.class,
+				V1ConfigMapList.class, "default", null, callGenerator);
+
+		assertThat(second.getInformer()).isSameAs(first.getInformer());
+		assertThat(factories).hasSize(1);
+		verify(factories.get(0)).startAllRegisteredInformers();
+	}
+
+	@Test
+	void separatesInformersOfDifferentTypesNamespacesAndSelectors() {
+		registry.acquire(V1ConfigMap.class, V1ConfigMapList.class, "default", null, callGenerator);
+		registry.acquire(V1Secret.class, V1SecretList.class, "default", null, callGenerator);
+		registry.acquire(V1ConfigMap.class, V1ConfigMapList.class, "other", null, callGenerator);
+		registry.acquire(V1ConfigMap.class, V1ConfigMapList.class, "default", "app=shop", callGenerator);
+
+		assertThat(registry.size()).isEqualTo(4);
+		verify(factories.get(1)).sharedIndexInformerFor(eq(callGenerator), eq(V1Secret.class),
+				eq(V1SecretList.class));
+	}
+
+	@Test
+	void stopsInformersOnceEveryRegistrationIsClosed() {
+		KubernetesInformerRegistry.Registration<V1ConfigMap> first = registry.acquire(V1ConfigMap.class,
+				V1ConfigMapList.class, "default", null, callGenerator);
+		KubernetesInformerRegistry.Registration<V1ConfigMap> second = registry.acquire(V1ConfigMap.class,
+				V1ConfigMapList.class, "default", null, callGenerator);
+
+		first.close();
+		first.close();
+		verify(factories.get(0), never()).stopAllRegisteredInformers();
+
+		second.close();
+		verify(factories.get(0)).stopAllRegisteredInformers();
+		assertThat(registry.size()).isZero();
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	void mutesTheHandlersOfClosedRegistrations() {
+		KubernetesInformerRegistry.Registration<V1ConfigMap> registration = registry.acquire(V1ConfigMap.class,
+				V1ConfigMapList.class, "default", null, callGenerator);
+		registry.acquire(V1ConfigMap.class, V1ConfigMapList.class, "default", null, callGenerator);
+		ResourceEventHandler<V1ConfigMap> handler = mock(ResourceEventHandler.class);
+		registration.addEventHandler(handler);
+		ArgumentCaptor<ResourceEventHandler<V1ConfigMap>> registered = ArgumentCaptor
+				.forClass(ResourceEventHandler.class);
+		verify(registration.getInformer()).addEventHandler(registered.capture());
+
+		V1ConfigMap configMap = new V1ConfigMap();
+		registered.getValue().onAdd(configMap);
+		registration.close();
+		registered.getValue().onUpdate(configMap, configMap);
+
+		verify(handler).onAdd(configMap);
+		verify(handler, never()).onUpdate(any(), any());
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	void dropsTheHandlersOfClosedRegistrations() {
+		KubernetesInformerRegistry.Registration<V1ConfigMap> live = registry.acquire(V1ConfigMap.class,
+				V1ConfigMapList.class, "default", null, callGenerator);
+		ResourceEventHandler<V1ConfigMap> liveHandler = mock(ResourceEventHandler.class);
+		live.addEventHandler(liveHandler);
+		List<ResourceEventHandler<V1ConfigMap>> closedHandlers = new ArrayList<>();
+		for (int i = 0; i < 3; i++) {
+			KubernetesInformerRegistry.Registration<V1ConfigMap> registration = registry.acquire(V1ConfigMap.class,
+					V1ConfigMapList.class, "default", null, callGenerator);
+			ResourceEventHandler<V1ConfigMap> handler = mock(ResourceEventHandler.class);
+			registration.addEventHandler(handler);
+			registration.close();
+			closedHandlers.add(handler);
+		}
+		ArgumentCaptor<ResourceEventHandler<V1ConfigMap>> registered = ArgumentCaptor
+				.forClass(ResourceEventHandler.class);
+		verify(live.getInformer()).addEventHandler(registered.capture());
+
+		V1ConfigMap configMap = new V1ConfigMap();
+		registered.getValue().onDelete(configMap, false);
+
+		verify(liveHandler).onDelete(configMap, false);
+		closedHandlers.forEach(handler -> verify(handler, never()).onDelete(any(), anyBoolean()));
+	}
+
+}
@@ -18,18 +18,27 @@ package org.springframework.cloud.kubernetes.client.config;
 
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
 
 import io.kubernetes.client.openapi.ApiException;
 import io.kubernetes.client.openapi.apis.CoreV1Api;
+import io.kubernetes.client.openapi.models.V1ConfigMap;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 
 import org.springframework.cloud.kubernetes.commons.config.ConfigMapPropertySource;
+import org.springframework.cloud.kubernetes.commons.config.ConfigUtils;
+import org.springframework.cloud.kubernetes.commons.config.ResourceVersionedPropertySource;
 import org.springframework.core.env.Environment;
 
+import static org.springframework.cloud.kubernetes.client.config.KubernetesClientConfigUtils.resourceVersion;
+
 /**
  * @author Ryan Baxter
  */
@@ -39,11 +48,80 @@ public class KubernetesClientConfigMapPropertySource extends ConfigMapPropertySo
 
 	public KubernetesClientConfigMapPropertySource(CoreV1Api coreV1Api, String name, String namespace,
 			Environment environment) {
-		super(getName(name, namespace), getData(coreV1Api, name, namespace, environment));
+		this(coreV1Api, name, namespace, environment, new HashMap<>());
+	}
+
+	// getData records the resourceVersions of the config maps while reading them
+	private KubernetesClientConfigMapPropertySource(CoreV1Api coreV1Api, String name, String namespace,
+			Environment environment, Map<String, String> resourceVersions) {
+		super(getName(name, namespace), getData(coreV1Api, name, namespace, environment, resourceVersions),
+				resourceVersions);
+	}
+
+	// used to restore snapshots
+	KubernetesClientConfigMapPropertySource(String name, Map<String, Object> source) {
+		super(name, source);
+	}
+
+	/**
+	 * Reads the config maps selected by several sets of labels with a single list
+	 * request, or with one list request per set of labels when they have no label in
+	 * common. The config maps selected by each set of labels are merged in the order of
+	 * their names.
+	 * @param coreV1Api the Kubernetes API
+	 * @param selectors labels of each property source
+	 * @param namespace namespace of the config maps
+	 * @param environment environment the property sources are read for
+	 * @return the property source of each set of labels, in the same order
+	 */
+	static List<KubernetesClientConfigMapPropertySource> selectedByLabels(CoreV1Api coreV1Api,
+			List<Map<String, String>> selectors, String namespace, Environment environment) {
+		List<V1ConfigMap> configMaps;
+		try {
+			configMaps = listByLabels(coreV1Api, selectors, namespace);
+		}
+		catch (ApiException e) {
+			LOG.warn("Unable to get ConfigMaps with labels " + selectors + " in namespace " + namespace, e);
+			configMaps = Collections.emptyList();
+		}
+
+		List<KubernetesClientConfigMapPropertySource> propertySources = new ArrayList<>(selectors.size());
+		for (Map<String, String> selector : selectors) {
+			Map<String, Object> result = new LinkedHashMap<>();
+			configMaps.stream().filter(map -> ConfigUtils.matchesLabels(map.getMetadata().getLabels(), selector))
+					.forEach(map -> result.putAll(processAllEntries(map.getData(), map.getBinaryData(), environment)));
+			// the set of config maps matching the labels can change without any of the
+			// config maps read here changing, so no resourceVersions are recorded
+			propertySources.add(new KubernetesClientConfigMapPropertySource(getName(selector, namespace), result));
+		}
+		return propertySources;
+	}
+
+	// the config maps matching any of the selectors, sorted by name
+	private static List<V1ConfigMap> listByLabels(CoreV1Api coreV1Api, List<Map<String, String>> selectors,
+			String namespace) throws ApiException {
+		// list request filtered by the labels all the selectors have in common, the
+		// config maps matching each selector are told apart here
+		Map<String, Set<String>> commonLabels = ConfigUtils.commonLabelValues(selectors);
+		// rather than listing the whole namespace when they have none, one list request
+		// per selector, a config map matching several of them is kept once
+		Set<String> labelSelectors = new LinkedHashSet<>();
+		if (commonLabels.isEmpty()) {
+			selectors.forEach(selector -> labelSelectors.add(ConfigUtils.labelSelector(selector)));
+		}
+		else {
+			labelSelectors.add(KubernetesClientConfigUtils.labelSelector(commonLabels));
+		}
+		Map<String, V1ConfigMap> byName = new TreeMap<>();
+		for (String labelSelector : labelSelectors) {
+			coreV1Api.listNamespacedConfigMap(namespace, null, null, null, null, labelSelector, null, null, null,
+					null, null).getItems().forEach(map -> byName.put(map.getMetadata().getName(), map));
+		}
+		return new ArrayList<>(byName.values());
 	}
 
 	private static Map<String, Object> getData(CoreV1Api coreV1Api, String name, String namespace,
-			Environment environment) {
+			Environment environment, Map<String, String> resourceVersions) {
 
 		try {
 			List<String> names = new ArrayList<>();
@@ -54,13 +132,22 @@ public class KubernetesClientConfigMapPropertySource extends ConfigMapPropertySo
 				}
 			}
 			Map<String, Object> result = new LinkedHashMap<>();
-			coreV1Api.listNamespacedConfigMap(namespace, null, null, null, null, null, null, null, null, null, null)
-					.getItems().stream().filter(cm -> names.contains(cm.getMetadata().getName()))
-					.forEach(map -> result.putAll(processAllEntries(map.getData(), environment)));
+			// select by name on the server, instead of listing every ConfigMap in the
+			// namespace and filtering here
+			for (String configMapName : names) {
+				String fieldSelector = KubernetesClientConfigUtils.nameSelector(configMapName);
+				List<V1ConfigMap> configMaps = coreV1Api.listNamespacedConfigMap(namespace, null, null, null,
+						fieldSelector, null, null, null, null, null, null).getItems();
+				resourceVersions.put(ResourceVersionedPropertySource.key(namespace, configMapName),
+						resourceVersion(configMaps));
+				configMaps.forEach(
+						map -> result.putAll(processAllEntries(map.getData(), map.getBinaryData(), environment)));
+			}
 
 			return result;
 		}
 		catch (ApiException e) {
+			resourceVersions.clear();
 			LOG.warn("Unable to get ConfigMap " + name + " in namespace " + namespace, e);
 		}
 		return Collections.emptyMap();
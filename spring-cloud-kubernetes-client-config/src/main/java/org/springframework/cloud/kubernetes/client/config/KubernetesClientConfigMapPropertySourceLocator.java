@@ -16,21 +16,34 @@
 
 package org.springframework.cloud.kubernetes.client.config;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import io.kubernetes.client.openapi.ApiException;
 import io.kubernetes.client.openapi.apis.CoreV1Api;
 
 import org.springframework.cloud.kubernetes.commons.KubernetesClientProperties;
 import org.springframework.cloud.kubernetes.commons.KubernetesNamespaceProvider;
 import org.springframework.cloud.kubernetes.commons.config.ConfigMapConfigProperties;
 import org.springframework.cloud.kubernetes.commons.config.ConfigMapPropertySourceLocator;
+import org.springframework.cloud.kubernetes.commons.config.ResourceVersionReader;
+import org.springframework.cloud.kubernetes.commons.config.ResourceVersionedPropertySource;
 import org.springframework.core.env.ConfigurableEnvironment;
 import org.springframework.core.env.MapPropertySource;
 
 import static org.springframework.cloud.kubernetes.client.config.KubernetesClientConfigUtils.getNamespace;
+import static org.springframework.cloud.kubernetes.client.config.KubernetesClientConfigUtils.nameSelector;
+import static org.springframework.cloud.kubernetes.client.config.KubernetesClientConfigUtils.resourceVersion;
 
 /**
  * @author Ryan Baxter
  */
-public class KubernetesClientConfigMapPropertySourceLocator extends ConfigMapPropertySourceLocator {
+public class KubernetesClientConfigMapPropertySourceLocator extends ConfigMapPropertySourceLocator
+		implements ResourceVersionReader {
 
 	private CoreV1Api coreV1Api;
 
@@ -56,10 +69,46 @@ public class KubernetesClientConfigMapPropertySourceLocator extends ConfigMapPro
 	protected MapPropertySource getMapPropertySource(String name,
 			ConfigMapConfigProperties.NormalizedSource normalizedSource, String configurationTarget,
 			ConfigurableEnvironment environment) {
-		String fallbackNamespace = kubernetesNamespaceProvider != null ? kubernetesNamespaceProvider.getNamespace()
-				: kubernetesClientProperties.getNamespace();
 		return new KubernetesClientConfigMapPropertySource(coreV1Api, name,
-				getNamespace(normalizedSource, fallbackNamespace), environment);
+				getNamespace(normalizedSource, fallbackNamespace()), environment);
+	}
+
+	@Override
+	protected List<MapPropertySource> getMapPropertySources(
+			List<ConfigMapConfigProperties.NormalizedSource> normalizedSources, String configurationTarget,
+			ConfigurableEnvironment environment) {
+		String namespace = getNamespace(normalizedSources.get(0), fallbackNamespace());
+		List<Map<String, String>> selectors = normalizedSources.stream()
+				.map(ConfigMapConfigProperties.NormalizedSource::getLabels).collect(Collectors.toList());
+		return new ArrayList<>(
+				KubernetesClientConfigMapPropertySource.selectedByLabels(coreV1Api, selectors, namespace, environment));
+	}
+
+	private String fallbackNamespace() {
+		return kubernetesNamespaceProvider != null ? kubernetesNamespaceProvider.getNamespace()
+				: kubernetesClientProperties.getNamespace();
+	}
+
+	@Override
+	protected MapPropertySource restoreMapPropertySource(String name, Map<String, Object> source) {
+		return new KubernetesClientConfigMapPropertySource(name, source);
+	}
+
+	@Override
+	public Map<String, String> readResourceVersions(Collection<String> keys) {
+		Map<String, String> resourceVersions = new LinkedHashMap<>();
+		try {
+			for (String key : keys) {
+				String namespace = ResourceVersionedPropertySource.namespace(key);
+				String fieldSelector = nameSelector(ResourceVersionedPropertySource.name(key));
+				resourceVersions.put(key, resourceVersion(coreV1Api.listNamespacedConfigMap(namespace, null, null,
+						null, fieldSelector, null, null, null, null, null, null).getItems()));
+			}
+		}
+		catch (ApiException e) {
+			throw new IllegalStateException("Unable to read the resourceVersion of config maps " + keys, e);
+		}
+		return resourceVersions;
 	}
 
 }
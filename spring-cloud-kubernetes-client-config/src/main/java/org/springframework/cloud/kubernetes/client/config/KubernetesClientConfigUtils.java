@@ -16,9 +16,19 @@
 
 package org.springframework.cloud.kubernetes.client.config;
 
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import io.kubernetes.client.common.KubernetesObject;
+import io.kubernetes.client.openapi.ApiException;
+
 import org.springframework.cloud.kubernetes.commons.KubernetesClientProperties;
 import org.springframework.cloud.kubernetes.commons.config.ConfigMapConfigProperties;
+import org.springframework.cloud.kubernetes.commons.config.ResourceVersionedPropertySource;
 import org.springframework.cloud.kubernetes.commons.config.SecretsConfigProperties;
+import org.springframework.cloud.kubernetes.commons.config.reload.ConfigurationPollingCycle;
 import org.springframework.util.StringUtils;
 
 /**
@@ -71,4 +81,56 @@ public final class KubernetesClientConfigUtils {
 		}
 	}
 
+	/**
+	 * Field selector matching a single resource by name, used to list only that resource
+	 * instead of every resource in the namespace.
+	 * @param name name of the resource
+	 * @return the field selector
+	 */
+	public static String nameSelector(String name) {
+		return "metadata.name=" + name;
+	}
+
+	/**
+	 * Label selector matching the resources that have the given labels, with a set based
+	 * requirement for the labels that can have several values.
+	 * @param labels values each label can have
+	 * @return the label selector, {@code null} when there are no labels
+	 */
+	public static String labelSelector(Map<String, Set<String>> labels) {
+		if (labels.isEmpty()) {
+			return null;
+		}
+		return labels.entrySet().stream()
+				.map(e -> e.getValue().size() == 1 ? e.getKey() + "=" + e.getValue().iterator().next()
+						: e.getKey() + " in (" + String.join(",", e.getValue()) + ")")
+				.collect(Collectors.joining(","));
+	}
+
+	/**
+	 * @param resources result of listing a single resource by name
+	 * @return the resourceVersion of the resource, or
+	 * {@link ResourceVersionedPropertySource#ABSENT} if it does not exist
+	 */
+	static String resourceVersion(List<? extends KubernetesObject> resources) {
+		if (resources.isEmpty()) {
+			return ResourceVersionedPropertySource.ABSENT;
+		}
+		KubernetesObject resource = resources.get(0);
+		return resource.getMetadata() == null ? null : resource.getMetadata().getResourceVersion();
+	}
+
+	/**
+	 * @param failure failure of a request to the Kubernetes API
+	 * @return {@code true} if the API server answered with 429 or 5xx
+	 */
+	public static boolean isThrottled(Throwable failure) {
+		for (Throwable cause = failure; cause != null; cause = cause.getCause()) {
+			if (cause instanceof ApiException) {
+				return ConfigurationPollingCycle.isThrottled(((ApiException) cause).getCode());
+			}
+		}
+		return false;
+	}
+
 }
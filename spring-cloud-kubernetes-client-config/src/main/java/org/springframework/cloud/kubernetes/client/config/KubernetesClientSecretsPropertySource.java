@@ -16,20 +16,23 @@
 
 package org.springframework.cloud.kubernetes.client.config;
 
-import java.util.Base64;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
-import java.util.Optional;
 
 import io.kubernetes.client.openapi.apis.CoreV1Api;
 import io.kubernetes.client.openapi.models.V1Secret;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 
+import org.springframework.cloud.kubernetes.commons.config.LazySecretData;
+import org.springframework.cloud.kubernetes.commons.config.ResourceVersionedPropertySource;
 import org.springframework.cloud.kubernetes.commons.config.SecretsPropertySource;
 import org.springframework.core.env.Environment;
 import org.springframework.util.StringUtils;
 
+import static org.springframework.cloud.kubernetes.client.config.KubernetesClientConfigUtils.resourceVersion;
+
 /**
  * @author Ryan Baxter
  */
@@ -41,35 +44,50 @@ public class KubernetesClientSecretsPropertySource extends SecretsPropertySource
 
 	public KubernetesClientSecretsPropertySource(CoreV1Api coreV1Api, String name, String namespace,
 			Environment environment, Map<String, String> labels) {
-		super(getSourceName(name, namespace), getSourceData(coreV1Api, environment, name, namespace, labels));
+		this(coreV1Api, name, namespace, environment, labels, new HashMap<>());
+	}
+
+	// getSourceData records the resourceVersion of the secret while reading it
+	private KubernetesClientSecretsPropertySource(CoreV1Api coreV1Api, String name, String namespace,
+			Environment environment, Map<String, String> labels, Map<String, String> resourceVersions) {
+		super(getSourceName(name, namespace),
+				getSourceData(coreV1Api, environment, name, namespace, labels, resourceVersions), resourceVersions);
+	}
 
+	// used to restore snapshots
+	KubernetesClientSecretsPropertySource(String name, Map<String, Object> source) {
+		super(name, source);
 	}
 
 	private static Map<String, Object> getSourceData(CoreV1Api api, Environment env, String name, String namespace,
-			Map<String, String> labels) {
-		Map<String, Object> result = new HashMap<>();
+			Map<String, String> labels, Map<String, String> resourceVersions) {
+		Map<String, Object> result = new LazySecretData();
 
 		try {
 			// Read for secrets api (named)
 			if (StringUtils.hasText(name)) {
-				Optional<V1Secret> secret;
+				List<V1Secret> secrets;
+				String fieldSelector = KubernetesClientConfigUtils.nameSelector(name);
 				if (!StringUtils.hasText(namespace)) {
 
 					// There could technically be more than one, just return the first
-					secret = api.listSecretForAllNamespaces(null, null, null, null, null, null, null, null, null, null)
-							.getItems().stream().filter(s -> name.equals(s.getMetadata().getName())).findFirst();
+					secrets = api.listSecretForAllNamespaces(null, null, fieldSelector, null, null, null, null, null,
+							null, null).getItems();
 				}
 				else {
-					secret = api
-							.listNamespacedSecret(namespace, null, null, null, null, null, null, null, null, null, null)
-							.getItems().stream().filter(s -> name.equals(s.getMetadata().getName())).findFirst();
+					secrets = api.listNamespacedSecret(namespace, null, null, null, fieldSelector, null, null, null,
+							null, null, null).getItems();
 				}
 
-				secret.ifPresent(s -> putAll(s, result));
+				secrets.stream().findFirst().ifPresent(s -> putAll(s, result));
+				resourceVersions.put(ResourceVersionedPropertySource.key(namespace, name), resourceVersion(secrets));
 			}
 
 			// Read for secrets api (label)
 			if (labels != null && !labels.isEmpty()) {
+				// the set of secrets matching the labels can change without any of the
+				// secrets read here changing
+				resourceVersions.clear();
 				if (!StringUtils.hasText(namespace)) {
 					api.listSecretForAllNamespaces(null, null, null, createLabelsSelector(labels), null, null, null,
 							null, null, null).getItems().forEach(s -> putAll(s, result));
@@ -81,6 +99,7 @@ public class KubernetesClientSecretsPropertySource extends SecretsPropertySource
 			}
 		}
 		catch (Exception e) {
+			resourceVersions.clear();
 			LOG.warn("Can't read secret with name: [" + name + "] or labels [" + labels + "] in namespace:[" + namespace
 					+ "] (cause: " + e.getMessage() + "). Ignoring", e);
 		}
@@ -100,10 +119,8 @@ public class KubernetesClientSecretsPropertySource extends SecretsPropertySource
 	}
 
 	private static void putAll(V1Secret secret, Map<String, Object> result) {
-		Map<String, String> secretData = new HashMap<>();
-		secret.getData().forEach((key, value) -> secretData.put(key, Base64.getEncoder().encodeToString(value)));
 		if (secret != null) {
-			putAll(secretData, result);
+			putAllBytes(secret.getData(), result);
 		}
 	}
 
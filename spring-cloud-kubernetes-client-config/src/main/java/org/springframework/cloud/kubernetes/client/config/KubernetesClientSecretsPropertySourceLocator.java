@@ -16,22 +16,34 @@
 
 package org.springframework.cloud.kubernetes.client.config;
 
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import io.kubernetes.client.openapi.ApiException;
 import io.kubernetes.client.openapi.apis.CoreV1Api;
+import io.kubernetes.client.openapi.models.V1Secret;
 
 import org.springframework.cloud.kubernetes.commons.KubernetesClientProperties;
 import org.springframework.cloud.kubernetes.commons.KubernetesNamespaceProvider;
+import org.springframework.cloud.kubernetes.commons.config.ResourceVersionReader;
+import org.springframework.cloud.kubernetes.commons.config.ResourceVersionedPropertySource;
 import org.springframework.cloud.kubernetes.commons.config.SecretsConfigProperties;
 import org.springframework.cloud.kubernetes.commons.config.SecretsPropertySourceLocator;
 import org.springframework.core.env.ConfigurableEnvironment;
 import org.springframework.core.env.MapPropertySource;
 
 import static org.springframework.cloud.kubernetes.client.config.KubernetesClientConfigUtils.getNamespace;
+import static org.springframework.cloud.kubernetes.client.config.KubernetesClientConfigUtils.nameSelector;
+import static org.springframework.cloud.kubernetes.client.config.KubernetesClientConfigUtils.resourceVersion;
 import static org.springframework.cloud.kubernetes.commons.config.ConfigUtils.getApplicationName;
 
 /**
  * @author Ryan Baxter
  */
-public class KubernetesClientSecretsPropertySourceLocator extends SecretsPropertySourceLocator {
+public class KubernetesClientSecretsPropertySourceLocator extends SecretsPropertySourceLocator
+		implements ResourceVersionReader {
 
 	private CoreV1Api coreV1Api;
 
@@ -63,4 +75,30 @@ public class KubernetesClientSecretsPropertySourceLocator extends SecretsPropert
 				getNamespace(normalizedSource, fallbackNamespace), environment, normalizedSource.getLabels());
 	}
 
+	@Override
+	protected MapPropertySource restorePropertySource(String name, Map<String, Object> source) {
+		return new KubernetesClientSecretsPropertySource(name, source);
+	}
+
+	@Override
+	public Map<String, String> readResourceVersions(Collection<String> keys) {
+		Map<String, String> resourceVersions = new LinkedHashMap<>();
+		try {
+			for (String key : keys) {
+				String namespace = ResourceVersionedPropertySource.namespace(key);
+				String fieldSelector = nameSelector(ResourceVersionedPropertySource.name(key));
+				List<V1Secret> secrets = namespace == null
+						? coreV1Api.listSecretForAllNamespaces(null, null, fieldSelector, null, null, null, null, null,
+								null, null).getItems()
+						: coreV1Api.listNamespacedSecret(namespace, null, null, null, fieldSelector, null, null, null,
+								null, null, null).getItems();
+				resourceVersions.put(key, resourceVersion(secrets));
+			}
+		}
+		catch (ApiException e) {
+			throw new IllegalStateException("Unable to read the resourceVersion of secrets " + keys, e);
+		}
+		return resourceVersions;
+	}
+
 }
@@ -16,6 +16,9 @@
 
 package org.springframework.cloud.kubernetes.client.config.reload;
 
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+
 import io.kubernetes.client.openapi.apis.CoreV1Api;
 
 import org.springframework.boot.actuate.autoconfigure.endpoint.EndpointAutoConfiguration;
@@ -23,6 +26,7 @@ import org.springframework.boot.actuate.autoconfigure.info.InfoEndpointAutoConfi
 import org.springframework.boot.autoconfigure.AutoConfigureAfter;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.cloud.autoconfigure.RefreshAutoConfiguration;
@@ -30,8 +34,10 @@ import org.springframework.cloud.autoconfigure.RefreshEndpointAutoConfiguration;
 import org.springframework.cloud.commons.util.TaskSchedulerWrapper;
 import org.springframework.cloud.context.refresh.ContextRefresher;
 import org.springframework.cloud.context.restart.RestartEndpoint;
+import org.springframework.cloud.kubernetes.client.KubernetesInformerRegistry;
 import org.springframework.cloud.kubernetes.client.config.KubernetesClientConfigMapPropertySource;
 import org.springframework.cloud.kubernetes.client.config.KubernetesClientConfigMapPropertySourceLocator;
+import org.springframework.cloud.kubernetes.client.config.KubernetesClientConfigUtils;
 import org.springframework.cloud.kubernetes.client.config.KubernetesClientSecretsPropertySource;
 import org.springframework.cloud.kubernetes.client.config.KubernetesClientSecretsPropertySourceLocator;
 import org.springframework.cloud.kubernetes.commons.KubernetesNamespaceProvider;
@@ -39,9 +45,12 @@ import org.springframework.cloud.kubernetes.commons.config.ConditionalOnKubernet
 import org.springframework.cloud.kubernetes.commons.config.reload.ConfigReloadAutoConfiguration;
 import org.springframework.cloud.kubernetes.commons.config.reload.ConfigReloadProperties;
 import org.springframework.cloud.kubernetes.commons.config.reload.ConfigurationChangeDetector;
+import org.springframework.cloud.kubernetes.commons.config.reload.ConfigurationPollingCycle;
 import org.springframework.cloud.kubernetes.commons.config.reload.ConfigurationUpdateStrategy;
 import org.springframework.cloud.kubernetes.commons.config.reload.PollingConfigMapChangeDetector;
 import org.springframework.cloud.kubernetes.commons.config.reload.PollingSecretsChangeDetector;
+import org.springframework.cloud.kubernetes.commons.config.reload.RestartSemaphore;
+import org.springframework.cloud.kubernetes.commons.config.reload.condition.CoordinatedRestarts;
 import org.springframework.cloud.kubernetes.commons.config.reload.condition.EventReloadDetectionMode;
 import org.springframework.cloud.kubernetes.commons.config.reload.condition.PollingReloadDetectionMode;
 import org.springframework.context.annotation.Bean;
@@ -67,6 +76,42 @@ public class KubernetesClientConfigReloadAutoConfiguration {
 	@ConditionalOnClass({ RestartEndpoint.class, ContextRefresher.class })
 	protected static class ConfigReloadAutoConfigurationBeans {
 
+		/**
+		 * @param properties config reload properties
+		 * @param environment application environment
+		 * @param coreV1Api client of the Kubernetes API
+		 * @param kubernetesNamespaceProvider namespace of the application
+		 * @param taskScheduler task scheduler the restart permit is released on
+		 * @return limits the number of replicas restarting at the same time.
+		 * @throws UnknownHostException if the name of the pod cannot be read
+		 */
+		@Bean
+		@ConditionalOnMissingBean
+		@Conditional(CoordinatedRestarts.class)
+		public RestartSemaphore restartSemaphore(ConfigReloadProperties properties, AbstractEnvironment environment,
+				CoreV1Api coreV1Api, KubernetesNamespaceProvider kubernetesNamespaceProvider,
+				TaskSchedulerWrapper taskScheduler) throws UnknownHostException {
+			String name = RestartSemaphore.getName(properties,
+					environment.getProperty("spring.application.name", "application"));
+			return new KubernetesClientRestartSemaphore(InetAddress.getLocalHost().getHostName(), name,
+					kubernetesNamespaceProvider.getNamespace(), properties, taskScheduler.getTaskScheduler(),
+					coreV1Api);
+		}
+
+		/**
+		 * @param properties config reload properties
+		 * @param taskScheduler task scheduler the polls run on
+		 * @return runs the polls of the config maps and secrets in a single cycle.
+		 */
+		@Bean
+		@ConditionalOnMissingBean
+		@Conditional(PollingReloadDetectionMode.class)
+		public ConfigurationPollingCycle configurationPollingCycle(ConfigReloadProperties properties,
+				TaskSchedulerWrapper taskScheduler) {
+			return new ConfigurationPollingCycle(taskScheduler.getTaskScheduler(), properties,
+					KubernetesClientConfigUtils::isThrottled);
+		}
+
 		/**
 		 * Polling configMap ConfigurationChangeDetector.
 		 * @param properties config reload properties
@@ -80,11 +125,10 @@ public class KubernetesClientConfigReloadAutoConfiguration {
 		public ConfigurationChangeDetector configMapPropertyChangePollingWatcher(ConfigReloadProperties properties,
 				ConfigurationUpdateStrategy strategy,
 				KubernetesClientConfigMapPropertySourceLocator configMapPropertySourceLocator,
-				AbstractEnvironment environment, TaskSchedulerWrapper taskScheduler) {
+				AbstractEnvironment environment, ConfigurationPollingCycle pollingCycle) {
 
 			return new PollingConfigMapChangeDetector(environment, properties, strategy,
-					KubernetesClientConfigMapPropertySource.class, configMapPropertySourceLocator,
-					taskScheduler.getTaskScheduler());
+					KubernetesClientConfigMapPropertySource.class, configMapPropertySourceLocator, pollingCycle);
 		}
 
 		/**
@@ -100,11 +144,10 @@ public class KubernetesClientConfigReloadAutoConfiguration {
 		public ConfigurationChangeDetector secretsPropertyChangePollingWatcher(ConfigReloadProperties properties,
 				ConfigurationUpdateStrategy strategy,
 				KubernetesClientSecretsPropertySourceLocator secretsPropertySourceLocator,
-				AbstractEnvironment environment, TaskSchedulerWrapper taskScheduler) {
+				AbstractEnvironment environment, ConfigurationPollingCycle pollingCycle) {
 
 			return new PollingSecretsChangeDetector(environment, properties, strategy,
-					KubernetesClientSecretsPropertySource.class, secretsPropertySourceLocator,
-					taskScheduler.getTaskScheduler());
+					KubernetesClientSecretsPropertySource.class, secretsPropertySourceLocator, pollingCycle);
 		}
 
 		/**
@@ -121,10 +164,10 @@ public class KubernetesClientConfigReloadAutoConfiguration {
 				ConfigurationUpdateStrategy strategy,
 				KubernetesClientConfigMapPropertySourceLocator configMapPropertySourceLocator,
 				AbstractEnvironment environment, CoreV1Api coreV1Api,
-				KubernetesNamespaceProvider kubernetesNamespaceProvider) {
+				KubernetesNamespaceProvider kubernetesNamespaceProvider, KubernetesInformerRegistry informerRegistry) {
 
 			return new KubernetesClientEventBasedConfigMapChangeDetector(coreV1Api, environment, properties, strategy,
-					configMapPropertySourceLocator, kubernetesNamespaceProvider);
+					configMapPropertySourceLocator, kubernetesNamespaceProvider, informerRegistry);
 		}
 
 		/**
@@ -141,10 +184,10 @@ public class KubernetesClientConfigReloadAutoConfiguration {
 				ConfigurationUpdateStrategy strategy,
 				KubernetesClientSecretsPropertySourceLocator secretsPropertySourceLocator,
 				AbstractEnvironment environment, CoreV1Api coreV1Api,
-				KubernetesNamespaceProvider kubernetesNamespaceProvider) {
+				KubernetesNamespaceProvider kubernetesNamespaceProvider, KubernetesInformerRegistry informerRegistry) {
 
 			return new KubernetesClientEventBasedSecretsChangeDetector(coreV1Api, environment, properties, strategy,
-					secretsPropertySourceLocator, kubernetesNamespaceProvider);
+					secretsPropertySourceLocator, kubernetesNamespaceProvider, informerRegistry);
 		}
 
 	}
@@ -16,31 +16,34 @@
 
 package org.springframework.cloud.kubernetes.client.config.reload;
 
+import java.util.List;
 import java.util.concurrent.TimeUnit;
 
 import javax.annotation.PostConstruct;
 import javax.annotation.PreDestroy;
 
 import io.kubernetes.client.informer.ResourceEventHandler;
-import io.kubernetes.client.informer.SharedIndexInformer;
-import io.kubernetes.client.informer.SharedInformerFactory;
 import io.kubernetes.client.openapi.ApiClient;
 import io.kubernetes.client.openapi.apis.CoreV1Api;
 import io.kubernetes.client.openapi.models.V1ConfigMap;
 import io.kubernetes.client.openapi.models.V1ConfigMapList;
+import io.kubernetes.client.openapi.models.V1ObjectMeta;
 import io.kubernetes.client.util.CallGeneratorParams;
 import okhttp3.OkHttpClient;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 
+import org.springframework.cloud.kubernetes.client.KubernetesInformerRegistry;
 import org.springframework.cloud.kubernetes.client.config.KubernetesClientConfigMapPropertySource;
 import org.springframework.cloud.kubernetes.client.config.KubernetesClientConfigMapPropertySourceLocator;
 import org.springframework.cloud.kubernetes.commons.KubernetesClientProperties;
 import org.springframework.cloud.kubernetes.commons.KubernetesNamespaceProvider;
+import org.springframework.cloud.kubernetes.commons.config.ConsumedSources;
 import org.springframework.cloud.kubernetes.commons.config.reload.ConfigReloadProperties;
 import org.springframework.cloud.kubernetes.commons.config.reload.ConfigurationChangeDetector;
 import org.springframework.cloud.kubernetes.commons.config.reload.ConfigurationUpdateStrategy;
 import org.springframework.core.env.ConfigurableEnvironment;
+import org.springframework.core.env.PropertySource;
 
 import static org.springframework.cloud.kubernetes.client.KubernetesClientUtils.kubernetesApiClient;
 
@@ -55,7 +58,11 @@ public class KubernetesClientEventBasedConfigMapChangeDetector extends Configura
 
 	private KubernetesClientConfigMapPropertySourceLocator propertySourceLocator;
 
-	private SharedInformerFactory factory;
+	private KubernetesInformerRegistry informerRegistry;
+
+	private KubernetesInformerRegistry.Registration<V1ConfigMap> informer;
+
+	private volatile ConsumedSources consumedSources;
 
 	private KubernetesClientProperties kubernetesClientProperties;
 
@@ -69,10 +76,11 @@ public class KubernetesClientEventBasedConfigMapChangeDetector extends Configura
 		super(environment, properties, strategy);
 		this.propertySourceLocator = propertySourceLocator;
 		this.coreV1Api = coreV1Api;
-		this.factory = new SharedInformerFactory();
+		this.informerRegistry = new KubernetesInformerRegistry();
 		this.kubernetesClientProperties = kubernetesClientProperties;
 	}
 
+	@Deprecated
 	public KubernetesClientEventBasedConfigMapChangeDetector(CoreV1Api coreV1Api, ConfigurableEnvironment environment,
 			ConfigReloadProperties properties, ConfigurationUpdateStrategy strategy,
 			KubernetesClientConfigMapPropertySourceLocator propertySourceLocator,
@@ -80,7 +88,18 @@ public class KubernetesClientEventBasedConfigMapChangeDetector extends Configura
 		super(environment, properties, strategy);
 		this.propertySourceLocator = propertySourceLocator;
 		this.coreV1Api = coreV1Api;
-		this.factory = new SharedInformerFactory();
+		this.informerRegistry = new KubernetesInformerRegistry();
+		this.kubernetesNamespaceProvider = kubernetesNamespaceProvider;
+	}
+
+	public KubernetesClientEventBasedConfigMapChangeDetector(CoreV1Api coreV1Api, ConfigurableEnvironment environment,
+			ConfigReloadProperties properties, ConfigurationUpdateStrategy strategy,
+			KubernetesClientConfigMapPropertySourceLocator propertySourceLocator,
+			KubernetesNamespaceProvider kubernetesNamespaceProvider, KubernetesInformerRegistry informerRegistry) {
+		super(environment, properties, strategy);
+		this.propertySourceLocator = propertySourceLocator;
+		this.informerRegistry = informerRegistry;
+		this.coreV1Api = coreV1Api;
 		this.kubernetesNamespaceProvider = kubernetesNamespaceProvider;
 	}
 
@@ -101,7 +120,7 @@ public class KubernetesClientEventBasedConfigMapChangeDetector extends Configura
 		catch (Exception e) {
 			LOG.error("Failed to create Kubernetes API client.  Event based ConfigMap monitoring will not work", e);
 		}
-		this.factory = new SharedInformerFactory();
+		this.informerRegistry = new KubernetesInformerRegistry();
 	}
 
 	private String getNamespace() {
@@ -112,51 +131,98 @@ public class KubernetesClientEventBasedConfigMapChangeDetector extends Configura
 	@PostConstruct
 	public void watch() {
 		if (coreV1Api != null && this.properties.isMonitoringConfigMaps()) {
-			SharedIndexInformer<V1ConfigMap> configMapInformer = factory.sharedIndexInformerFor(
+			this.informer = this.informerRegistry.acquire(V1ConfigMap.class, V1ConfigMapList.class, getNamespace(),
+					null,
 					(CallGeneratorParams params) -> coreV1Api.listNamespacedConfigMapCall(getNamespace(), null, null,
 							null, null, null, null, params.resourceVersion, null, params.timeoutSeconds, params.watch,
-							null),
-					V1ConfigMap.class, V1ConfigMapList.class);
-			configMapInformer.addEventHandler(new ResourceEventHandler<V1ConfigMap>() {
+							null));
+			this.informer.addEventHandler(new ResourceEventHandler<V1ConfigMap>() {
 				@Override
 				public void onAdd(V1ConfigMap obj) {
 					LOG.info("CongifMap " + obj.getMetadata().getName() + " was added.");
-					onEvent(obj);
+					eventReceived(CONFIG_MAP);
+					if (isConsumed(obj) && !isAlreadyRead(obj)) {
+						onEvent(obj);
+					}
 				}
 
 				@Override
 				public void onUpdate(V1ConfigMap oldObj, V1ConfigMap newObj) {
 					LOG.info("ConfigMap " + newObj.getMetadata().getName() + " was added.");
-					onEvent(newObj);
+					eventReceived(CONFIG_MAP);
+					if (isConsumed(newObj) && !isAlreadyRead(newObj)) {
+						onEvent(newObj);
+					}
 				}
 
 				@Override
 				public void onDelete(V1ConfigMap obj, boolean deletedFinalStateUnknown) {
 					LOG.info("ConfigMap " + obj.getMetadata() + " was deleted.");
-					onEvent(obj);
+					eventReceived(CONFIG_MAP);
+					if (isConsumed(obj)) {
+						onEvent(obj);
+					}
 				}
 			});
-			factory.startAllRegisteredInformers();
 		}
 	}
 
 	@PreDestroy
 	public void unwatch() {
-		factory.stopAllRegisteredInformers();
+		if (this.informer != null) {
+			this.informer.close();
+		}
 	}
 
 	private void onEvent(V1ConfigMap configMap) {
 		this.log.debug(String.format("onEvent configMap: %s", configMap.toString()));
-		boolean changed = changed(locateMapPropertySources(this.propertySourceLocator, this.environment),
-				findPropertySources(KubernetesClientConfigMapPropertySource.class));
+		List<KubernetesClientConfigMapPropertySource> propertySources = findPropertySources(
+				KubernetesClientConfigMapPropertySource.class);
+		boolean changed = detectChange(CONFIG_MAP, this.propertySourceLocator, propertySources);
 		if (changed) {
 			LOG.info("Configuration change detected, reloading properties.");
 			reloadProperties();
 		}
 		else {
 			LOG.warn("Configuration change was not detected.");
+			resourceVersionChecked(propertySources, configMap.getMetadata());
 		}
 
 	}
 
+	private boolean isConsumed(V1ConfigMap configMap) {
+		if (this.consumedSources == null) {
+			this.consumedSources = this.propertySourceLocator.getConsumedSources(this.environment);
+		}
+		V1ObjectMeta metadata = configMap.getMetadata();
+		boolean consumed = this.consumedSources == null || metadata == null || this.consumedSources
+				.isConsumed(metadata.getNamespace(), metadata.getName(), metadata.getLabels());
+		if (!consumed) {
+			eventFiltered(CONFIG_MAP);
+			LOG.debug(
+					"Ignoring event for ConfigMap " + metadata.getName() + ", it is not read by the property sources");
+		}
+		return consumed;
+	}
+
+	private boolean isAlreadyRead(V1ConfigMap configMap) {
+		V1ObjectMeta metadata = configMap.getMetadata();
+		boolean alreadyRead = metadata != null
+				&& isCurrentResourceVersion(findPropertySources(KubernetesClientConfigMapPropertySource.class),
+						metadata.getNamespace(), metadata.getName(), metadata.getResourceVersion());
+		if (alreadyRead) {
+			eventFiltered(CONFIG_MAP);
+			LOG.debug("The property sources were read from ConfigMap " + metadata.getName() + " version "
+					+ metadata.getResourceVersion());
+		}
+		return alreadyRead;
+	}
+
+	private void resourceVersionChecked(List<? extends PropertySource<?>> propertySources, V1ObjectMeta metadata) {
+		if (metadata != null) {
+			resourceVersionChecked(propertySources, metadata.getNamespace(), metadata.getName(),
+					metadata.getResourceVersion());
+		}
+	}
+
 }
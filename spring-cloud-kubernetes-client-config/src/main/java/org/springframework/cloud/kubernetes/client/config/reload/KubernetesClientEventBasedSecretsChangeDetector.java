@@ -16,15 +16,16 @@
 
 package org.springframework.cloud.kubernetes.client.config.reload;
 
+import java.util.List;
 import java.util.concurrent.TimeUnit;
 
 import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
 
 import io.kubernetes.client.informer.ResourceEventHandler;
-import io.kubernetes.client.informer.SharedIndexInformer;
-import io.kubernetes.client.informer.SharedInformerFactory;
 import io.kubernetes.client.openapi.ApiClient;
 import io.kubernetes.client.openapi.apis.CoreV1Api;
+import io.kubernetes.client.openapi.models.V1ObjectMeta;
 import io.kubernetes.client.openapi.models.V1Secret;
 import io.kubernetes.client.openapi.models.V1SecretList;
 import io.kubernetes.client.util.CallGeneratorParams;
@@ -32,14 +33,17 @@ import okhttp3.OkHttpClient;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 
+import org.springframework.cloud.kubernetes.client.KubernetesInformerRegistry;
 import org.springframework.cloud.kubernetes.client.config.KubernetesClientSecretsPropertySource;
 import org.springframework.cloud.kubernetes.client.config.KubernetesClientSecretsPropertySourceLocator;
 import org.springframework.cloud.kubernetes.commons.KubernetesClientProperties;
 import org.springframework.cloud.kubernetes.commons.KubernetesNamespaceProvider;
+import org.springframework.cloud.kubernetes.commons.config.ConsumedSources;
 import org.springframework.cloud.kubernetes.commons.config.reload.ConfigReloadProperties;
 import org.springframework.cloud.kubernetes.commons.config.reload.ConfigurationChangeDetector;
 import org.springframework.cloud.kubernetes.commons.config.reload.ConfigurationUpdateStrategy;
 import org.springframework.core.env.ConfigurableEnvironment;
+import org.springframework.core.env.PropertySource;
 
 import static org.springframework.cloud.kubernetes.client.KubernetesClientUtils.kubernetesApiClient;
 
@@ -54,7 +58,11 @@ public class KubernetesClientEventBasedSecretsChangeDetector extends Configurati
 
 	private KubernetesClientSecretsPropertySourceLocator propertySourceLocator;
 
-	private SharedInformerFactory factory;
+	private KubernetesInformerRegistry informerRegistry;
+
+	private KubernetesInformerRegistry.Registration<V1Secret> informer;
+
+	private volatile ConsumedSources consumedSources;
 
 	private KubernetesClientProperties kubernetesClientProperties;
 
@@ -67,18 +75,30 @@ public class KubernetesClientEventBasedSecretsChangeDetector extends Configurati
 			KubernetesClientProperties kubernetesClientProperties) {
 		super(environment, properties, strategy);
 		this.propertySourceLocator = propertySourceLocator;
-		this.factory = new SharedInformerFactory();
+		this.informerRegistry = new KubernetesInformerRegistry();
 		this.coreV1Api = coreV1Api;
 		this.kubernetesClientProperties = kubernetesClientProperties;
 	}
 
+	@Deprecated
 	public KubernetesClientEventBasedSecretsChangeDetector(CoreV1Api coreV1Api, ConfigurableEnvironment environment,
 			ConfigReloadProperties properties, ConfigurationUpdateStrategy strategy,
 			KubernetesClientSecretsPropertySourceLocator propertySourceLocator,
 			KubernetesNamespaceProvider kubernetesNamespaceProvider) {
 		super(environment, properties, strategy);
 		this.propertySourceLocator = propertySourceLocator;
-		this.factory = new SharedInformerFactory();
+		this.informerRegistry = new KubernetesInformerRegistry();
+		this.coreV1Api = coreV1Api;
+		this.kubernetesNamespaceProvider = kubernetesNamespaceProvider;
+	}
+
+	public KubernetesClientEventBasedSecretsChangeDetector(CoreV1Api coreV1Api, ConfigurableEnvironment environment,
+			ConfigReloadProperties properties, ConfigurationUpdateStrategy strategy,
+			KubernetesClientSecretsPropertySourceLocator propertySourceLocator,
+			KubernetesNamespaceProvider kubernetesNamespaceProvider, KubernetesInformerRegistry informerRegistry) {
+		super(environment, properties, strategy);
+		this.propertySourceLocator = propertySourceLocator;
+		this.informerRegistry = informerRegistry;
 		this.coreV1Api = coreV1Api;
 		this.kubernetesNamespaceProvider = kubernetesNamespaceProvider;
 	}
@@ -90,7 +110,7 @@ public class KubernetesClientEventBasedSecretsChangeDetector extends Configurati
 			KubernetesClientProperties kubernetesClientProperties) {
 		super(environment, properties, strategy);
 		this.propertySourceLocator = propertySourceLocator;
-		this.factory = new SharedInformerFactory();
+		this.informerRegistry = new KubernetesInformerRegistry();
 		this.kubernetesClientProperties = kubernetesClientProperties;
 		try {
 			ApiClient apiClient = kubernetesApiClient();
@@ -111,41 +131,93 @@ public class KubernetesClientEventBasedSecretsChangeDetector extends Configurati
 	@PostConstruct
 	public void watch() {
 		if (coreV1Api != null && this.properties.isMonitoringSecrets()) {
-			SharedIndexInformer<V1Secret> configMapInformer = factory.sharedIndexInformerFor(
+			this.informer = this.informerRegistry.acquire(V1Secret.class, V1SecretList.class, getNamespace(), null,
 					(CallGeneratorParams params) -> coreV1Api.listNamespacedSecretCall(getNamespace(), null, null, null,
-							null, null, null, params.resourceVersion, null, params.timeoutSeconds, params.watch, null),
-					V1Secret.class, V1SecretList.class);
-			configMapInformer.addEventHandler(new ResourceEventHandler<V1Secret>() {
+							null, null, null, params.resourceVersion, null, params.timeoutSeconds, params.watch, null));
+			this.informer.addEventHandler(new ResourceEventHandler<V1Secret>() {
 				@Override
 				public void onAdd(V1Secret obj) {
 					LOG.info("Secret " + obj.getMetadata().getName() + " was added.");
-					onEvent(obj);
+					eventReceived(SECRET);
+					if (isConsumed(obj) && !isAlreadyRead(obj)) {
+						onEvent(obj);
+					}
 				}
 
 				@Override
 				public void onUpdate(V1Secret oldObj, V1Secret newObj) {
 					LOG.info("Secret " + newObj.getMetadata().getName() + " was added.");
-					onEvent(newObj);
+					eventReceived(SECRET);
+					if (isConsumed(newObj) && !isAlreadyRead(newObj)) {
+						onEvent(newObj);
+					}
 				}
 
 				@Override
 				public void onDelete(V1Secret obj, boolean deletedFinalStateUnknown) {
 					LOG.info("Secret " + obj.getMetadata() + " was deleted.");
-					onEvent(obj);
+					eventReceived(SECRET);
+					if (isConsumed(obj)) {
+						onEvent(obj);
+					}
 				}
 			});
-			factory.startAllRegisteredInformers();
+		}
+	}
+
+	@PreDestroy
+	public void unwatch() {
+		if (this.informer != null) {
+			this.informer.close();
 		}
 	}
 
 	private void onEvent(V1Secret secret) {
-		this.log.debug(String.format("onEvent configMap: %s", secret.toString()));
-		boolean changed = changed(locateMapPropertySources(this.propertySourceLocator, this.environment),
-				findPropertySources(KubernetesClientSecretsPropertySource.class));
+		this.log.debug(String.format("onEvent secret: %s", secret.toString()));
+		List<KubernetesClientSecretsPropertySource> propertySources = findPropertySources(
+				KubernetesClientSecretsPropertySource.class);
+		boolean changed = detectChange(SECRET, this.propertySourceLocator, propertySources);
 		if (changed) {
 			this.log.info("Detected change in secrets");
 			reloadProperties();
 		}
+		else {
+			resourceVersionChecked(propertySources, secret.getMetadata());
+		}
+	}
+
+	private boolean isConsumed(V1Secret secret) {
+		if (this.consumedSources == null) {
+			this.consumedSources = this.propertySourceLocator.getConsumedSources(this.environment);
+		}
+		V1ObjectMeta metadata = secret.getMetadata();
+		boolean consumed = this.consumedSources == null || metadata == null || this.consumedSources
+				.isConsumed(metadata.getNamespace(), metadata.getName(), metadata.getLabels());
+		if (!consumed) {
+			eventFiltered(SECRET);
+			LOG.debug("Ignoring event for Secret " + metadata.getName() + ", it is not read by the property sources");
+		}
+		return consumed;
+	}
+
+	private boolean isAlreadyRead(V1Secret secret) {
+		V1ObjectMeta metadata = secret.getMetadata();
+		boolean alreadyRead = metadata != null
+				&& isCurrentResourceVersion(findPropertySources(KubernetesClientSecretsPropertySource.class),
+						metadata.getNamespace(), metadata.getName(), metadata.getResourceVersion());
+		if (alreadyRead) {
+			eventFiltered(SECRET);
+			LOG.debug("The property sources were read from Secret " + metadata.getName() + " version "
+					+ metadata.getResourceVersion());
+		}
+		return alreadyRead;
+	}
+
+	private void resourceVersionChecked(List<? extends PropertySource<?>> propertySources, V1ObjectMeta metadata) {
+		if (metadata != null) {
+			resourceVersionChecked(propertySources, metadata.getNamespace(), metadata.getName(),
+					metadata.getResourceVersion());
+		}
 	}
 
 }
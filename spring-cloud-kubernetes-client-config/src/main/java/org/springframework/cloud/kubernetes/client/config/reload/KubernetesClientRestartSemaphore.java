@@ -0,0 +1,111 @@
+/*
+ * Copyright 2013-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.kubernetes.client.config.reload;
+
+import java.util.Map;
+
+import io.kubernetes.client.openapi.ApiException;
+import io.kubernetes.client.openapi.apis.CoreV1Api;
+import io.kubernetes.client.openapi.models.V1ConfigMap;
+import io.kubernetes.client.openapi.models.V1ConfigMapBuilder;
+import io.kubernetes.client.openapi.models.V1Pod;
+
+import org.springframework.cloud.kubernetes.commons.config.reload.ConfigReloadProperties;
+import org.springframework.cloud.kubernetes.commons.config.reload.RestartSemaphore;
+import org.springframework.scheduling.TaskScheduler;
+
+/**
+ * A {@link RestartSemaphore} that uses the Kubernetes Java Client.
+ */
+public class KubernetesClientRestartSemaphore extends RestartSemaphore {
+
+	private static final int NOT_FOUND = 404;
+
+	private static final int CONFLICT = 409;
+
+	private final CoreV1Api coreV1Api;
+
+	private final String namespace;
+
+	private final String name;
+
+	public KubernetesClientRestartSemaphore(String holder, String name, String namespace,
+			ConfigReloadProperties properties, TaskScheduler taskScheduler, CoreV1Api coreV1Api) {
+		super(holder, properties, taskScheduler);
+		this.coreV1Api = coreV1Api;
+		this.namespace = namespace;
+		this.name = name;
+	}
+
+	@Override
+	protected Permits read() {
+		try {
+			V1ConfigMap configMap = this.coreV1Api.readNamespacedConfigMap(this.name, this.namespace, null, null,
+					null);
+			return new Permits(configMap.getData(), configMap.getMetadata().getResourceVersion());
+		}
+		catch (ApiException e) {
+			if (e.getCode() == NOT_FOUND) {
+				return null;
+			}
+			throw new IllegalStateException("Unable to read the restart permits from config map " + this.name, e);
+		}
+	}
+
+	@Override
+	protected boolean write(Map<String, String> holders, String resourceVersion) {
+		V1ConfigMap configMap = new V1ConfigMapBuilder().withNewMetadata().withName(this.name)
+				.withNamespace(this.namespace).withResourceVersion(resourceVersion).endMetadata().withData(holders)
+				.build();
+		try {
+			if (resourceVersion == null) {
+				this.coreV1Api.createNamespacedConfigMap(this.namespace, configMap, null, null, null);
+			}
+			else {
+				this.coreV1Api.replaceNamespacedConfigMap(this.name, this.namespace, configMap, null, null, null);
+			}
+			return true;
+		}
+		catch (ApiException e) {
+			if (e.getCode() == CONFLICT) {
+				this.log.debug("The restart permits were changed by another replica");
+				return false;
+			}
+			throw new IllegalStateException("Unable to write the restart permits to config map " + this.name, e);
+		}
+	}
+
+	@Override
+	protected boolean isReady() {
+		V1Pod pod;
+		try {
+			pod = this.coreV1Api.readNamespacedPod(getHolder(), this.namespace, null, null, null);
+		}
+		catch (ApiException e) {
+			if (e.getCode() == NOT_FOUND) {
+				return true;
+			}
+			throw new IllegalStateException("Unable to read pod " + getHolder(), e);
+		}
+		if (pod.getStatus() == null || pod.getStatus().getConditions() == null) {
+			return false;
+		}
+		return pod.getStatus().getConditions().stream()
+				.anyMatch(condition -> "Ready".equals(condition.getType()) && "True".equals(condition.getStatus()));
+	}
+
+}
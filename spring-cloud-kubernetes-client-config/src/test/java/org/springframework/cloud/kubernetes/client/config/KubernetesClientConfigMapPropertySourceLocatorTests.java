@@ -42,6 +42,7 @@ import org.springframework.mock.env.MockEnvironment;
 import static com.github.tomakehurst.wiremock.client.WireMock.aResponse;
 import static com.github.tomakehurst.wiremock.client.WireMock.get;
 import static com.github.tomakehurst.wiremock.client.WireMock.stubFor;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlPathEqualTo;
 import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.options;
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -89,7 +90,7 @@ class KubernetesClientConfigMapPropertySourceLocatorTests {
 	@Test
 	void locateWithoutSources() {
 		CoreV1Api api = new CoreV1Api();
-		stubFor(get(API)
+		stubFor(get(urlPathEqualTo(API))
 				.willReturn(aResponse().withStatus(200).withBody(new JSON().serialize(PROPERTIES_CONFIGMAP_LIST))));
 		ConfigMapConfigProperties configMapConfigProperties = new ConfigMapConfigProperties();
 		configMapConfigProperties.setName("bootstrap-640");
@@ -104,7 +105,7 @@ class KubernetesClientConfigMapPropertySourceLocatorTests {
 	@Test
 	void locateWithSources() {
 		CoreV1Api api = new CoreV1Api();
-		stubFor(get(API)
+		stubFor(get(urlPathEqualTo(API))
 				.willReturn(aResponse().withStatus(200).withBody(new JSON().serialize(PROPERTIES_CONFIGMAP_LIST))));
 		ConfigMapConfigProperties configMapConfigProperties = new ConfigMapConfigProperties();
 		configMapConfigProperties.setName("fake-name");
@@ -16,12 +16,19 @@
 
 package org.springframework.cloud.kubernetes.client.config;
 
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
 import com.github.tomakehurst.wiremock.WireMockServer;
 import com.github.tomakehurst.wiremock.client.WireMock;
 import io.kubernetes.client.openapi.ApiClient;
 import io.kubernetes.client.openapi.Configuration;
 import io.kubernetes.client.openapi.JSON;
 import io.kubernetes.client.openapi.apis.CoreV1Api;
+import io.kubernetes.client.openapi.models.V1ConfigMap;
 import io.kubernetes.client.openapi.models.V1ConfigMapBuilder;
 import io.kubernetes.client.openapi.models.V1ConfigMapList;
 import io.kubernetes.client.openapi.models.V1ObjectMetaBuilder;
@@ -34,10 +41,13 @@ import org.junit.jupiter.api.Test;
 import org.springframework.mock.env.MockEnvironment;
 
 import static com.github.tomakehurst.wiremock.client.WireMock.aResponse;
+import static com.github.tomakehurst.wiremock.client.WireMock.absent;
+import static com.github.tomakehurst.wiremock.client.WireMock.equalTo;
 import static com.github.tomakehurst.wiremock.client.WireMock.get;
 import static com.github.tomakehurst.wiremock.client.WireMock.getRequestedFor;
 import static com.github.tomakehurst.wiremock.client.WireMock.stubFor;
 import static com.github.tomakehurst.wiremock.client.WireMock.urlEqualTo;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlPathEqualTo;
 import static com.github.tomakehurst.wiremock.client.WireMock.verify;
 import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.options;
 import static org.assertj.core.api.Assertions.assertThat;
@@ -94,11 +104,12 @@ class KubernetesClientConfigMapPropertySourceTests {
 	@Test
 	public void propertiesFile() {
 		CoreV1Api api = new CoreV1Api();
-		stubFor(get(API)
+		stubFor(get(urlPathEqualTo(API)).withQueryParam("fieldSelector", equalTo("metadata.name=bootstrap-640"))
 				.willReturn(aResponse().withStatus(200).withBody(new JSON().serialize(PROPERTIES_CONFIGMAP_LIST))));
 		KubernetesClientConfigMapPropertySource propertySource = new KubernetesClientConfigMapPropertySource(api,
 				"bootstrap-640", "default", new MockEnvironment());
-		verify(getRequestedFor(urlEqualTo(API)));
+		verify(getRequestedFor(urlPathEqualTo(API)).withQueryParam("fieldSelector",
+				equalTo("metadata.name=bootstrap-640")));
 		assertThat(propertySource.containsProperty("spring.cloud.kubernetes.configuration.watcher.refreshDelay"))
 				.isTrue();
 		assertThat(propertySource.getProperty("spring.cloud.kubernetes.configuration.watcher.refreshDelay"))
@@ -111,10 +122,12 @@ class KubernetesClientConfigMapPropertySourceTests {
 	@Test
 	public void yamlFile() {
 		CoreV1Api api = new CoreV1Api();
-		stubFor(get(API).willReturn(aResponse().withStatus(200).withBody(new JSON().serialize(YAML_CONFIGMAP_LIST))));
+		stubFor(get(urlPathEqualTo(API)).withQueryParam("fieldSelector", equalTo("metadata.name=bootstrap-641"))
+				.willReturn(aResponse().withStatus(200).withBody(new JSON().serialize(YAML_CONFIGMAP_LIST))));
 		KubernetesClientConfigMapPropertySource propertySource = new KubernetesClientConfigMapPropertySource(api,
 				"bootstrap-641", "default", new MockEnvironment());
-		verify(getRequestedFor(urlEqualTo(API)));
+		verify(getRequestedFor(urlPathEqualTo(API)).withQueryParam("fieldSelector",
+				equalTo("metadata.name=bootstrap-641")));
 		assertThat(propertySource.containsProperty("dummy.property.string2")).isTrue();
 		assertThat(propertySource.getProperty("dummy.property.string2")).isEqualTo("a");
 		assertThat(propertySource.containsProperty("dummy.property.int2")).isTrue();
@@ -124,4 +137,66 @@ class KubernetesClientConfigMapPropertySourceTests {
 
 	}
 
+	@Test
+	public void readsOnlyTheConfigMapsItNeeds() {
+		// 5000 ConfigMaps in the namespace, only the ones selected by name are
+		// transferred
+		V1ConfigMapList all = new V1ConfigMapList();
+		for (int i = 0; i < 5000; i++) {
+			all.addItemsItem(new V1ConfigMapBuilder()
+					.withMetadata(new V1ObjectMetaBuilder().withName("config-" + i).withNamespace("default").build())
+					.addToData("application.properties", "key-" + i + "=value-" + i).build());
+		}
+		stubFor(get(API).willReturn(aResponse().withStatus(200).withBody(new JSON().serialize(all))));
+		stubFor(get(urlPathEqualTo(API)).withQueryParam("fieldSelector", equalTo("metadata.name=config-7"))
+				.willReturn(aResponse().withStatus(200)
+						.withBody(new JSON().serialize(new V1ConfigMapList().addItemsItem(all.getItems().get(7))))));
+		stubFor(get(urlPathEqualTo(API)).withQueryParam("fieldSelector", equalTo("metadata.name=config-7-dev"))
+				.willReturn(aResponse().withStatus(200).withBody(new JSON().serialize(new V1ConfigMapList()))));
+
+		MockEnvironment environment = new MockEnvironment();
+		environment.setActiveProfiles("dev");
+		KubernetesClientConfigMapPropertySource propertySource = new KubernetesClientConfigMapPropertySource(
+				new CoreV1Api(), "config-7", "default", environment);
+
+		assertThat(propertySource.getPropertyNames()).containsExactly("key-7");
+		verify(0, getRequestedFor(urlEqualTo(API)));
+		verify(2, getRequestedFor(urlPathEqualTo(API)));
+	}
+
+	@Test
+	public void listsTheConfigMapsOfEachSelectorWhenTheyHaveNoLabelInCommon() {
+		Map<String, String> webAndPayments = new HashMap<>();
+		webAndPayments.put("tier", "web");
+		webAndPayments.put("team", "payments");
+		V1ConfigMap web = labelledConfigMap("web", Collections.singletonMap("tier", "web"), "key=web");
+		V1ConfigMap shared = labelledConfigMap("shared", webAndPayments, "shared=both");
+		V1ConfigMap payments = labelledConfigMap("payments", Collections.singletonMap("team", "payments"),
+				"team-key=payments");
+		stubFor(get(urlPathEqualTo(API)).withQueryParam("labelSelector", equalTo("tier=web"))
+				.willReturn(aResponse().withStatus(200)
+						.withBody(new JSON().serialize(new V1ConfigMapList().items(Arrays.asList(web, shared))))));
+		stubFor(get(urlPathEqualTo(API)).withQueryParam("labelSelector", equalTo("team=payments"))
+				.willReturn(aResponse().withStatus(200).withBody(
+						new JSON().serialize(new V1ConfigMapList().items(Arrays.asList(payments, shared))))));
+
+		List<KubernetesClientConfigMapPropertySource> propertySources = KubernetesClientConfigMapPropertySource
+				.selectedByLabels(new CoreV1Api(), Arrays.asList(Collections.singletonMap("tier", "web"),
+						Collections.singletonMap("team", "payments")), "default", new MockEnvironment());
+
+		assertThat(propertySources).hasSize(2);
+		assertThat(propertySources.get(0).getSource()).containsOnlyKeys("key", "shared");
+		assertThat(propertySources.get(1).getSource()).containsOnlyKeys("team-key", "shared");
+		// one list request per selector, the whole namespace is never listed
+		verify(0, getRequestedFor(urlPathEqualTo(API)).withQueryParam("labelSelector", absent()));
+		verify(2, getRequestedFor(urlPathEqualTo(API)));
+	}
+
+	private static V1ConfigMap labelledConfigMap(String name, Map<String, String> labels, String properties) {
+		return new V1ConfigMapBuilder()
+				.withMetadata(new V1ObjectMetaBuilder().withName(name).withNamespace("default").withLabels(labels)
+						.build())
+				.addToData("application.properties", properties).build();
+	}
+
 }
@@ -38,6 +38,7 @@ import org.springframework.mock.env.MockEnvironment;
 import static com.github.tomakehurst.wiremock.client.WireMock.aResponse;
 import static com.github.tomakehurst.wiremock.client.WireMock.get;
 import static com.github.tomakehurst.wiremock.client.WireMock.stubFor;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlPathEqualTo;
 import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.options;
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -100,7 +101,7 @@ class KubernetesClientSecretsPropertySourceLocatorTests {
 	@Test
 	void getLocateWithSources() {
 		CoreV1Api api = new CoreV1Api();
-		stubFor(get(LIST_API).willReturn(aResponse().withStatus(200).withBody(LIST_BODY)));
+		stubFor(get(urlPathEqualTo(LIST_API)).willReturn(aResponse().withStatus(200).withBody(LIST_BODY)));
 		SecretsConfigProperties secretsConfigProperties = new SecretsConfigProperties();
 		SecretsConfigProperties.Source source1 = new SecretsConfigProperties.Source();
 		source1.setName("db-secret");
@@ -124,7 +125,7 @@ class KubernetesClientSecretsPropertySourceLocatorTests {
 	@Test
 	void getLocateWithOutSources() {
 		CoreV1Api api = new CoreV1Api();
-		stubFor(get(LIST_API).willReturn(aResponse().withStatus(200).withBody(LIST_BODY)));
+		stubFor(get(urlPathEqualTo(LIST_API)).willReturn(aResponse().withStatus(200).withBody(LIST_BODY)));
 		SecretsConfigProperties secretsConfigProperties = new SecretsConfigProperties();
 		secretsConfigProperties.setName("db-secret");
 		secretsConfigProperties.setNamespace("");
@@ -38,8 +38,10 @@ import org.junit.jupiter.api.Test;
 import org.springframework.mock.env.MockEnvironment;
 
 import static com.github.tomakehurst.wiremock.client.WireMock.aResponse;
+import static com.github.tomakehurst.wiremock.client.WireMock.equalTo;
 import static com.github.tomakehurst.wiremock.client.WireMock.get;
 import static com.github.tomakehurst.wiremock.client.WireMock.stubFor;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlPathEqualTo;
 import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.options;
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -109,7 +111,8 @@ class KubernetesClientSecretsPropertySourceTests {
 	@Test
 	public void secretsTest() {
 		CoreV1Api api = new CoreV1Api();
-		stubFor(get(API).willReturn(aResponse().withStatus(200).withBody(new JSON().serialize(SECRET_LIST))));
+		stubFor(get(urlPathEqualTo(API)).withQueryParam("fieldSelector", equalTo("metadata.name=db-secret"))
+				.willReturn(aResponse().withStatus(200).withBody(new JSON().serialize(SECRET_LIST))));
 		KubernetesClientSecretsPropertySource propertySource = new KubernetesClientSecretsPropertySource(api,
 				"db-secret", "default", new MockEnvironment(), new HashMap<>());
 		assertThat(propertySource.containsProperty("password")).isTrue();
@@ -121,7 +124,8 @@ class KubernetesClientSecretsPropertySourceTests {
 	@Test
 	public void secretsNullNamespaceTest() {
 		CoreV1Api api = new CoreV1Api();
-		stubFor(get(LIST_API).willReturn(aResponse().withStatus(200).withBody(LIST_BODY)));
+		stubFor(get(urlPathEqualTo(LIST_API)).withQueryParam("fieldSelector", equalTo("metadata.name=db-secret"))
+				.willReturn(aResponse().withStatus(200).withBody(LIST_BODY)));
 		KubernetesClientSecretsPropertySource propertySource = new KubernetesClientSecretsPropertySource(api,
 				"db-secret", null, new MockEnvironment(), new HashMap<>());
 		assertThat(propertySource.containsProperty("password")).isTrue();
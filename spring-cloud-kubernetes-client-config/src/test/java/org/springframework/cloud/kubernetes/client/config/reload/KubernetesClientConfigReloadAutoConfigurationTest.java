@@ -157,6 +157,7 @@ public class KubernetesClientConfigReloadAutoConfigurationTest {
 		assertThat(context.containsBean("secretsPropertySourceLocator")).isTrue();
 		assertThat(context.containsBean("configMapPropertyChangePollingWatcher")).isTrue();
 		assertThat(context.containsBean("secretsPropertyChangePollingWatcher")).isTrue();
+		assertThat(context.containsBean("configurationPollingCycle")).isTrue();
 		assertThat(context.containsBean("configMapPropertyChangeEventWatcher")).isFalse();
 		assertThat(context.containsBean("secretsPropertyChangeEventWatcher")).isFalse();
 	}
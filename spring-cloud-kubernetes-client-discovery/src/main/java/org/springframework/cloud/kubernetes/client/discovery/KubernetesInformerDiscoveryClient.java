@@ -24,6 +24,7 @@ import java.util.Map;
 import java.util.Optional;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import io.kubernetes.client.extended.wait.Wait;
 import io.kubernetes.client.informer.SharedInformer;
@@ -142,6 +143,7 @@ public class KubernetesInformerDiscoveryClient implements DiscoveryClient, Initi
 					.ofNullable(service.getMetadata().getLabels().get(PRIMARY_PORT_NAME_LABEL_KEY));
 		}
 		final String primaryPortName = discoveredPrimaryPortName.orElse(this.properties.getPrimaryPortName());
+		final int weight = KubernetesServiceInstance.getWeight(service.getMetadata().getAnnotations());
 
 		return ep.getSubsets().stream().filter(subset -> subset.getPorts() != null && subset.getPorts().size() > 0) // safeguard
 				.flatMap(subset -> {
@@ -150,23 +152,30 @@ public class KubernetesInformerDiscoveryClient implements DiscoveryClient, Initi
 					if (this.properties.getMetadata() != null && this.properties.getMetadata().isAddPorts()) {
 						endpointPorts.forEach(p -> metadata.put(p.getName(), Integer.toString(p.getPort())));
 					}
-					List<V1EndpointAddress> addresses = subset.getAddresses();
-					if (addresses == null) {
-						addresses = new ArrayList<>();
-					}
+					final int port = findEndpointPort(endpointPorts, primaryPortName, serviceId);
+					// the addresses come from the informer cache and must not be modified
+					Stream<ServiceInstance> instances = toInstances(subset.getAddresses(), serviceId, port, metadata,
+							weight, true);
 					if (this.properties.isIncludeNotReadyAddresses()
 							&& !CollectionUtils.isEmpty(subset.getNotReadyAddresses())) {
-						addresses.addAll(subset.getNotReadyAddresses());
+						instances = Stream.concat(instances, toInstances(subset.getNotReadyAddresses(), serviceId,
+								port, metadata, weight, false));
 					}
-
-					final int port = findEndpointPort(endpointPorts, primaryPortName, serviceId);
-					return addresses.stream()
-							.map(addr -> new KubernetesServiceInstance(
-									addr.getTargetRef() != null ? addr.getTargetRef().getUid() : "", serviceId,
-									addr.getIp(), port, metadata, false));
+					return instances;
 				}).collect(Collectors.toList());
 	}
 
+	private static Stream<ServiceInstance> toInstances(List<V1EndpointAddress> addresses, String serviceId, int port,
+			Map<String, String> metadata, int weight, boolean ready) {
+		if (addresses == null) {
+			return Stream.empty();
+		}
+		return addresses.stream()
+				.map(addr -> new KubernetesServiceInstance(
+						addr.getTargetRef() != null ? addr.getTargetRef().getUid() : "", serviceId, addr.getIp(), port,
+						metadata, false, weight, ready));
+	}
+
 	private int findEndpointPort(List<V1EndpointPort> endpointPorts, String primaryPortName, String serviceId) {
 		if (endpointPorts.size() == 1) {
 			return endpointPorts.get(0).getPort();
@@ -49,4 +49,32 @@ public class KubernetesServiceInstanceTests {
 		assertServiceInstance(true);
 	}
 
+	@Test
+	public void weightDefaultsToOne() {
+		assertThat(assertServiceInstance(false).getWeight()).isEqualTo(KubernetesServiceInstance.DEFAULT_WEIGHT);
+	}
+
+	@Test
+	public void weightIsReadFromMetadata() {
+		KubernetesServiceInstance instance = new KubernetesServiceInstance("123", "myservice", "1.2.3.4", 8080,
+				Collections.singletonMap(KubernetesServiceInstance.WEIGHT_METADATA_KEY, "5"), false);
+		assertThat(instance.getWeight()).isEqualTo(5);
+	}
+
+	@Test
+	public void unprefixedWeightIsIgnored() {
+		KubernetesServiceInstance instance = new KubernetesServiceInstance("123", "myservice", "1.2.3.4", 8080,
+				Collections.singletonMap("weight", "5"), false);
+		assertThat(instance.getWeight()).isEqualTo(KubernetesServiceInstance.DEFAULT_WEIGHT);
+	}
+
+	@Test
+	public void invalidWeightIsIgnored() {
+		assertThat(KubernetesServiceInstance
+				.getWeight(Collections.singletonMap(KubernetesServiceInstance.WEIGHT_METADATA_KEY, "heavy")))
+						.isEqualTo(KubernetesServiceInstance.DEFAULT_WEIGHT);
+		assertThat(KubernetesServiceInstance
+				.getWeight(Collections.singletonMap(KubernetesServiceInstance.WEIGHT_METADATA_KEY, "-3"))).isEqualTo(0);
+	}
+
 }
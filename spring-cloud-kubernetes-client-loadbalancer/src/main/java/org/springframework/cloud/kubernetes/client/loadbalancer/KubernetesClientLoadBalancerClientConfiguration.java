@@ -21,13 +21,20 @@ import io.kubernetes.client.openapi.apis.CoreV1Api;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.cloud.kubernetes.commons.KubernetesNamespaceProvider;
 import org.springframework.cloud.kubernetes.commons.discovery.KubernetesDiscoveryProperties;
+import org.springframework.cloud.kubernetes.commons.loadbalancer.KubernetesLoadBalancerMetricsConfiguration;
+import org.springframework.cloud.kubernetes.commons.loadbalancer.KubernetesOutlierDetectionConfiguration;
+import org.springframework.cloud.kubernetes.commons.loadbalancer.KubernetesReadinessConfiguration;
 import org.springframework.cloud.kubernetes.commons.loadbalancer.KubernetesServicesListSupplier;
+import org.springframework.cloud.kubernetes.commons.loadbalancer.KubernetesWeightedLoadBalancerConfiguration;
 import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
 import org.springframework.core.env.Environment;
 
 /**
  * @author Ryan Baxter
  */
+@Import({ KubernetesOutlierDetectionConfiguration.class, KubernetesWeightedLoadBalancerConfiguration.class,
+		KubernetesLoadBalancerMetricsConfiguration.class, KubernetesReadinessConfiguration.class })
 public class KubernetesClientLoadBalancerClientConfiguration {
 
 	@Bean
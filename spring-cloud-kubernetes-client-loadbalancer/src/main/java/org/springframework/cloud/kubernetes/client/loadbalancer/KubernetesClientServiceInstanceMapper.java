@@ -16,10 +16,12 @@
 
 package org.springframework.cloud.kubernetes.client.loadbalancer;
 
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 
 import io.kubernetes.client.openapi.models.V1ObjectMeta;
 import io.kubernetes.client.openapi.models.V1Service;
@@ -40,6 +42,14 @@ public class KubernetesClientServiceInstanceMapper implements KubernetesServiceI
 
 	private KubernetesDiscoveryProperties discoveryProperties;
 
+	/**
+	 * Last mapped instance by service namespace and name, reused as long as the uid and
+	 * the resourceVersion of the service do not change. Keying by name rather than uid
+	 * bounds the cache by the services that are load balanced: a recreated service
+	 * replaces the entry of the previous one.
+	 */
+	private final Map<String, MappedInstance> cache = new ConcurrentHashMap<>();
+
 	public KubernetesClientServiceInstanceMapper(KubernetesLoadBalancerProperties properties,
 			KubernetesDiscoveryProperties discoveryProperties) {
 		this.properties = properties;
@@ -49,6 +59,28 @@ public class KubernetesClientServiceInstanceMapper implements KubernetesServiceI
 	@Override
 	public KubernetesServiceInstance map(V1Service service) {
 		final V1ObjectMeta meta = service.getMetadata();
+		final String uid = meta.getUid();
+		final String resourceVersion = meta.getResourceVersion();
+		if (uid == null || resourceVersion == null) {
+			return doMap(service);
+		}
+		String key = meta.getNamespace() + "/" + meta.getName();
+		MappedInstance mapped = cache.get(key);
+		if (mapped != null && mapped.uid.equals(uid) && mapped.resourceVersion.equals(resourceVersion)) {
+			return mapped.instance;
+		}
+		KubernetesServiceInstance instance = doMap(service);
+		if (instance != null) {
+			cache.put(key, new MappedInstance(uid, resourceVersion, instance));
+		}
+		else {
+			cache.remove(key);
+		}
+		return instance;
+	}
+
+	private KubernetesServiceInstance doMap(V1Service service) {
+		final V1ObjectMeta meta = service.getMetadata();
 
 		final List<V1ServicePort> ports = service.getSpec().getPorts();
 		V1ServicePort port = null;
@@ -70,7 +102,7 @@ public class KubernetesClientServiceInstanceMapper implements KubernetesServiceI
 		final boolean secure = KubernetesServiceInstanceMapper.isSecure(service.getMetadata().getLabels(),
 				service.getMetadata().getAnnotations(), port.getName(), port.getPort());
 		return new KubernetesServiceInstance(meta.getUid(), meta.getName(), host, port.getPort(),
-				getServiceMetadata(service), secure);
+				getServiceMetadata(service), secure, KubernetesServiceInstance.getWeight(meta.getAnnotations()));
 	}
 
 	private Map<String, String> getServiceMetadata(V1Service service) {
@@ -87,7 +119,24 @@ public class KubernetesClientServiceInstanceMapper implements KubernetesServiceI
 			serviceMetadata.putAll(annotationMetadata);
 		}
 
-		return serviceMetadata;
+		// the instances are cached and shared by every caller
+		return Collections.unmodifiableMap(serviceMetadata);
+	}
+
+	private static final class MappedInstance {
+
+		private final String uid;
+
+		private final String resourceVersion;
+
+		private final KubernetesServiceInstance instance;
+
+		private MappedInstance(String uid, String resourceVersion, KubernetesServiceInstance instance) {
+			this.uid = uid;
+			this.resourceVersion = resourceVersion;
+			this.instance = instance;
+		}
+
 	}
 
 }
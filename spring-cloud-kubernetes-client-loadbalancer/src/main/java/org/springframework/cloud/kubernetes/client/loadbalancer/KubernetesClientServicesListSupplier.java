@@ -75,6 +75,7 @@ public class KubernetesClientServicesListSupplier extends KubernetesServicesList
 		List<ServiceInstance> result = new ArrayList<>();
 		List<V1Service> services = null;
 		try {
+			onApiRequest();
 			if (discoveryProperties.isAllNamespaces()) {
 				services = coreV1Api.listServiceForAllNamespaces(null, null, "metadata.name=" + this.getServiceId(),
 						null, null, null, null, null, null, null).getItems();
@@ -83,10 +84,12 @@ public class KubernetesClientServicesListSupplier extends KubernetesServicesList
 				services = coreV1Api.listNamespacedService(getNamespace(), null, null, null,
 						"metadata.name=" + this.getServiceId(), null, null, null, null, null, null).getItems();
 			}
+			onApiResponse();
 			services.forEach(service -> result.add(mapper.map(service)));
 		}
 		catch (ApiException e) {
 			LOG.warn("Error retrieving service with name " + this.getServiceId(), e);
+			onApiError(e);
 		}
 		LOG.info("Returning services: " + result);
 		return Flux.defer(() -> Flux.just(result));
@@ -84,4 +84,27 @@ class KubernetesClientServiceInstanceMapperTests {
 		assertThat(serviceInstance).isEqualTo(result);
 	}
 
+	@Test
+	void mappedInstanceIsReusedUntilResourceVersionChanges() {
+		KubernetesClientServiceInstanceMapper mapper = new KubernetesClientServiceInstanceMapper(
+				new KubernetesLoadBalancerProperties(), new KubernetesDiscoveryProperties());
+
+		KubernetesServiceInstance first = mapper.map(service("1"));
+		assertThat(mapper.map(service("1"))).isSameAs(first);
+
+		KubernetesServiceInstance updated = mapper.map(service("2"));
+		assertThat(updated).isNotSameAs(first);
+		assertThat(updated.getMetadata()).containsEntry("version", "2");
+	}
+
+	private static V1Service service(String resourceVersion) {
+		return new V1ServiceBuilder()
+				.withMetadata(new V1ObjectMetaBuilder().withName("database").withUid("0")
+						.withResourceVersion(resourceVersion).withNamespace("default")
+						.addToLabels("version", resourceVersion).build())
+				.withSpec(new V1ServiceSpecBuilder()
+						.addToPorts(new V1ServicePortBuilder().withPort(80).withName("http").build()).build())
+				.build();
+	}
+
 }
@@ -29,6 +29,19 @@ public abstract class AbstractConfigProperties {
 
 	protected String namespace;
 
+	/**
+	 * Maximum number of sources read from the Kubernetes API at the same time. The default
+	 * of 1 reads them one after the other.
+	 */
+	protected int loadParallelism = 1;
+
+	/**
+	 * Directory where snapshots of the sources read from the Kubernetes API are kept, for
+	 * example an emptyDir volume. When set, the application starts from the snapshots if
+	 * there is one for every source, and checks them against the API in the background.
+	 */
+	protected String snapshotPath;
+
 	public abstract String getConfigurationTarget();
 
 	public boolean isEnabled() {
@@ -55,4 +68,20 @@ public abstract class AbstractConfigProperties {
 		this.namespace = namespace;
 	}
 
+	public int getLoadParallelism() {
+		return this.loadParallelism;
+	}
+
+	public void setLoadParallelism(int loadParallelism) {
+		this.loadParallelism = loadParallelism;
+	}
+
+	public String getSnapshotPath() {
+		return this.snapshotPath;
+	}
+
+	public void setSnapshotPath(String snapshotPath) {
+		this.snapshotPath = snapshotPath;
+	}
+
 }
@@ -0,0 +1,238 @@
+/*
+ * Copyright 2013-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.kubernetes.commons.config;
+
+import java.io.ByteArrayInputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Properties;
+import java.util.function.Supplier;
+import java.util.zip.GZIPInputStream;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import org.springframework.core.env.Environment;
+import org.springframework.core.io.AbstractResource;
+import org.springframework.util.DigestUtils;
+import org.springframework.util.unit.DataSize;
+
+import static org.springframework.cloud.kubernetes.commons.config.PropertySourceUtils.PROPERTIES_TO_MAP;
+
+/**
+ * Reads the gzip-compressed yaml and properties files of the {@code binaryData} of a
+ * config map, the ones whose key ends with {@code .yaml.gz}, {@code .yml.gz} or
+ * {@code .properties.gz}. Their content is decompressed while it is parsed, without
+ * holding the decompressed file in memory, and the parsed properties are cached by the
+ * compressed content, so that unchanged files are neither decompressed nor parsed again.
+ * Files that decompress to more than {@value #MAX_DECOMPRESSED_SIZE_PROPERTY} are ignored.
+ */
+public final class CompressedConfigMapEntries {
+
+	/**
+	 * Property holding the maximum size of a decompressed file.
+	 */
+	public static final String MAX_DECOMPRESSED_SIZE_PROPERTY = "spring.cloud.kubernetes.config.max-decompressed-size";
+
+	/**
+	 * Default maximum size of a decompressed file.
+	 */
+	public static final DataSize DEFAULT_MAX_DECOMPRESSED_SIZE = DataSize.ofMegabytes(10);
+
+	private static final Log LOG = LogFactory.getLog(CompressedConfigMapEntries.class);
+
+	private static final String GZIP_SUFFIX = ".gz";
+
+	private CompressedConfigMapEntries() {
+		throw new IllegalStateException("Can't instantiate a utility class");
+	}
+
+	/**
+	 * @param key key of a {@code binaryData} entry
+	 * @return {@code true} if the entry is a gzip-compressed yaml or properties file
+	 */
+	public static boolean isCompressed(String key) {
+		return key.endsWith(".yaml" + GZIP_SUFFIX) || key.endsWith(".yml" + GZIP_SUFFIX)
+				|| key.endsWith(".properties" + GZIP_SUFFIX);
+	}
+
+	/**
+	 * @param environment environment holding the {@value #MAX_DECOMPRESSED_SIZE_PROPERTY}
+	 * property, may be {@code null}
+	 * @return the maximum size of a decompressed file, in bytes
+	 */
+	public static long maxDecompressedSize(Environment environment) {
+		String maxSize = environment == null ? null : environment.getProperty(MAX_DECOMPRESSED_SIZE_PROPERTY);
+		return (maxSize == null ? DEFAULT_MAX_DECOMPRESSED_SIZE : DataSize.parse(maxSize)).toBytes();
+	}
+
+	/**
+	 * @param key key of a compressed entry
+	 * @param content compressed content of the entry
+	 * @param environment environment the yaml documents are matched against
+	 * @return a copy of the properties of the file. They are empty if
+	 * the file decompresses to more than the maximum size.
+	 */
+	public static Map<String, Object> extractProperties(String key, byte[] content, Environment environment) {
+		if (!isCompressed(key)) {
+			return Collections.emptyMap();
+		}
+		long maxSize = maxDecompressedSize(environment);
+		if (key.endsWith(".properties" + GZIP_SUFFIX)) {
+			return PropertySourceParseCache.parse("properties.gz:" + maxSize, content,
+					bytes -> bounded(key, maxSize, () -> properties(bytes, maxSize)));
+		}
+		return PropertySourceParseCache.parse(
+				"yaml.gz:" + maxSize + ":" + PropertySourceParseCache.profiles(environment), content,
+				bytes -> bounded(key, maxSize,
+						() -> PropertySourceUtils.yamlToMap(new GzipResource(key, bytes, maxSize), environment)));
+	}
+
+	/**
+	 * @param content compressed content
+	 * @param environment environment holding the {@value #MAX_DECOMPRESSED_SIZE_PROPERTY}
+	 * property, may be {@code null}
+	 * @return hash of the decompressed content
+	 * @throws IllegalStateException if the content decompresses to more than the maximum
+	 * size
+	 */
+	public static String digest(byte[] content, Environment environment) {
+		try (InputStream inputStream = decompress(content, maxDecompressedSize(environment))) {
+			return DigestUtils.md5DigestAsHex(inputStream);
+		}
+		catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	private static Map<String, Object> bounded(String key, long maxSize, Supplier<Map<String, Object>> parser) {
+		try {
+			return parser.get();
+		}
+		catch (DecompressedSizeExceededException e) {
+			LOG.warn("Ignoring the compressed config map entry [" + key + "], it decompresses to more than "
+					+ maxSize + " bytes, see " + MAX_DECOMPRESSED_SIZE_PROPERTY);
+			return Collections.emptyMap();
+		}
+	}
+
+	private static Map<String, Object> properties(byte[] content, long maxSize) {
+		Properties properties = new Properties();
+		try (Reader reader = new InputStreamReader(decompress(content, maxSize), StandardCharsets.UTF_8)) {
+			properties.load(reader);
+		}
+		catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+		return PROPERTIES_TO_MAP.apply(properties);
+	}
+
+	private static InputStream decompress(byte[] content, long maxSize) throws IOException {
+		return new BoundedInputStream(new GZIPInputStream(new ByteArrayInputStream(content)), maxSize);
+	}
+
+	/**
+	 * Fails once more than a maximum number of bytes were read, with an unchecked
+	 * exception so that the parsers reading the stream do not wrap it.
+	 */
+	private static final class BoundedInputStream extends FilterInputStream {
+
+		private final long maxSize;
+
+		private long size;
+
+		private BoundedInputStream(InputStream in, long maxSize) {
+			super(in);
+			this.maxSize = maxSize;
+		}
+
+		@Override
+		public int read() throws IOException {
+			int read = super.read();
+			if (read != -1) {
+				count(1);
+			}
+			return read;
+		}
+
+		@Override
+		public int read(byte[] b, int off, int len) throws IOException {
+			int read = super.read(b, off, len);
+			if (read > 0) {
+				count(read);
+			}
+			return read;
+		}
+
+		@Override
+		public long skip(long n) throws IOException {
+			long skipped = super.skip(n);
+			count(skipped);
+			return skipped;
+		}
+
+		private void count(long read) {
+			this.size += read;
+			if (this.size > this.maxSize) {
+				throw new DecompressedSizeExceededException(this.maxSize);
+			}
+		}
+
+	}
+
+	private static final class DecompressedSizeExceededException extends IllegalStateException {
+
+		private DecompressedSizeExceededException(long maxSize) {
+			super("The content decompresses to more than " + maxSize + " bytes");
+		}
+
+	}
+
+	private static final class GzipResource extends AbstractResource {
+
+		private final String key;
+
+		private final byte[] content;
+
+		private final long maxSize;
+
+		private GzipResource(String key, byte[] content, long maxSize) {
+			this.key = key;
+			this.content = content;
+			this.maxSize = maxSize;
+		}
+
+		@Override
+		public InputStream getInputStream() throws IOException {
+			return decompress(this.content, this.maxSize);
+		}
+
+		@Override
+		public String getDescription() {
+			return "compressed config map entry [" + this.key + "]";
+		}
+
+	}
+
+}
@@ -17,11 +17,15 @@
 package org.springframework.cloud.kubernetes.commons.config;
 
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.CollectionUtils;
 import org.springframework.util.StringUtils;
+import org.springframework.util.unit.DataSize;
 
 /**
  * Config map configuration properties.
@@ -37,6 +41,12 @@ public class ConfigMapConfigProperties extends AbstractConfigProperties {
 
 	private List<Source> sources = Collections.emptyList();
 
+	/**
+	 * Maximum size of a gzip-compressed file of the binary data of a config map once
+	 * decompressed. Larger files are ignored.
+	 */
+	private DataSize maxDecompressedSize = CompressedConfigMapEntries.DEFAULT_MAX_DECOMPRESSED_SIZE;
+
 	public boolean isEnableApi() {
 		return this.enableApi;
 	}
@@ -61,6 +71,14 @@ public class ConfigMapConfigProperties extends AbstractConfigProperties {
 		this.sources = sources;
 	}
 
+	public DataSize getMaxDecompressedSize() {
+		return this.maxDecompressedSize;
+	}
+
+	public void setMaxDecompressedSize(DataSize maxDecompressedSize) {
+		this.maxDecompressedSize = maxDecompressedSize;
+	}
+
 	/**
 	 * @return A list of Source to use If the user has not specified any Source
 	 * properties, then a single Source is constructed based on the supplied name and
@@ -97,6 +115,12 @@ public class ConfigMapConfigProperties extends AbstractConfigProperties {
 		 */
 		private String namespace;
 
+		/**
+		 * The labels of the ConfigMaps to find. When set, the name is ignored and the
+		 * ConfigMaps that have all of these labels are read instead.
+		 */
+		private Map<String, String> labels = new HashMap<>();
+
 		public Source() {
 
 		}
@@ -106,6 +130,12 @@ public class ConfigMapConfigProperties extends AbstractConfigProperties {
 			this.namespace = namespace;
 		}
 
+		public Source(String name, String namespace, Map<String, String> labels) {
+			this.name = name;
+			this.namespace = namespace;
+			this.labels = labels;
+		}
+
 		public String getName() {
 			return this.name;
 		}
@@ -122,14 +152,23 @@ public class ConfigMapConfigProperties extends AbstractConfigProperties {
 			this.namespace = namespace;
 		}
 
+		public Map<String, String> getLabels() {
+			return this.labels;
+		}
+
+		public void setLabels(Map<String, String> labels) {
+			this.labels = labels;
+		}
+
 		public boolean isEmpty() {
-			return !StringUtils.hasLength(this.name) && !StringUtils.hasLength(this.namespace);
+			return !StringUtils.hasLength(this.name) && !StringUtils.hasLength(this.namespace)
+					&& CollectionUtils.isEmpty(this.labels);
 		}
 
 		public NormalizedSource normalize(String defaultName, String defaultNamespace) {
 			String normalizedName = StringUtils.hasLength(this.name) ? this.name : defaultName;
 			String normalizedNamespace = StringUtils.hasLength(this.namespace) ? this.namespace : defaultNamespace;
-			return new NormalizedSource(normalizedName, normalizedNamespace);
+			return new NormalizedSource(normalizedName, normalizedNamespace, this.labels);
 		}
 
 	}
@@ -140,9 +179,16 @@ public class ConfigMapConfigProperties extends AbstractConfigProperties {
 
 		private final String namespace;
 
+		private final Map<String, String> labels;
+
 		NormalizedSource(String name, String namespace) {
+			this(name, namespace, null);
+		}
+
+		NormalizedSource(String name, String namespace, Map<String, String> labels) {
 			this.name = name;
 			this.namespace = namespace;
+			this.labels = CollectionUtils.isEmpty(labels) ? Collections.emptyMap() : labels;
 		}
 
 		public String getName() {
@@ -153,6 +199,22 @@ public class ConfigMapConfigProperties extends AbstractConfigProperties {
 			return this.namespace;
 		}
 
+		/**
+		 * @return the labels of the config maps to read, empty when the config map is
+		 * read by name
+		 */
+		public Map<String, String> getLabels() {
+			return this.labels;
+		}
+
+		/**
+		 * @return {@code true} if the config maps are selected by labels rather than by
+		 * name
+		 */
+		public boolean isSelectedByLabels() {
+			return !this.labels.isEmpty();
+		}
+
 	}
 
 }
@@ -20,6 +20,7 @@ import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Set;
+import java.util.TreeMap;
 import java.util.stream.Collectors;
 
 import org.apache.commons.logging.Log;
@@ -34,10 +35,7 @@ import static org.springframework.cloud.kubernetes.commons.config.Constants.APPL
 import static org.springframework.cloud.kubernetes.commons.config.Constants.APPLICATION_YML;
 import static org.springframework.cloud.kubernetes.commons.config.Constants.PREFIX;
 import static org.springframework.cloud.kubernetes.commons.config.Constants.PROPERTY_SOURCE_NAME_SEPARATOR;
-import static org.springframework.cloud.kubernetes.commons.config.PropertySourceUtils.KEY_VALUE_TO_PROPERTIES;
-import static org.springframework.cloud.kubernetes.commons.config.PropertySourceUtils.PROPERTIES_TO_MAP;
 import static org.springframework.cloud.kubernetes.commons.config.PropertySourceUtils.throwingMerger;
-import static org.springframework.cloud.kubernetes.commons.config.PropertySourceUtils.yamlParserGenerator;
 
 /**
  * A {@link MapPropertySource} that uses Kubernetes config maps.
@@ -46,12 +44,24 @@ import static org.springframework.cloud.kubernetes.commons.config.PropertySource
  * @author Ali Shahbour
  * @author Michael Moudatsos
  */
-public abstract class ConfigMapPropertySource extends MapPropertySource {
+public abstract class ConfigMapPropertySource extends MapPropertySource implements ResourceVersionedPropertySource {
 
 	private static final Log LOG = LogFactory.getLog(ConfigMapPropertySource.class);
 
+	private final Map<String, String> resourceVersions;
+
 	public ConfigMapPropertySource(String name, Map<String, Object> source) {
+		this(name, source, null);
+	}
+
+	protected ConfigMapPropertySource(String name, Map<String, Object> source, Map<String, String> resourceVersions) {
 		super(name, source);
+		this.resourceVersions = resourceVersions;
+	}
+
+	@Override
+	public Map<String, String> getResourceVersions() {
+		return this.resourceVersions;
 	}
 
 	protected static Environment createEnvironmentWithActiveProfiles(String[] activeProfiles) {
@@ -64,6 +74,15 @@ public abstract class ConfigMapPropertySource extends MapPropertySource {
 		return PREFIX + PROPERTY_SOURCE_NAME_SEPARATOR + name + PROPERTY_SOURCE_NAME_SEPARATOR + namespace;
 	}
 
+	/**
+	 * @param labels labels of the config maps the property source is read from
+	 * @param namespace namespace of the config maps
+	 * @return name of the property source of the config maps selected by labels
+	 */
+	protected static String getName(Map<String, String> labels, String namespace) {
+		return getName(ConfigUtils.labelSelector(labels), namespace);
+	}
+
 	protected static Map<String, Object> processAllEntries(Map<String, String> input, Environment environment) {
 
 		Set<Map.Entry<String, String>> entrySet = input.entrySet();
@@ -75,17 +94,43 @@ public abstract class ConfigMapPropertySource extends MapPropertySource {
 			String propertyValue = singleEntry.getValue();
 			if (propertyName.endsWith(".yml") || propertyName.endsWith(".yaml")) {
 				LOG.debug("The single property with name: [" + propertyName + "] will be treated as a yaml file");
-				return yamlParserGenerator(environment).andThen(PROPERTIES_TO_MAP).apply(propertyValue);
+				return PropertySourceParseCache.yaml(propertyValue, environment);
 			}
 			else if (propertyName.endsWith(".properties")) {
 				LOG.debug("The single property with name: [" + propertyName + "] will be treated as a properties file");
-				return KEY_VALUE_TO_PROPERTIES.andThen(PROPERTIES_TO_MAP).apply(propertyValue);
+				return PropertySourceParseCache.properties(propertyValue);
 			}
 		}
 
 		return defaultProcessAllEntries(input, environment);
 	}
 
+	/**
+	 * Processes the entries of a config map, including the gzip-compressed yaml and
+	 * properties files of its {@code binaryData}, see {@link CompressedConfigMapEntries}.
+	 * @param data data of the config map
+	 * @param binaryData binary data of the config map, decoded
+	 * @param environment environment the yaml documents are matched against
+	 * @return the properties of the config map
+	 */
+	protected static Map<String, Object> processAllEntries(Map<String, String> data, Map<String, byte[]> binaryData,
+			Environment environment) {
+		Map<String, Object> result = new HashMap<>();
+		if (data != null) {
+			result.putAll(processAllEntries(data, environment));
+		}
+		if (binaryData != null) {
+			// in a fixed order, in case several files hold the same property
+			new TreeMap<>(binaryData).forEach((key, content) -> {
+				if (CompressedConfigMapEntries.isCompressed(key)) {
+					LOG.debug("The binary property with name: [" + key + "] will be treated as a compressed file");
+					result.putAll(CompressedConfigMapEntries.extractProperties(key, content, environment));
+				}
+			});
+		}
+		return result;
+	}
+
 	protected static Map<String, Object> defaultProcessAllEntries(Map<String, String> input, Environment environment) {
 
 		return input.entrySet().stream().map(e -> extractProperties(e.getKey(), e.getValue(), environment))
@@ -97,10 +142,10 @@ public abstract class ConfigMapPropertySource extends MapPropertySource {
 			Environment environment) {
 
 		if (resourceName.equals(APPLICATION_YAML) || resourceName.equals(APPLICATION_YML)) {
-			return yamlParserGenerator(environment).andThen(PROPERTIES_TO_MAP).apply(content);
+			return PropertySourceParseCache.yaml(content, environment);
 		}
 		else if (resourceName.equals(APPLICATION_PROPERTIES)) {
-			return KEY_VALUE_TO_PROPERTIES.andThen(PROPERTIES_TO_MAP).apply(content);
+			return PropertySourceParseCache.properties(content);
 		}
 
 		return Collections.singletonMap(resourceName, content);
@@ -19,6 +19,7 @@ package org.springframework.cloud.kubernetes.commons.config;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Paths;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -35,11 +36,9 @@ import org.springframework.core.env.ConfigurableEnvironment;
 import org.springframework.core.env.Environment;
 import org.springframework.core.env.MapPropertySource;
 import org.springframework.core.env.PropertySource;
+import org.springframework.util.StringUtils;
 
 import static org.springframework.cloud.kubernetes.commons.config.ConfigUtils.getApplicationName;
-import static org.springframework.cloud.kubernetes.commons.config.PropertySourceUtils.KEY_VALUE_TO_PROPERTIES;
-import static org.springframework.cloud.kubernetes.commons.config.PropertySourceUtils.PROPERTIES_TO_MAP;
-import static org.springframework.cloud.kubernetes.commons.config.PropertySourceUtils.yamlParserGenerator;
 
 /**
  * A {@link PropertySourceLocator} that uses config maps.
@@ -53,13 +52,87 @@ public abstract class ConfigMapPropertySourceLocator implements PropertySourceLo
 
 	protected final ConfigMapConfigProperties properties;
 
+	private final PropertySourceSnapshots snapshots;
+
 	public ConfigMapPropertySourceLocator(ConfigMapConfigProperties properties) {
 		this.properties = properties;
+		this.snapshots = StringUtils.hasText(properties.getSnapshotPath())
+				? new PropertySourceSnapshots(Paths.get(properties.getSnapshotPath()), "configmap") : null;
 	}
 
 	protected abstract MapPropertySource getMapPropertySource(String applicationName, NormalizedSource normalizedSource,
 			String configurationTarget, ConfigurableEnvironment environment);
 
+	/**
+	 * Creates the property sources of config maps selected by labels. The sources are all
+	 * in the same namespace, implementations should read the config maps of all of them
+	 * with a single list request. The config maps selected by a source are merged in the
+	 * order of their names, so that the result does not depend on the order the API
+	 * returns them in. The default implementation does not support labels, it ignores the
+	 * sources.
+	 * @param normalizedSources sources selecting config maps by labels, in the same
+	 * namespace
+	 * @param configurationTarget configuration target
+	 * @param environment environment the property sources are read for
+	 * @return the property source of each source, in the order of the sources
+	 */
+	protected List<MapPropertySource> getMapPropertySources(List<NormalizedSource> normalizedSources,
+			String configurationTarget, ConfigurableEnvironment environment) {
+		LOG.warn(getClass().getSimpleName() + " cannot read config maps by labels, ignoring " + normalizedSources.size()
+				+ " source(s)");
+		List<MapPropertySource> propertySources = new ArrayList<>(normalizedSources.size());
+		normalizedSources.forEach(s -> propertySources.add(new MapPropertySource(
+				ConfigMapPropertySource.getName(s.getLabels(), s.getNamespace()), new HashMap<>())));
+		return propertySources;
+	}
+
+	/**
+	 * Creates the property source of a config map from a snapshot. Snapshots are not used
+	 * when this returns {@code null}, which is the default.
+	 * @param name name of the property source
+	 * @param source properties of the property source
+	 * @return the property source or {@code null}
+	 */
+	protected MapPropertySource restoreMapPropertySource(String name, Map<String, Object> source) {
+		return null;
+	}
+
+	/**
+	 * Sets the callback notified when the snapshots the application started from turn
+	 * out to be out of date. Does nothing when snapshots are not enabled.
+	 * @param listener the callback
+	 */
+	public void setSnapshotChangeListener(Runnable listener) {
+		if (this.snapshots != null) {
+			this.snapshots.setChangeListener(listener);
+		}
+	}
+
+	/**
+	 * @param environment environment the property sources are read for
+	 * @return the config maps read from the Kubernetes API, including the profile specific
+	 * ones and the ones selected by labels
+	 */
+	public ConsumedSources getConsumedSources(Environment environment) {
+		ConsumedSources consumedSources = new ConsumedSources();
+		if (this.properties.isEnableApi()) {
+			for (NormalizedSource normalizedSource : this.properties.determineSources()) {
+				if (normalizedSource.isSelectedByLabels()) {
+					consumedSources.addLabels(normalizedSource.getNamespace(), normalizedSource.getLabels());
+				}
+				else {
+					String name = getApplicationName(environment, normalizedSource.getName(),
+							this.properties.getConfigurationTarget());
+					consumedSources.addName(normalizedSource.getNamespace(), name);
+					for (String profile : environment.getActiveProfiles()) {
+						consumedSources.addName(normalizedSource.getNamespace(), name + "-" + profile);
+					}
+				}
+			}
+		}
+		return consumedSources;
+	}
+
 	@Override
 	public PropertySource<?> locate(Environment environment) {
 		if (environment instanceof ConfigurableEnvironment) {
@@ -68,7 +141,14 @@ public abstract class ConfigMapPropertySourceLocator implements PropertySourceLo
 			CompositePropertySource composite = new CompositePropertySource("composite-configmap");
 			if (this.properties.isEnableApi()) {
 				List<NormalizedSource> sources = this.properties.determineSources();
-				sources.forEach(s -> composite.addFirstPropertySource(getMapPropertySourceForSingleConfigMap(env, s)));
+				LabeledSources labeledSources = new LabeledSources(sources, env);
+				Function<NormalizedSource, MapPropertySource> loader = s -> s.isSelectedByLabels()
+						? labeledSources.getMapPropertySource(s) : getMapPropertySourceForSingleConfigMap(env, s);
+				List<MapPropertySource> propertySources = this.snapshots == null
+						? PropertySourceLoader.load(sources, loader, this.properties.getLoadParallelism())
+						: this.snapshots.load(sources, s -> snapshotKey(env, s), loader,
+								this::restoreMapPropertySource, this.properties.getLoadParallelism());
+				propertySources.forEach(composite::addFirstPropertySource);
 			}
 
 			addPropertySourcesFromPaths(environment, composite);
@@ -86,6 +166,15 @@ public abstract class ConfigMapPropertySourceLocator implements PropertySourceLo
 		return getMapPropertySource(applicationName, normalizedSource, configurationTarget, environment);
 	}
 
+	private String snapshotKey(ConfigurableEnvironment environment, NormalizedSource normalizedSource) {
+		if (normalizedSource.isSelectedByLabels()) {
+			return normalizedSource.getNamespace() + ".labels."
+					+ ConfigUtils.labelSelector(normalizedSource.getLabels());
+		}
+		return normalizedSource.getNamespace() + "." + getApplicationName(environment, normalizedSource.getName(),
+				this.properties.getConfigurationTarget());
+	}
+
 	private void addPropertySourcesFromPaths(Environment environment, CompositePropertySource composite) {
 		properties.getPaths().stream().map(Paths::get).filter(p -> {
 			boolean exists = Files.exists(p);
@@ -105,12 +194,11 @@ public abstract class ConfigMapPropertySourceLocator implements PropertySourceLo
 				String content = new String(Files.readAllBytes(p)).trim();
 				String filename = p.toAbsolutePath().toString().toLowerCase();
 				if (filename.endsWith(".properties")) {
-					addPropertySourceIfNeeded(c -> PROPERTIES_TO_MAP.apply(KEY_VALUE_TO_PROPERTIES.apply(c)), content,
-							filename, composite);
+					addPropertySourceIfNeeded(PropertySourceParseCache::properties, content, filename, composite);
 				}
 				else if (filename.endsWith(".yml") || filename.endsWith(".yaml")) {
-					addPropertySourceIfNeeded(c -> PROPERTIES_TO_MAP.apply(yamlParserGenerator(environment).apply(c)),
-							content, filename, composite);
+					addPropertySourceIfNeeded(c -> PropertySourceParseCache.yaml(c, environment), content, filename,
+							composite);
 				}
 			}
 			catch (IOException e) {
@@ -131,4 +219,33 @@ public abstract class ConfigMapPropertySourceLocator implements PropertySourceLo
 		}
 	}
 
+	/**
+	 * The sources that select config maps by labels, grouped by namespace. The property
+	 * sources of a namespace are created together, the first time one of them is needed,
+	 * so that its config maps are listed once.
+	 */
+	private final class LabeledSources {
+
+		private final ConfigurableEnvironment environment;
+
+		private final Map<String, List<NormalizedSource>> sourcesByNamespace = new HashMap<>();
+
+		private final Map<String, List<MapPropertySource>> propertySourcesByNamespace = new HashMap<>();
+
+		private LabeledSources(List<NormalizedSource> sources, ConfigurableEnvironment environment) {
+			this.environment = environment;
+			sources.stream().filter(NormalizedSource::isSelectedByLabels).forEach(s -> this.sourcesByNamespace
+					.computeIfAbsent(s.getNamespace(), namespace -> new ArrayList<>()).add(s));
+		}
+
+		private synchronized MapPropertySource getMapPropertySource(NormalizedSource source) {
+			List<NormalizedSource> sources = this.sourcesByNamespace.get(source.getNamespace());
+			List<MapPropertySource> propertySources = this.propertySourcesByNamespace.computeIfAbsent(
+					source.getNamespace(), namespace -> getMapPropertySources(sources,
+							properties.getConfigurationTarget(), this.environment));
+			return propertySources.get(sources.indexOf(source));
+		}
+
+	}
+
 }
@@ -16,6 +16,13 @@
 
 package org.springframework.cloud.kubernetes.commons.config;
 
+import java.util.Collection;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 
@@ -47,4 +54,45 @@ public final class ConfigUtils {
 		return configName;
 	}
 
+	/**
+	 * @param labels labels an object must have
+	 * @return the labels as an equality based label selector, sorted by key, e.g.
+	 * {@code app=my-app,tier=web}
+	 */
+	public static String labelSelector(Map<String, String> labels) {
+		return new TreeMap<>(labels).entrySet().stream().map(e -> e.getKey() + "=" + e.getValue())
+				.collect(Collectors.joining(","));
+	}
+
+	/**
+	 * Finds the labels that every object matching one of several label selectors has. A
+	 * single list request filtered by these labels returns every object matching any of
+	 * the selectors, which can then be told apart with
+	 * {@link #matchesLabels(Map, Map)}.
+	 * @param selectors labels of each selector
+	 * @return the keys of the labels present in every selector, sorted, with the values
+	 * they have in the selectors, empty if the selectors have no label in common
+	 */
+	public static Map<String, Set<String>> commonLabelValues(Collection<Map<String, String>> selectors) {
+		Map<String, Set<String>> common = new TreeMap<>();
+		if (selectors.isEmpty()) {
+			return common;
+		}
+		selectors.iterator().next().keySet().forEach(key -> common.put(key, new TreeSet<>()));
+		for (Map<String, String> selector : selectors) {
+			common.keySet().retainAll(selector.keySet());
+			common.forEach((key, values) -> values.add(selector.get(key)));
+		}
+		return common;
+	}
+
+	/**
+	 * @param labels labels of an object, may be {@code null}
+	 * @param selector labels the object must have
+	 * @return {@code true} if the object has all the labels of the selector
+	 */
+	public static boolean matchesLabels(Map<String, String> labels, Map<String, String> selector) {
+		return labels != null && labels.entrySet().containsAll(selector.entrySet());
+	}
+
 }
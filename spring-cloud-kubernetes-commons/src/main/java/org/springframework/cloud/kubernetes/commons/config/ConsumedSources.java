@@ -0,0 +1,129 @@
+/*
+ * Copyright 2013-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.kubernetes.commons.config;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.springframework.util.CollectionUtils;
+
+/**
+ * The config maps or secrets the property sources are read from, by name or by labels.
+ * Used by the change detectors to ignore events for objects the application does not
+ * read, and to only watch the objects it does.
+ */
+public class ConsumedSources {
+
+	private final Set<String> names = new LinkedHashSet<>();
+
+	private final List<LabelSelector> labelSelectors = new ArrayList<>();
+
+	/**
+	 * @param namespace namespace of the object, {@code null} for the default one
+	 * @param name name of the object
+	 */
+	public void addName(String namespace, String name) {
+		this.names.add(ResourceVersionedPropertySource.key(namespace, name));
+	}
+
+	/**
+	 * @param namespace namespace of the objects, {@code null} for the default one
+	 * @param labels labels the objects must have
+	 */
+	public void addLabels(String namespace, Map<String, String> labels) {
+		this.labelSelectors.add(new LabelSelector(namespace, labels));
+	}
+
+	/**
+	 * @return the keys of the objects read by name, as in
+	 * {@link ResourceVersionedPropertySource#key(String, String)}
+	 */
+	public Set<String> getNames() {
+		return Collections.unmodifiableSet(this.names);
+	}
+
+	public List<LabelSelector> getLabelSelectors() {
+		return Collections.unmodifiableList(this.labelSelectors);
+	}
+
+	/**
+	 * @return the namespaces of the objects read by name or by labels, with {@code null}
+	 * for the default one
+	 */
+	public Set<String> getNamespaces() {
+		Set<String> namespaces = new LinkedHashSet<>();
+		this.names.forEach(key -> namespaces.add(ResourceVersionedPropertySource.namespace(key)));
+		this.labelSelectors.forEach(selector -> namespaces.add(selector.getNamespace()));
+		return namespaces;
+	}
+
+	/**
+	 * Determines whether an object is read by the property sources. Objects looked up
+	 * without a namespace match in any namespace, since the default namespace is only
+	 * known to the Kubernetes client.
+	 * @param namespace namespace of the object
+	 * @param name name of the object
+	 * @param labels labels of the object, may be {@code null}
+	 * @return {@code true} if the object is read by the property sources
+	 */
+	public boolean isConsumed(String namespace, String name, Map<String, String> labels) {
+		if (this.names.contains(ResourceVersionedPropertySource.key(namespace, name))
+				|| this.names.contains(ResourceVersionedPropertySource.key(null, name))) {
+			return true;
+		}
+		return this.labelSelectors.stream().anyMatch(selector -> selector.matches(namespace, labels));
+	}
+
+	/**
+	 * Objects selected by labels.
+	 */
+	public static class LabelSelector {
+
+		private final String namespace;
+
+		private final Map<String, String> labels;
+
+		LabelSelector(String namespace, Map<String, String> labels) {
+			this.namespace = namespace;
+			this.labels = labels;
+		}
+
+		/**
+		 * @return the namespace of the objects, {@code null} for the default one
+		 */
+		public String getNamespace() {
+			return this.namespace;
+		}
+
+		public Map<String, String> getLabels() {
+			return this.labels;
+		}
+
+		boolean matches(String namespace, Map<String, String> labels) {
+			if (this.namespace != null && !this.namespace.equals(namespace)) {
+				return false;
+			}
+			return !CollectionUtils.isEmpty(labels) && labels.entrySet().containsAll(this.labels.entrySet());
+		}
+
+	}
+
+}
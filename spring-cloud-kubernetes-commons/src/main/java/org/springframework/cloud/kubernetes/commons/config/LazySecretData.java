@@ -0,0 +1,119 @@
+/*
+ * Copyright 2013-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.kubernetes.commons.config;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Source of a {@link SecretsPropertySource} holding the raw bytes of the secret data,
+ * which are only turned into property values when they are first read. Equality, hash
+ * codes and iteration are those of a map of the property values, so that it compares
+ * equal to the same properties read in any other way.
+ */
+public class LazySecretData extends AbstractMap<String, Object> {
+
+	// values are either the raw byte[] or the String property once decoded
+	private final Map<String, Object> values = new ConcurrentHashMap<>();
+
+	/**
+	 * @param key property name
+	 * @param value raw, already base64 decoded, value of the secret entry
+	 */
+	public void putBytes(String key, byte[] value) {
+		if (value != null) {
+			this.values.put(key, value);
+		}
+	}
+
+	@Override
+	public Object put(String key, Object value) {
+		return decode(key, this.values.put(key, value));
+	}
+
+	@Override
+	public Object get(Object key) {
+		return decode(key, this.values.get(key));
+	}
+
+	@Override
+	public boolean containsKey(Object key) {
+		return this.values.containsKey(key);
+	}
+
+	@Override
+	public Object remove(Object key) {
+		return decode(key, this.values.remove(key));
+	}
+
+	@Override
+	public int size() {
+		return this.values.size();
+	}
+
+	@Override
+	public Set<String> keySet() {
+		return Collections.unmodifiableSet(this.values.keySet());
+	}
+
+	@Override
+	public Set<Entry<String, Object>> entrySet() {
+		return new AbstractSet<Entry<String, Object>>() {
+
+			@Override
+			public Iterator<Entry<String, Object>> iterator() {
+				Iterator<String> keys = LazySecretData.this.values.keySet().iterator();
+				return new Iterator<Entry<String, Object>>() {
+
+					@Override
+					public boolean hasNext() {
+						return keys.hasNext();
+					}
+
+					@Override
+					public Entry<String, Object> next() {
+						String key = keys.next();
+						return new SimpleImmutableEntry<>(key, get(key));
+					}
+
+				};
+			}
+
+			@Override
+			public int size() {
+				return LazySecretData.this.values.size();
+			}
+
+		};
+	}
+
+	private Object decode(Object key, Object value) {
+		if (!(value instanceof byte[])) {
+			return value;
+		}
+		String decoded = new String((byte[]) value).trim();
+		// another thread may have decoded or replaced it in the meantime
+		this.values.replace((String) key, value, decoded);
+		return decoded;
+	}
+
+}
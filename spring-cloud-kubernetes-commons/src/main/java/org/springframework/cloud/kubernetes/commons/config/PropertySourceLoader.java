@@ -0,0 +1,80 @@
+/*
+ * Copyright 2013-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.kubernetes.commons.config;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import org.springframework.core.env.MapPropertySource;
+
+/**
+ * Loads the property sources of a list of sources, either one after the other or, when a
+ * parallelism greater than one is given, concurrently on a short-lived pool of at most
+ * that many threads. The property sources are always returned in the order of the
+ * sources, so the resulting precedence does not depend on the parallelism.
+ */
+final class PropertySourceLoader {
+
+	private static final AtomicInteger THREAD_COUNT = new AtomicInteger();
+
+	private PropertySourceLoader() {
+	}
+
+	static <S> List<MapPropertySource> load(List<S> sources, Function<S, MapPropertySource> loader,
+			int parallelism) {
+		List<MapPropertySource> result = new ArrayList<>(sources.size());
+		int threads = Math.min(parallelism, sources.size());
+		if (threads <= 1) {
+			sources.forEach(source -> result.add(loader.apply(source)));
+			return result;
+		}
+
+		ExecutorService executor = Executors.newFixedThreadPool(threads, runnable -> {
+			Thread thread = new Thread(runnable, "kubernetes-property-source-loader-" + THREAD_COUNT.incrementAndGet());
+			thread.setDaemon(true);
+			return thread;
+		});
+		try {
+			List<Future<MapPropertySource>> futures = new ArrayList<>(sources.size());
+			sources.forEach(source -> futures.add(executor.submit(() -> loader.apply(source))));
+			for (Future<MapPropertySource> future : futures) {
+				result.add(future.get());
+			}
+			return result;
+		}
+		catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("Interrupted while loading property sources", e);
+		}
+		catch (ExecutionException e) {
+			if (e.getCause() instanceof RuntimeException) {
+				throw (RuntimeException) e.getCause();
+			}
+			throw new IllegalStateException("Unable to load property sources", e.getCause());
+		}
+		finally {
+			executor.shutdownNow();
+		}
+	}
+
+}
@@ -0,0 +1,114 @@
+/*
+ * Copyright 2013-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.kubernetes.commons.config;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import org.springframework.core.env.Environment;
+import org.springframework.util.DigestUtils;
+
+import static org.springframework.cloud.kubernetes.commons.config.PropertySourceUtils.KEY_VALUE_TO_PROPERTIES;
+import static org.springframework.cloud.kubernetes.commons.config.PropertySourceUtils.PROPERTIES_TO_MAP;
+import static org.springframework.cloud.kubernetes.commons.config.PropertySourceUtils.yamlToMapParserGenerator;
+
+/**
+ * Keeps the properties parsed from yaml and properties payloads, keyed by a hash of the
+ * payload and, for yaml, by the profiles its documents were matched against. Property
+ * sources are read again on every reload check, and large payloads that did not change
+ * are then not parsed again. The least recently used entries are evicted past
+ * {@link #MAX_ENTRIES}. Callers get a copy of the cached properties, which they may
+ * modify.
+ */
+final class PropertySourceParseCache {
+
+	static final int MAX_ENTRIES = 64;
+
+	private static final Map<String, Map<String, Object>> CACHE = Collections
+			.synchronizedMap(new LinkedHashMap<String, Map<String, Object>>(16, 0.75f, true) {
+				@Override
+				protected boolean removeEldestEntry(Map.Entry<String, Map<String, Object>> eldest) {
+					return size() > MAX_ENTRIES;
+				}
+			});
+
+	private PropertySourceParseCache() {
+		throw new IllegalStateException("Can't instantiate a utility class");
+	}
+
+	static Map<String, Object> yaml(String content, Environment environment) {
+		return parse("yaml:" + profiles(environment), content, yamlToMapParserGenerator(environment));
+	}
+
+	static Map<String, Object> properties(String content) {
+		return parse("properties", content, KEY_VALUE_TO_PROPERTIES.andThen(PROPERTIES_TO_MAP));
+	}
+
+	/**
+	 * @param format format of the content, and anything else the result depends on
+	 * @param content content to parse
+	 * @param parser parses the content when it is not cached
+	 * @return a copy of the parsed properties
+	 */
+	static Map<String, Object> parse(String format, String content, Function<String, Map<String, Object>> parser) {
+		String key = format + ":" + content.length() + ":"
+				+ DigestUtils.md5DigestAsHex(content.getBytes(StandardCharsets.UTF_8));
+		return parse(key, () -> parser.apply(content));
+	}
+
+	/**
+	 * @param format format of the content, and anything else the result depends on
+	 * @param content binary content to parse, for example compressed
+	 * @param parser parses the content when it is not cached
+	 * @return a copy of the parsed properties
+	 */
+	static Map<String, Object> parse(String format, byte[] content, Function<byte[], Map<String, Object>> parser) {
+		String key = format + ":" + content.length + ":" + DigestUtils.md5DigestAsHex(content);
+		return parse(key, () -> parser.apply(content));
+	}
+
+	private static Map<String, Object> parse(String key, Supplier<Map<String, Object>> parser) {
+		Map<String, Object> parsed = CACHE.get(key);
+		if (parsed == null) {
+			parsed = Collections.unmodifiableMap(parser.get());
+			CACHE.put(key, parsed);
+		}
+		return new LinkedHashMap<>(parsed);
+	}
+
+	static int size() {
+		return CACHE.size();
+	}
+
+	static void clear() {
+		CACHE.clear();
+	}
+
+	static String profiles(Environment environment) {
+		if (environment == null) {
+			// documents are not matched against profiles at all
+			return "*";
+		}
+		return String.join(",", environment.getActiveProfiles()) + ";"
+				+ String.join(",", environment.getDefaultProfiles());
+	}
+
+}
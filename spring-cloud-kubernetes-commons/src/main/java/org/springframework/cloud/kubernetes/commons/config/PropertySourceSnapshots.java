@@ -0,0 +1,329 @@
+/*
+ * Copyright 2013-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.kubernetes.commons.config;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import org.springframework.core.env.MapPropertySource;
+import org.springframework.util.CollectionUtils;
+
+/**
+ * On-disk snapshots of the property sources read from the Kubernetes API, one file per
+ * source. On the first load of the process, if there is a snapshot for every source, the
+ * snapshots are returned right away and the sources are read from the API in the
+ * background: the snapshots are then updated and, if anything differs, the change
+ * listener is notified. Every later load, including the ones of the locators a refresh
+ * creates in a new bootstrap context, reads from the API and updates the snapshots.
+ * <p>
+ * Each snapshot is tagged with a digest of its content, so that unchanged sources are not
+ * written again. An empty source replaces an existing snapshot only when it tells that it
+ * was read successfully, through its {@link ResourceVersionedPropertySource resource
+ * versions}: the snapshot of a resource that was deleted or emptied is then emptied too,
+ * while an API that could not be reached leaves the snapshot as it was.
+ */
+public class PropertySourceSnapshots {
+
+	private static final Log LOG = LogFactory.getLog(PropertySourceSnapshots.class);
+
+	private static final String NAME_KEY = "name";
+
+	private static final String DIGEST_KEY = "digest";
+
+	private static final String PROPERTY_PREFIX = "property.";
+
+	private final Path directory;
+
+	private final String kind;
+
+	/**
+	 * Snapshot directories and kinds already loaded in this process. Static, since the
+	 * locators, and the snapshots they own, are created again with every bootstrap
+	 * context.
+	 */
+	private static final Set<Path> LOADED = ConcurrentHashMap.newKeySet();
+
+	/**
+	 * Digest of the content of the snapshot files known to be up to date.
+	 */
+	private static final Map<Path, String> DIGESTS = new ConcurrentHashMap<>();
+
+	private Runnable changeListener;
+
+	private boolean pendingChange;
+
+	/**
+	 * @param directory directory the snapshots are stored in
+	 * @param kind kind of the sources, used in the name of the snapshot files
+	 */
+	public PropertySourceSnapshots(Path directory, String kind) {
+		this.directory = directory;
+		this.kind = kind;
+	}
+
+	/**
+	 * Sets the callback notified when the background read that follows a start from
+	 * snapshots finds a difference. If the difference was found before the callback is
+	 * set, it is notified right away.
+	 * @param changeListener the callback
+	 */
+	public void setChangeListener(Runnable changeListener) {
+		boolean notify;
+		synchronized (this) {
+			this.changeListener = changeListener;
+			notify = this.pendingChange && changeListener != null;
+			this.pendingChange = false;
+		}
+		if (notify) {
+			changeListener.run();
+		}
+	}
+
+	<S> List<MapPropertySource> load(List<S> sources, Function<S, String> keys, Function<S, MapPropertySource> loader,
+			BiFunction<String, Map<String, Object>, MapPropertySource> restorer, int parallelism) {
+		if (LOADED.add(this.directory.toAbsolutePath().normalize().resolve(this.kind))) {
+			List<MapPropertySource> restored = restore(sources, keys, restorer);
+			if (restored != null) {
+				Thread thread = new Thread(() -> revalidate(sources, keys, loader, restored, parallelism),
+						"kubernetes-" + this.kind + "-snapshot-revalidation");
+				thread.setDaemon(true);
+				thread.start();
+				return restored;
+			}
+		}
+		List<MapPropertySource> loaded = PropertySourceLoader.load(sources, loader, parallelism);
+		save(sources, keys, loaded);
+		return loaded;
+	}
+
+	private <S> List<MapPropertySource> restore(List<S> sources, Function<S, String> keys,
+			BiFunction<String, Map<String, Object>, MapPropertySource> restorer) {
+		List<MapPropertySource> restored = new ArrayList<>(sources.size());
+		for (S source : sources) {
+			String key = keys.apply(source);
+			Path file = file(key);
+			if (!Files.isRegularFile(file)) {
+				LOG.debug("No snapshot for " + this.kind + " " + key + ", reading from the Kubernetes API");
+				return null;
+			}
+			Properties snapshot = new Properties();
+			try (InputStream in = Files.newInputStream(file)) {
+				snapshot.load(in);
+			}
+			catch (IOException e) {
+				LOG.warn("Unable to read snapshot " + file + ", reading from the Kubernetes API", e);
+				return null;
+			}
+			Map<String, Object> properties = new LinkedHashMap<>();
+			snapshot.stringPropertyNames().stream().filter(name -> name.startsWith(PROPERTY_PREFIX)).sorted()
+					.forEach(name -> properties.put(name.substring(PROPERTY_PREFIX.length()),
+							decode(snapshot.getProperty(name))));
+			MapPropertySource propertySource = restorer.apply(snapshot.getProperty(NAME_KEY), properties);
+			if (propertySource == null) {
+				return null;
+			}
+			DIGESTS.put(file, snapshot.getProperty(DIGEST_KEY, ""));
+			restored.add(propertySource);
+		}
+		LOG.info("Using snapshots of " + restored.size() + " " + this.kind + " sources from " + this.directory);
+		return restored;
+	}
+
+	private <S> void revalidate(List<S> sources, Function<S, String> keys, Function<S, MapPropertySource> loader,
+			List<MapPropertySource> restored, int parallelism) {
+		try {
+			List<MapPropertySource> loaded = PropertySourceLoader.load(sources, loader, parallelism);
+			if (save(sources, keys, loaded)) {
+				LOG.warn("The " + this.kind + " snapshots in " + this.directory
+						+ " were out of date, the configuration has changed since they were taken");
+				changed();
+			}
+		}
+		catch (RuntimeException e) {
+			LOG.warn("Unable to check the " + this.kind + " snapshots against the Kubernetes API", e);
+		}
+	}
+
+	/**
+	 * @return {@code true} if at least one snapshot was replaced
+	 */
+	private <S> boolean save(List<S> sources, Function<S, String> keys, List<MapPropertySource> loaded) {
+		boolean replaced = false;
+		for (int i = 0; i < sources.size(); i++) {
+			String key = keys.apply(sources.get(i));
+			MapPropertySource propertySource = loaded.get(i);
+			Map<String, String> encoded = encode(propertySource.getSource());
+			String digest = digest(encoded);
+			Path file = file(key);
+			String previous = DIGESTS.get(file);
+			if (digest.equals(previous)) {
+				continue;
+			}
+			if (encoded.isEmpty() && !isRead(propertySource) && (previous != null || Files.exists(file))) {
+				LOG.debug("Keeping the snapshot of " + this.kind + " " + key + " as no properties were read");
+				continue;
+			}
+			if (write(file, propertySource.getName(), digest, encoded)) {
+				replaced |= previous != null;
+				DIGESTS.put(file, digest);
+			}
+		}
+		return replaced;
+	}
+
+	private boolean write(Path file, String name, String digest, Map<String, String> encoded) {
+		Properties snapshot = new Properties();
+		snapshot.setProperty(NAME_KEY, name);
+		snapshot.setProperty(DIGEST_KEY, digest);
+		encoded.forEach((key, value) -> snapshot.setProperty(PROPERTY_PREFIX + key, value));
+		Path temp = null;
+		try {
+			Files.createDirectories(this.directory);
+			// write to a temporary file first, so that a snapshot is never read half written
+			temp = Files.createTempFile(this.directory, file.getFileName().toString(), ".tmp");
+			try (OutputStream out = Files.newOutputStream(temp)) {
+				snapshot.store(out, "Snapshot of " + name);
+			}
+			Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+			return true;
+		}
+		catch (IOException e) {
+			LOG.warn("Unable to write snapshot " + file, e);
+			if (temp != null) {
+				try {
+					Files.deleteIfExists(temp);
+				}
+				catch (IOException ignored) {
+				}
+			}
+			return false;
+		}
+	}
+
+	/**
+	 * @return {@code true} if the property source tells it was read from the API, even if
+	 * the objects it was read from are missing or empty
+	 */
+	private static boolean isRead(MapPropertySource propertySource) {
+		return propertySource instanceof ResourceVersionedPropertySource && !CollectionUtils
+				.isEmpty(((ResourceVersionedPropertySource) propertySource).getResourceVersions());
+	}
+
+	/**
+	 * Forgets the snapshots loaded in this process, as if it had just started.
+	 */
+	static void clear() {
+		LOADED.clear();
+		DIGESTS.clear();
+	}
+
+	private void changed() {
+		Runnable listener;
+		synchronized (this) {
+			listener = this.changeListener;
+			this.pendingChange = listener == null;
+		}
+		if (listener != null) {
+			listener.run();
+		}
+	}
+
+	private Path file(String key) {
+		return this.directory.resolve((this.kind + "-" + key).replaceAll("[^A-Za-z0-9._-]", "_") + ".properties");
+	}
+
+	private static Map<String, String> encode(Map<String, Object> source) {
+		Map<String, String> encoded = new TreeMap<>();
+		source.forEach((key, value) -> encoded.put(key, encode(value)));
+		return encoded;
+	}
+
+	// keep the types produced by the YAML parser, so that restored property sources are
+	// equal to the ones read from the API
+	private static String encode(Object value) {
+		if (value instanceof Boolean) {
+			return "b:" + value;
+		}
+		if (value instanceof Integer) {
+			return "i:" + value;
+		}
+		if (value instanceof Long) {
+			return "l:" + value;
+		}
+		if (value instanceof Double) {
+			return "d:" + value;
+		}
+		return "s:" + value;
+	}
+
+	private static Object decode(String value) {
+		if (value.length() < 2 || value.charAt(1) != ':') {
+			return value;
+		}
+		String content = value.substring(2);
+		switch (value.charAt(0)) {
+		case 'b':
+			return Boolean.valueOf(content);
+		case 'i':
+			return Integer.valueOf(content);
+		case 'l':
+			return Long.valueOf(content);
+		case 'd':
+			return Double.valueOf(content);
+		default:
+			return content;
+		}
+	}
+
+	private static String digest(Map<String, String> encoded) {
+		try {
+			MessageDigest digest = MessageDigest.getInstance("SHA-256");
+			encoded.forEach((key, value) -> {
+				digest.update(key.getBytes(StandardCharsets.UTF_8));
+				digest.update((byte) 0);
+				digest.update(value.getBytes(StandardCharsets.UTF_8));
+				digest.update((byte) 0);
+			});
+			return new BigInteger(1, digest.digest()).toString(16);
+		}
+		catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+}
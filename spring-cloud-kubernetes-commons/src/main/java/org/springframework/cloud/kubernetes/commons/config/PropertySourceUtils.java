@@ -16,19 +16,23 @@
 
 package org.springframework.cloud.kubernetes.commons.config;
 
-import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.io.StringReader;
 import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
 import java.util.Map;
 import java.util.Properties;
 import java.util.function.BinaryOperator;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 
+import org.springframework.beans.factory.config.YamlProcessor;
 import org.springframework.beans.factory.config.YamlPropertiesFactoryBean;
 import org.springframework.core.env.Environment;
 import org.springframework.core.env.Profiles;
 import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.Resource;
 import org.springframework.util.StringUtils;
 
 import static org.springframework.beans.factory.config.YamlProcessor.MatchStatus.ABSTAIN;
@@ -55,7 +59,7 @@ public final class PropertySourceUtils {
 	public static final Function<String, Properties> KEY_VALUE_TO_PROPERTIES = s -> {
 		Properties properties = new Properties();
 		try {
-			properties.load(new ByteArrayInputStream(s.getBytes()));
+			properties.load(new StringReader(s));
 			return properties;
 		}
 		catch (IOException e) {
@@ -77,30 +81,58 @@ public final class PropertySourceUtils {
 	public static Function<String, Properties> yamlParserGenerator(Environment environment) {
 		return s -> {
 			YamlPropertiesFactoryBean yamlFactory = new YamlPropertiesFactoryBean();
-			yamlFactory.setDocumentMatchers(properties -> {
-				if (environment != null) {
-					String profiles = null;
-					String activeOnProfile = properties.getProperty(SPRING_CONFIG_ACTIVATE_ON_PROFILE);
-					String springProfiles = properties.getProperty(SPRING_PROFILES);
-
-					if (activeOnProfile != null) {
-						profiles = activeOnProfile;
-					}
-					else if (springProfiles != null) {
-						profiles = springProfiles;
-					}
-
-					if (StringUtils.hasText(profiles)) {
-						return environment.acceptsProfiles(Profiles.of(profiles)) ? FOUND : NOT_FOUND;
-					}
-				}
-				return ABSTAIN;
-			});
-			yamlFactory.setResources(new ByteArrayResource(s.getBytes()));
+			yamlFactory.setDocumentMatchers(documentMatcher(environment));
+			yamlFactory.setResources(new ByteArrayResource(s.getBytes(StandardCharsets.UTF_8)));
 			return yamlFactory.getObject();
 		};
 	}
 
+	/**
+	 * Function to convert String into a Map with an environment. Same as
+	 * {@link #yamlParserGenerator(Environment)} followed by {@link #PROPERTIES_TO_MAP},
+	 * without building the intermediate {@link Properties}.
+	 * @param environment Environment.
+	 * @return map of the properties.
+	 */
+	public static Function<String, Map<String, Object>> yamlToMapParserGenerator(Environment environment) {
+		return s -> yamlToMap(new ByteArrayResource(s.getBytes(StandardCharsets.UTF_8)), environment);
+	}
+
+	/**
+	 * Reads the yaml of a resource into a Map, streaming it from the resource.
+	 * @param resource resource holding the yaml
+	 * @param environment Environment.
+	 * @return map of the properties.
+	 */
+	static Map<String, Object> yamlToMap(Resource resource, Environment environment) {
+		YamlMapProcessor processor = new YamlMapProcessor();
+		processor.setDocumentMatchers(documentMatcher(environment));
+		processor.setResources(resource);
+		return processor.load();
+	}
+
+	private static YamlProcessor.DocumentMatcher documentMatcher(Environment environment) {
+		return properties -> {
+			if (environment != null) {
+				String profiles = null;
+				String activeOnProfile = properties.getProperty(SPRING_CONFIG_ACTIVATE_ON_PROFILE);
+				String springProfiles = properties.getProperty(SPRING_PROFILES);
+
+				if (activeOnProfile != null) {
+					profiles = activeOnProfile;
+				}
+				else if (springProfiles != null) {
+					profiles = springProfiles;
+				}
+
+				if (StringUtils.hasText(profiles)) {
+					return environment.acceptsProfiles(Profiles.of(profiles)) ? FOUND : NOT_FOUND;
+				}
+			}
+			return ABSTAIN;
+		};
+	}
+
 	/**
 	 * returns a {@link BinaryOperator} that unconditionally throws an
 	 * {@link IllegalStateException}.
@@ -113,4 +145,17 @@ public final class PropertySourceUtils {
 		};
 	}
 
+	/**
+	 * Collects the properties of all the matching documents straight into a map.
+	 */
+	private static final class YamlMapProcessor extends YamlProcessor {
+
+		Map<String, Object> load() {
+			Map<String, Object> result = new HashMap<>();
+			process((properties, map) -> properties.forEach((key, value) -> result.put(key.toString(), value)));
+			return result;
+		}
+
+	}
+
 }
@@ -0,0 +1,36 @@
+/*
+ * Copyright 2013-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.cloud.kubernetes.commons.config;
+
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * Reads the current {@code resourceVersion} of Kubernetes objects, without building
+ * property sources from them. Implemented by the property source locators that support
+ * {@link ResourceVersionedPropertySource}.
+ */
+public interface ResourceVersionReader {
+
+	/**
+	 * @param keys keys of the objects, as in
+	 * {@link ResourceVersionedPropertySource#getResourceVersions()}
+	 * @return the current {@code resourceVersion} of each object, with
+	 * {@link ResourceVersionedPropertySource#ABSENT} for objects that do not exist
+	 */
+	Map<String, String> readResourceVersions(Collection<String> keys);
+
+}
@@ -0,0 +1,68 @@
+/*
+ * Copyright 2013-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.cloud.kubernetes.commons.config;
+
+import java.util.Map;
+
+import org.springframework.util.StringUtils;
+
+/**
+ * A property source that knows the {@code resourceVersion} of the Kubernetes objects it
+ * was read from, so that change detectors can tell whether it is still up to date without
+ * reading and parsing it again.
+ */
+public interface ResourceVersionedPropertySource {
+
+	/**
+	 * Version of an object that does not exist.
+	 */
+	String ABSENT = "";
+
+	/**
+	 * @return the {@code resourceVersion} of every object this property source was read
+	 * from, keyed by {@link #key(String, String)}, with {@link #ABSENT} for objects that
+	 * were looked up but do not exist. {@code null} or empty when unknown, for example
+	 * when the objects were selected by labels or could not be read.
+	 */
+	Map<String, String> getResourceVersions();
+
+	/**
+	 * @param namespace namespace of the object, may be {@code null}
+	 * @param name name of the object
+	 * @return the key of the object in {@link #getResourceVersions()}
+	 */
+	static String key(String namespace, String name) {
+		return (namespace == null ? "" : namespace) + "/" + name;
+	}
+
+	/**
+	 * @param key key of an object
+	 * @return the namespace of the object, or {@code null} if it was looked up without one
+	 */
+	static String namespace(String key) {
+		String namespace = key.substring(0, key.indexOf('/'));
+		return StringUtils.hasLength(namespace) ? namespace : null;
+	}
+
+	/**
+	 * @param key key of an object
+	 * @return the name of the object
+	 */
+	static String name(String key) {
+		return key.substring(key.indexOf('/') + 1);
+	}
+
+}
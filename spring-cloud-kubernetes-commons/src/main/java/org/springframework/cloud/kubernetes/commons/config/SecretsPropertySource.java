@@ -27,12 +27,24 @@ import org.springframework.core.env.MapPropertySource;
  * @author l burgazzoli
  * @author Haytham Mohamed
  */
-public class SecretsPropertySource extends MapPropertySource {
+public class SecretsPropertySource extends MapPropertySource implements ResourceVersionedPropertySource {
 
 	private static final String PREFIX = "secrets";
 
+	private final Map<String, String> resourceVersions;
+
 	public SecretsPropertySource(String name, Map<String, Object> source) {
+		this(name, source, null);
+	}
+
+	protected SecretsPropertySource(String name, Map<String, Object> source, Map<String, String> resourceVersions) {
 		super(name, source);
+		this.resourceVersions = resourceVersions;
+	}
+
+	@Override
+	public Map<String, String> getResourceVersions() {
+		return this.resourceVersions;
 	}
 
 	protected static String getSourceName(String name, String namespace) {
@@ -46,6 +58,24 @@ public class SecretsPropertySource extends MapPropertySource {
 		}
 	}
 
+	/**
+	 * Adds secret data that was already base64 decoded by the Kubernetes client. When
+	 * the result is a {@link LazySecretData}, the values are only turned into strings
+	 * when they are first read.
+	 * @param data the decoded secret data
+	 * @param result the source of the property source
+	 */
+	protected static void putAllBytes(Map<String, byte[]> data, Map<String, Object> result) {
+		if (data != null) {
+			if (result instanceof LazySecretData) {
+				data.forEach(((LazySecretData) result)::putBytes);
+			}
+			else {
+				data.forEach((k, v) -> result.put(k, new String(v).trim()));
+			}
+		}
+	}
+
 	@Override
 	public String toString() {
 		return getClass().getSimpleName() + " {name='" + this.name + "'}";
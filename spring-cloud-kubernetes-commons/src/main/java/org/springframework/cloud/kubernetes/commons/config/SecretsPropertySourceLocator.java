@@ -24,6 +24,7 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.EnumSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
 import java.util.function.BiConsumer;
@@ -36,11 +37,14 @@ import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 
 import org.springframework.cloud.bootstrap.config.PropertySourceLocator;
+import org.springframework.cloud.kubernetes.commons.config.SecretsConfigProperties.NormalizedSource;
 import org.springframework.core.env.CompositePropertySource;
 import org.springframework.core.env.ConfigurableEnvironment;
 import org.springframework.core.env.Environment;
 import org.springframework.core.env.MapPropertySource;
 import org.springframework.core.env.PropertySource;
+import org.springframework.util.CollectionUtils;
+import org.springframework.util.StringUtils;
 
 /**
  * Kubernetes {@link PropertySourceLocator} for secrets.
@@ -55,8 +59,12 @@ public abstract class SecretsPropertySourceLocator implements PropertySourceLoca
 
 	protected final SecretsConfigProperties properties;
 
+	private final PropertySourceSnapshots snapshots;
+
 	public SecretsPropertySourceLocator(SecretsConfigProperties properties) {
 		this.properties = properties;
+		this.snapshots = StringUtils.hasText(properties.getSnapshotPath())
+				? new PropertySourceSnapshots(Paths.get(properties.getSnapshotPath()), "secret") : null;
 	}
 
 	@Override
@@ -70,7 +78,13 @@ public abstract class SecretsPropertySourceLocator implements PropertySourceLoca
 			putPathConfig(composite);
 
 			if (this.properties.isEnableApi()) {
-				sources.forEach(s -> composite.addPropertySource(getKubernetesPropertySourceForSingleSecret(env, s)));
+				Function<NormalizedSource, MapPropertySource> loader = s -> getKubernetesPropertySourceForSingleSecret(
+						env, s);
+				List<MapPropertySource> propertySources = this.snapshots == null
+						? PropertySourceLoader.load(sources, loader, this.properties.getLoadParallelism())
+						: this.snapshots.load(sources, s -> snapshotKey(env, s), loader, this::restorePropertySource,
+								this.properties.getLoadParallelism());
+				propertySources.forEach(composite::addPropertySource);
 			}
 
 			return composite;
@@ -88,6 +102,55 @@ public abstract class SecretsPropertySourceLocator implements PropertySourceLoca
 	protected abstract MapPropertySource getPropertySource(ConfigurableEnvironment environment,
 			SecretsConfigProperties.NormalizedSource normalizedSource, String configurationTarget);
 
+	/**
+	 * Creates the property source of a secret from a snapshot. Snapshots are not used when
+	 * this returns {@code null}, which is the default.
+	 * @param name name of the property source
+	 * @param source properties of the property source
+	 * @return the property source or {@code null}
+	 */
+	protected MapPropertySource restorePropertySource(String name, Map<String, Object> source) {
+		return null;
+	}
+
+	/**
+	 * Sets the callback notified when the snapshots the application started from turn
+	 * out to be out of date. Does nothing when snapshots are not enabled.
+	 * @param listener the callback
+	 */
+	public void setSnapshotChangeListener(Runnable listener) {
+		if (this.snapshots != null) {
+			this.snapshots.setChangeListener(listener);
+		}
+	}
+
+	private String snapshotKey(ConfigurableEnvironment environment,
+			SecretsConfigProperties.NormalizedSource normalizedSource) {
+		String key = normalizedSource.getNamespace() + "." + ConfigUtils.getApplicationName(environment,
+				normalizedSource.getName(), this.properties.getConfigurationTarget());
+		// sources with labels also read the secret of their name, which they can share
+		return CollectionUtils.isEmpty(normalizedSource.getLabels()) ? key
+				: key + ".labels." + ConfigUtils.labelSelector(normalizedSource.getLabels());
+	}
+
+	/**
+	 * @param environment environment the property sources are read for
+	 * @return the secrets read from the Kubernetes API
+	 */
+	public ConsumedSources getConsumedSources(Environment environment) {
+		ConsumedSources consumedSources = new ConsumedSources();
+		if (this.properties.isEnableApi()) {
+			for (NormalizedSource normalizedSource : this.properties.determineSources()) {
+				consumedSources.addName(normalizedSource.getNamespace(), ConfigUtils.getApplicationName(environment,
+						normalizedSource.getName(), this.properties.getConfigurationTarget()));
+				if (!CollectionUtils.isEmpty(normalizedSource.getLabels())) {
+					consumedSources.addLabels(normalizedSource.getNamespace(), normalizedSource.getLabels());
+				}
+			}
+		}
+		return consumedSources;
+	}
+
 	protected void putPathConfig(CompositePropertySource composite) {
 
 		this.properties.getPaths().stream().map(Paths::get).filter(Files::exists).flatMap(x -> {
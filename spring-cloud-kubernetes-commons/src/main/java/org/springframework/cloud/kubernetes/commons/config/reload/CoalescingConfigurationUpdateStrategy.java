@@ -0,0 +1,141 @@
+/*
+ * Copyright 2013-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.kubernetes.commons.config.reload;
+
+import java.time.Duration;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+/**
+ * A {@link ConfigurationUpdateStrategy} that merges the reloads requested within a quiet
+ * period into a single one. Applying a release usually changes several config maps and
+ * secrets within a few hundred milliseconds, and each of them would otherwise refresh
+ * (or restart) the application. Reloads run one at a time on a dedicated thread, not on
+ * the thread that detected the change.
+ *
+ * The strategy is not a bean of its own but replaces one, so Spring does not destroy it:
+ * whoever creates it must {@link #shutdown() shut it down} when the context closes.
+ */
+public class CoalescingConfigurationUpdateStrategy extends ConfigurationUpdateStrategy {
+
+	private static final Log LOG = LogFactory.getLog(CoalescingConfigurationUpdateStrategy.class);
+
+	private static final long NONE = -1;
+
+	private final ConfigurationUpdateStrategy delegate;
+
+	private final long quietPeriodNanos;
+
+	private final long maxDelayNanos;
+
+	private final ScheduledThreadPoolExecutor executor;
+
+	private ScheduledFuture<?> pending;
+
+	private long firstRequestNanos = NONE;
+
+	private int requests;
+
+	public CoalescingConfigurationUpdateStrategy(ConfigurationUpdateStrategy delegate, Duration quietPeriod,
+			Duration maxDelay) {
+		super(delegate.getName(), () -> {
+		});
+		this.delegate = delegate;
+		this.quietPeriodNanos = quietPeriod.toNanos();
+		this.maxDelayNanos = Math.max(maxDelay.toNanos(), this.quietPeriodNanos);
+		this.executor = new ScheduledThreadPoolExecutor(1, runnable -> {
+			Thread thread = new Thread(runnable, "spring-cloud-kubernetes-reload");
+			thread.setDaemon(true);
+			return thread;
+		});
+		// a reload still pending when the context closes must not run against it
+		this.executor.setExecuteExistingDelayedTasksAfterShutdownPolicy(false);
+	}
+
+	/**
+	 * Schedules a reload once no other reload was requested for the quiet period, or
+	 * once the maximum delay since the first pending request is reached.
+	 */
+	@Override
+	public synchronized void reload() {
+		if (this.executor.isShutdown()) {
+			LOG.debug("Ignoring the reload request, the context is closed");
+			return;
+		}
+		long now = System.nanoTime();
+		if (this.firstRequestNanos == NONE) {
+			this.firstRequestNanos = now;
+		}
+		this.requests++;
+		if (this.pending != null) {
+			this.pending.cancel(false);
+		}
+		long delay = Math.min(this.quietPeriodNanos, Math.max(0, this.firstRequestNanos + this.maxDelayNanos - now));
+		this.pending = this.executor.schedule(this::doReload, delay, TimeUnit.NANOSECONDS);
+	}
+
+	private void doReload() {
+		int merged;
+		synchronized (this) {
+			// a request that came in while this task was starting scheduled another task,
+			// and the first of the two to run takes care of it
+			if (this.requests == 0) {
+				return;
+			}
+			merged = this.requests;
+			this.requests = 0;
+			this.firstRequestNanos = NONE;
+		}
+		if (LOG.isDebugEnabled()) {
+			LOG.debug("Reloading the configuration for " + merged + " change(s)");
+		}
+		try {
+			this.delegate.reload();
+		}
+		catch (RuntimeException e) {
+			LOG.error("Failed to reload the configuration", e);
+		}
+	}
+
+	/**
+	 * Drops the pending reload, if any, and stops the reload thread once the running
+	 * reload, if any, is over.
+	 */
+	public synchronized void shutdown() {
+		if (this.pending != null) {
+			this.pending.cancel(false);
+			this.pending = null;
+		}
+		// shutdown() rather than shutdownNow(): the context may be closed by the reload
+		// running on that executor
+		this.executor.shutdown();
+	}
+
+	boolean isTerminated() {
+		return this.executor.isTerminated();
+	}
+
+	@Override
+	public String toString() {
+		return "CoalescingConfigurationUpdateStrategy{delegate=" + this.delegate + "}";
+	}
+
+}
@@ -16,10 +16,23 @@
 
 package org.springframework.cloud.kubernetes.commons.config.reload;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.ThreadLocalRandom;
+import java.util.stream.Collectors;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
 import org.springframework.boot.actuate.autoconfigure.endpoint.EndpointAutoConfiguration;
+import org.springframework.boot.actuate.autoconfigure.endpoint.condition.ConditionalOnAvailableEndpoint;
 import org.springframework.boot.actuate.autoconfigure.info.InfoEndpointAutoConfiguration;
 import org.springframework.boot.autoconfigure.AutoConfigureAfter;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
@@ -31,9 +44,16 @@ import org.springframework.cloud.commons.util.TaskSchedulerWrapper;
 import org.springframework.cloud.context.refresh.ContextRefresher;
 import org.springframework.cloud.context.restart.RestartEndpoint;
 import org.springframework.cloud.kubernetes.commons.config.ConditionalOnKubernetesAndConfigEnabled;
+import org.springframework.cloud.kubernetes.commons.config.ConfigMapConfigProperties;
+import org.springframework.cloud.kubernetes.commons.config.ConfigMapPropertySourceLocator;
+import org.springframework.cloud.kubernetes.commons.config.SecretsConfigProperties;
+import org.springframework.cloud.kubernetes.commons.config.SecretsPropertySourceLocator;
+import org.springframework.cloud.kubernetes.commons.config.reload.condition.FilesystemReloadDetectionMode;
 import org.springframework.context.ConfigurableApplicationContext;
 import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Conditional;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.ConfigurableEnvironment;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
 import org.springframework.util.Assert;
 
@@ -47,6 +67,8 @@ import org.springframework.util.Assert;
 		RefreshAutoConfiguration.class })
 public class ConfigReloadAutoConfiguration {
 
+	private static final Log LOG = LogFactory.getLog(ConfigReloadAutoConfiguration.class);
+
 	/**
 	 * Configuration reload must be enabled explicitly.
 	 */
@@ -86,6 +108,9 @@ public class ConfigReloadAutoConfiguration {
 				});
 			case REFRESH:
 				return new ConfigurationUpdateStrategy(properties.getStrategy().name(), refresher::refresh);
+			case REFRESH_CHANGED_KEYS:
+				return new ConfigurationUpdateStrategy(properties.getStrategy().name(),
+						new PropertySourceDeltaRefresher(ctx, refresher)::refresh);
 			case SHUTDOWN:
 				return new ConfigurationUpdateStrategy(properties.getStrategy().name(), () -> {
 					wait(properties);
@@ -95,6 +120,101 @@ public class ConfigReloadAutoConfiguration {
 			throw new IllegalStateException("Unsupported configuration update strategy: " + properties.getStrategy());
 		}
 
+		/**
+		 * @param configMapLocator config map property source locator
+		 * @param secretsLocator secrets property source locator
+		 * @param strategy configuration update strategy
+		 * @return reloads the configuration when the snapshots the application started
+		 * from turn out to be out of date.
+		 */
+		@Bean
+		@ConditionalOnMissingBean
+		public PropertySourceSnapshotReloadTrigger propertySourceSnapshotReloadTrigger(
+				ObjectProvider<ConfigMapPropertySourceLocator> configMapLocator,
+				ObjectProvider<SecretsPropertySourceLocator> secretsLocator, ConfigurationUpdateStrategy strategy) {
+			return new PropertySourceSnapshotReloadTrigger(configMapLocator, secretsLocator, strategy);
+		}
+
+		/**
+		 * @param environment application environment
+		 * @param properties config reload properties
+		 * @param strategy configuration update strategy
+		 * @param configMapProperties config map properties
+		 * @param secretsProperties secrets properties
+		 * @return a bean that watches the mounted config maps and secrets and fires a
+		 * reload.
+		 */
+		@Bean
+		@Conditional(FilesystemReloadDetectionMode.class)
+		public FilesystemChangeDetector filesystemChangeDetector(ConfigurableEnvironment environment,
+				ConfigReloadProperties properties, ConfigurationUpdateStrategy strategy,
+				ObjectProvider<ConfigMapConfigProperties> configMapProperties,
+				ObjectProvider<SecretsConfigProperties> secretsProperties) {
+			List<String> paths = new ArrayList<>();
+			if (properties.isMonitoringConfigMaps()) {
+				configMapProperties.ifAvailable(p -> paths.addAll(p.getPaths()));
+			}
+			if (properties.isMonitoringSecrets()) {
+				secretsProperties.ifAvailable(p -> paths.addAll(p.getPaths()));
+			}
+			boolean configMapsFromApi = configMapProperties.stream().anyMatch(ConfigMapConfigProperties::isEnableApi);
+			boolean secretsFromApi = secretsProperties.stream().anyMatch(SecretsConfigProperties::isEnableApi);
+			if (configMapsFromApi || secretsFromApi) {
+				// a reload locates every property source again, not only the changed files
+				LOG.warn("The filesystem reload mode does not call the Kubernetes API to detect changes, but the "
+						+ "reloads it fires read the config maps and secrets from the API again, since "
+						+ "spring.cloud.kubernetes.config.enable-api or spring.cloud.kubernetes.secrets.enable-api "
+						+ "is true");
+			}
+			return new FilesystemChangeDetector(environment, properties, strategy, paths);
+		}
+
+		/**
+		 * @param properties config reload properties
+		 * @return keeps the last decisions of the change detectors and the last reloads.
+		 */
+		@Bean
+		@ConditionalOnMissingBean
+		public ReloadDecisionHistory reloadDecisionHistory(ConfigReloadProperties properties) {
+			return new ReloadDecisionHistory(properties.getHistorySize());
+		}
+
+		/**
+		 * @param history decisions and reloads to show
+		 * @return actuator endpoint showing the last decisions and reloads.
+		 */
+		@Bean
+		@ConditionalOnMissingBean
+		@ConditionalOnAvailableEndpoint
+		public ConfigReloadEndpoint configReloadEndpoint(ReloadDecisionHistory history) {
+			return new ConfigReloadEndpoint(history);
+		}
+
+		/**
+		 * @param properties config reload properties
+		 * @param restartSemaphore limits the number of replicas restarting at the same
+		 * time, when the restarts are coordinated
+		 * @param instrumentation records the reloads
+		 * @return merges the reloads requested within the quiet period, whichever
+		 * strategy is configured.
+		 */
+		@Bean
+		static BeanPostProcessor configurationUpdateStrategyPostProcessor(
+				ObjectProvider<ConfigReloadProperties> properties, ObjectProvider<RestartSemaphore> restartSemaphore,
+				ObjectProvider<ReloadInstrumentation> instrumentation) {
+			return new ConfigurationUpdateStrategyPostProcessor(properties, restartSemaphore, instrumentation);
+		}
+
+		/**
+		 * @param instrumentation records the events and decisions of the detectors
+		 * @return instruments whichever change detectors are configured.
+		 */
+		@Bean
+		static BeanPostProcessor configurationChangeDetectorPostProcessor(
+				ObjectProvider<ReloadInstrumentation> instrumentation) {
+			return new ConfigurationChangeDetectorPostProcessor(instrumentation);
+		}
+
 		private static void wait(ConfigReloadProperties properties) {
 			final long waitMillis = ThreadLocalRandom.current().nextLong(properties.getMaxWaitForRestart().toMillis());
 			try {
@@ -104,6 +224,131 @@ public class ConfigReloadAutoConfiguration {
 			}
 		}
 
+		/**
+		 * Records the reload pipeline with Micrometer, when it is on the classpath.
+		 */
+		@Configuration(proxyBeanMethods = false)
+		@ConditionalOnClass(MeterRegistry.class)
+		protected static class ConfigReloadMetricsConfiguration {
+
+			@Bean
+			@ConditionalOnMissingBean
+			public MicrometerReloadInstrumentation micrometerReloadInstrumentation(
+					ObjectProvider<MeterRegistry> registry) {
+				return new MicrometerReloadInstrumentation(registry);
+			}
+
+		}
+
+	}
+
+	/**
+	 * Wraps whichever {@link ConfigurationUpdateStrategy} is configured, including the
+	 * ones of the Fabric8 and Kubernetes Java Client auto-configurations: restarts wait
+	 * for a permit of the {@link RestartSemaphore} when there is one, and reloads are
+	 * merged within the quiet period.
+	 */
+	static class ConfigurationUpdateStrategyPostProcessor implements BeanPostProcessor, DisposableBean {
+
+		private final ObjectProvider<ConfigReloadProperties> properties;
+
+		private final ObjectProvider<RestartSemaphore> restartSemaphore;
+
+		private final ObjectProvider<ReloadInstrumentation> instrumentation;
+
+		/**
+		 * Shuts down the strategies created here, that Spring does not destroy since
+		 * they replace the beans it created.
+		 */
+		private final List<Runnable> shutdowns = new CopyOnWriteArrayList<>();
+
+		ConfigurationUpdateStrategyPostProcessor(ObjectProvider<ConfigReloadProperties> properties,
+				ObjectProvider<RestartSemaphore> restartSemaphore,
+				ObjectProvider<ReloadInstrumentation> instrumentation) {
+			this.properties = properties;
+			this.restartSemaphore = restartSemaphore;
+			this.instrumentation = instrumentation;
+		}
+
+		@Override
+		public Object postProcessAfterInitialization(Object bean, String beanName) throws BeansException {
+			if (bean instanceof ConfigurationUpdateStrategy
+					&& !(bean instanceof CoalescingConfigurationUpdateStrategy)) {
+				ConfigurationUpdateStrategy strategy = coordinated(timed((ConfigurationUpdateStrategy) bean));
+				ConfigReloadProperties properties = this.properties.getIfAvailable();
+				if (properties != null && properties.getQuietPeriod() != null
+						&& !properties.getQuietPeriod().isZero() && !properties.getQuietPeriod().isNegative()) {
+					CoalescingConfigurationUpdateStrategy coalescing = new CoalescingConfigurationUpdateStrategy(
+							strategy, properties.getQuietPeriod(), properties.getMaxDelay());
+					this.shutdowns.add(coalescing::shutdown);
+					return coalescing;
+				}
+				return strategy;
+			}
+			return bean;
+		}
+
+		@Override
+		public void destroy() {
+			this.shutdowns.forEach(Runnable::run);
+			this.shutdowns.clear();
+		}
+
+		private ConfigurationUpdateStrategy timed(ConfigurationUpdateStrategy strategy) {
+			ReloadInstrumentation instrumentation = ReloadInstrumentation
+					.of(this.instrumentation.orderedStream().collect(Collectors.toList()));
+			if (instrumentation == ReloadInstrumentation.NONE) {
+				return strategy;
+			}
+			return new ConfigurationUpdateStrategy(strategy.getName(), () -> {
+				long start = System.nanoTime();
+				try {
+					strategy.reload();
+				}
+				catch (RuntimeException e) {
+					instrumentation.reloaded(strategy.getName(), System.nanoTime() - start, e);
+					throw e;
+				}
+				instrumentation.reloaded(strategy.getName(), System.nanoTime() - start, null);
+			});
+		}
+
+		private ConfigurationUpdateStrategy coordinated(ConfigurationUpdateStrategy strategy) {
+			RestartSemaphore restartSemaphore = this.restartSemaphore.getIfAvailable();
+			if (restartSemaphore == null
+					|| !(ConfigReloadProperties.ReloadStrategy.RESTART_CONTEXT.name().equals(strategy.getName())
+							|| ConfigReloadProperties.ReloadStrategy.SHUTDOWN.name().equals(strategy.getName()))) {
+				return strategy;
+			}
+			CoordinatedConfigurationUpdateStrategy coordinated = new CoordinatedConfigurationUpdateStrategy(strategy,
+					restartSemaphore);
+			this.shutdowns.add(coordinated::shutdown);
+			return coordinated;
+		}
+
+	}
+
+	/**
+	 * Sets the {@link ReloadInstrumentation} of whichever change detectors are
+	 * configured, before they start watching or polling.
+	 */
+	static class ConfigurationChangeDetectorPostProcessor implements BeanPostProcessor {
+
+		private final ObjectProvider<ReloadInstrumentation> instrumentation;
+
+		ConfigurationChangeDetectorPostProcessor(ObjectProvider<ReloadInstrumentation> instrumentation) {
+			this.instrumentation = instrumentation;
+		}
+
+		@Override
+		public Object postProcessBeforeInitialization(Object bean, String beanName) throws BeansException {
+			if (bean instanceof ConfigurationChangeDetector) {
+				((ConfigurationChangeDetector) bean).setInstrumentation(
+						ReloadInstrumentation.of(this.instrumentation.orderedStream().collect(Collectors.toList())));
+			}
+			return bean;
+		}
+
 	}
 
 }
@@ -0,0 +1,79 @@
+/*
+ * Copyright 2013-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.kubernetes.commons.config.reload;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+
+/**
+ * Actuator endpoint showing the last decisions of the change detectors and the last
+ * reloads, with their timings in milliseconds, the most recent first.
+ */
+@Endpoint(id = "kubernetesreload")
+public class ConfigReloadEndpoint {
+
+	private final ReloadDecisionHistory history;
+
+	public ConfigReloadEndpoint(ReloadDecisionHistory history) {
+		this.history = history;
+	}
+
+	@ReadOperation
+	public Map<String, Object> history() {
+		Map<String, Object> result = new LinkedHashMap<>();
+		result.put("decisions", this.history.getDecisions().stream().map(ConfigReloadEndpoint::toMap)
+				.collect(Collectors.toList()));
+		result.put("reloads",
+				this.history.getReloads().stream().map(ConfigReloadEndpoint::toMap).collect(Collectors.toList()));
+		return result;
+	}
+
+	private static Map<String, Object> toMap(ReloadDecision decision) {
+		Map<String, Object> map = new LinkedHashMap<>();
+		map.put("timestamp", decision.getTimestamp().toString());
+		map.put("source", decision.getSource());
+		map.put("mode", decision.getMode());
+		map.put("outcome", decision.getOutcome().name());
+		if (decision.getLocateNanos() >= 0) {
+			map.put("locateMillis", millis(decision.getLocateNanos()));
+		}
+		if (decision.getDiffNanos() >= 0) {
+			map.put("diffMillis", millis(decision.getDiffNanos()));
+		}
+		return map;
+	}
+
+	private static Map<String, Object> toMap(ReloadDecisionHistory.Reload reload) {
+		Map<String, Object> map = new LinkedHashMap<>();
+		map.put("timestamp", reload.getTimestamp().toString());
+		map.put("strategy", reload.getStrategy());
+		map.put("millis", millis(reload.getNanos()));
+		if (reload.getFailure() != null) {
+			map.put("failure", reload.getFailure());
+		}
+		return map;
+	}
+
+	private static double millis(long nanos) {
+		return nanos / 1_000_000.0;
+	}
+
+}
@@ -68,6 +68,64 @@ public class ConfigReloadProperties {
 	 */
 	private Duration maxWaitForRestart = Duration.ofSeconds(2);
 
+	/**
+	 * Reloads requested within this period of each other are merged into a single
+	 * reload, which happens once no reload was requested for that long. Zero, the
+	 * default, reloads on every detected change.
+	 */
+	private Duration quietPeriod = Duration.ZERO;
+
+	/**
+	 * Maximum amount of time a reload can be delayed by further changes arriving within
+	 * the quiet period.
+	 */
+	private Duration maxDelay = Duration.ofSeconds(10);
+
+	/**
+	 * When the detection mode is EVENT, read the config maps and secrets again from the
+	 * objects delivered by the watches rather than from the Kubernetes API. Only
+	 * supported by the Fabric8 implementation.
+	 */
+	private boolean useWatchCache = false;
+
+	/**
+	 * When the detection mode is POLLING, fraction of the period by which the delay
+	 * between two polls is randomly shortened or lengthened, so that the instances of an
+	 * application do not all poll at the same time.
+	 */
+	private double jitter = 0.1;
+
+	/**
+	 * When the detection mode is POLLING, the delay between two polls doubles each time
+	 * the API server answers with 429 or 5xx, up to this delay.
+	 */
+	private Duration maxBackoff = Duration.ofMinutes(5);
+
+	/**
+	 * When the strategy is RESTART_CONTEXT or SHUTDOWN, maximum number of replicas of the
+	 * application that restart at the same time, coordinated through a config map. Zero
+	 * does not coordinate the restarts.
+	 */
+	private int maxConcurrentRestarts = 0;
+
+	/**
+	 * Name of the config map coordinating the restarts. Defaults to the application name
+	 * followed by '-restarts'.
+	 */
+	private String restartSemaphoreName;
+
+	/**
+	 * A replica that is not ready again within this time after acquiring a restart
+	 * permit loses it, and the replicas waiting for a permit can take it over.
+	 */
+	private Duration restartLeaseDuration = Duration.ofMinutes(5);
+
+	/**
+	 * Number of reload decisions, and of reloads, kept for the 'kubernetesreload'
+	 * actuator endpoint.
+	 */
+	private int historySize = 20;
+
 	public ConfigReloadProperties() {
 	}
 
@@ -127,6 +185,78 @@ public class ConfigReloadProperties {
 		this.maxWaitForRestart = maxWaitForRestart;
 	}
 
+	public Duration getQuietPeriod() {
+		return this.quietPeriod;
+	}
+
+	public void setQuietPeriod(Duration quietPeriod) {
+		this.quietPeriod = quietPeriod;
+	}
+
+	public Duration getMaxDelay() {
+		return this.maxDelay;
+	}
+
+	public void setMaxDelay(Duration maxDelay) {
+		this.maxDelay = maxDelay;
+	}
+
+	public boolean isUseWatchCache() {
+		return this.useWatchCache;
+	}
+
+	public void setUseWatchCache(boolean useWatchCache) {
+		this.useWatchCache = useWatchCache;
+	}
+
+	public double getJitter() {
+		return this.jitter;
+	}
+
+	public void setJitter(double jitter) {
+		this.jitter = jitter;
+	}
+
+	public Duration getMaxBackoff() {
+		return this.maxBackoff;
+	}
+
+	public void setMaxBackoff(Duration maxBackoff) {
+		this.maxBackoff = maxBackoff;
+	}
+
+	public int getMaxConcurrentRestarts() {
+		return this.maxConcurrentRestarts;
+	}
+
+	public void setMaxConcurrentRestarts(int maxConcurrentRestarts) {
+		this.maxConcurrentRestarts = maxConcurrentRestarts;
+	}
+
+	public String getRestartSemaphoreName() {
+		return this.restartSemaphoreName;
+	}
+
+	public void setRestartSemaphoreName(String restartSemaphoreName) {
+		this.restartSemaphoreName = restartSemaphoreName;
+	}
+
+	public Duration getRestartLeaseDuration() {
+		return this.restartLeaseDuration;
+	}
+
+	public void setRestartLeaseDuration(Duration restartLeaseDuration) {
+		this.restartLeaseDuration = restartLeaseDuration;
+	}
+
+	public int getHistorySize() {
+		return this.historySize;
+	}
+
+	public void setHistorySize(int historySize) {
+		this.historySize = historySize;
+	}
+
 	/**
 	 * Reload strategies.
 	 */
@@ -138,6 +268,13 @@ public class ConfigReloadProperties {
 		 */
 		REFRESH,
 
+		/**
+		 * Reads the Kubernetes property sources again, replaces the ones that changed
+		 * and publishes an EnvironmentChangeEvent for the keys that changed, without
+		 * rebuilding the bootstrap context.
+		 */
+		REFRESH_CHANGED_KEYS,
+
 		/**
 		 * Restarts the Spring ApplicationContext to apply the new configuration.
 		 */
@@ -168,7 +305,14 @@ public class ConfigReloadProperties {
 		 * Listens to Kubernetes events and checks if a reload is needed when configmaps
 		 * or secrets change.
 		 */
-		EVENT
+		EVENT,
+
+		/**
+		 * Watches the files of the configured config map and secrets paths, as mounted
+		 * by the kubelet, and fires a reload when they change. Does not use the
+		 * Kubernetes API at all.
+		 */
+		FILESYSTEM
 
 	}
 
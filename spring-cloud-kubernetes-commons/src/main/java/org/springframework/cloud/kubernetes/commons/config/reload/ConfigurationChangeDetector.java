@@ -16,11 +16,16 @@
 
 package org.springframework.cloud.kubernetes.commons.config.reload;
 
+import java.time.Instant;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
 import org.apache.commons.logging.Log;
@@ -28,6 +33,8 @@ import org.apache.commons.logging.LogFactory;
 
 import org.springframework.cloud.bootstrap.config.BootstrapPropertySource;
 import org.springframework.cloud.bootstrap.config.PropertySourceLocator;
+import org.springframework.cloud.kubernetes.commons.config.ResourceVersionReader;
+import org.springframework.cloud.kubernetes.commons.config.ResourceVersionedPropertySource;
 import org.springframework.core.env.CompositePropertySource;
 import org.springframework.core.env.ConfigurableEnvironment;
 import org.springframework.core.env.Environment;
@@ -42,6 +49,18 @@ import org.springframework.core.env.PropertySource;
  */
 public abstract class ConfigurationChangeDetector {
 
+	/**
+	 * Source of the config map events and decisions reported to the
+	 * {@link ReloadInstrumentation}.
+	 */
+	protected static final String CONFIG_MAP = "configmap";
+
+	/**
+	 * Source of the secret events and decisions reported to the
+	 * {@link ReloadInstrumentation}.
+	 */
+	protected static final String SECRET = "secret";
+
 	protected Log log = LogFactory.getLog(getClass());
 
 	protected ConfigurableEnvironment environment;
@@ -50,6 +69,18 @@ public abstract class ConfigurationChangeDetector {
 
 	protected ConfigurationUpdateStrategy strategy;
 
+	/**
+	 * resourceVersions that were found to hold the same properties as the environment,
+	 * although they differ from the ones recorded by its property sources.
+	 */
+	private final Map<String, String> checkedResourceVersions = new ConcurrentHashMap<>();
+
+	private volatile Map<String, String> pendingResourceVersions;
+
+	private volatile Predicate<Throwable> throttled;
+
+	private volatile ReloadInstrumentation instrumentation = ReloadInstrumentation.NONE;
+
 	public ConfigurationChangeDetector(ConfigurableEnvironment environment, ConfigReloadProperties properties,
 			ConfigurationUpdateStrategy strategy) {
 		this.environment = environment;
@@ -57,6 +88,22 @@ public abstract class ConfigurationChangeDetector {
 		this.strategy = strategy;
 	}
 
+	/**
+	 * @param throttled tells whether a failure to read the resourceVersions is caused by
+	 * the API server throttling, in which case the failure is thrown instead of the
+	 * property sources being read
+	 */
+	void setThrottled(Predicate<Throwable> throttled) {
+		this.throttled = throttled;
+	}
+
+	/**
+	 * @param instrumentation receives the events and the decisions of this detector
+	 */
+	public void setInstrumentation(ReloadInstrumentation instrumentation) {
+		this.instrumentation = instrumentation == null ? ReloadInstrumentation.NONE : instrumentation;
+	}
+
 	public void reloadProperties() {
 		this.log.info("Reloading using strategy: " + this.strategy.getName());
 		this.strategy.reload();
@@ -103,6 +150,181 @@ public abstract class ConfigurationChangeDetector {
 		return false;
 	}
 
+	/**
+	 * Locates the property sources again and compares them to the ones of the
+	 * environment, reporting the decision and its timings to the instrumentation.
+	 * @param source kind of property sources
+	 * @param propertySourceLocator locator of the property sources
+	 * @param propertySources property sources of the environment
+	 * @return {@code true} if the property sources changed
+	 */
+	protected boolean detectChange(String source, PropertySourceLocator propertySourceLocator,
+			List<? extends MapPropertySource> propertySources) {
+		long start = System.nanoTime();
+		List<MapPropertySource> located = locateMapPropertySources(propertySourceLocator, this.environment);
+		long locatedAt = System.nanoTime();
+		boolean changed = changed(located, propertySources);
+		decided(source, changed ? ReloadDecision.Outcome.RELOAD : ReloadDecision.Outcome.NO_CHANGE,
+				locatedAt - start, System.nanoTime() - locatedAt);
+		return changed;
+	}
+
+	/**
+	 * Reports a decision to the instrumentation.
+	 * @param source kind of property sources
+	 * @param outcome the decision
+	 * @param locateNanos time spent locating the property sources, {@code -1} if unknown
+	 * @param diffNanos time spent comparing the property sources, {@code -1} if unknown
+	 */
+	protected void decided(String source, ReloadDecision.Outcome outcome, long locateNanos, long diffNanos) {
+		this.instrumentation
+				.decided(new ReloadDecision(Instant.now(), source, mode(), outcome, locateNanos, diffNanos));
+	}
+
+	/**
+	 * Reports an event received by this detector to the instrumentation.
+	 * @param source kind of property sources the event is about
+	 */
+	protected void eventReceived(String source) {
+		this.instrumentation.eventReceived(source, mode());
+	}
+
+	/**
+	 * Reports an event ignored by this detector to the instrumentation.
+	 * @param source kind of property sources the event is about
+	 */
+	protected void eventFiltered(String source) {
+		this.instrumentation.eventFiltered(source, mode());
+	}
+
+	private String mode() {
+		ConfigReloadProperties.ReloadDetectionMode mode = this.properties.getMode();
+		return mode == null ? "unknown" : mode.name().toLowerCase(Locale.ROOT);
+	}
+
+	/**
+	 * Determines whether the Kubernetes objects the given property sources were read from
+	 * are unchanged, by reading only their current {@code resourceVersion}. When this
+	 * returns {@code false} the property sources have to be read again and compared; if
+	 * they turn out to be equal, {@link #resourceVersionsChecked()} should be called so
+	 * that the same versions are not read again on every check.
+	 * @param propertySources property sources of the environment
+	 * @param propertySourceLocator locator the property sources were read with
+	 * @return {@code true} if none of the objects changed, {@code false} if some changed
+	 * or if that cannot be told, for example when the property sources do not know the
+	 * versions of their objects
+	 */
+	protected boolean resourceVersionsUnchanged(List<? extends PropertySource<?>> propertySources,
+			PropertySourceLocator propertySourceLocator) {
+		this.pendingResourceVersions = null;
+		if (propertySources.isEmpty() || !(propertySourceLocator instanceof ResourceVersionReader)) {
+			return false;
+		}
+		Map<String, String> recorded = new HashMap<>();
+		for (PropertySource<?> propertySource : propertySources) {
+			Map<String, String> resourceVersions = propertySource instanceof ResourceVersionedPropertySource
+					? ((ResourceVersionedPropertySource) propertySource).getResourceVersions() : null;
+			if (resourceVersions == null || resourceVersions.isEmpty() || resourceVersions.containsValue(null)) {
+				return false;
+			}
+			recorded.putAll(resourceVersions);
+		}
+
+		Map<String, String> current;
+		try {
+			current = ((ResourceVersionReader) propertySourceLocator).readResourceVersions(recorded.keySet());
+		}
+		catch (RuntimeException e) {
+			Predicate<Throwable> throttled = this.throttled;
+			if (throttled != null && throttled.test(e)) {
+				// reading the property sources would only add to the load of the API server
+				throw e;
+			}
+			this.log.debug("Unable to read the resourceVersions, reading the property sources instead", e);
+			return false;
+		}
+		boolean unchanged = true;
+		for (Map.Entry<String, String> entry : recorded.entrySet()) {
+			String resourceVersion = current.get(entry.getKey());
+			if (resourceVersion == null) {
+				return false;
+			}
+			if (!resourceVersion.equals(entry.getValue())
+					&& !resourceVersion.equals(this.checkedResourceVersions.get(entry.getKey()))) {
+				if (this.log.isDebugEnabled()) {
+					this.log.debug("resourceVersion of " + entry.getKey() + " moved from " + entry.getValue() + " to "
+							+ resourceVersion);
+				}
+				unchanged = false;
+			}
+		}
+		if (!unchanged) {
+			this.pendingResourceVersions = current;
+		}
+		return unchanged;
+	}
+
+	/**
+	 * Records that the property sources read for the versions found by the last call to
+	 * {@link #resourceVersionsUnchanged(List, PropertySourceLocator)} are equal to the ones
+	 * of the environment, for example because only the labels of an object changed.
+	 */
+	protected void resourceVersionsChecked() {
+		Map<String, String> resourceVersions = this.pendingResourceVersions;
+		if (resourceVersions != null) {
+			this.checkedResourceVersions.putAll(resourceVersions);
+			this.pendingResourceVersions = null;
+		}
+	}
+
+	/**
+	 * Determines whether an object received in an event is the version the given property
+	 * sources were read from, in which case they do not need to be read again.
+	 * @param propertySources property sources of the environment
+	 * @param namespace namespace of the object
+	 * @param name name of the object
+	 * @param resourceVersion {@code resourceVersion} of the object
+	 * @return {@code true} if the property sources were read from that version
+	 */
+	protected boolean isCurrentResourceVersion(List<? extends PropertySource<?>> propertySources, String namespace,
+			String name, String resourceVersion) {
+		if (resourceVersion == null) {
+			return false;
+		}
+		String key = ResourceVersionedPropertySource.key(namespace, name);
+		return resourceVersion.equals(this.checkedResourceVersions.get(key))
+				|| resourceVersion.equals(recordedResourceVersion(propertySources, key));
+	}
+
+	/**
+	 * Records that the property sources read after an event for the given object are
+	 * equal to the ones of the environment.
+	 * @param propertySources property sources of the environment
+	 * @param namespace namespace of the object
+	 * @param name name of the object
+	 * @param resourceVersion {@code resourceVersion} of the object
+	 */
+	protected void resourceVersionChecked(List<? extends PropertySource<?>> propertySources, String namespace,
+			String name, String resourceVersion) {
+		String key = ResourceVersionedPropertySource.key(namespace, name);
+		if (resourceVersion != null && recordedResourceVersion(propertySources, key) != null) {
+			this.checkedResourceVersions.put(key, resourceVersion);
+		}
+	}
+
+	private static String recordedResourceVersion(List<? extends PropertySource<?>> propertySources, String key) {
+		for (PropertySource<?> propertySource : propertySources) {
+			if (propertySource instanceof ResourceVersionedPropertySource) {
+				Map<String, String> resourceVersions = ((ResourceVersionedPropertySource) propertySource)
+						.getResourceVersions();
+				if (resourceVersions != null && resourceVersions.get(key) != null) {
+					return resourceVersions.get(key);
+				}
+			}
+		}
+		return null;
+	}
+
 	/**
 	 * Finds one registered property source of the given type, logging a warning if
 	 * multiple property sources of that type are available.
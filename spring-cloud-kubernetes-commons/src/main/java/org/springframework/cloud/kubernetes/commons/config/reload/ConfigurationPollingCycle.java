@@ -0,0 +1,169 @@
+/*
+ * Copyright 2013-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.kubernetes.commons.config.reload;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Predicate;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.scheduling.TaskScheduler;
+
+/**
+ * Runs the polls of the polling change detectors one after the other, in a single cycle,
+ * instead of each detector scheduling its own. The delay between two cycles is the
+ * polling period, randomly shifted by up to the configured jitter so that the instances
+ * of an application do not all poll the API server at the same time. When a poll fails
+ * because the API server is throttling (429) or failing (5xx), the rest of the cycle is
+ * skipped and the delay doubles, up to the configured maximum, until a cycle completes
+ * again.
+ */
+public class ConfigurationPollingCycle implements DisposableBean {
+
+	private static final Log LOG = LogFactory.getLog(ConfigurationPollingCycle.class);
+
+	private final TaskScheduler taskScheduler;
+
+	private final Duration period;
+
+	private final double jitter;
+
+	private final Duration maxBackoff;
+
+	private final Predicate<Throwable> throttled;
+
+	private final Clock clock;
+
+	private final List<Runnable> polls = new CopyOnWriteArrayList<>();
+
+	private Duration delay;
+
+	private ScheduledFuture<?> next;
+
+	private boolean started;
+
+	private boolean stopped;
+
+	/**
+	 * @param taskScheduler scheduler the cycles run on
+	 * @param properties config reload properties
+	 * @param throttled tells whether a failure of a poll means that the API server is
+	 * throttling or failing, see {@link #isThrottled(int)}
+	 */
+	public ConfigurationPollingCycle(TaskScheduler taskScheduler, ConfigReloadProperties properties,
+			Predicate<Throwable> throttled) {
+		this(taskScheduler, properties, throttled, Clock.systemUTC());
+	}
+
+	ConfigurationPollingCycle(TaskScheduler taskScheduler, ConfigReloadProperties properties,
+			Predicate<Throwable> throttled, Clock clock) {
+		this.taskScheduler = taskScheduler;
+		this.period = properties.getPeriod();
+		this.jitter = Math.min(Math.max(properties.getJitter(), 0), 1);
+		this.maxBackoff = properties.getMaxBackoff() == null || properties.getMaxBackoff().compareTo(this.period) < 0
+				? this.period : properties.getMaxBackoff();
+		this.throttled = throttled;
+		this.clock = clock;
+		this.delay = this.period;
+	}
+
+	/**
+	 * @param statusCode HTTP status code of a failed request to the API server
+	 * @return {@code true} if the API server is throttling or failing
+	 */
+	public static boolean isThrottled(int statusCode) {
+		return statusCode == 429 || statusCode >= 500;
+	}
+
+	/**
+	 * Adds the poll of a detector to the cycle, starting the cycle with the first one.
+	 * Failures to read the versions of its property sources that are caused by the API
+	 * server throttling end the poll instead of the detector reading the property
+	 * sources themselves.
+	 * @param detector detector polling
+	 * @param poll poll of the detector
+	 */
+	public synchronized void register(ConfigurationChangeDetector detector, Runnable poll) {
+		detector.setThrottled(this.throttled);
+		this.polls.add(poll);
+		if (!this.started && !this.stopped) {
+			this.started = true;
+			schedule();
+		}
+	}
+
+	void executeCycle() {
+		boolean throttledCycle = false;
+		for (Runnable poll : this.polls) {
+			try {
+				poll.run();
+			}
+			catch (RuntimeException e) {
+				if (this.throttled.test(e)) {
+					LOG.warn("The API server is throttling, skipping the rest of the polling cycle: " + e);
+					throttledCycle = true;
+					break;
+				}
+				LOG.warn("Polling for changes failed", e);
+			}
+		}
+
+		synchronized (this) {
+			if (throttledCycle) {
+				Duration doubled = this.delay.multipliedBy(2);
+				this.delay = doubled.compareTo(this.maxBackoff) > 0 ? this.maxBackoff : doubled;
+			}
+			else {
+				this.delay = this.period;
+			}
+			if (!this.stopped) {
+				schedule();
+			}
+		}
+	}
+
+	/**
+	 * @return delay before the next cycle, without the jitter
+	 */
+	synchronized Duration getDelay() {
+		return this.delay;
+	}
+
+	private void schedule() {
+		long millis = this.delay.toMillis();
+		if (this.jitter > 0) {
+			millis += (long) (millis * this.jitter * ThreadLocalRandom.current().nextDouble(-1, 1));
+		}
+		this.next = this.taskScheduler.schedule(this::executeCycle, this.clock.instant().plusMillis(millis));
+	}
+
+	@Override
+	public synchronized void destroy() {
+		this.stopped = true;
+		if (this.next != null) {
+			this.next.cancel(false);
+		}
+	}
+
+}
@@ -0,0 +1,121 @@
+/*
+ * Copyright 2013-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.kubernetes.commons.config.reload;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+/**
+ * A {@link ConfigurationUpdateStrategy} that restarts the application only once it holds
+ * a permit of the {@link RestartSemaphore}. Waiting for a permit can take as long as the
+ * other replicas take to restart, so the permit is waited for, and the restart run, on a
+ * dedicated thread rather than on the watch or polling thread that detected the change.
+ * A restart requested while another one is waiting for its permit is merged into it.
+ *
+ * The strategy is not a bean of its own but replaces one, so Spring does not destroy it:
+ * whoever creates it must {@link #shutdown() shut it down} when the context closes.
+ */
+public class CoordinatedConfigurationUpdateStrategy extends ConfigurationUpdateStrategy {
+
+	private static final Log LOG = LogFactory.getLog(CoordinatedConfigurationUpdateStrategy.class);
+
+	private final ConfigurationUpdateStrategy delegate;
+
+	private final RestartSemaphore restartSemaphore;
+
+	private final ExecutorService executor;
+
+	private Future<?> waiting;
+
+	public CoordinatedConfigurationUpdateStrategy(ConfigurationUpdateStrategy delegate,
+			RestartSemaphore restartSemaphore) {
+		super(delegate.getName(), () -> {
+		});
+		this.delegate = delegate;
+		this.restartSemaphore = restartSemaphore;
+		this.executor = Executors.newSingleThreadExecutor(runnable -> {
+			Thread thread = new Thread(runnable, "spring-cloud-kubernetes-restart");
+			thread.setDaemon(true);
+			return thread;
+		});
+	}
+
+	/**
+	 * Waits for a permit and restarts on the restart thread, unless a restart is already
+	 * waiting for its permit.
+	 */
+	@Override
+	public synchronized void reload() {
+		if (this.executor.isShutdown()) {
+			LOG.debug("Ignoring the restart request, the context is closed");
+			return;
+		}
+		if (this.waiting != null) {
+			LOG.debug("A restart is already waiting for a permit");
+			return;
+		}
+		this.waiting = this.executor.submit(this::restart);
+	}
+
+	private void restart() {
+		boolean acquired = this.restartSemaphore.acquire();
+		synchronized (this) {
+			this.waiting = null;
+			if (!acquired || this.executor.isShutdown()) {
+				LOG.info("Not restarting, the context was closed while waiting for a restart permit");
+				if (acquired) {
+					this.restartSemaphore.release();
+				}
+				return;
+			}
+		}
+		try {
+			this.delegate.reload();
+		}
+		catch (RuntimeException e) {
+			LOG.error("Failed to restart the application", e);
+		}
+	}
+
+	/**
+	 * Stops waiting for a permit, if a restart is waiting for one, and stops the restart
+	 * thread once the running restart, if any, is over.
+	 */
+	public synchronized void shutdown() {
+		if (this.waiting != null) {
+			this.waiting.cancel(true);
+			this.waiting = null;
+		}
+		// shutdown() rather than shutdownNow(): the context may be closed by the restart
+		// running on that executor
+		this.executor.shutdown();
+	}
+
+	boolean isTerminated() {
+		return this.executor.isTerminated();
+	}
+
+	@Override
+	public String toString() {
+		return "CoordinatedConfigurationUpdateStrategy{delegate=" + this.delegate + "}";
+	}
+
+}
@@ -0,0 +1,231 @@
+/*
+ * Copyright 2013-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.kubernetes.commons.config.reload;
+
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+
+import org.springframework.core.env.ConfigurableEnvironment;
+import org.springframework.util.DigestUtils;
+
+import static java.nio.file.StandardWatchEventKinds.ENTRY_CREATE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_DELETE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_MODIFY;
+
+/**
+ * A change detector that watches the files of the config map and secrets
+ * {@code paths}, without calling the Kubernetes API. The kubelet updates a mounted volume
+ * by writing the new files to a timestamped directory and atomically swapping the
+ * {@code ..data} symlink the visible files point to, so the directories holding the
+ * configured paths are watched rather than the files themselves, and the events of one
+ * update are merged before the files are read again. The files are compared by content,
+ * so that a reload only happens when one of them actually changed.
+ */
+public class FilesystemChangeDetector extends ConfigurationChangeDetector {
+
+	private static final long MIN_DEBOUNCE_MILLIS = 100;
+
+	private static final String FILESYSTEM = "filesystem";
+
+	private final List<Path> paths;
+
+	private final Map<Path, String> digests = new HashMap<>();
+
+	private WatchService watchService;
+
+	public FilesystemChangeDetector(ConfigurableEnvironment environment, ConfigReloadProperties properties,
+			ConfigurationUpdateStrategy strategy, List<String> paths) {
+		super(environment, properties, strategy);
+		this.paths = paths.stream().map(Paths::get).collect(Collectors.toList());
+	}
+
+	@PostConstruct
+	public void watch() {
+		if (this.paths.isEmpty()) {
+			this.log.info("No config map or secrets paths are configured, nothing to watch");
+			return;
+		}
+		try {
+			this.watchService = FileSystems.getDefault().newWatchService();
+			registerDirectories();
+		}
+		catch (IOException e) {
+			this.log.error("Error while watching " + this.paths + ": configuration may remain stale", e);
+			return;
+		}
+		this.digests.putAll(readDigests());
+		Thread thread = new Thread(this::run, "spring-cloud-kubernetes-filesystem-watch");
+		thread.setDaemon(true);
+		thread.start();
+		this.log.info("Kubernetes filesystem change detector activated for " + this.paths);
+	}
+
+	@PreDestroy
+	public void unwatch() {
+		if (this.watchService != null) {
+			try {
+				this.watchService.close();
+			}
+			catch (IOException e) {
+				this.log.debug("Error while closing the watch service", e);
+			}
+		}
+	}
+
+	private void run() {
+		try {
+			while (true) {
+				reset(this.watchService.take());
+				eventReceived(FILESYSTEM);
+				// one update of a volume creates, renames and deletes several entries,
+				// wait until they are all done before reading the files
+				WatchKey key;
+				while ((key = this.watchService.poll(debounceMillis(), TimeUnit.MILLISECONDS)) != null) {
+					reset(key);
+				}
+				checkForChanges();
+			}
+		}
+		catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+		catch (ClosedWatchServiceException e) {
+			this.log.debug("Stopped watching " + this.paths);
+		}
+	}
+
+	/**
+	 * Reads the watched files again and reloads the properties if any of them changed.
+	 */
+	void checkForChanges() {
+		try {
+			// directories may have been created since the last check
+			registerDirectories();
+		}
+		catch (IOException e) {
+			this.log.warn("Error while watching the directories of " + this.paths, e);
+		}
+		long start = System.nanoTime();
+		Map<Path, String> current = readDigests();
+		long read = System.nanoTime();
+		Set<Path> changed = new TreeSet<>();
+		current.forEach((path, digest) -> {
+			if (!digest.equals(this.digests.get(path))) {
+				changed.add(path);
+			}
+		});
+		this.digests.keySet().stream().filter(path -> !current.containsKey(path)).forEach(changed::add);
+		this.digests.clear();
+		this.digests.putAll(current);
+		decided(FILESYSTEM, changed.isEmpty() ? ReloadDecision.Outcome.NO_CHANGE : ReloadDecision.Outcome.RELOAD,
+				read - start, System.nanoTime() - read);
+
+		if (changed.isEmpty()) {
+			this.log.debug("The watched files did not change");
+		}
+		else {
+			this.log.info("Detected changes in " + changed + ", reloading properties.");
+			reloadProperties();
+		}
+	}
+
+	private long debounceMillis() {
+		return Math.max(MIN_DEBOUNCE_MILLIS, this.properties.getQuietPeriod().toMillis());
+	}
+
+	private void registerDirectories() throws IOException {
+		for (Path directory : directories()) {
+			directory.register(this.watchService, ENTRY_CREATE, ENTRY_MODIFY, ENTRY_DELETE);
+		}
+	}
+
+	private Set<Path> directories() {
+		Set<Path> directories = new LinkedHashSet<>();
+		for (Path path : this.paths) {
+			if (Files.isDirectory(path)) {
+				walk(path).filter(Files::isDirectory).forEach(directories::add);
+			}
+			else if (path.toAbsolutePath().getParent() != null
+					&& Files.isDirectory(path.toAbsolutePath().getParent())) {
+				directories.add(path.toAbsolutePath().getParent());
+			}
+		}
+		return directories;
+	}
+
+	private Map<Path, String> readDigests() {
+		Map<Path, String> digests = new HashMap<>();
+		this.paths.stream().flatMap(FilesystemChangeDetector::walk).filter(Files::isRegularFile).forEach(file -> {
+			try {
+				digests.put(file, DigestUtils.md5DigestAsHex(Files.readAllBytes(file)));
+			}
+			catch (IOException e) {
+				this.log.debug("Error reading " + file, e);
+			}
+		});
+		return digests;
+	}
+
+	/**
+	 * Walks the given path, skipping the timestamped directories and the {@code ..data}
+	 * symlink of the kubelet: the files they hold are the targets of the visible ones.
+	 */
+	private static Stream<Path> walk(Path path) {
+		if (!Files.exists(path)) {
+			return Stream.empty();
+		}
+		try (Stream<Path> walk = Files.walk(path)) {
+			return walk.filter(p -> !isKubeletInternal(path.relativize(p))).collect(Collectors.toList()).stream();
+		}
+		catch (IOException | RuntimeException e) {
+			return Stream.empty();
+		}
+	}
+
+	private static boolean isKubeletInternal(Path relativePath) {
+		for (Path element : relativePath) {
+			if (element.toString().startsWith("..")) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private static void reset(WatchKey key) {
+		key.pollEvents();
+		key.reset();
+	}
+
+}
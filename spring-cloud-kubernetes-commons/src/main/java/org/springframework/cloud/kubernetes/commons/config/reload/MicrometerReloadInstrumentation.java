@@ -0,0 +1,118 @@
+/*
+ * Copyright 2013-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.kubernetes.commons.config.reload;
+
+import java.util.concurrent.TimeUnit;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+
+import org.springframework.beans.factory.ObjectProvider;
+
+/**
+ * Records the reload pipeline with Micrometer. The meters of the detectors are tagged
+ * with the source ('configmap', 'secret' or 'filesystem') and the detection mode, the
+ * reload timer with the strategy, so the number of time series is bounded. Nothing is
+ * recorded while no {@link MeterRegistry} is available.
+ */
+public class MicrometerReloadInstrumentation implements ReloadInstrumentation {
+
+	/**
+	 * Number of events received by the detectors.
+	 */
+	public static final String EVENTS_COUNTER = "kubernetes.reload.events";
+
+	/**
+	 * Number of events ignored by the detectors.
+	 */
+	public static final String FILTERED_EVENTS_COUNTER = "kubernetes.reload.events.filtered";
+
+	/**
+	 * Time it takes to locate the property sources again, or to read their
+	 * resourceVersions.
+	 */
+	public static final String LOCATE_TIMER = "kubernetes.reload.locate";
+
+	/**
+	 * Time it takes to compare the property sources to the ones of the environment.
+	 */
+	public static final String DIFF_TIMER = "kubernetes.reload.diff";
+
+	/**
+	 * Number of decisions of the detectors, tagged with their outcome: RELOAD when a
+	 * reload was triggered, NO_CHANGE or RESOURCE_VERSIONS_UNCHANGED when it was
+	 * suppressed.
+	 */
+	public static final String DECISIONS_COUNTER = "kubernetes.reload.decisions";
+
+	/**
+	 * Time it takes the strategy to reload the configuration.
+	 */
+	public static final String REFRESH_TIMER = "kubernetes.reload.refresh";
+
+	private final ObjectProvider<MeterRegistry> registry;
+
+	public MicrometerReloadInstrumentation(ObjectProvider<MeterRegistry> registry) {
+		this.registry = registry;
+	}
+
+	@Override
+	public void eventReceived(String source, String mode) {
+		MeterRegistry registry = this.registry.getIfAvailable();
+		if (registry != null) {
+			registry.counter(EVENTS_COUNTER, tags(source, mode)).increment();
+		}
+	}
+
+	@Override
+	public void eventFiltered(String source, String mode) {
+		MeterRegistry registry = this.registry.getIfAvailable();
+		if (registry != null) {
+			registry.counter(FILTERED_EVENTS_COUNTER, tags(source, mode)).increment();
+		}
+	}
+
+	@Override
+	public void decided(ReloadDecision decision) {
+		MeterRegistry registry = this.registry.getIfAvailable();
+		if (registry == null) {
+			return;
+		}
+		Tags tags = tags(decision.getSource(), decision.getMode());
+		registry.counter(DECISIONS_COUNTER, tags.and("outcome", decision.getOutcome().name())).increment();
+		if (decision.getLocateNanos() >= 0) {
+			registry.timer(LOCATE_TIMER, tags).record(decision.getLocateNanos(), TimeUnit.NANOSECONDS);
+		}
+		if (decision.getDiffNanos() >= 0) {
+			registry.timer(DIFF_TIMER, tags).record(decision.getDiffNanos(), TimeUnit.NANOSECONDS);
+		}
+	}
+
+	@Override
+	public void reloaded(String strategy, long nanos, Throwable failure) {
+		MeterRegistry registry = this.registry.getIfAvailable();
+		if (registry != null) {
+			registry.timer(REFRESH_TIMER, "strategy", strategy, "outcome", failure == null ? "SUCCESS" : "ERROR")
+					.record(nanos, TimeUnit.NANOSECONDS);
+		}
+	}
+
+	private static Tags tags(String source, String mode) {
+		return Tags.of("source", source, "mode", mode);
+	}
+
+}
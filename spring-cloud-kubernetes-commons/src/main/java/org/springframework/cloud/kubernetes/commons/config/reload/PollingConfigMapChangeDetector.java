@@ -51,6 +51,8 @@ public class PollingConfigMapChangeDetector extends ConfigurationChangeDetector
 
 	private Duration period = Duration.ofMillis(1500);
 
+	private ConfigurationPollingCycle pollingCycle;
+
 	@Deprecated
 	public PollingConfigMapChangeDetector(AbstractEnvironment environment, ConfigReloadProperties properties,
 			ConfigurationUpdateStrategy strategy, Class propertySourceClass,
@@ -71,9 +73,32 @@ public class PollingConfigMapChangeDetector extends ConfigurationChangeDetector
 		this.period = properties.getPeriod();
 	}
 
+	/**
+	 * @param environment application environment
+	 * @param properties config reload properties
+	 * @param strategy configuration update strategy
+	 * @param propertySourceClass class of the property sources to poll for
+	 * @param propertySourceLocator locator of the property sources
+	 * @param pollingCycle cycle the polls run in, together with the ones of the other
+	 * polling detectors
+	 */
+	public PollingConfigMapChangeDetector(AbstractEnvironment environment, ConfigReloadProperties properties,
+			ConfigurationUpdateStrategy strategy, Class propertySourceClass,
+			PropertySourceLocator propertySourceLocator, ConfigurationPollingCycle pollingCycle) {
+		super(environment, properties, strategy);
+		this.propertySourceLocator = propertySourceLocator;
+		this.propertySourceClass = propertySourceClass;
+		this.pollingCycle = pollingCycle;
+		this.period = properties.getPeriod();
+	}
+
 	@PostConstruct
 	public void init() {
 		this.log.info("Kubernetes polling configMap change detector activated");
+		if (pollingCycle != null) {
+			pollingCycle.register(this, this::executeCycle);
+			return;
+		}
 		PeriodicTrigger trigger = new PeriodicTrigger(period.toMillis());
 		trigger.setInitialDelay(period.toMillis());
 		taskExecutor.schedule(this::executeCycle, trigger);
@@ -89,8 +114,19 @@ public class PollingConfigMapChangeDetector extends ConfigurationChangeDetector
 			List<? extends MapPropertySource> currentConfigMapSources = findPropertySources(propertySourceClass);
 
 			if (!currentConfigMapSources.isEmpty()) {
-				changedConfigMap = changed(locateMapPropertySources(this.propertySourceLocator, this.environment),
-						currentConfigMapSources);
+				// only read and parse the config maps again if their resourceVersion moved
+				long start = System.nanoTime();
+				if (resourceVersionsUnchanged(currentConfigMapSources, this.propertySourceLocator)) {
+					log.debug("The resourceVersion of the config maps did not change");
+					decided(CONFIG_MAP, ReloadDecision.Outcome.RESOURCE_VERSIONS_UNCHANGED, System.nanoTime() - start,
+							-1);
+				}
+				else {
+					changedConfigMap = detectChange(CONFIG_MAP, this.propertySourceLocator, currentConfigMapSources);
+					if (!changedConfigMap) {
+						resourceVersionsChecked();
+					}
+				}
 			}
 		}
 
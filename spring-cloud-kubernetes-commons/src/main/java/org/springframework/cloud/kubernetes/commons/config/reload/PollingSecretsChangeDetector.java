@@ -51,6 +51,8 @@ public class PollingSecretsChangeDetector extends ConfigurationChangeDetector {
 
 	private Duration period = Duration.ofMillis(1500);
 
+	private ConfigurationPollingCycle pollingCycle;
+
 	@Deprecated
 	public PollingSecretsChangeDetector(AbstractEnvironment environment, ConfigReloadProperties properties,
 			ConfigurationUpdateStrategy strategy, Class propertySourceClass,
@@ -71,9 +73,32 @@ public class PollingSecretsChangeDetector extends ConfigurationChangeDetector {
 		this.period = properties.getPeriod();
 	}
 
+	/**
+	 * @param environment application environment
+	 * @param properties config reload properties
+	 * @param strategy configuration update strategy
+	 * @param propertySourceClass class of the property sources to poll for
+	 * @param propertySourceLocator locator of the property sources
+	 * @param pollingCycle cycle the polls run in, together with the ones of the other
+	 * polling detectors
+	 */
+	public PollingSecretsChangeDetector(AbstractEnvironment environment, ConfigReloadProperties properties,
+			ConfigurationUpdateStrategy strategy, Class propertySourceClass,
+			PropertySourceLocator propertySourceLocator, ConfigurationPollingCycle pollingCycle) {
+		super(environment, properties, strategy);
+		this.propertySourceLocator = propertySourceLocator;
+		this.propertySourceClass = propertySourceClass;
+		this.pollingCycle = pollingCycle;
+		this.period = properties.getPeriod();
+	}
+
 	@PostConstruct
 	public void init() {
 		this.log.info("Kubernetes polling secrets change detector activated");
+		if (pollingCycle != null) {
+			pollingCycle.register(this, this::executeCycle);
+			return;
+		}
 		PeriodicTrigger trigger = new PeriodicTrigger(period.toMillis());
 		trigger.setInitialDelay(period.toMillis());
 		taskExecutor.schedule(this::executeCycle, trigger);
@@ -86,11 +111,29 @@ public class PollingSecretsChangeDetector extends ConfigurationChangeDetector {
 			if (log.isDebugEnabled()) {
 				log.debug("Polling for changes in secrets");
 			}
-			List<MapPropertySource> currentSecretSources = locateMapPropertySources(this.propertySourceLocator,
-					this.environment);
-			if (currentSecretSources != null && !currentSecretSources.isEmpty()) {
-				List<MapPropertySource> propertySources = findPropertySources(this.propertySourceClass);
-				changedSecrets = changed(currentSecretSources, propertySources);
+			List<MapPropertySource> propertySources = findPropertySources(this.propertySourceClass);
+			// only read the secrets again if their resourceVersion moved
+			long start = System.nanoTime();
+			if (resourceVersionsUnchanged(propertySources, this.propertySourceLocator)) {
+				log.debug("The resourceVersion of the secrets did not change");
+				decided(SECRET, ReloadDecision.Outcome.RESOURCE_VERSIONS_UNCHANGED, System.nanoTime() - start, -1);
+			}
+			else {
+				start = System.nanoTime();
+				List<MapPropertySource> currentSecretSources = locateMapPropertySources(this.propertySourceLocator,
+						this.environment);
+				long located = System.nanoTime();
+				if (currentSecretSources != null && !currentSecretSources.isEmpty()) {
+					changedSecrets = changed(currentSecretSources, propertySources);
+					if (!changedSecrets) {
+						resourceVersionsChecked();
+					}
+					decided(SECRET, changedSecrets ? ReloadDecision.Outcome.RELOAD : ReloadDecision.Outcome.NO_CHANGE,
+							located - start, System.nanoTime() - located);
+				}
+				else {
+					decided(SECRET, ReloadDecision.Outcome.NO_CHANGE, located - start, -1);
+				}
 			}
 		}
 
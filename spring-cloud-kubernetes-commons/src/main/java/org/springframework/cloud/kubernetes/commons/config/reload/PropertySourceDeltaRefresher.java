@@ -0,0 +1,153 @@
+/*
+ * Copyright 2013-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.kubernetes.commons.config.reload;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import org.springframework.cloud.bootstrap.config.BootstrapPropertySource;
+import org.springframework.cloud.bootstrap.config.PropertySourceLocator;
+import org.springframework.cloud.context.environment.EnvironmentChangeEvent;
+import org.springframework.cloud.context.refresh.ContextRefresher;
+import org.springframework.cloud.context.scope.refresh.RefreshScope;
+import org.springframework.cloud.kubernetes.commons.config.ConfigMapPropertySourceLocator;
+import org.springframework.cloud.kubernetes.commons.config.SecretsPropertySourceLocator;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.env.ConfigurableEnvironment;
+import org.springframework.core.env.EnumerablePropertySource;
+import org.springframework.core.env.MutablePropertySources;
+import org.springframework.core.env.PropertySource;
+
+/**
+ * Refreshes the configuration by reading the config map and secrets property sources
+ * again and replacing, in the environment, only the ones that changed. An
+ * {@link EnvironmentChangeEvent} is then published for the keys that changed, instead of
+ * rebuilding the bootstrap context and reading every property source as
+ * {@link ContextRefresher#refresh()} does. When the property sources do not match the
+ * ones of the environment anymore, for example because a profile specific config map
+ * appeared, the whole context is refreshed.
+ * <p>
+ * Only the reading of the property sources is narrowed to the changes: the beans are
+ * refreshed as with {@link ContextRefresher#refresh()}, every
+ * {@code @ConfigurationProperties} bean being rebound and every {@code @RefreshScope}
+ * bean being recreated.
+ */
+public class PropertySourceDeltaRefresher {
+
+	private static final Log LOG = LogFactory.getLog(PropertySourceDeltaRefresher.class);
+
+	private final ConfigurableApplicationContext context;
+
+	private final ContextRefresher refresher;
+
+	public PropertySourceDeltaRefresher(ConfigurableApplicationContext context, ContextRefresher refresher) {
+		this.context = context;
+		this.refresher = refresher;
+	}
+
+	/**
+	 * @return the keys that changed
+	 */
+	public synchronized Set<String> refresh() {
+		ConfigurableEnvironment environment = this.context.getEnvironment();
+		MutablePropertySources propertySources = environment.getPropertySources();
+		Map<String, PropertySource<?>> replacements = new LinkedHashMap<>();
+		Set<String> keys = new LinkedHashSet<>();
+		for (PropertySourceLocator locator : locators()) {
+			for (PropertySource<?> located : locator.locateCollection(environment)) {
+				PropertySource<?> current = find(propertySources, located.getName());
+				if (current == null || !(located instanceof EnumerablePropertySource)) {
+					LOG.info("Property source " + located.getName() + " is not in the environment yet, "
+							+ "refreshing the whole context");
+					return this.refresher.refresh();
+				}
+				Set<String> changed = changedKeys(delegate(current), (EnumerablePropertySource<?>) located);
+				if (!changed.isEmpty()) {
+					keys.addAll(changed);
+					replacements.put(current.getName(), current instanceof BootstrapPropertySource
+							? new BootstrapPropertySource<>((EnumerablePropertySource<?>) located) : located);
+				}
+			}
+		}
+		if (keys.isEmpty()) {
+			return keys;
+		}
+		replacements.forEach(propertySources::replace);
+		if (LOG.isDebugEnabled()) {
+			LOG.debug("Replaced property sources " + replacements.keySet() + ", changed keys: " + keys);
+		}
+		this.context.publishEvent(new EnvironmentChangeEvent(this.context, keys));
+		RefreshScope refreshScope = this.context.getBeanProvider(RefreshScope.class).getIfAvailable();
+		if (refreshScope != null) {
+			refreshScope.refreshAll();
+		}
+		return keys;
+	}
+
+	private List<PropertySourceLocator> locators() {
+		// the locators are beans of the bootstrap context, the parent of this one
+		List<PropertySourceLocator> locators = new ArrayList<>();
+		this.context.getBeanProvider(ConfigMapPropertySourceLocator.class).ifAvailable(locators::add);
+		this.context.getBeanProvider(SecretsPropertySourceLocator.class).ifAvailable(locators::add);
+		return locators;
+	}
+
+	/**
+	 * Finds the property source with the given name, or the bootstrap property source
+	 * wrapping it.
+	 */
+	private static PropertySource<?> find(MutablePropertySources propertySources, String name) {
+		for (PropertySource<?> propertySource : propertySources) {
+			if (propertySource.getName().equals(name) || (propertySource instanceof BootstrapPropertySource
+					&& ((BootstrapPropertySource<?>) propertySource).getDelegate().getName().equals(name))) {
+				return propertySource;
+			}
+		}
+		return null;
+	}
+
+	private static PropertySource<?> delegate(PropertySource<?> propertySource) {
+		return propertySource instanceof BootstrapPropertySource
+				? ((BootstrapPropertySource<?>) propertySource).getDelegate() : propertySource;
+	}
+
+	private static Set<String> changedKeys(PropertySource<?> current, EnumerablePropertySource<?> located) {
+		Set<String> changed = new LinkedHashSet<>();
+		for (String key : located.getPropertyNames()) {
+			if (!Objects.equals(current.getProperty(key), located.getProperty(key))) {
+				changed.add(key);
+			}
+		}
+		if (current instanceof EnumerablePropertySource) {
+			for (String key : ((EnumerablePropertySource<?>) current).getPropertyNames()) {
+				if (!located.containsProperty(key)) {
+					changed.add(key);
+				}
+			}
+		}
+		return changed;
+	}
+
+}
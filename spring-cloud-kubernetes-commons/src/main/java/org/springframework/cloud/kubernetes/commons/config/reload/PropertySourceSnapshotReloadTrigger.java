@@ -0,0 +1,63 @@
+/*
+ * Copyright 2013-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.kubernetes.commons.config.reload;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.cloud.kubernetes.commons.config.ConfigMapPropertySourceLocator;
+import org.springframework.cloud.kubernetes.commons.config.SecretsPropertySourceLocator;
+import org.springframework.context.ApplicationListener;
+
+/**
+ * Fires the {@link ConfigurationUpdateStrategy} when the application started from
+ * snapshots of its property sources and the Kubernetes API turned out to hold a different
+ * configuration. The listeners are only registered once the application is ready, so that
+ * a reload never runs while the context is still starting.
+ */
+public class PropertySourceSnapshotReloadTrigger implements ApplicationListener<ApplicationReadyEvent> {
+
+	private static final Log LOG = LogFactory.getLog(PropertySourceSnapshotReloadTrigger.class);
+
+	private final ObjectProvider<ConfigMapPropertySourceLocator> configMapLocator;
+
+	private final ObjectProvider<SecretsPropertySourceLocator> secretsLocator;
+
+	private final ConfigurationUpdateStrategy strategy;
+
+	public PropertySourceSnapshotReloadTrigger(ObjectProvider<ConfigMapPropertySourceLocator> configMapLocator,
+			ObjectProvider<SecretsPropertySourceLocator> secretsLocator, ConfigurationUpdateStrategy strategy) {
+		this.configMapLocator = configMapLocator;
+		this.secretsLocator = secretsLocator;
+		this.strategy = strategy;
+	}
+
+	@Override
+	public void onApplicationEvent(ApplicationReadyEvent event) {
+		this.configMapLocator.ifAvailable(locator -> locator.setSnapshotChangeListener(this::reload));
+		this.secretsLocator.ifAvailable(locator -> locator.setSnapshotChangeListener(this::reload));
+	}
+
+	private void reload() {
+		LOG.info("Reloading using strategy: " + this.strategy.getName()
+				+ ", the snapshots the application started from were out of date");
+		this.strategy.reload();
+	}
+
+}
@@ -0,0 +1,115 @@
+/*
+ * Copyright 2013-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.kubernetes.commons.config.reload;
+
+import java.time.Instant;
+
+/**
+ * What a {@link ConfigurationChangeDetector} decided after checking its property sources,
+ * with the time it took to locate them and to compare them to the ones of the
+ * environment.
+ */
+public final class ReloadDecision {
+
+	private final Instant timestamp;
+
+	private final String source;
+
+	private final String mode;
+
+	private final Outcome outcome;
+
+	private final long locateNanos;
+
+	private final long diffNanos;
+
+	/**
+	 * @param timestamp time of the decision
+	 * @param source kind of property sources checked, for example 'configmap'
+	 * @param mode detection mode of the detector
+	 * @param outcome the decision
+	 * @param locateNanos time spent locating the property sources (or reading their
+	 * resourceVersions), {@code -1} if they were not located
+	 * @param diffNanos time spent comparing the property sources, {@code -1} if they
+	 * were not compared
+	 */
+	public ReloadDecision(Instant timestamp, String source, String mode, Outcome outcome, long locateNanos,
+			long diffNanos) {
+		this.timestamp = timestamp;
+		this.source = source;
+		this.mode = mode;
+		this.outcome = outcome;
+		this.locateNanos = locateNanos;
+		this.diffNanos = diffNanos;
+	}
+
+	public Instant getTimestamp() {
+		return this.timestamp;
+	}
+
+	public String getSource() {
+		return this.source;
+	}
+
+	public String getMode() {
+		return this.mode;
+	}
+
+	public Outcome getOutcome() {
+		return this.outcome;
+	}
+
+	public long getLocateNanos() {
+		return this.locateNanos;
+	}
+
+	public long getDiffNanos() {
+		return this.diffNanos;
+	}
+
+	@Override
+	public String toString() {
+		return "ReloadDecision{timestamp=" + this.timestamp + ", source='" + this.source + "', mode='" + this.mode
+				+ "', outcome=" + this.outcome + ", locateNanos=" + this.locateNanos + ", diffNanos="
+				+ this.diffNanos + "}";
+	}
+
+	/**
+	 * Outcomes of a check.
+	 */
+	public enum Outcome {
+
+		/**
+		 * The property sources changed, a reload was triggered.
+		 */
+		RELOAD,
+
+		/**
+		 * The property sources were located again and are equal to the ones of the
+		 * environment, the reload was suppressed.
+		 */
+		NO_CHANGE,
+
+		/**
+		 * The resourceVersions of the objects the property sources were read from did
+		 * not change, the property sources were not located again.
+		 */
+		RESOURCE_VERSIONS_UNCHANGED
+
+	}
+
+}
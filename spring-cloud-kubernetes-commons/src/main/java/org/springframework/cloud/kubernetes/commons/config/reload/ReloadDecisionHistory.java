@@ -0,0 +1,125 @@
+/*
+ * Copyright 2013-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.kubernetes.commons.config.reload;
+
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * Keeps the last decisions of the change detectors, and the last reloads, for the
+ * {@link ConfigReloadEndpoint}.
+ */
+public class ReloadDecisionHistory implements ReloadInstrumentation {
+
+	private final int size;
+
+	private final Deque<ReloadDecision> decisions = new ArrayDeque<>();
+
+	private final Deque<Reload> reloads = new ArrayDeque<>();
+
+	/**
+	 * @param size number of decisions, and of reloads, to keep
+	 */
+	public ReloadDecisionHistory(int size) {
+		this.size = Math.max(size, 0);
+	}
+
+	@Override
+	public void decided(ReloadDecision decision) {
+		add(this.decisions, decision);
+	}
+
+	@Override
+	public void reloaded(String strategy, long nanos, Throwable failure) {
+		add(this.reloads, new Reload(Instant.now(), strategy, nanos, failure == null ? null : failure.toString()));
+	}
+
+	/**
+	 * @return the last decisions, the most recent first
+	 */
+	public List<ReloadDecision> getDecisions() {
+		synchronized (this.decisions) {
+			return new ArrayList<>(this.decisions);
+		}
+	}
+
+	/**
+	 * @return the last reloads, the most recent first
+	 */
+	public List<Reload> getReloads() {
+		synchronized (this.reloads) {
+			return new ArrayList<>(this.reloads);
+		}
+	}
+
+	private <T> void add(Deque<T> deque, T element) {
+		if (this.size == 0) {
+			return;
+		}
+		synchronized (deque) {
+			deque.addFirst(element);
+			while (deque.size() > this.size) {
+				deque.removeLast();
+			}
+		}
+	}
+
+	/**
+	 * A reload performed by the {@link ConfigurationUpdateStrategy}.
+	 */
+	public static final class Reload {
+
+		private final Instant timestamp;
+
+		private final String strategy;
+
+		private final long nanos;
+
+		private final String failure;
+
+		Reload(Instant timestamp, String strategy, long nanos, String failure) {
+			this.timestamp = timestamp;
+			this.strategy = strategy;
+			this.nanos = nanos;
+			this.failure = failure;
+		}
+
+		public Instant getTimestamp() {
+			return this.timestamp;
+		}
+
+		public String getStrategy() {
+			return this.strategy;
+		}
+
+		public long getNanos() {
+			return this.nanos;
+		}
+
+		/**
+		 * @return why the reload failed, {@code null} if it succeeded
+		 */
+		public String getFailure() {
+			return this.failure;
+		}
+
+	}
+
+}
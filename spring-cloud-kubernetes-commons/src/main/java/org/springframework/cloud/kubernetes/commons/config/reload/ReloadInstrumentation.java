@@ -0,0 +1,106 @@
+/*
+ * Copyright 2013-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.kubernetes.commons.config.reload;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Receives what happens in the reload pipeline: the events the change detectors receive,
+ * the decisions they take, and the reloads the {@link ConfigurationUpdateStrategy}
+ * performs. Implementations must be cheap and must not throw, they are called on the
+ * threads of the watches and of the polls.
+ */
+public interface ReloadInstrumentation {
+
+	/**
+	 * Instrumentation that records nothing.
+	 */
+	ReloadInstrumentation NONE = new ReloadInstrumentation() {
+	};
+
+	/**
+	 * @param instrumentations instrumentations to notify, in order
+	 * @return an instrumentation notifying all the given ones
+	 */
+	static ReloadInstrumentation of(List<ReloadInstrumentation> instrumentations) {
+		if (instrumentations.isEmpty()) {
+			return NONE;
+		}
+		if (instrumentations.size() == 1) {
+			return instrumentations.get(0);
+		}
+		List<ReloadInstrumentation> copy = new ArrayList<>(instrumentations);
+		return new ReloadInstrumentation() {
+
+			@Override
+			public void eventReceived(String source, String mode) {
+				copy.forEach(instrumentation -> instrumentation.eventReceived(source, mode));
+			}
+
+			@Override
+			public void eventFiltered(String source, String mode) {
+				copy.forEach(instrumentation -> instrumentation.eventFiltered(source, mode));
+			}
+
+			@Override
+			public void decided(ReloadDecision decision) {
+				copy.forEach(instrumentation -> instrumentation.decided(decision));
+			}
+
+			@Override
+			public void reloaded(String strategy, long nanos, Throwable failure) {
+				copy.forEach(instrumentation -> instrumentation.reloaded(strategy, nanos, failure));
+			}
+
+		};
+	}
+
+	/**
+	 * A detector received an event (a watch event, or a change of the file system).
+	 * @param source kind of property sources the event is about
+	 * @param mode detection mode of the detector
+	 */
+	default void eventReceived(String source, String mode) {
+	}
+
+	/**
+	 * A detector ignored an event, because the property sources are not read from the
+	 * object or were already read from its version.
+	 * @param source kind of property sources the event is about
+	 * @param mode detection mode of the detector
+	 */
+	default void eventFiltered(String source, String mode) {
+	}
+
+	/**
+	 * A detector checked its property sources.
+	 * @param decision what it decided
+	 */
+	default void decided(ReloadDecision decision) {
+	}
+
+	/**
+	 * A reload was performed.
+	 * @param strategy name of the strategy
+	 * @param nanos time the reload took
+	 * @param failure why it failed, {@code null} if it succeeded
+	 */
+	default void reloaded(String strategy, long nanos, Throwable failure) {
+	}
+
+}
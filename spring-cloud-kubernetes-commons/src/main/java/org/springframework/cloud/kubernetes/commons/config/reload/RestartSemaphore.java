@@ -0,0 +1,232 @@
+/*
+ * Copyright 2013-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.kubernetes.commons.config.reload;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationListener;
+import org.springframework.scheduling.TaskScheduler;
+
+/**
+ * Limits the number of replicas of an application that restart at the same time, in the
+ * same way the leader election records its leader: the replicas holding one of the
+ * permits are the entries of a config map, keyed by the name of their pod and holding the
+ * time they acquired it. Updates of the config map are guarded by its resourceVersion. A
+ * replica releases its permit once it is ready again after the restart, and a permit
+ * that was not released within the lease duration (because the replica never came back)
+ * is taken over by the other replicas.
+ */
+public abstract class RestartSemaphore implements ApplicationListener<ApplicationReadyEvent> {
+
+	private static final Duration READINESS_CHECK_INTERVAL = Duration.ofSeconds(2);
+
+	protected final Log log = LogFactory.getLog(getClass());
+
+	private final String holder;
+
+	private final int permits;
+
+	private final Duration leaseDuration;
+
+	private final TaskScheduler taskScheduler;
+
+	private final Clock clock;
+
+	protected RestartSemaphore(String holder, ConfigReloadProperties properties, TaskScheduler taskScheduler) {
+		this(holder, properties, taskScheduler, Clock.systemUTC());
+	}
+
+	RestartSemaphore(String holder, ConfigReloadProperties properties, TaskScheduler taskScheduler, Clock clock) {
+		this.holder = holder;
+		this.permits = properties.getMaxConcurrentRestarts();
+		this.leaseDuration = properties.getRestartLeaseDuration();
+		this.taskScheduler = taskScheduler;
+		this.clock = clock;
+	}
+
+	/**
+	 * @param properties config reload properties
+	 * @param applicationName name of the application
+	 * @return name of the config map holding the permits
+	 */
+	public static String getName(ConfigReloadProperties properties, String applicationName) {
+		return properties.getRestartSemaphoreName() != null ? properties.getRestartSemaphoreName()
+				: applicationName + "-restarts";
+	}
+
+	/**
+	 * Waits until one of the permits is acquired, however long it takes. The permit of a
+	 * replica that is not coming back is taken over once its lease expired, so a replica
+	 * never restarts without a permit, even when the permits are held for longer than the
+	 * lease duration.
+	 * @return {@code true} if a permit was acquired, {@code false} if the thread was
+	 * interrupted while waiting
+	 */
+	public boolean acquire() {
+		while (true) {
+			try {
+				if (tryAcquire()) {
+					this.log.info(this.holder + " acquired a restart permit");
+					return true;
+				}
+			}
+			catch (RuntimeException e) {
+				this.log.warn("Unable to acquire a restart permit", e);
+			}
+			try {
+				Thread.sleep(ThreadLocalRandom.current().nextLong(1000, 3000));
+			}
+			catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				return false;
+			}
+		}
+	}
+
+	boolean tryAcquire() {
+		Permits current = read();
+		Map<String, String> holders = current == null ? new HashMap<>() : new HashMap<>(current.getHolders());
+		Instant now = this.clock.instant();
+		holders.entrySet().removeIf(entry -> isExpired(entry.getValue(), now));
+		if (!holders.containsKey(this.holder) && holders.size() >= this.permits) {
+			this.log.debug("All the restart permits are held by " + holders.keySet());
+			return false;
+		}
+		holders.put(this.holder, now.toString());
+		return write(holders, current == null ? null : current.getResourceVersion());
+	}
+
+	/**
+	 * Releases the permit of this replica, if it holds one.
+	 */
+	public void release() {
+		for (int attempt = 0; attempt < 3; attempt++) {
+			Permits current = read();
+			if (current == null || !current.getHolders().containsKey(this.holder)) {
+				return;
+			}
+			Map<String, String> holders = new HashMap<>(current.getHolders());
+			holders.remove(this.holder);
+			if (write(holders, current.getResourceVersion())) {
+				this.log.info(this.holder + " released its restart permit");
+				return;
+			}
+		}
+		this.log.warn("Unable to release the restart permit of " + this.holder + ", it expires after "
+				+ this.leaseDuration);
+	}
+
+	/**
+	 * Releases the permit once the pod of this replica is ready, after the application
+	 * (re)started.
+	 * @param event application ready event
+	 */
+	@Override
+	public void onApplicationEvent(ApplicationReadyEvent event) {
+		Instant deadline = this.clock.instant().plus(this.leaseDuration);
+		this.taskScheduler.schedule(() -> releaseWhenReady(deadline), this.clock.instant());
+	}
+
+	private void releaseWhenReady(Instant deadline) {
+		try {
+			if (isReady()) {
+				release();
+				return;
+			}
+		}
+		catch (RuntimeException e) {
+			this.log.warn("Unable to release the restart permit of " + this.holder, e);
+		}
+		Instant now = this.clock.instant();
+		if (now.isBefore(deadline)) {
+			this.taskScheduler.schedule(() -> releaseWhenReady(deadline), now.plus(READINESS_CHECK_INTERVAL));
+		}
+	}
+
+	private boolean isExpired(String acquired, Instant now) {
+		try {
+			return !Instant.parse(acquired).plus(this.leaseDuration).isAfter(now);
+		}
+		catch (DateTimeParseException e) {
+			return true;
+		}
+	}
+
+	/**
+	 * @return name of the pod of this replica
+	 */
+	public String getHolder() {
+		return this.holder;
+	}
+
+	/**
+	 * @return the holders of the permits, or {@code null} if the config map does not
+	 * exist
+	 */
+	protected abstract Permits read();
+
+	/**
+	 * Writes the holders of the permits, creating the config map if there is no
+	 * resourceVersion.
+	 * @param holders holders of the permits, with the time they acquired them
+	 * @param resourceVersion resourceVersion the holders were read from
+	 * @return {@code false} if the config map was changed (or created) by another
+	 * replica since it was read
+	 */
+	protected abstract boolean write(Map<String, String> holders, String resourceVersion);
+
+	/**
+	 * @return {@code true} if the pod of this replica is ready, or is not found
+	 */
+	protected abstract boolean isReady();
+
+	/**
+	 * The holders of the permits, as read from the config map.
+	 */
+	protected static final class Permits {
+
+		private final Map<String, String> holders;
+
+		private final String resourceVersion;
+
+		public Permits(Map<String, String> holders, String resourceVersion) {
+			this.holders = holders == null ? Collections.emptyMap() : holders;
+			this.resourceVersion = resourceVersion;
+		}
+
+		public Map<String, String> getHolders() {
+			return this.holders;
+		}
+
+		public String getResourceVersion() {
+			return this.resourceVersion;
+		}
+
+	}
+
+}
@@ -0,0 +1,44 @@
+/*
+ * Copyright 2013-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.kubernetes.commons.config.reload.condition;
+
+import org.springframework.cloud.kubernetes.commons.config.reload.ConfigReloadProperties;
+import org.springframework.context.annotation.Condition;
+import org.springframework.context.annotation.ConditionContext;
+import org.springframework.core.env.Environment;
+import org.springframework.core.type.AnnotatedTypeMetadata;
+
+/**
+ * A condition for the restarts of the replicas being coordinated: the reload strategy
+ * restarts the application and a maximum number of concurrent restarts is configured.
+ */
+public class CoordinatedRestarts implements Condition {
+
+	@Override
+	public boolean matches(ConditionContext context, AnnotatedTypeMetadata metadata) {
+		Environment environment = context.getEnvironment();
+		Integer maxConcurrentRestarts = environment
+				.getProperty("spring.cloud.kubernetes.reload.max-concurrent-restarts", Integer.class, 0);
+		if (maxConcurrentRestarts <= 0) {
+			return false;
+		}
+		String strategy = environment.getProperty("spring.cloud.kubernetes.reload.strategy", "").replace('-', '_');
+		return ConfigReloadProperties.ReloadStrategy.RESTART_CONTEXT.name().equalsIgnoreCase(strategy)
+				|| ConfigReloadProperties.ReloadStrategy.SHUTDOWN.name().equalsIgnoreCase(strategy);
+	}
+
+}
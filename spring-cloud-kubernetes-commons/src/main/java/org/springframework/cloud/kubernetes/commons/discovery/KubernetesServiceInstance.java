@@ -29,6 +29,17 @@ public class KubernetesServiceInstance implements ServiceInstance {
 	 */
 	public static final String NAMESPACE_METADATA_KEY = "k8s_namespace";
 
+	/**
+	 * Key of the weight metadata, which is also the name of the service annotation the
+	 * weight is read from.
+	 */
+	public static final String WEIGHT_METADATA_KEY = "spring.cloud.kubernetes/weight";
+
+	/**
+	 * Weight of instances that do not specify one.
+	 */
+	public static final int DEFAULT_WEIGHT = 1;
+
 	private static final String HTTP_PREFIX = "http";
 
 	private static final String HTTPS_PREFIX = "https";
@@ -51,6 +62,10 @@ public class KubernetesServiceInstance implements ServiceInstance {
 
 	private final Map<String, String> metadata;
 
+	private final int weight;
+
+	private final boolean ready;
+
 	/**
 	 * @param instanceId the id of the instance.
 	 * @param serviceId the id of the service.
@@ -61,12 +76,44 @@ public class KubernetesServiceInstance implements ServiceInstance {
 	 */
 	public KubernetesServiceInstance(String instanceId, String serviceId, String host, int port,
 			Map<String, String> metadata, Boolean secure) {
+		this(instanceId, serviceId, host, port, metadata, secure, getWeight(metadata));
+	}
+
+	/**
+	 * @param instanceId the id of the instance.
+	 * @param serviceId the id of the service.
+	 * @param host the address where the service instance can be found.
+	 * @param port the port on which the service is running.
+	 * @param metadata a map containing metadata.
+	 * @param secure indicates whether or not the connection needs to be secure.
+	 * @param weight relative share of the traffic this instance should receive.
+	 */
+	public KubernetesServiceInstance(String instanceId, String serviceId, String host, int port,
+			Map<String, String> metadata, Boolean secure, int weight) {
+		this(instanceId, serviceId, host, port, metadata, secure, weight, true);
+	}
+
+	/**
+	 * @param instanceId the id of the instance.
+	 * @param serviceId the id of the service.
+	 * @param host the address where the service instance can be found.
+	 * @param port the port on which the service is running.
+	 * @param metadata a map containing metadata.
+	 * @param secure indicates whether or not the connection needs to be secure.
+	 * @param weight relative share of the traffic this instance should receive.
+	 * @param ready {@code false} if the instance was built from a not ready address of
+	 * an endpoint.
+	 */
+	public KubernetesServiceInstance(String instanceId, String serviceId, String host, int port,
+			Map<String, String> metadata, Boolean secure, int weight, boolean ready) {
 		this.instanceId = instanceId;
 		this.serviceId = serviceId;
 		this.host = host;
 		this.port = port;
 		this.metadata = metadata;
 		this.secure = secure;
+		this.weight = weight;
+		this.ready = ready;
 		this.uri = createUri(secure ? HTTPS_PREFIX : HTTP_PREFIX, host, port);
 	}
 
@@ -117,6 +164,40 @@ public class KubernetesServiceInstance implements ServiceInstance {
 		return this.metadata != null ? this.metadata.get(NAMESPACE_METADATA_KEY) : null;
 	}
 
+	public int getWeight() {
+		return this.weight;
+	}
+
+	/**
+	 * Readiness is the state of the pod behind the instance rather than part of its
+	 * identity, so it is not taken into account by {@link #equals(Object)}.
+	 * @return {@code false} if the instance was built from a not ready address of an
+	 * endpoint, which discovery only returns when
+	 * {@code spring.cloud.kubernetes.discovery.include-not-ready-addresses} is set
+	 */
+	public boolean isReady() {
+		return this.ready;
+	}
+
+	/**
+	 * Reads the weight from the {@value #WEIGHT_METADATA_KEY} entry of the given map,
+	 * typically the annotations of a service or its metadata.
+	 * @param values annotations or metadata, may be {@code null}
+	 * @return the weight, or {@link #DEFAULT_WEIGHT} if absent or invalid
+	 */
+	public static int getWeight(Map<String, String> values) {
+		String weight = values != null ? values.get(WEIGHT_METADATA_KEY) : null;
+		if (weight == null) {
+			return DEFAULT_WEIGHT;
+		}
+		try {
+			return Math.max(0, Integer.parseInt(weight.trim()));
+		}
+		catch (NumberFormatException e) {
+			return DEFAULT_WEIGHT;
+		}
+	}
+
 	@Override
 	public boolean equals(Object o) {
 		if (this == o) {
@@ -126,7 +207,7 @@ public class KubernetesServiceInstance implements ServiceInstance {
 			return false;
 		}
 		KubernetesServiceInstance that = (KubernetesServiceInstance) o;
-		return port == that.port && Objects.equals(instanceId, that.instanceId)
+		return port == that.port && weight == that.weight && Objects.equals(instanceId, that.instanceId)
 				&& Objects.equals(serviceId, that.serviceId) && Objects.equals(host, that.host)
 				&& Objects.equals(uri, that.uri) && Objects.equals(secure, that.secure)
 				&& Objects.equals(metadata, that.metadata);
@@ -136,12 +217,12 @@ public class KubernetesServiceInstance implements ServiceInstance {
 	public String toString() {
 		return "KubernetesServiceInstance{" + "instanceId='" + instanceId + '\'' + ", serviceId='" + serviceId + '\''
 				+ ", host='" + host + '\'' + ", port=" + port + ", uri=" + uri + ", secure=" + secure + ", metadata="
-				+ metadata + '}';
+				+ metadata + ", weight=" + weight + ", ready=" + ready + '}';
 	}
 
 	@Override
 	public int hashCode() {
-		return Objects.hash(instanceId, serviceId, host, port, uri, secure, metadata);
+		return Objects.hash(instanceId, serviceId, host, port, uri, secure, metadata, weight);
 	}
 
 }
@@ -0,0 +1,79 @@
+/*
+ * Copyright 2013-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.kubernetes.commons.loadbalancer;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.cloud.loadbalancer.core.ServiceInstanceListSupplier;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+/**
+ * Load balancer client configuration that instruments the
+ * {@link ServiceInstanceListSupplier} of every load balanced service with Micrometer.
+ * Meant to be imported by the Kubernetes load balancer client configurations.
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnClass(MeterRegistry.class)
+@ConditionalOnProperty("spring.cloud.kubernetes.loadbalancer.metrics.enabled")
+public class KubernetesLoadBalancerMetricsConfiguration {
+
+	@Bean
+	static BeanPostProcessor micrometerKubernetesServiceInstanceListSupplierPostProcessor(
+			ObjectProvider<MeterRegistry> registry) {
+		return new MicrometerServiceInstanceListSupplierPostProcessor(registry);
+	}
+
+	/**
+	 * Wraps whichever {@link ServiceInstanceListSupplier} is configured for the service,
+	 * provided a {@link MeterRegistry} is available.
+	 */
+	static class MicrometerServiceInstanceListSupplierPostProcessor implements BeanPostProcessor, Ordered {
+
+		private final ObjectProvider<MeterRegistry> registry;
+
+		MicrometerServiceInstanceListSupplierPostProcessor(ObjectProvider<MeterRegistry> registry) {
+			this.registry = registry;
+		}
+
+		@Override
+		public Object postProcessAfterInitialization(Object bean, String beanName) throws BeansException {
+			if (bean instanceof ServiceInstanceListSupplier
+					&& !(bean instanceof MicrometerKubernetesServiceInstanceListSupplier)) {
+				MeterRegistry meterRegistry = registry.getIfAvailable();
+				if (meterRegistry != null) {
+					return new MicrometerKubernetesServiceInstanceListSupplier((ServiceInstanceListSupplier) bean,
+							meterRegistry);
+				}
+			}
+			return bean;
+		}
+
+		@Override
+		public int getOrder() {
+			return MicrometerKubernetesServiceInstanceListSupplier.ORDER;
+		}
+
+	}
+
+}
@@ -16,6 +16,8 @@
 
 package org.springframework.cloud.kubernetes.commons.loadbalancer;
 
+import java.time.Duration;
+
 import org.springframework.boot.context.properties.ConfigurationProperties;
 
 /**
@@ -47,6 +49,26 @@ public class KubernetesLoadBalancerProperties {
 	 */
 	private String portName = "http";
 
+	/**
+	 * passive outlier detection settings.
+	 */
+	private OutlierDetection outlierDetection = new OutlierDetection();
+
+	/**
+	 * weighted load balancing settings.
+	 */
+	private Weighted weighted = new Weighted();
+
+	/**
+	 * load balancer metrics settings.
+	 */
+	private Metrics metrics = new Metrics();
+
+	/**
+	 * readiness filtering settings.
+	 */
+	private Readiness readiness = new Readiness();
+
 	/**
 	 * Get cluster domain.
 	 * @return the cluster domain
@@ -111,4 +133,250 @@ public class KubernetesLoadBalancerProperties {
 		this.portName = portName;
 	}
 
+	/**
+	 * Gets outlier detection settings.
+	 * @return outlier detection settings
+	 */
+	public OutlierDetection getOutlierDetection() {
+		return outlierDetection;
+	}
+
+	/**
+	 * Sets outlier detection settings.
+	 * @param outlierDetection outlier detection settings
+	 */
+	public void setOutlierDetection(OutlierDetection outlierDetection) {
+		this.outlierDetection = outlierDetection;
+	}
+
+	/**
+	 * Gets weighted load balancing settings.
+	 * @return weighted load balancing settings
+	 */
+	public Weighted getWeighted() {
+		return weighted;
+	}
+
+	/**
+	 * Sets weighted load balancing settings.
+	 * @param weighted weighted load balancing settings
+	 */
+	public void setWeighted(Weighted weighted) {
+		this.weighted = weighted;
+	}
+
+	/**
+	 * Gets load balancer metrics settings.
+	 * @return load balancer metrics settings
+	 */
+	public Metrics getMetrics() {
+		return metrics;
+	}
+
+	/**
+	 * Sets load balancer metrics settings.
+	 * @param metrics load balancer metrics settings
+	 */
+	public void setMetrics(Metrics metrics) {
+		this.metrics = metrics;
+	}
+
+	/**
+	 * Gets readiness filtering settings.
+	 * @return readiness filtering settings
+	 */
+	public Readiness getReadiness() {
+		return readiness;
+	}
+
+	/**
+	 * Sets readiness filtering settings.
+	 * @param readiness readiness filtering settings
+	 */
+	public void setReadiness(Readiness readiness) {
+		this.readiness = readiness;
+	}
+
+	/**
+	 * Passive outlier detection properties.
+	 */
+	public static class OutlierDetection {
+
+		/**
+		 * Enables ejection of instances that keep failing, based on the outcome of load
+		 * balanced calls. Disabled by default.
+		 */
+		private boolean enabled = false;
+
+		/**
+		 * Number of consecutive failed calls after which an instance is ejected.
+		 */
+		private int consecutiveErrors = 5;
+
+		/**
+		 * Calls that take longer than this are counted as failures. Not set by default,
+		 * which means latency is not taken into account.
+		 */
+		private Duration slowCallThreshold;
+
+		/**
+		 * Base ejection time. An instance is ejected for this time multiplied by the
+		 * number of times it has been ejected.
+		 */
+		private Duration baseEjectionTime = Duration.ofSeconds(30);
+
+		/**
+		 * Upper bound for the ejection time of a single instance.
+		 */
+		private Duration maxEjectionTime = Duration.ofMinutes(5);
+
+		/**
+		 * Maximum percentage of the instances of a service that can be ejected at the
+		 * same time. At least one instance is always kept.
+		 */
+		private int maxEjectionPercent = 10;
+
+		public boolean isEnabled() {
+			return enabled;
+		}
+
+		public void setEnabled(boolean enabled) {
+			this.enabled = enabled;
+		}
+
+		public int getConsecutiveErrors() {
+			return consecutiveErrors;
+		}
+
+		public void setConsecutiveErrors(int consecutiveErrors) {
+			this.consecutiveErrors = consecutiveErrors;
+		}
+
+		public Duration getSlowCallThreshold() {
+			return slowCallThreshold;
+		}
+
+		public void setSlowCallThreshold(Duration slowCallThreshold) {
+			this.slowCallThreshold = slowCallThreshold;
+		}
+
+		public Duration getBaseEjectionTime() {
+			return baseEjectionTime;
+		}
+
+		public void setBaseEjectionTime(Duration baseEjectionTime) {
+			this.baseEjectionTime = baseEjectionTime;
+		}
+
+		public Duration getMaxEjectionTime() {
+			return maxEjectionTime;
+		}
+
+		public void setMaxEjectionTime(Duration maxEjectionTime) {
+			this.maxEjectionTime = maxEjectionTime;
+		}
+
+		public int getMaxEjectionPercent() {
+			return maxEjectionPercent;
+		}
+
+		public void setMaxEjectionPercent(int maxEjectionPercent) {
+			this.maxEjectionPercent = maxEjectionPercent;
+		}
+
+	}
+
+	/**
+	 * Weighted load balancing properties.
+	 */
+	public static class Weighted {
+
+		/**
+		 * Enables a load balancer that picks instances at random, proportionally to their
+		 * weight. The weight is read from the 'weight' annotation of the service.
+		 */
+		private boolean enabled = false;
+
+		/**
+		 * Instances that were added less than this time ago receive a share of the
+		 * traffic that grows linearly from min-weight-percent to their full weight. Not
+		 * set by default, which disables slow start.
+		 */
+		private Duration slowStartWindow;
+
+		/**
+		 * Percentage of its weight an instance receives as soon as it is added, when slow
+		 * start is enabled.
+		 */
+		private int minWeightPercent = 10;
+
+		public boolean isEnabled() {
+			return enabled;
+		}
+
+		public void setEnabled(boolean enabled) {
+			this.enabled = enabled;
+		}
+
+		public Duration getSlowStartWindow() {
+			return slowStartWindow;
+		}
+
+		public void setSlowStartWindow(Duration slowStartWindow) {
+			this.slowStartWindow = slowStartWindow;
+		}
+
+		public int getMinWeightPercent() {
+			return minWeightPercent;
+		}
+
+		public void setMinWeightPercent(int minWeightPercent) {
+			this.minWeightPercent = minWeightPercent;
+		}
+
+	}
+
+	/**
+	 * Load balancer metrics properties.
+	 */
+	public static class Metrics {
+
+		/**
+		 * Enables Micrometer metrics for the instance lists supplied to the load
+		 * balancer. Requires a MeterRegistry. Disabled by default.
+		 */
+		private boolean enabled = false;
+
+		public boolean isEnabled() {
+			return enabled;
+		}
+
+		public void setEnabled(boolean enabled) {
+			this.enabled = enabled;
+		}
+
+	}
+
+	/**
+	 * Readiness filtering properties.
+	 */
+	public static class Readiness {
+
+		/**
+		 * Removes the instances Kubernetes reports as not ready from the instances
+		 * supplied to the load balancer, without sending any health check request.
+		 * Disabled by default.
+		 */
+		private boolean enabled = false;
+
+		public boolean isEnabled() {
+			return enabled;
+		}
+
+		public void setEnabled(boolean enabled) {
+			this.enabled = enabled;
+		}
+
+	}
+
 }
@@ -0,0 +1,83 @@
+/*
+ * Copyright 2013-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.kubernetes.commons.loadbalancer;
+
+import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.cloud.loadbalancer.core.ServiceInstanceListSupplier;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+/**
+ * Load balancer client configuration for passive outlier detection. Meant to be imported
+ * by the Kubernetes load balancer client configurations, so that every load balanced
+ * service gets its own {@link KubernetesOutlierDetector}.
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty("spring.cloud.kubernetes.loadbalancer.outlier-detection.enabled")
+public class KubernetesOutlierDetectionConfiguration {
+
+	@Bean
+	KubernetesOutlierDetector kubernetesOutlierDetector(KubernetesLoadBalancerProperties properties) {
+		return new KubernetesOutlierDetector(properties.getOutlierDetection());
+	}
+
+	@Bean
+	KubernetesOutlierDetectionLoadBalancerLifecycle kubernetesOutlierDetectionLoadBalancerLifecycle(
+			KubernetesOutlierDetector detector) {
+		return new KubernetesOutlierDetectionLoadBalancerLifecycle(detector);
+	}
+
+	@Bean
+	static BeanPostProcessor kubernetesOutlierEjectingServiceInstanceListSupplierPostProcessor(
+			ObjectProvider<KubernetesOutlierDetector> detector) {
+		return new OutlierEjectingServiceInstanceListSupplierPostProcessor(detector);
+	}
+
+	/**
+	 * Wraps whichever {@link ServiceInstanceListSupplier} is configured for the service
+	 * (Kubernetes SERVICE mode or the discovery based default of POD mode).
+	 */
+	static class OutlierEjectingServiceInstanceListSupplierPostProcessor implements BeanPostProcessor, Ordered {
+
+		private final ObjectProvider<KubernetesOutlierDetector> detector;
+
+		OutlierEjectingServiceInstanceListSupplierPostProcessor(ObjectProvider<KubernetesOutlierDetector> detector) {
+			this.detector = detector;
+		}
+
+		@Override
+		public Object postProcessAfterInitialization(Object bean, String beanName) throws BeansException {
+			if (bean instanceof ServiceInstanceListSupplier
+					&& !(bean instanceof KubernetesOutlierEjectingServiceInstanceListSupplier)) {
+				return new KubernetesOutlierEjectingServiceInstanceListSupplier((ServiceInstanceListSupplier) bean,
+						detector.getObject());
+			}
+			return bean;
+		}
+
+		@Override
+		public int getOrder() {
+			return KubernetesOutlierEjectingServiceInstanceListSupplier.ORDER;
+		}
+
+	}
+
+}
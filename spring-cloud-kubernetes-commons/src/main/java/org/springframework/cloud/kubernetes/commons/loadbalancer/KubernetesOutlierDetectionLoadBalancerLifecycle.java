@@ -0,0 +1,99 @@
+/*
+ * Copyright 2013-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.kubernetes.commons.loadbalancer;
+
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.CompletionContext;
+import org.springframework.cloud.client.loadbalancer.LoadBalancerLifecycle;
+import org.springframework.cloud.client.loadbalancer.Request;
+import org.springframework.cloud.client.loadbalancer.Response;
+import org.springframework.cloud.client.loadbalancer.ResponseData;
+import org.springframework.cloud.client.loadbalancer.TimedRequestContext;
+import org.springframework.http.HttpStatus;
+
+/**
+ * {@link LoadBalancerLifecycle} that feeds the outcome of load balanced calls into a
+ * {@link KubernetesOutlierDetector}. Exceptions and 5xx responses count as failures.
+ */
+public class KubernetesOutlierDetectionLoadBalancerLifecycle
+		implements LoadBalancerLifecycle<Object, Object, ServiceInstance> {
+
+	private final KubernetesOutlierDetector detector;
+
+	public KubernetesOutlierDetectionLoadBalancerLifecycle(KubernetesOutlierDetector detector) {
+		this.detector = detector;
+	}
+
+	@Override
+	public boolean supports(Class requestContextClass, Class responseClass, Class serverTypeClass) {
+		return ServiceInstance.class.isAssignableFrom(serverTypeClass);
+	}
+
+	@Override
+	public void onStart(Request<Object> request) {
+	}
+
+	@Override
+	public void onStartRequest(Request<Object> request, Response<ServiceInstance> lbResponse) {
+		if (request.getContext() instanceof TimedRequestContext) {
+			((TimedRequestContext) request.getContext()).setRequestStartTime(System.nanoTime());
+		}
+	}
+
+	@Override
+	public void onComplete(CompletionContext<Object, ServiceInstance, Object> completionContext) {
+		Response<ServiceInstance> lbResponse = completionContext.getLoadBalancerResponse();
+		if (lbResponse == null || !lbResponse.hasServer()) {
+			return;
+		}
+		ServiceInstance instance = lbResponse.getServer();
+		switch (completionContext.status()) {
+		case FAILED:
+			detector.recordFailure(instance);
+			break;
+		case SUCCESS:
+			if (isServerError(completionContext.getClientResponse())) {
+				detector.recordFailure(instance);
+			}
+			else {
+				detector.recordSuccess(instance, latency(completionContext.getLoadBalancerRequest()));
+			}
+			break;
+		default:
+			break;
+		}
+	}
+
+	private static boolean isServerError(Object clientResponse) {
+		if (clientResponse instanceof ResponseData) {
+			HttpStatus status = ((ResponseData) clientResponse).getHttpStatus();
+			return status != null && status.is5xxServerError();
+		}
+		return false;
+	}
+
+	private static long latency(Request<Object> request) {
+		if (request != null && request.getContext() instanceof TimedRequestContext) {
+			long start = ((TimedRequestContext) request.getContext()).getRequestStartTime();
+			if (start != 0) {
+				return System.nanoTime() - start;
+			}
+		}
+		return -1;
+	}
+
+}
@@ -0,0 +1,194 @@
+/*
+ * Copyright 2013-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.kubernetes.commons.loadbalancer;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import org.springframework.cloud.client.ServiceInstance;
+
+/**
+ * Keeps per-instance call statistics for a single load balanced service and ejects
+ * instances that keep failing. An instance is ejected after
+ * {@link KubernetesLoadBalancerProperties.OutlierDetection#getConsecutiveErrors()}
+ * consecutive failures, for the base ejection time multiplied by the number of times it
+ * has been ejected so far (capped by the max ejection time). No more than
+ * {@link KubernetesLoadBalancerProperties.OutlierDetection#getMaxEjectionPercent()} of
+ * the instances are ever filtered out, and never all of them.
+ *
+ * @see KubernetesOutlierDetectionLoadBalancerLifecycle
+ * @see KubernetesOutlierEjectingServiceInstanceListSupplier
+ */
+public class KubernetesOutlierDetector {
+
+	private static final Log LOG = LogFactory.getLog(KubernetesOutlierDetector.class);
+
+	private final KubernetesLoadBalancerProperties.OutlierDetection properties;
+
+	private final Clock clock;
+
+	private final Map<String, InstanceStats> stats = new ConcurrentHashMap<>();
+
+	public KubernetesOutlierDetector(KubernetesLoadBalancerProperties.OutlierDetection properties) {
+		this(properties, Clock.systemUTC());
+	}
+
+	KubernetesOutlierDetector(KubernetesLoadBalancerProperties.OutlierDetection properties, Clock clock) {
+		this.properties = properties;
+		this.clock = clock;
+	}
+
+	/**
+	 * Records a call that completed without error.
+	 * @param instance the instance that was called
+	 * @param latencyNanos duration of the call in nanoseconds, or a negative value if
+	 * unknown
+	 */
+	public void recordSuccess(ServiceInstance instance, long latencyNanos) {
+		Duration slowCallThreshold = properties.getSlowCallThreshold();
+		if (slowCallThreshold != null && latencyNanos > slowCallThreshold.toNanos()) {
+			recordFailure(instance);
+			return;
+		}
+		stats.computeIfAbsent(key(instance), k -> new InstanceStats()).success(clock.millis(),
+				properties.getMaxEjectionTime().toMillis());
+	}
+
+	/**
+	 * Records a failed call: an exception, a server error or a slow call.
+	 * @param instance the instance that was called
+	 */
+	public void recordFailure(ServiceInstance instance) {
+		String key = key(instance);
+		long ejectionMillis = stats.computeIfAbsent(key, k -> new InstanceStats()).failure(clock.millis(),
+				properties.getConsecutiveErrors(), properties.getBaseEjectionTime().toMillis(),
+				properties.getMaxEjectionTime().toMillis());
+		if (ejectionMillis > 0) {
+			LOG.warn("Ejecting instance " + key + " of service " + instance.getServiceId() + " for "
+					+ ejectionMillis + "ms");
+		}
+	}
+
+	/**
+	 * @param instance the instance to check
+	 * @return {@code true} if the instance is currently ejected
+	 */
+	public boolean isEjected(ServiceInstance instance) {
+		InstanceStats instanceStats = stats.get(key(instance));
+		return instanceStats != null && instanceStats.isEjected(clock.millis());
+	}
+
+	/**
+	 * Removes ejected instances from the given list, without exceeding the max ejection
+	 * percent. Statistics of instances that are no longer part of the list are dropped.
+	 * @param instances current instances of the service
+	 * @return instances that should receive traffic
+	 */
+	public List<ServiceInstance> filter(List<ServiceInstance> instances) {
+		if (stats.isEmpty() || instances.isEmpty()) {
+			return instances;
+		}
+		if (stats.size() > instances.size()) {
+			Set<String> keys = new HashSet<>();
+			instances.forEach(instance -> keys.add(key(instance)));
+			stats.keySet().retainAll(keys);
+		}
+
+		int maxEjected = maxEjected(instances.size());
+		if (maxEjected == 0) {
+			return instances;
+		}
+
+		long now = clock.millis();
+		List<ServiceInstance> result = new ArrayList<>(instances.size());
+		int ejected = 0;
+		for (ServiceInstance instance : instances) {
+			InstanceStats instanceStats = stats.get(key(instance));
+			if (ejected < maxEjected && instanceStats != null && instanceStats.isEjected(now)) {
+				ejected++;
+			}
+			else {
+				result.add(instance);
+			}
+		}
+		return ejected == 0 ? instances : result;
+	}
+
+	private int maxEjected(int size) {
+		if (properties.getMaxEjectionPercent() <= 0) {
+			return 0;
+		}
+		return Math.min(size - 1, Math.max(1, size * properties.getMaxEjectionPercent() / 100));
+	}
+
+	private static String key(ServiceInstance instance) {
+		return instance.getHost() + ":" + instance.getPort();
+	}
+
+	private static final class InstanceStats {
+
+		private int consecutiveFailures;
+
+		private int ejections;
+
+		private long ejectedUntil;
+
+		synchronized void success(long now, long maxEjectionMillis) {
+			consecutiveFailures = 0;
+			// an instance that stayed healthy long enough after its last ejection starts
+			// over with the base ejection time
+			if (ejections > 0 && now >= ejectedUntil + maxEjectionMillis) {
+				ejections = 0;
+			}
+		}
+
+		/**
+		 * @return the ejection time in millis if this failure ejected the instance, 0
+		 * otherwise
+		 */
+		synchronized long failure(long now, int consecutiveErrors, long baseEjectionMillis,
+				long maxEjectionMillis) {
+			if (now < ejectedUntil) {
+				// calls that were already in flight when the instance got ejected
+				return 0;
+			}
+			if (++consecutiveFailures < consecutiveErrors) {
+				return 0;
+			}
+			consecutiveFailures = 0;
+			ejections++;
+			long ejectionMillis = Math.min(baseEjectionMillis * ejections, maxEjectionMillis);
+			ejectedUntil = now + ejectionMillis;
+			return ejectionMillis;
+		}
+
+		synchronized boolean isEjected(long now) {
+			return now < ejectedUntil;
+		}
+
+	}
+
+}
@@ -0,0 +1,58 @@
+/*
+ * Copyright 2013-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.kubernetes.commons.loadbalancer;
+
+import java.util.List;
+
+import reactor.core.publisher.Flux;
+
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.Request;
+import org.springframework.cloud.loadbalancer.core.DelegatingServiceInstanceListSupplier;
+import org.springframework.cloud.loadbalancer.core.ServiceInstanceListSupplier;
+
+/**
+ * A {@link ServiceInstanceListSupplier} that removes the instances currently ejected by a
+ * {@link KubernetesOutlierDetector} from the delegate's lists.
+ */
+public class KubernetesOutlierEjectingServiceInstanceListSupplier extends DelegatingServiceInstanceListSupplier {
+
+	/**
+	 * Order of the post-processor wrapping the suppliers with this one: it wraps the
+	 * readiness filtering supplier and is wrapped by the metrics one.
+	 */
+	public static final int ORDER = KubernetesReadinessServiceInstanceListSupplier.ORDER + 100;
+
+	private final KubernetesOutlierDetector detector;
+
+	public KubernetesOutlierEjectingServiceInstanceListSupplier(ServiceInstanceListSupplier delegate,
+			KubernetesOutlierDetector detector) {
+		super(delegate);
+		this.detector = detector;
+	}
+
+	@Override
+	public Flux<List<ServiceInstance>> get() {
+		return getDelegate().get().map(detector::filter);
+	}
+
+	@Override
+	public Flux<List<ServiceInstance>> get(Request request) {
+		return getDelegate().get(request).map(detector::filter);
+	}
+
+}
@@ -0,0 +1,103 @@
+/*
+ * Copyright 2013-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.kubernetes.commons.loadbalancer;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.cloud.kubernetes.commons.discovery.KubernetesDiscoveryProperties;
+import org.springframework.cloud.loadbalancer.core.ServiceInstanceListSupplier;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+/**
+ * Load balancer client configuration that filters out the instances Kubernetes reports
+ * as not ready. Meant to be imported by the Kubernetes load balancer client
+ * configurations.
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty("spring.cloud.kubernetes.loadbalancer.readiness.enabled")
+public class KubernetesReadinessConfiguration {
+
+	private static final Log LOG = LogFactory.getLog(KubernetesReadinessConfiguration.class);
+
+	@Bean
+	static BeanPostProcessor kubernetesReadinessServiceInstanceListSupplierPostProcessor(
+			ObjectProvider<KubernetesLoadBalancerProperties> properties,
+			ObjectProvider<KubernetesDiscoveryProperties> discoveryProperties) {
+		return new ReadinessServiceInstanceListSupplierPostProcessor(properties, discoveryProperties);
+	}
+
+	/**
+	 * Wraps whichever {@link ServiceInstanceListSupplier} is configured for the service.
+	 */
+	static class ReadinessServiceInstanceListSupplierPostProcessor implements BeanPostProcessor, Ordered {
+
+		private final ObjectProvider<KubernetesLoadBalancerProperties> properties;
+
+		private final ObjectProvider<KubernetesDiscoveryProperties> discoveryProperties;
+
+		private final AtomicBoolean checked = new AtomicBoolean();
+
+		ReadinessServiceInstanceListSupplierPostProcessor(ObjectProvider<KubernetesLoadBalancerProperties> properties,
+				ObjectProvider<KubernetesDiscoveryProperties> discoveryProperties) {
+			this.properties = properties;
+			this.discoveryProperties = discoveryProperties;
+		}
+
+		@Override
+		public Object postProcessAfterInitialization(Object bean, String beanName) throws BeansException {
+			if (bean instanceof ServiceInstanceListSupplier
+					&& !(bean instanceof KubernetesReadinessServiceInstanceListSupplier)) {
+				if (checked.compareAndSet(false, true)) {
+					warnIfNothingToFilter();
+				}
+				return new KubernetesReadinessServiceInstanceListSupplier((ServiceInstanceListSupplier) bean);
+			}
+			return bean;
+		}
+
+		/**
+		 * Discovery leaves the not ready addresses out unless it is asked to include them,
+		 * and in SERVICE mode kube-proxy only routes to ready endpoints anyway.
+		 */
+		private void warnIfNothingToFilter() {
+			KubernetesLoadBalancerProperties loadBalancerProperties = properties.getIfAvailable();
+			KubernetesDiscoveryProperties discovery = discoveryProperties.getIfAvailable();
+			if (loadBalancerProperties != null && loadBalancerProperties.getMode() == KubernetesLoadBalancerMode.POD
+					&& discovery != null && !discovery.isIncludeNotReadyAddresses()) {
+				LOG.warn("spring.cloud.kubernetes.loadbalancer.readiness.enabled has no effect unless "
+						+ "spring.cloud.kubernetes.discovery.include-not-ready-addresses is set: "
+						+ "not ready addresses are already left out by discovery");
+			}
+		}
+
+		@Override
+		public int getOrder() {
+			return KubernetesReadinessServiceInstanceListSupplier.ORDER;
+		}
+
+	}
+
+}
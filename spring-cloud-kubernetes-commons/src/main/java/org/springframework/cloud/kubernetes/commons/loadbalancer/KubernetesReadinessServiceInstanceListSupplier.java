@@ -0,0 +1,80 @@
+/*
+ * Copyright 2013-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.kubernetes.commons.loadbalancer;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import reactor.core.publisher.Flux;
+
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.Request;
+import org.springframework.cloud.kubernetes.commons.discovery.KubernetesServiceInstance;
+import org.springframework.cloud.loadbalancer.core.DelegatingServiceInstanceListSupplier;
+import org.springframework.cloud.loadbalancer.core.ServiceInstanceListSupplier;
+
+/**
+ * A {@link ServiceInstanceListSupplier} that removes the instances Kubernetes reports as
+ * not ready (see {@link KubernetesServiceInstance#isReady()}) from the delegate's
+ * lists. Unlike the health check supplier of Spring Cloud LoadBalancer, it
+ * does not send any request to the instances: readiness comes from the endpoints, which
+ * Kubernetes updates as soon as a pod fails its readiness probe or starts terminating.
+ */
+public class KubernetesReadinessServiceInstanceListSupplier extends DelegatingServiceInstanceListSupplier {
+
+	/**
+	 * Order of the post-processor wrapping the suppliers with this one. It is the lowest of
+	 * the Kubernetes wrappers, so readiness is filtered first, before outliers are
+	 * ejected and before the lists are measured.
+	 */
+	public static final int ORDER = 100;
+
+	public KubernetesReadinessServiceInstanceListSupplier(ServiceInstanceListSupplier delegate) {
+		super(delegate);
+	}
+
+	@Override
+	public Flux<List<ServiceInstance>> get() {
+		return getDelegate().get().map(KubernetesReadinessServiceInstanceListSupplier::filter);
+	}
+
+	@Override
+	public Flux<List<ServiceInstance>> get(Request request) {
+		return getDelegate().get(request).map(KubernetesReadinessServiceInstanceListSupplier::filter);
+	}
+
+	static List<ServiceInstance> filter(List<ServiceInstance> instances) {
+		List<ServiceInstance> ready = null;
+		for (int i = 0; i < instances.size(); i++) {
+			ServiceInstance instance = instances.get(i);
+			boolean isReady = isReady(instance);
+			if (!isReady && ready == null) {
+				ready = new ArrayList<>(instances.subList(0, i));
+			}
+			else if (isReady && ready != null) {
+				ready.add(instance);
+			}
+		}
+		// only copy the list when something is filtered out
+		return ready == null ? instances : ready;
+	}
+
+	static boolean isReady(ServiceInstance instance) {
+		return !(instance instanceof KubernetesServiceInstance) || ((KubernetesServiceInstance) instance).isReady();
+	}
+
+}
@@ -40,6 +40,9 @@ public abstract class KubernetesServicesListSupplier implements ServiceInstanceL
 
 	protected final KubernetesServiceInstanceMapper mapper;
 
+	private volatile ApiCallListener apiCallListener = new ApiCallListener() {
+	};
+
 	public KubernetesServicesListSupplier(Environment environment, KubernetesServiceInstanceMapper mapper,
 			KubernetesDiscoveryProperties discoveryProperties) {
 		this.environment = environment;
@@ -55,4 +58,52 @@ public abstract class KubernetesServicesListSupplier implements ServiceInstanceL
 	@Override
 	public abstract Flux<List<ServiceInstance>> get();
 
+	/**
+	 * Sets a listener that is notified of every call to the Kubernetes API, and of its
+	 * outcome, whether or not an error is propagated to the caller of {@link #get()}.
+	 * @param apiCallListener the listener
+	 */
+	public void setApiCallListener(ApiCallListener apiCallListener) {
+		this.apiCallListener = apiCallListener;
+	}
+
+	/**
+	 * To be called by implementations right before each call to the Kubernetes API.
+	 */
+	protected void onApiRequest() {
+		this.apiCallListener.requested();
+	}
+
+	/**
+	 * To be called by implementations after each successful call to the Kubernetes API.
+	 */
+	protected void onApiResponse() {
+		this.apiCallListener.succeeded();
+	}
+
+	/**
+	 * To be called by implementations after each failed call to the Kubernetes API.
+	 * @param error the failure
+	 */
+	protected void onApiError(Throwable error) {
+		this.apiCallListener.failed(error);
+	}
+
+	/**
+	 * Notified of the calls a {@link KubernetesServicesListSupplier} makes to the
+	 * Kubernetes API, on the thread that makes them.
+	 */
+	public interface ApiCallListener {
+
+		default void requested() {
+		}
+
+		default void succeeded() {
+		}
+
+		default void failed(Throwable error) {
+		}
+
+	}
+
 }
@@ -0,0 +1,152 @@
+/*
+ * Copyright 2013-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.kubernetes.commons.loadbalancer;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+import reactor.core.publisher.Mono;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.DefaultResponse;
+import org.springframework.cloud.client.loadbalancer.EmptyResponse;
+import org.springframework.cloud.client.loadbalancer.Request;
+import org.springframework.cloud.client.loadbalancer.Response;
+import org.springframework.cloud.kubernetes.commons.discovery.KubernetesServiceInstance;
+import org.springframework.cloud.loadbalancer.core.NoopServiceInstanceListSupplier;
+import org.springframework.cloud.loadbalancer.core.ReactorServiceInstanceLoadBalancer;
+import org.springframework.cloud.loadbalancer.core.SelectedInstanceCallback;
+import org.springframework.cloud.loadbalancer.core.ServiceInstanceListSupplier;
+
+/**
+ * A weighted random {@link ReactorServiceInstanceLoadBalancer}. The weight of a
+ * {@link KubernetesServiceInstance} is {@link KubernetesServiceInstance#getWeight()}, the
+ * weight of other instances is read from their metadata. When a slow start window is
+ * configured, instances that were first seen less than that window ago (which, for
+ * endpoints, is roughly when the pod became Ready) only get part of their weight, so that
+ * they warm up before receiving their full share of the traffic.
+ */
+public class KubernetesWeightedLoadBalancer implements ReactorServiceInstanceLoadBalancer {
+
+	private final ObjectProvider<ServiceInstanceListSupplier> serviceInstanceListSupplierProvider;
+
+	private final String serviceId;
+
+	private final KubernetesLoadBalancerProperties.Weighted properties;
+
+	private final Clock clock;
+
+	private final Map<String, Long> firstSeen = new ConcurrentHashMap<>();
+
+	public KubernetesWeightedLoadBalancer(
+			ObjectProvider<ServiceInstanceListSupplier> serviceInstanceListSupplierProvider, String serviceId,
+			KubernetesLoadBalancerProperties.Weighted properties) {
+		this(serviceInstanceListSupplierProvider, serviceId, properties, Clock.systemUTC());
+	}
+
+	KubernetesWeightedLoadBalancer(ObjectProvider<ServiceInstanceListSupplier> serviceInstanceListSupplierProvider,
+			String serviceId, KubernetesLoadBalancerProperties.Weighted properties, Clock clock) {
+		this.serviceInstanceListSupplierProvider = serviceInstanceListSupplierProvider;
+		this.serviceId = serviceId;
+		this.properties = properties;
+		this.clock = clock;
+	}
+
+	@Override
+	public Mono<Response<ServiceInstance>> choose(Request request) {
+		ServiceInstanceListSupplier supplier = serviceInstanceListSupplierProvider
+				.getIfAvailable(NoopServiceInstanceListSupplier::new);
+		return supplier.get(request).next().map(instances -> processInstanceResponse(supplier, instances));
+	}
+
+	private Response<ServiceInstance> processInstanceResponse(ServiceInstanceListSupplier supplier,
+			List<ServiceInstance> instances) {
+		Response<ServiceInstance> response = getInstanceResponse(instances);
+		if (supplier instanceof SelectedInstanceCallback && response.hasServer()) {
+			((SelectedInstanceCallback) supplier).selectedServiceInstance(response.getServer());
+		}
+		return response;
+	}
+
+	Response<ServiceInstance> getInstanceResponse(List<ServiceInstance> instances) {
+		if (instances.isEmpty()) {
+			return new EmptyResponse();
+		}
+		// single instances go through the loop as well, to record when they were first
+		// seen in case the service scales up
+		long now = clock.millis();
+		double[] weights = new double[instances.size()];
+		double total = 0;
+		for (int i = 0; i < instances.size(); i++) {
+			weights[i] = effectiveWeight(instances.get(i), now);
+			total += weights[i];
+		}
+		pruneFirstSeen(instances);
+
+		if (total <= 0) {
+			return new DefaultResponse(instances.get(ThreadLocalRandom.current().nextInt(instances.size())));
+		}
+		double random = ThreadLocalRandom.current().nextDouble(total);
+		for (int i = 0; i < weights.length; i++) {
+			random -= weights[i];
+			if (random < 0) {
+				return new DefaultResponse(instances.get(i));
+			}
+		}
+		return new DefaultResponse(instances.get(instances.size() - 1));
+	}
+
+	double effectiveWeight(ServiceInstance instance, long now) {
+		int weight = instance instanceof KubernetesServiceInstance ? ((KubernetesServiceInstance) instance).getWeight()
+				: KubernetesServiceInstance.getWeight(instance.getMetadata());
+		Duration slowStartWindow = properties.getSlowStartWindow();
+		if (weight == 0 || slowStartWindow == null || slowStartWindow.isZero() || slowStartWindow.isNegative()) {
+			return weight;
+		}
+		long since = firstSeen.computeIfAbsent(key(instance), k -> now);
+		double ramp = (double) (now - since) / slowStartWindow.toMillis();
+		if (ramp >= 1) {
+			return weight;
+		}
+		return weight * Math.max(properties.getMinWeightPercent() / 100.0, ramp);
+	}
+
+	private void pruneFirstSeen(List<ServiceInstance> instances) {
+		if (firstSeen.size() > instances.size()) {
+			Set<String> keys = new HashSet<>();
+			instances.forEach(instance -> keys.add(key(instance)));
+			firstSeen.keySet().retainAll(keys);
+		}
+	}
+
+	private static String key(ServiceInstance instance) {
+		return instance.getHost() + ":" + instance.getPort();
+	}
+
+	@Override
+	public String toString() {
+		return "KubernetesWeightedLoadBalancer{serviceId='" + serviceId + "'}";
+	}
+
+}
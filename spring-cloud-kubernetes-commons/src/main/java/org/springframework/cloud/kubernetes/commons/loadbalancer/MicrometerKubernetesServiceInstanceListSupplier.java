@@ -0,0 +1,218 @@
+/*
+ * Copyright 2013-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.kubernetes.commons.loadbalancer;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import reactor.core.publisher.Flux;
+
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.Request;
+import org.springframework.cloud.loadbalancer.core.DelegatingServiceInstanceListSupplier;
+import org.springframework.cloud.loadbalancer.core.ServiceInstanceListSupplier;
+
+/**
+ * A {@link ServiceInstanceListSupplier} that records Micrometer metrics about the lists
+ * supplied by its delegate. All meters are tagged with the service id only (and the
+ * outcome or exception type where relevant), so the number of time series is bounded by
+ * the number of load balanced services.
+ */
+public class MicrometerKubernetesServiceInstanceListSupplier extends DelegatingServiceInstanceListSupplier {
+
+	/**
+	 * Order of the post-processor wrapping the suppliers with this one. It is the highest
+	 * of the Kubernetes wrappers, so the metrics describe the lists the load balancer
+	 * actually chooses from.
+	 */
+	public static final int ORDER = KubernetesOutlierEjectingServiceInstanceListSupplier.ORDER + 100;
+
+	/**
+	 * Time from the subscription to the first list of instances, including the call to
+	 * the Kubernetes API in SERVICE mode.
+	 */
+	public static final String SUPPLIER_TIMER = "kubernetes.loadbalancer.supplier";
+
+	/**
+	 * Number of instances in the last list emitted.
+	 */
+	public static final String INSTANCES_GAUGE = "kubernetes.loadbalancer.instances";
+
+	/**
+	 * Number of lists emitted.
+	 */
+	public static final String EMISSIONS_COUNTER = "kubernetes.loadbalancer.emissions";
+
+	/**
+	 * Seconds since the last successful call to the Kubernetes API, in SERVICE mode.
+	 */
+	public static final String CACHE_AGE_GAUGE = "kubernetes.loadbalancer.cache.age";
+
+	/**
+	 * Number of calls made to the Kubernetes API in SERVICE mode.
+	 */
+	public static final String API_REQUESTS_COUNTER = "kubernetes.loadbalancer.api.requests";
+
+	/**
+	 * Number of failed calls to the Kubernetes API in SERVICE mode.
+	 */
+	public static final String API_ERRORS_COUNTER = "kubernetes.loadbalancer.api.errors";
+
+	private final MeterRegistry registry;
+
+	private final Tags tags;
+
+	private final KubernetesServicesListSupplier kubernetesSupplier;
+
+	private final Timer success;
+
+	private final Timer error;
+
+	private final Counter emissions;
+
+	private final Counter apiRequests;
+
+	private final AtomicInteger instances = new AtomicInteger();
+
+	private final AtomicLong lastRefresh = new AtomicLong();
+
+	/**
+	 * Measurement of the subscription whose thread is calling the delegate, to which the
+	 * API errors reported on that thread belong.
+	 */
+	private final ThreadLocal<Measurement> current = new ThreadLocal<>();
+
+	public MicrometerKubernetesServiceInstanceListSupplier(ServiceInstanceListSupplier delegate,
+			MeterRegistry registry) {
+		super(delegate);
+		this.registry = registry;
+		this.tags = Tags.of("service", String.valueOf(delegate.getServiceId()));
+		this.kubernetesSupplier = findKubernetesSupplier(delegate);
+		this.success = Timer.builder(SUPPLIER_TIMER).tags(tags).tag("outcome", "SUCCESS").register(registry);
+		this.error = Timer.builder(SUPPLIER_TIMER).tags(tags).tag("outcome", "ERROR").register(registry);
+		this.emissions = Counter.builder(EMISSIONS_COUNTER).tags(tags).register(registry);
+		this.apiRequests = Counter.builder(API_REQUESTS_COUNTER).tags(tags).register(registry);
+		Gauge.builder(INSTANCES_GAUGE, instances, AtomicInteger::get).tags(tags).register(registry);
+		if (kubernetesSupplier != null) {
+			Gauge.builder(CACHE_AGE_GAUGE, this, MicrometerKubernetesServiceInstanceListSupplier::cacheAgeSeconds)
+					.tags(tags).baseUnit("seconds").register(registry);
+			kubernetesSupplier.setApiCallListener(new KubernetesServicesListSupplier.ApiCallListener() {
+
+				@Override
+				public void requested() {
+					apiRequests.increment();
+				}
+
+				@Override
+				public void succeeded() {
+					lastRefresh.set(System.currentTimeMillis());
+				}
+
+				@Override
+				public void failed(Throwable e) {
+					onApiError(e);
+				}
+
+			});
+		}
+	}
+
+	@Override
+	public Flux<List<ServiceInstance>> get() {
+		return instrument(() -> getDelegate().get());
+	}
+
+	@Override
+	public Flux<List<ServiceInstance>> get(Request request) {
+		return instrument(() -> getDelegate().get(request));
+	}
+
+	/**
+	 * Times each subscription, from the call to the delegate, which in SERVICE mode
+	 * makes the API call, to the first list emitted or the termination of the flux.
+	 */
+	private Flux<List<ServiceInstance>> instrument(Supplier<Flux<List<ServiceInstance>>> supplier) {
+		return Flux.defer(() -> {
+			Measurement measurement = new Measurement();
+			Flux<List<ServiceInstance>> result;
+			current.set(measurement);
+			try {
+				result = supplier.get();
+			}
+			catch (RuntimeException e) {
+				record(measurement, false);
+				throw e;
+			}
+			finally {
+				current.remove();
+			}
+			return result.doOnNext(list -> {
+				emissions.increment();
+				instances.set(list.size());
+				record(measurement, !measurement.apiFailed);
+			}).doOnError(e -> record(measurement, false))
+					.doOnComplete(() -> record(measurement, !measurement.apiFailed));
+		});
+	}
+
+	private void record(Measurement measurement, boolean succeeded) {
+		if (measurement.recorded.compareAndSet(false, true)) {
+			(succeeded ? success : error).record(System.nanoTime() - measurement.start, TimeUnit.NANOSECONDS);
+		}
+	}
+
+	private void onApiError(Throwable e) {
+		Measurement measurement = current.get();
+		if (measurement != null) {
+			measurement.apiFailed = true;
+		}
+		Counter.builder(API_ERRORS_COUNTER).tags(tags).tag("exception", e.getClass().getSimpleName())
+				.register(registry).increment();
+	}
+
+	private double cacheAgeSeconds() {
+		long last = lastRefresh.get();
+		return last == 0 ? Double.NaN : (System.currentTimeMillis() - last) / 1000.0;
+	}
+
+	private static KubernetesServicesListSupplier findKubernetesSupplier(ServiceInstanceListSupplier supplier) {
+		while (supplier instanceof DelegatingServiceInstanceListSupplier) {
+			supplier = ((DelegatingServiceInstanceListSupplier) supplier).getDelegate();
+		}
+		return supplier instanceof KubernetesServicesListSupplier ? (KubernetesServicesListSupplier) supplier : null;
+	}
+
+	private static final class Measurement {
+
+		private final long start = System.nanoTime();
+
+		private final AtomicBoolean recorded = new AtomicBoolean();
+
+		private volatile boolean apiFailed;
+
+	}
+
+}
@@ -0,0 +1,134 @@
+/*
+ * Copyright 2013-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.kubernetes.commons.config;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.zip.GZIPOutputStream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import org.springframework.mock.env.MockEnvironment;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class CompressedConfigMapEntriesTest {
+
+	@BeforeEach
+	public void setUp() {
+		PropertySourceParseCache.clear();
+	}
+
+	@Test
+	public void recognisesCompressedFiles() {
+		assertThat(CompressedConfigMapEntries.isCompressed("routes.yaml.gz")).isTrue();
+		assertThat(CompressedConfigMapEntries.isCompressed("application.yml.gz")).isTrue();
+		assertThat(CompressedConfigMapEntries.isCompressed("application.properties.gz")).isTrue();
+		assertThat(CompressedConfigMapEntries.isCompressed("application.yaml")).isFalse();
+		assertThat(CompressedConfigMapEntries.isCompressed("archive.tar.gz")).isFalse();
+	}
+
+	@Test
+	public void parsesCompressedYaml() throws IOException {
+		byte[] content = gzip("routes:\n  a: /a\n---\nspring:\n  config:\n    activate:\n      on-profile: dev\n"
+				+ "routes:\n  a: /dev/a\n");
+		MockEnvironment environment = new MockEnvironment();
+		assertThat(CompressedConfigMapEntries.extractProperties("routes.yaml.gz", content, environment))
+				.containsEntry("routes.a", "/a");
+
+		environment.setActiveProfiles("dev");
+		assertThat(CompressedConfigMapEntries.extractProperties("routes.yaml.gz", content, environment))
+				.containsEntry("routes.a", "/dev/a");
+	}
+
+	@Test
+	public void parsesCompressedPropertiesOnce() throws IOException {
+		byte[] content = gzip("a=1\nb=2\n");
+		Map<String, Object> first = CompressedConfigMapEntries.extractProperties("application.properties.gz",
+				content, null);
+		Map<String, Object> second = CompressedConfigMapEntries.extractProperties("application.properties.gz",
+				content, null);
+
+		assertThat(first).containsEntry("a", "1").containsEntry("b", "2");
+		assertThat(second).isEqualTo(first).isNotSameAs(first);
+		assertThat(PropertySourceParseCache.size()).isEqualTo(1);
+	}
+
+	@Test
+	public void mergesTheCompressedFilesWithTheData() throws IOException {
+		Map<String, byte[]> binaryData = new HashMap<>();
+		binaryData.put("routes.yaml.gz", gzip("routes:\n  a: /a\n"));
+		binaryData.put("logo.png", new byte[] { 1, 2, 3 });
+		Map<String, String> data = new HashMap<>();
+		data.put("application.properties", "b=2");
+
+		Map<String, Object> properties = TestConfigMapPropertySource.process(data, binaryData);
+		assertThat(properties).containsOnlyKeys("routes.a", "b");
+	}
+
+	@Test
+	public void digestsTheDecompressedContent() throws IOException {
+		assertThat(CompressedConfigMapEntries.digest(gzip("a=1"), null))
+				.isEqualTo(CompressedConfigMapEntries.digest(gzip("a=1"), null))
+				.isNotEqualTo(CompressedConfigMapEntries.digest(gzip("a=2"), null));
+	}
+
+	@Test
+	public void ignoresFilesThatDecompressToMoreThanTheMaximumSize() throws IOException {
+		StringBuilder large = new StringBuilder();
+		for (int i = 0; i < 100; i++) {
+			large.append("key").append(i).append("=value\n");
+		}
+		byte[] content = gzip(large.toString());
+		MockEnvironment environment = new MockEnvironment()
+				.withProperty(CompressedConfigMapEntries.MAX_DECOMPRESSED_SIZE_PROPERTY, "1KB");
+
+		assertThat(CompressedConfigMapEntries.extractProperties("application.properties.gz", content, environment))
+				.isEmpty();
+		assertThat(CompressedConfigMapEntries.extractProperties("routes.yaml.gz", content, environment)).isEmpty();
+		assertThatThrownBy(() -> CompressedConfigMapEntries.digest(content, environment))
+				.isInstanceOf(IllegalStateException.class);
+		assertThat(CompressedConfigMapEntries.extractProperties("application.properties.gz", content, null))
+				.hasSize(100);
+	}
+
+	private static byte[] gzip(String content) throws IOException {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		try (GZIPOutputStream gzip = new GZIPOutputStream(bytes)) {
+			gzip.write(content.getBytes(StandardCharsets.UTF_8));
+		}
+		return bytes.toByteArray();
+	}
+
+	private static final class TestConfigMapPropertySource extends ConfigMapPropertySource {
+
+		private TestConfigMapPropertySource() {
+			super("test", new HashMap<>());
+		}
+
+		static Map<String, Object> process(Map<String, String> data, Map<String, byte[]> binaryData) {
+			return processAllEntries(data, binaryData, new MockEnvironment());
+		}
+
+	}
+
+}
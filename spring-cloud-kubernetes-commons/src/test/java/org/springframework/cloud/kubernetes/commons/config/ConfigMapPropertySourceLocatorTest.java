@@ -0,0 +1,128 @@
+/*
+ * Copyright 2013-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.kubernetes.commons.config;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Test;
+
+import org.springframework.cloud.kubernetes.commons.config.ConfigMapConfigProperties.NormalizedSource;
+import org.springframework.core.env.CompositePropertySource;
+import org.springframework.core.env.ConfigurableEnvironment;
+import org.springframework.core.env.MapPropertySource;
+import org.springframework.core.env.PropertySource;
+import org.springframework.mock.env.MockEnvironment;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ConfigMapPropertySourceLocatorTest {
+
+	@Test
+	void readsTheSourcesSelectedByLabelsOncePerNamespace() {
+		ConfigMapConfigProperties properties = new ConfigMapConfigProperties();
+		properties.setSources(Arrays.asList(new ConfigMapConfigProperties.Source("named", "a"),
+				new ConfigMapConfigProperties.Source(null, "a", Collections.singletonMap("tier", "web")),
+				new ConfigMapConfigProperties.Source(null, "b", Collections.singletonMap("tier", "web")),
+				new ConfigMapConfigProperties.Source(null, "a", Collections.singletonMap("team", "payments"))));
+		RecordingLocator locator = new RecordingLocator(properties);
+
+		PropertySource<?> propertySource = locator.locate(new MockEnvironment());
+
+		assertThat(locator.named).containsExactly("named");
+		assertThat(locator.labelRequests).containsExactly(
+				Arrays.asList(Collections.singletonMap("tier", "web"), Collections.singletonMap("team", "payments")),
+				Collections.singletonList(Collections.singletonMap("tier", "web")));
+		// the first source has the lowest precedence, whether it is read by name or by
+		// labels
+		assertThat(((CompositePropertySource) propertySource).getPropertySources().stream().map(PropertySource::getName)
+				.collect(Collectors.toList())).containsExactly("configmap.team=payments.a", "configmap.tier=web.b",
+						"configmap.tier=web.a", "configmap.named.a");
+	}
+
+	@Test
+	void consumesTheSourcesSelectedByLabels() {
+		ConfigMapConfigProperties properties = new ConfigMapConfigProperties();
+		Map<String, String> labels = new LinkedHashMap<>();
+		labels.put("tier", "web");
+		labels.put("app", "shop");
+		properties.setSources(Arrays.asList(new ConfigMapConfigProperties.Source("named", "a"),
+				new ConfigMapConfigProperties.Source(null, "a", labels)));
+
+		ConsumedSources consumedSources = new RecordingLocator(properties).getConsumedSources(new MockEnvironment());
+
+		assertThat(consumedSources.getNames()).containsExactly("a/named");
+		assertThat(consumedSources.isConsumed("a", "any", labels)).isTrue();
+		assertThat(consumedSources.isConsumed("a", "any", Collections.singletonMap("tier", "web"))).isFalse();
+	}
+
+	@Test
+	void findsTheLabelsTheSelectorsHaveInCommon() {
+		Map<String, String> first = new HashMap<>();
+		first.put("app", "shop");
+		first.put("tier", "web");
+		first.put("team", "payments");
+		Map<String, String> second = new HashMap<>();
+		second.put("app", "shop");
+		second.put("tier", "db");
+
+		assertThat(ConfigUtils.commonLabelValues(Arrays.asList(first, second))).containsOnlyKeys("app", "tier")
+				.containsEntry("app", Collections.singleton("shop"))
+				.hasEntrySatisfying("tier", values -> assertThat(values).containsExactly("db", "web"));
+		assertThat(ConfigUtils.labelSelector(first)).isEqualTo("app=shop,team=payments,tier=web");
+		assertThat(ConfigUtils.matchesLabels(first, second)).isFalse();
+		assertThat(ConfigUtils.matchesLabels(first, Collections.singletonMap("tier", "web"))).isTrue();
+	}
+
+	private static class RecordingLocator extends ConfigMapPropertySourceLocator {
+
+		private final List<String> named = new ArrayList<>();
+
+		private final List<List<Map<String, String>>> labelRequests = new ArrayList<>();
+
+		RecordingLocator(ConfigMapConfigProperties properties) {
+			super(properties);
+		}
+
+		@Override
+		protected MapPropertySource getMapPropertySource(String applicationName, NormalizedSource normalizedSource,
+				String configurationTarget, ConfigurableEnvironment environment) {
+			this.named.add(applicationName);
+			return new MapPropertySource("configmap." + applicationName + "." + normalizedSource.getNamespace(),
+					Collections.emptyMap());
+		}
+
+		@Override
+		protected List<MapPropertySource> getMapPropertySources(List<NormalizedSource> normalizedSources,
+				String configurationTarget, ConfigurableEnvironment environment) {
+			this.labelRequests
+					.add(normalizedSources.stream().map(NormalizedSource::getLabels).collect(Collectors.toList()));
+			return normalizedSources.stream()
+					.map(s -> new MapPropertySource(ConfigMapPropertySource.getName(s.getLabels(), s.getNamespace()),
+							Collections.emptyMap()))
+					.collect(Collectors.toList());
+		}
+
+	}
+
+}
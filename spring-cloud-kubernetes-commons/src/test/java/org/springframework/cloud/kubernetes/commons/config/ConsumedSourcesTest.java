@@ -0,0 +1,57 @@
+/*
+ * Copyright 2013-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.kubernetes.commons.config;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ConsumedSourcesTest {
+
+	@Test
+	public void matchesByName() {
+		ConsumedSources consumedSources = new ConsumedSources();
+		consumedSources.addName("ns", "application");
+		consumedSources.addName(null, "other");
+
+		assertThat(consumedSources.getNames()).containsExactly("ns/application", "/other");
+		assertThat(consumedSources.isConsumed("ns", "application", null)).isTrue();
+		assertThat(consumedSources.isConsumed("default", "application", null)).isFalse();
+		assertThat(consumedSources.isConsumed("ns", "unrelated", null)).isFalse();
+		// the default namespace is only known to the client
+		assertThat(consumedSources.isConsumed("default", "other", null)).isTrue();
+	}
+
+	@Test
+	public void matchesByLabels() {
+		ConsumedSources consumedSources = new ConsumedSources();
+		consumedSources.addLabels("ns", Collections.singletonMap("app", "demo"));
+
+		Map<String, String> labels = new HashMap<>();
+		labels.put("app", "demo");
+		labels.put("tier", "backend");
+		assertThat(consumedSources.isConsumed("ns", "secret", labels)).isTrue();
+		assertThat(consumedSources.isConsumed("other", "secret", labels)).isFalse();
+		assertThat(consumedSources.isConsumed("ns", "secret", Collections.singletonMap("app", "other"))).isFalse();
+		assertThat(consumedSources.isConsumed("ns", "secret", null)).isFalse();
+	}
+
+}
@@ -0,0 +1,66 @@
+/*
+ * Copyright 2013-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.kubernetes.commons.config;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class LazySecretDataTest {
+
+	@Test
+	public void decodesValuesWhenRead() {
+		LazySecretData data = new LazySecretData();
+		data.putBytes("password", " p455w0rd\n".getBytes(StandardCharsets.UTF_8));
+		data.putBytes("missing", null);
+
+		assertThat(data.keySet()).containsExactly("password");
+		assertThat(data.containsKey("password")).isTrue();
+		assertThat(data.get("password")).isEqualTo("p455w0rd");
+		assertThat(data.get("password")).isSameAs(data.get("password"));
+	}
+
+	@Test
+	public void equalsTheSameProperties() {
+		LazySecretData data = new LazySecretData();
+		data.putBytes("user", "admin".getBytes(StandardCharsets.UTF_8));
+		data.putBytes("password", "p455w0rd".getBytes(StandardCharsets.UTF_8));
+
+		Map<String, Object> properties = new HashMap<>();
+		properties.put("user", "admin");
+		properties.put("password", "p455w0rd");
+
+		assertThat(data).isEqualTo(properties);
+		assertThat(properties).isEqualTo(data);
+		assertThat(data.hashCode()).isEqualTo(properties.hashCode());
+		assertThat(data).isNotEqualTo(Collections.singletonMap("user", "admin"));
+	}
+
+	@Test
+	public void putAllBytesDecodesForOtherMaps() {
+		Map<String, Object> result = new HashMap<>();
+		SecretsPropertySource.putAllBytes(Collections.singletonMap("user", "admin ".getBytes(StandardCharsets.UTF_8)),
+				result);
+		assertThat(result).containsEntry("user", "admin");
+	}
+
+}
@@ -0,0 +1,89 @@
+/*
+ * Copyright 2013-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.kubernetes.commons.config;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Test;
+
+import org.springframework.core.env.MapPropertySource;
+import org.springframework.core.env.PropertySource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PropertySourceLoaderTest {
+
+	private final List<String> sources = Arrays.asList("a", "b", "c", "d", "e");
+
+	@Test
+	void loadsSequentially() {
+		List<MapPropertySource> result = PropertySourceLoader.load(sources, PropertySourceLoaderTest::source, 1);
+		assertThat(names(result)).containsExactly("a", "b", "c", "d", "e");
+	}
+
+	@Test
+	void loadsConcurrentlyInOrder() {
+		// every source waits until the first three have started, so this only completes
+		// if they are loaded at the same time
+		CountDownLatch started = new CountDownLatch(3);
+		Function<String, MapPropertySource> loader = name -> {
+			started.countDown();
+			try {
+				started.await(5, TimeUnit.SECONDS);
+				if ("a".equals(name)) {
+					Thread.sleep(50);
+				}
+			}
+			catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+			return source(name);
+		};
+
+		List<MapPropertySource> result = PropertySourceLoader.load(sources, loader, 3);
+		assertThat(started.getCount()).isZero();
+		assertThat(names(result)).containsExactly("a", "b", "c", "d", "e");
+	}
+
+	@Test
+	void propagatesFailures() {
+		Function<String, MapPropertySource> loader = name -> {
+			if ("c".equals(name)) {
+				throw new IllegalArgumentException("c");
+			}
+			return source(name);
+		};
+		assertThatThrownBy(() -> PropertySourceLoader.load(sources, loader, 4))
+				.isInstanceOf(IllegalArgumentException.class).hasMessage("c");
+	}
+
+	private static MapPropertySource source(String name) {
+		return new MapPropertySource(name, Collections.singletonMap(name, name));
+	}
+
+	private static List<String> names(List<MapPropertySource> propertySources) {
+		return propertySources.stream().map(PropertySource::getName).collect(Collectors.toList());
+	}
+
+}
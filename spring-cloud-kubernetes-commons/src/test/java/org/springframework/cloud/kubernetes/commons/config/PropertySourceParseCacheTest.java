@@ -0,0 +1,86 @@
+/*
+ * Copyright 2013-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.kubernetes.commons.config;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import org.springframework.mock.env.MockEnvironment;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class PropertySourceParseCacheTest {
+
+	private static final String YAML = "a: 1\n---\nspring:\n  config:\n    activate:\n      on-profile: dev\na: 2\n";
+
+	private final AtomicInteger parsed = new AtomicInteger();
+
+	private final Function<String, Map<String, Object>> parser = content -> {
+		this.parsed.incrementAndGet();
+		return Collections.singletonMap("content", content);
+	};
+
+	@BeforeEach
+	public void setUp() {
+		PropertySourceParseCache.clear();
+	}
+
+	@Test
+	public void parsesTheSameContentOnce() {
+		Map<String, Object> first = PropertySourceParseCache.parse("yaml", "a: 1", this.parser);
+		Map<String, Object> second = PropertySourceParseCache.parse("yaml", "a: 1", this.parser);
+
+		assertThat(this.parsed.get()).isEqualTo(1);
+		assertThat(second).isEqualTo(first).containsOnlyKeys("content").containsEntry("content", "a: 1");
+
+		// callers get their own copy
+		second.put("other", "value");
+		assertThat(first).doesNotContainKey("other");
+		assertThat(PropertySourceParseCache.parse("yaml", "a: 1", this.parser)).doesNotContainKey("other");
+
+		PropertySourceParseCache.parse("yaml", "a: 2", this.parser);
+		PropertySourceParseCache.parse("properties", "a: 1", this.parser);
+		assertThat(this.parsed.get()).isEqualTo(3);
+	}
+
+	@Test
+	public void keysYamlByProfiles() {
+		MockEnvironment environment = new MockEnvironment();
+		assertThat(PropertySourceParseCache.yaml(YAML, environment)).containsEntry("a", 1);
+
+		environment.setActiveProfiles("dev");
+		assertThat(PropertySourceParseCache.yaml(YAML, environment)).containsEntry("a", 2);
+		assertThat(PropertySourceParseCache.size()).isEqualTo(2);
+	}
+
+	@Test
+	public void evictsTheLeastRecentlyUsedEntries() {
+		for (int i = 0; i <= PropertySourceParseCache.MAX_ENTRIES; i++) {
+			PropertySourceParseCache.parse("yaml", "a: " + i, this.parser);
+		}
+		assertThat(PropertySourceParseCache.size()).isEqualTo(PropertySourceParseCache.MAX_ENTRIES);
+
+		PropertySourceParseCache.parse("yaml", "a: 0", this.parser);
+		assertThat(this.parsed.get()).isEqualTo(PropertySourceParseCache.MAX_ENTRIES + 2);
+	}
+
+}
@@ -0,0 +1,231 @@
+/*
+ * Copyright 2013-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.kubernetes.commons.config;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import org.springframework.core.env.MapPropertySource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PropertySourceSnapshotsTest {
+
+	private final List<String> sources = Collections.singletonList("app");
+
+	@TempDir
+	Path directory;
+
+	@BeforeEach
+	void setUp() {
+		PropertySourceSnapshots.clear();
+	}
+
+	@Test
+	void writesSnapshotsOnFirstLoad() {
+		PropertySourceSnapshots snapshots = new PropertySourceSnapshots(directory, "configmap");
+
+		List<MapPropertySource> loaded = load(snapshots, source -> propertySource(properties("value")),
+				MapPropertySource::new);
+
+		assertThat(loaded).hasSize(1);
+		assertThat(directory.resolve("configmap-default.app.properties")).isRegularFile();
+	}
+
+	@Test
+	void restoresSnapshotsAndRevalidatesInTheBackground() throws Exception {
+		load(new PropertySourceSnapshots(directory, "configmap"), source -> propertySource(properties("old")),
+				MapPropertySource::new);
+
+		PropertySourceSnapshots snapshots = restart("configmap");
+		CountDownLatch loaderCalled = new CountDownLatch(1);
+		CountDownLatch proceed = new CountDownLatch(1);
+		CountDownLatch changed = new CountDownLatch(1);
+		snapshots.setChangeListener(changed::countDown);
+
+		List<MapPropertySource> restored = load(snapshots, source -> {
+			loaderCalled.countDown();
+			await(proceed);
+			return propertySource(properties("new"));
+		}, MapPropertySource::new);
+
+		assertThat(restored).hasSize(1);
+		assertThat(restored.get(0).getName()).isEqualTo("configmap.app.default");
+		assertThat(restored.get(0).getSource()).isEqualTo(properties("old"));
+
+		assertThat(loaderCalled.await(5, TimeUnit.SECONDS)).isTrue();
+		proceed.countDown();
+		assertThat(changed.await(5, TimeUnit.SECONDS)).isTrue();
+
+		List<MapPropertySource> reloaded = load(restart("configmap"), source -> propertySource(properties("new")),
+				MapPropertySource::new);
+		assertThat(reloaded.get(0).getSource()).isEqualTo(properties("new"));
+	}
+
+	@Test
+	void notifiesListenerSetAfterTheChangeWasFound() throws Exception {
+		load(new PropertySourceSnapshots(directory, "secret"), source -> propertySource(properties("old")),
+				MapPropertySource::new);
+
+		PropertySourceSnapshots snapshots = restart("secret");
+		CountDownLatch revalidated = new CountDownLatch(1);
+		load(snapshots, source -> {
+			revalidated.countDown();
+			return propertySource(properties("new"));
+		}, MapPropertySource::new);
+		assertThat(revalidated.await(5, TimeUnit.SECONDS)).isTrue();
+
+		CountDownLatch changed = new CountDownLatch(1);
+		snapshots.setChangeListener(changed::countDown);
+		assertThat(changed.await(5, TimeUnit.SECONDS)).isTrue();
+	}
+
+	@Test
+	void preservesTypes() {
+		Map<String, Object> properties = new HashMap<>();
+		properties.put("string", "text");
+		properties.put("boolean", true);
+		properties.put("integer", 1);
+		properties.put("long", 10_000_000_000L);
+		properties.put("double", 1.5);
+		properties.put("prefixed", "i:not an integer");
+		load(new PropertySourceSnapshots(directory, "configmap"), source -> propertySource(properties),
+				MapPropertySource::new);
+
+		List<MapPropertySource> restored = load(restart("configmap"), source -> propertySource(properties),
+				MapPropertySource::new);
+
+		assertThat(restored.get(0).getSource()).isEqualTo(properties);
+	}
+
+	@Test
+	void emptySourceDoesNotReplaceSnapshot() throws Exception {
+		PropertySourceSnapshots snapshots = new PropertySourceSnapshots(directory, "configmap");
+		load(snapshots, source -> propertySource(properties("value")), MapPropertySource::new);
+		Path file = directory.resolve("configmap-default.app.properties");
+		String content = new String(Files.readAllBytes(file));
+
+		load(snapshots, source -> propertySource(Collections.emptyMap()), MapPropertySource::new);
+
+		assertThat(new String(Files.readAllBytes(file))).isEqualTo(content);
+	}
+
+	@Test
+	void emptiesTheSnapshotOfADeletedSource() {
+		load(new PropertySourceSnapshots(directory, "configmap"), source -> propertySource(properties("value")),
+				MapPropertySource::new);
+
+		// read successfully, the config map no longer exists
+		Map<String, String> absent = Collections.singletonMap("default/app", ResourceVersionedPropertySource.ABSENT);
+		load(new PropertySourceSnapshots(directory, "configmap"),
+				source -> new VersionedPropertySource(Collections.emptyMap(), absent), MapPropertySource::new);
+
+		List<MapPropertySource> restored = load(restart("configmap"), source -> propertySource(properties("value")),
+				MapPropertySource::new);
+		assertThat(restored.get(0).getSource()).isEmpty();
+	}
+
+	@Test
+	void restoresOnlyOncePerProcess() {
+		load(new PropertySourceSnapshots(directory, "configmap"), source -> propertySource(properties("old")),
+				MapPropertySource::new);
+
+		// the locators of a refresh are new instances, in the same process
+		List<MapPropertySource> refreshed = load(new PropertySourceSnapshots(directory, "configmap"),
+				source -> propertySource(properties("new")), MapPropertySource::new);
+
+		assertThat(refreshed.get(0).getSource()).isEqualTo(properties("new"));
+	}
+
+	@Test
+	void readsFromTheApiWhenSnapshotsCannotBeRestored() {
+		load(new PropertySourceSnapshots(directory, "configmap"), source -> propertySource(properties("old")),
+				MapPropertySource::new);
+
+		AtomicInteger calls = new AtomicInteger();
+		List<MapPropertySource> loaded = load(restart("configmap"), source -> {
+			calls.incrementAndGet();
+			return propertySource(properties("new"));
+		}, (name, source) -> null);
+
+		assertThat(calls.get()).isEqualTo(1);
+		assertThat(loaded.get(0).getSource()).isEqualTo(properties("new"));
+	}
+
+	/**
+	 * @return snapshots of a new process
+	 */
+	private PropertySourceSnapshots restart(String kind) {
+		PropertySourceSnapshots.clear();
+		return new PropertySourceSnapshots(directory, kind);
+	}
+
+	private List<MapPropertySource> load(PropertySourceSnapshots snapshots, Function<String, MapPropertySource> loader,
+			BiFunction<String, Map<String, Object>, MapPropertySource> restorer) {
+		return snapshots.load(sources, source -> "default." + source, loader, restorer, 1);
+	}
+
+	private static MapPropertySource propertySource(Map<String, Object> properties) {
+		return new MapPropertySource("configmap.app.default", properties);
+	}
+
+	private static Map<String, Object> properties(String value) {
+		Map<String, Object> properties = new HashMap<>();
+		properties.put("key", value);
+		return properties;
+	}
+
+	private static final class VersionedPropertySource extends MapPropertySource
+			implements ResourceVersionedPropertySource {
+
+		private final Map<String, String> resourceVersions;
+
+		private VersionedPropertySource(Map<String, Object> source, Map<String, String> resourceVersions) {
+			super("configmap.app.default", source);
+			this.resourceVersions = resourceVersions;
+		}
+
+		@Override
+		public Map<String, String> getResourceVersions() {
+			return this.resourceVersions;
+		}
+
+	}
+
+	private static void await(CountDownLatch latch) {
+		try {
+			latch.await(5, TimeUnit.SECONDS);
+		}
+		catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+}
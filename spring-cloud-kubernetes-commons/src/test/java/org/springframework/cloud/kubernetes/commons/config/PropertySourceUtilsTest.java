@@ -91,6 +91,34 @@ public class PropertySourceUtilsTest {
 		assertThat(properties.getProperty("spring.config.activate.on-profile")).isNull();
 	}
 
+	@Test
+	void yamlToMapParserGenerator_springConfigActivateOnProfile_matchProfile() {
+		willReturn(Boolean.TRUE).given(environment).acceptsProfiles(any(Profiles.class));
+		final Function<String, Map<String, Object>> function = PropertySourceUtils
+				.yamlToMapParserGenerator(environment);
+		final Map<String, Object> result = function.apply(
+				"spring:\n  application:\n    name: myTestApp\n---\nspring:\n  config:\n    activate:\n      on-profile: dummy\n  application:\n    name: myDummyApp");
+		assertThat(result).isEqualTo(PropertySourceUtils.yamlParserGenerator(environment)
+				.andThen(PropertySourceUtils.PROPERTIES_TO_MAP).apply(
+						"spring:\n  application:\n    name: myTestApp\n---\nspring:\n  config:\n    activate:\n      on-profile: dummy\n  application:\n    name: myDummyApp"));
+		assertThat(result.get("spring.application.name")).isEqualTo("myDummyApp");
+	}
+
+	@Test
+	void yamlToMapParserGenerator_springConfigActivateOnProfile_mismatchProfile() {
+		willReturn(Boolean.FALSE).given(environment).acceptsProfiles(any(Profiles.class));
+		final Map<String, Object> result = PropertySourceUtils.yamlToMapParserGenerator(environment).apply(
+				"spring:\n  application:\n    name: myTestApp\n---\nspring:\n  config:\n    activate:\n      on-profile: dummy\n  application:\n    name: myDummyApp");
+		assertThat(result.get("spring.application.name")).isEqualTo("myTestApp");
+		assertThat(result.get("spring.config.activate.on-profile")).isNull();
+	}
+
+	@Test
+	void keyValueToProperties_nonAsciiValue() {
+		Properties properties = PropertySourceUtils.KEY_VALUE_TO_PROPERTIES.apply("greeting=grüß dich");
+		assertThat(properties.getProperty("greeting")).isEqualTo("grüß dich");
+	}
+
 	@Test
 	void keyValueToProperties_noEntryPresent() {
 		Properties properties = PropertySourceUtils.KEY_VALUE_TO_PROPERTIES.apply("");
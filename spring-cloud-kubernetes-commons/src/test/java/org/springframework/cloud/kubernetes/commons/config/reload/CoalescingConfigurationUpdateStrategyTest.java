@@ -0,0 +1,110 @@
+/*
+ * Copyright 2013-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.kubernetes.commons.config.reload;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import org.springframework.context.support.GenericApplicationContext;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class CoalescingConfigurationUpdateStrategyTest {
+
+	private final AtomicInteger reloads = new AtomicInteger();
+
+	private final ConfigurationUpdateStrategy delegate = new ConfigurationUpdateStrategy("REFRESH",
+			this.reloads::incrementAndGet);
+
+	private CoalescingConfigurationUpdateStrategy strategy;
+
+	@AfterEach
+	public void tearDown() {
+		this.strategy.shutdown();
+	}
+
+	@Test
+	public void mergesReloadsWithinTheQuietPeriod() throws InterruptedException {
+		this.strategy = new CoalescingConfigurationUpdateStrategy(this.delegate, Duration.ofMillis(300),
+				Duration.ofSeconds(10));
+		for (int i = 0; i < 5; i++) {
+			this.strategy.reload();
+		}
+		assertThat(this.reloads.get()).isZero();
+
+		Thread.sleep(1000);
+		assertThat(this.reloads.get()).isEqualTo(1);
+		assertThat(this.strategy.getName()).isEqualTo("REFRESH");
+	}
+
+	@Test
+	public void doesNotDelayPastTheMaximumDelay() throws InterruptedException {
+		this.strategy = new CoalescingConfigurationUpdateStrategy(this.delegate, Duration.ofMillis(300),
+				Duration.ofMillis(500));
+		long start = System.nanoTime();
+		while (this.reloads.get() == 0 && System.nanoTime() - start < Duration.ofSeconds(5).toNanos()) {
+			this.strategy.reload();
+			Thread.sleep(50);
+		}
+		assertThat(this.reloads.get()).isEqualTo(1);
+		assertThat(Duration.ofNanos(System.nanoTime() - start)).isLessThan(Duration.ofSeconds(2));
+	}
+
+	@Test
+	public void reloadsAgainForChangesDuringAReload() throws InterruptedException {
+		this.strategy = new CoalescingConfigurationUpdateStrategy(this.delegate, Duration.ofMillis(100),
+				Duration.ofSeconds(10));
+		this.strategy.reload();
+		Thread.sleep(500);
+		this.strategy.reload();
+		Thread.sleep(500);
+		assertThat(this.reloads.get()).isEqualTo(2);
+	}
+
+	@Test
+	public void isShutDownWithTheContext() throws InterruptedException {
+		ConfigReloadProperties properties = new ConfigReloadProperties();
+		properties.setQuietPeriod(Duration.ofSeconds(1));
+		GenericApplicationContext context = new GenericApplicationContext();
+		context.registerBean(ConfigReloadProperties.class, () -> properties);
+		context.registerBean(ConfigurationUpdateStrategy.class, () -> this.delegate);
+		context.registerBean(ConfigReloadAutoConfiguration.ConfigurationUpdateStrategyPostProcessor.class,
+				() -> new ConfigReloadAutoConfiguration.ConfigurationUpdateStrategyPostProcessor(
+						context.getBeanProvider(ConfigReloadProperties.class),
+						context.getBeanProvider(RestartSemaphore.class),
+						context.getBeanProvider(ReloadInstrumentation.class)));
+		context.refresh();
+		assertThat(context.getBean(ConfigurationUpdateStrategy.class))
+				.isInstanceOf(CoalescingConfigurationUpdateStrategy.class);
+		this.strategy = (CoalescingConfigurationUpdateStrategy) context.getBean(ConfigurationUpdateStrategy.class);
+		this.strategy.reload();
+
+		context.close();
+		long start = System.nanoTime();
+		while (!this.strategy.isTerminated() && System.nanoTime() - start < Duration.ofSeconds(5).toNanos()) {
+			Thread.sleep(10);
+		}
+		assertThat(this.strategy.isTerminated()).isTrue();
+		// the reload pending when the context closed was dropped
+		Thread.sleep(1500);
+		assertThat(this.reloads.get()).isZero();
+	}
+
+}
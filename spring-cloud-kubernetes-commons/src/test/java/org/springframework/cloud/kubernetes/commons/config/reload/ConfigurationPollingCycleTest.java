@@ -0,0 +1,151 @@
+/*
+ * Copyright 2013-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.kubernetes.commons.config.reload;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import org.springframework.scheduling.TaskScheduler;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+public class ConfigurationPollingCycleTest {
+
+	private static final Instant NOW = Instant.ofEpochMilli(1_000_000);
+
+	private final TaskScheduler taskScheduler = mock(TaskScheduler.class);
+
+	private final ConfigurationChangeDetector detector = mock(ConfigurationChangeDetector.class);
+
+	private final ConfigReloadProperties properties = new ConfigReloadProperties();
+
+	@BeforeEach
+	public void setUp() {
+		this.properties.setPeriod(Duration.ofSeconds(10));
+		this.properties.setJitter(0);
+		this.properties.setMaxBackoff(Duration.ofSeconds(35));
+	}
+
+	@Test
+	public void runsEveryPollInOneCycle() {
+		ConfigurationPollingCycle cycle = cycle();
+		List<String> polls = new ArrayList<>();
+		cycle.register(this.detector, () -> polls.add("configMaps"));
+		cycle.register(this.detector, () -> polls.add("secrets"));
+		verify(this.taskScheduler, times(1)).schedule(any(Runnable.class), any(Instant.class));
+
+		cycle.executeCycle();
+		assertThat(polls).containsExactly("configMaps", "secrets");
+		assertThat(lastScheduled()).isEqualTo(NOW.plusSeconds(10));
+	}
+
+	@Test
+	public void jittersTheDelay() {
+		this.properties.setJitter(0.2);
+		ConfigurationPollingCycle cycle = cycle();
+		cycle.register(this.detector, () -> {
+		});
+		for (int i = 0; i < 50; i++) {
+			cycle.executeCycle();
+		}
+		ArgumentCaptor<Instant> instants = ArgumentCaptor.forClass(Instant.class);
+		verify(this.taskScheduler, atLeastOnce()).schedule(any(Runnable.class), instants.capture());
+		assertThat(instants.getAllValues()).allSatisfy(instant -> assertThat(instant)
+				.isBetween(NOW.plusSeconds(8), NOW.plusSeconds(12)));
+		assertThat(new HashSet<>(instants.getAllValues())).hasSizeGreaterThan(1);
+	}
+
+	@Test
+	public void backsOffWhileThrottled() {
+		ConfigurationPollingCycle cycle = cycle();
+		List<String> polls = new ArrayList<>();
+		boolean[] throttled = { true };
+		cycle.register(this.detector, () -> {
+			polls.add("configMaps");
+			if (throttled[0]) {
+				throw new Throttled();
+			}
+		});
+		cycle.register(this.detector, () -> polls.add("secrets"));
+
+		cycle.executeCycle();
+		assertThat(polls).containsExactly("configMaps");
+		assertThat(cycle.getDelay()).isEqualTo(Duration.ofSeconds(20));
+		assertThat(lastScheduled()).isEqualTo(NOW.plusSeconds(20));
+
+		cycle.executeCycle();
+		assertThat(cycle.getDelay()).isEqualTo(Duration.ofSeconds(35));
+		cycle.executeCycle();
+		assertThat(cycle.getDelay()).isEqualTo(Duration.ofSeconds(35));
+
+		throttled[0] = false;
+		cycle.executeCycle();
+		assertThat(cycle.getDelay()).isEqualTo(Duration.ofSeconds(10));
+	}
+
+	@Test
+	public void otherFailuresDoNotBackOff() {
+		ConfigurationPollingCycle cycle = cycle();
+		List<String> polls = new ArrayList<>();
+		cycle.register(this.detector, () -> {
+			throw new IllegalStateException("not found");
+		});
+		cycle.register(this.detector, () -> polls.add("secrets"));
+
+		cycle.executeCycle();
+		assertThat(polls).containsExactly("secrets");
+		assertThat(cycle.getDelay()).isEqualTo(Duration.ofSeconds(10));
+	}
+
+	@Test
+	public void statusCodes() {
+		assertThat(ConfigurationPollingCycle.isThrottled(429)).isTrue();
+		assertThat(ConfigurationPollingCycle.isThrottled(503)).isTrue();
+		assertThat(ConfigurationPollingCycle.isThrottled(404)).isFalse();
+		assertThat(ConfigurationPollingCycle.isThrottled(0)).isFalse();
+	}
+
+	private ConfigurationPollingCycle cycle() {
+		return new ConfigurationPollingCycle(this.taskScheduler, this.properties, e -> e instanceof Throttled,
+				Clock.fixed(NOW, ZoneOffset.UTC));
+	}
+
+	private Instant lastScheduled() {
+		ArgumentCaptor<Instant> instants = ArgumentCaptor.forClass(Instant.class);
+		verify(this.taskScheduler, atLeastOnce()).schedule(any(Runnable.class), instants.capture());
+		return instants.getValue();
+	}
+
+	private static class Throttled extends RuntimeException {
+
+	}
+
+}
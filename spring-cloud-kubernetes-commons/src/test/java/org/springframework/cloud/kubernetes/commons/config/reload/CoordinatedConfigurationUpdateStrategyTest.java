@@ -0,0 +1,124 @@
+/*
+ * Copyright 2013-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.kubernetes.commons.config.reload;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import org.springframework.context.support.GenericApplicationContext;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class CoordinatedConfigurationUpdateStrategyTest {
+
+	private final List<String> restarts = new CopyOnWriteArrayList<>();
+
+	private final ConfigurationUpdateStrategy delegate = new ConfigurationUpdateStrategy("RESTART_CONTEXT",
+			() -> this.restarts.add(Thread.currentThread().getName()));
+
+	private final RestartSemaphore restartSemaphore = mock(RestartSemaphore.class);
+
+	private final CountDownLatch permit = new CountDownLatch(1);
+
+	private CoordinatedConfigurationUpdateStrategy strategy;
+
+	@BeforeEach
+	public void setUp() {
+		when(this.restartSemaphore.acquire()).thenAnswer(invocation -> {
+			try {
+				this.permit.await();
+				return true;
+			}
+			catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				return false;
+			}
+		});
+	}
+
+	@AfterEach
+	public void tearDown() {
+		this.strategy.shutdown();
+	}
+
+	@Test
+	public void restartsOnTheRestartThreadOnceAPermitIsAcquired() throws InterruptedException {
+		this.strategy = new CoordinatedConfigurationUpdateStrategy(this.delegate, this.restartSemaphore);
+		// returns while the restart is waiting for a permit, and the requests made in
+		// the meantime are merged into it
+		for (int i = 0; i < 3; i++) {
+			this.strategy.reload();
+		}
+		Thread.sleep(200);
+		assertThat(this.restarts).isEmpty();
+
+		this.permit.countDown();
+		awaitRestarts(1);
+		assertThat(this.restarts).containsExactly("spring-cloud-kubernetes-restart");
+		verify(this.restartSemaphore, times(1)).acquire();
+		assertThat(this.strategy.getName()).isEqualTo("RESTART_CONTEXT");
+	}
+
+	@Test
+	public void isShutDownWithTheContext() throws InterruptedException {
+		ConfigReloadProperties properties = new ConfigReloadProperties();
+		GenericApplicationContext context = new GenericApplicationContext();
+		context.registerBean(ConfigReloadProperties.class, () -> properties);
+		context.registerBean(RestartSemaphore.class, () -> this.restartSemaphore);
+		context.registerBean(ConfigurationUpdateStrategy.class, () -> this.delegate);
+		context.registerBean(ConfigReloadAutoConfiguration.ConfigurationUpdateStrategyPostProcessor.class,
+				() -> new ConfigReloadAutoConfiguration.ConfigurationUpdateStrategyPostProcessor(
+						context.getBeanProvider(ConfigReloadProperties.class),
+						context.getBeanProvider(RestartSemaphore.class),
+						context.getBeanProvider(ReloadInstrumentation.class)));
+		context.refresh();
+		assertThat(context.getBean(ConfigurationUpdateStrategy.class))
+				.isInstanceOf(CoordinatedConfigurationUpdateStrategy.class);
+		this.strategy = (CoordinatedConfigurationUpdateStrategy) context.getBean(ConfigurationUpdateStrategy.class);
+		this.strategy.reload();
+		Thread.sleep(200);
+
+		context.close();
+		long start = System.nanoTime();
+		while (!this.strategy.isTerminated() && System.nanoTime() - start < Duration.ofSeconds(5).toNanos()) {
+			Thread.sleep(10);
+		}
+		// the restart waiting for a permit when the context closed was dropped
+		assertThat(this.strategy.isTerminated()).isTrue();
+		assertThat(this.restarts).isEmpty();
+		verify(this.restartSemaphore, never()).release();
+	}
+
+	private void awaitRestarts(int count) throws InterruptedException {
+		long start = System.nanoTime();
+		while (this.restarts.size() < count && System.nanoTime() - start < Duration.ofSeconds(5).toNanos()) {
+			Thread.sleep(10);
+		}
+	}
+
+}
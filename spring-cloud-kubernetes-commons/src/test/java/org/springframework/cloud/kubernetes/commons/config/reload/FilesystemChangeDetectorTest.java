@@ -0,0 +1,113 @@
+/*
+ * Copyright 2013-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.kubernetes.commons.config.reload;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.Collections;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import org.springframework.mock.env.MockEnvironment;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class FilesystemChangeDetectorTest {
+
+	@TempDir
+	Path volume;
+
+	private final AtomicInteger reloads = new AtomicInteger();
+
+	private FilesystemChangeDetector detector;
+
+	@BeforeEach
+	public void setUp() throws IOException {
+		// the layout of a config map volume written by the kubelet
+		update("..2021_01_01", "a=1");
+		Files.createSymbolicLink(this.volume.resolve("..data"), Paths.get("..2021_01_01"));
+		Files.createSymbolicLink(this.volume.resolve("application.properties"),
+				Paths.get("..data/application.properties"));
+
+		this.detector = new FilesystemChangeDetector(new MockEnvironment(), new ConfigReloadProperties(),
+				new ConfigurationUpdateStrategy("test", this.reloads::incrementAndGet),
+				Collections.singletonList(this.volume.resolve("application.properties").toString()));
+		this.detector.watch();
+	}
+
+	@AfterEach
+	public void tearDown() {
+		this.detector.unwatch();
+	}
+
+	@Test
+	public void reloadsWhenTheDataSymlinkPointsToNewContent() throws IOException {
+		update("..2021_01_02", "a=2");
+		swapData("..2021_01_02");
+
+		this.detector.checkForChanges();
+		assertThat(this.reloads.get()).isEqualTo(1);
+
+		this.detector.checkForChanges();
+		assertThat(this.reloads.get()).isEqualTo(1);
+	}
+
+	@Test
+	public void doesNotReloadWhenTheContentIsTheSame() throws IOException {
+		update("..2021_01_02", "a=1");
+		swapData("..2021_01_02");
+
+		this.detector.checkForChanges();
+		assertThat(this.reloads.get()).isZero();
+	}
+
+	@Test
+	public void recordsTheDecisions() throws IOException {
+		ReloadDecisionHistory history = new ReloadDecisionHistory(1);
+		this.detector.setInstrumentation(history);
+		this.detector.checkForChanges();
+		update("..2021_01_02", "a=2");
+		swapData("..2021_01_02");
+		this.detector.checkForChanges();
+
+		assertThat(history.getDecisions()).hasSize(1);
+		ReloadDecision decision = history.getDecisions().get(0);
+		assertThat(decision.getSource()).isEqualTo("filesystem");
+		assertThat(decision.getOutcome()).isEqualTo(ReloadDecision.Outcome.RELOAD);
+		assertThat(decision.getLocateNanos()).isNotNegative();
+		assertThat(decision.getDiffNanos()).isNotNegative();
+	}
+
+	private void update(String directory, String content) throws IOException {
+		Path data = Files.createDirectory(this.volume.resolve(directory));
+		Files.write(data.resolve("application.properties"), content.getBytes(StandardCharsets.UTF_8));
+	}
+
+	private void swapData(String directory) throws IOException {
+		Path tmp = Files.createSymbolicLink(this.volume.resolve("..data_tmp"), Paths.get(directory));
+		Files.move(tmp, this.volume.resolve("..data"), StandardCopyOption.ATOMIC_MOVE);
+	}
+
+}
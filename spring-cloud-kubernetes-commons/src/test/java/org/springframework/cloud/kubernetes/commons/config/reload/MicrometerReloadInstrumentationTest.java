@@ -0,0 +1,86 @@
+/*
+ * Copyright 2013-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.kubernetes.commons.config.reload;
+
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import org.springframework.beans.factory.ObjectProvider;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class MicrometerReloadInstrumentationTest {
+
+	private final MeterRegistry registry = new SimpleMeterRegistry();
+
+	private MicrometerReloadInstrumentation instrumentation;
+
+	@BeforeEach
+	@SuppressWarnings("unchecked")
+	public void setUp() {
+		ObjectProvider<MeterRegistry> provider = mock(ObjectProvider.class);
+		when(provider.getIfAvailable()).thenReturn(this.registry);
+		this.instrumentation = new MicrometerReloadInstrumentation(provider);
+	}
+
+	@Test
+	public void countsTheEvents() {
+		this.instrumentation.eventReceived("configmap", "event");
+		this.instrumentation.eventReceived("configmap", "event");
+		this.instrumentation.eventFiltered("configmap", "event");
+
+		assertThat(this.registry.get(MicrometerReloadInstrumentation.EVENTS_COUNTER).tag("source", "configmap")
+				.tag("mode", "event").counter().count()).isEqualTo(2);
+		assertThat(this.registry.get(MicrometerReloadInstrumentation.FILTERED_EVENTS_COUNTER).counter().count())
+				.isEqualTo(1);
+	}
+
+	@Test
+	public void recordsTheDecisions() {
+		this.instrumentation.decided(new ReloadDecision(Instant.now(), "secret", "polling",
+				ReloadDecision.Outcome.RESOURCE_VERSIONS_UNCHANGED, 1_000_000, -1));
+		this.instrumentation.decided(
+				new ReloadDecision(Instant.now(), "secret", "polling", ReloadDecision.Outcome.RELOAD, 3_000_000, 5));
+
+		assertThat(this.registry.get(MicrometerReloadInstrumentation.DECISIONS_COUNTER).tag("outcome", "RELOAD")
+				.counter().count()).isEqualTo(1);
+		assertThat(this.registry.get(MicrometerReloadInstrumentation.LOCATE_TIMER).timer().count()).isEqualTo(2);
+		assertThat(this.registry.get(MicrometerReloadInstrumentation.LOCATE_TIMER).timer()
+				.totalTime(TimeUnit.MILLISECONDS)).isEqualTo(4);
+		// the property sources were compared once
+		assertThat(this.registry.get(MicrometerReloadInstrumentation.DIFF_TIMER).timer().count()).isEqualTo(1);
+	}
+
+	@Test
+	public void timesTheReloads() {
+		this.instrumentation.reloaded("REFRESH", 2_000_000, null);
+		this.instrumentation.reloaded("REFRESH", 1_000_000, new IllegalStateException());
+
+		assertThat(this.registry.get(MicrometerReloadInstrumentation.REFRESH_TIMER).tag("strategy", "REFRESH")
+				.tag("outcome", "SUCCESS").timer().count()).isEqualTo(1);
+		assertThat(this.registry.get(MicrometerReloadInstrumentation.REFRESH_TIMER).tag("outcome", "ERROR").timer()
+				.count()).isEqualTo(1);
+	}
+
+}
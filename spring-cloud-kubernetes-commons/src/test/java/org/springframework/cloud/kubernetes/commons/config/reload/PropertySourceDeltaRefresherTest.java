@@ -0,0 +1,123 @@
+/*
+ * Copyright 2013-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.kubernetes.commons.config.reload;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import org.springframework.cloud.bootstrap.config.BootstrapPropertySource;
+import org.springframework.cloud.context.environment.EnvironmentChangeEvent;
+import org.springframework.cloud.context.refresh.ContextRefresher;
+import org.springframework.cloud.kubernetes.commons.config.ConfigMapPropertySourceLocator;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.support.GenericApplicationContext;
+import org.springframework.core.env.MapPropertySource;
+import org.springframework.core.env.PropertySource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class PropertySourceDeltaRefresherTest {
+
+	private final ConfigMapPropertySourceLocator locator = mock(ConfigMapPropertySourceLocator.class);
+
+	private final ContextRefresher contextRefresher = mock(ContextRefresher.class);
+
+	private final List<EnvironmentChangeEvent> events = new ArrayList<>();
+
+	private GenericApplicationContext bootstrap;
+
+	private GenericApplicationContext context;
+
+	@BeforeEach
+	public void setUp() {
+		this.bootstrap = new GenericApplicationContext();
+		this.bootstrap.getBeanFactory().registerSingleton("configMapPropertySourceLocator", this.locator);
+		this.bootstrap.refresh();
+		this.context = new GenericApplicationContext();
+		this.context.setParent(this.bootstrap);
+		this.context.addApplicationListener((ApplicationListener<EnvironmentChangeEvent>) this.events::add);
+		this.context.refresh();
+
+		Map<String, Object> source = new HashMap<>();
+		source.put("a", "1");
+		source.put("b", "2");
+		this.context.getEnvironment().getPropertySources()
+				.addFirst(new BootstrapPropertySource<>(new MapPropertySource("configmap.app.default", source)));
+	}
+
+	@AfterEach
+	public void tearDown() {
+		this.context.close();
+		this.bootstrap.close();
+	}
+
+	@Test
+	public void replacesChangedPropertySourcesAndPublishesTheChangedKeys() {
+		Map<String, Object> source = new HashMap<>();
+		source.put("a", "1");
+		source.put("b", "3");
+		source.put("c", "4");
+		when(this.locator.locateCollection(any())).thenReturn(
+				Collections.<PropertySource<?>>singletonList(new MapPropertySource("configmap.app.default", source)));
+
+		assertThat(new PropertySourceDeltaRefresher(this.context, this.contextRefresher).refresh())
+				.containsExactlyInAnyOrder("b", "c");
+		assertThat(this.context.getEnvironment().getProperty("b")).isEqualTo("3");
+		assertThat(this.context.getEnvironment().getProperty("c")).isEqualTo("4");
+		assertThat(this.context.getEnvironment().getPropertySources().get("bootstrapProperties-configmap.app.default"))
+				.isInstanceOf(BootstrapPropertySource.class);
+		assertThat(this.events).hasSize(1);
+		assertThat(this.events.get(0).getKeys()).containsExactlyInAnyOrder("b", "c");
+		verify(this.contextRefresher, never()).refresh();
+	}
+
+	@Test
+	public void doesNothingWhenNothingChanged() {
+		Map<String, Object> source = new HashMap<>();
+		source.put("a", "1");
+		source.put("b", "2");
+		when(this.locator.locateCollection(any())).thenReturn(
+				Collections.<PropertySource<?>>singletonList(new MapPropertySource("configmap.app.default", source)));
+
+		assertThat(new PropertySourceDeltaRefresher(this.context, this.contextRefresher).refresh()).isEmpty();
+		assertThat(this.events).isEmpty();
+		verify(this.contextRefresher, never()).refresh();
+	}
+
+	@Test
+	public void refreshesTheWholeContextForNewPropertySources() {
+		when(this.locator.locateCollection(any())).thenReturn(Collections.<PropertySource<?>>singletonList(
+				new MapPropertySource("configmap.app-dev.default", Collections.singletonMap("a", "2"))));
+
+		new PropertySourceDeltaRefresher(this.context, this.contextRefresher).refresh();
+		verify(this.contextRefresher).refresh();
+		assertThat(this.context.getEnvironment().getProperty("a")).isEqualTo("1");
+	}
+
+}
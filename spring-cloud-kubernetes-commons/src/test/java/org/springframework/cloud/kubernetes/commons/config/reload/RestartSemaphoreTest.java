@@ -0,0 +1,208 @@
+/*
+ * Copyright 2013-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.kubernetes.commons.config.reload;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import org.springframework.scheduling.TaskScheduler;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+
+public class RestartSemaphoreTest {
+
+	private final MutableClock clock = new MutableClock();
+
+	private final TaskScheduler taskScheduler = mock(TaskScheduler.class);
+
+	private final ConfigReloadProperties properties = new ConfigReloadProperties();
+
+	private final Map<String, Object> configMap = new ConcurrentHashMap<>();
+
+	@BeforeEach
+	public void setUp() {
+		this.properties.setMaxConcurrentRestarts(2);
+		this.properties.setRestartLeaseDuration(Duration.ofMinutes(5));
+	}
+
+	@Test
+	public void limitsTheNumberOfHolders() {
+		assertThat(semaphore("pod-1").tryAcquire()).isTrue();
+		assertThat(semaphore("pod-2").tryAcquire()).isTrue();
+		assertThat(semaphore("pod-3").tryAcquire()).isFalse();
+		assertThat(holders()).containsOnlyKeys("pod-1", "pod-2");
+
+		// a holder restarting again keeps its permit
+		assertThat(semaphore("pod-1").tryAcquire()).isTrue();
+	}
+
+	@Test
+	public void releasesThePermit() {
+		semaphore("pod-1").tryAcquire();
+		semaphore("pod-2").tryAcquire();
+		semaphore("pod-1").release();
+		assertThat(holders()).containsOnlyKeys("pod-2");
+		assertThat(semaphore("pod-3").tryAcquire()).isTrue();
+
+		// releasing a permit that is not held does nothing
+		semaphore("pod-4").release();
+		assertThat(holders()).containsOnlyKeys("pod-2", "pod-3");
+	}
+
+	@Test
+	public void takesOverExpiredPermits() {
+		semaphore("pod-1").tryAcquire();
+		this.clock.advance(Duration.ofMinutes(3));
+		semaphore("pod-2").tryAcquire();
+		this.clock.advance(Duration.ofMinutes(3));
+
+		assertThat(semaphore("pod-3").tryAcquire()).isTrue();
+		assertThat(holders()).containsOnlyKeys("pod-2", "pod-3");
+	}
+
+	@Test
+	public void waitsPastTheLeaseDurationUntilAPermitExpires() throws Exception {
+		semaphore("pod-1").tryAcquire();
+		semaphore("pod-2").tryAcquire();
+		CompletableFuture<Boolean> acquired = CompletableFuture.supplyAsync(semaphore("pod-3")::acquire);
+
+		// both holders restart again, and hold their permits for longer than the lease
+		// duration pod-3 has been waiting for
+		this.clock.advance(Duration.ofMinutes(4));
+		semaphore("pod-1").tryAcquire();
+		semaphore("pod-2").tryAcquire();
+		this.clock.advance(Duration.ofMinutes(2));
+		Thread.sleep(3500);
+		assertThat(acquired).isNotDone();
+
+		this.clock.advance(Duration.ofMinutes(4));
+		assertThat(acquired.get(5, TimeUnit.SECONDS)).isTrue();
+		assertThat(holders()).containsOnlyKeys("pod-3");
+	}
+
+	@Test
+	public void doesNotAcquireWhenTheConfigMapChanged() {
+		InMemoryRestartSemaphore semaphore = semaphore("pod-1");
+		semaphore.conflict = true;
+		assertThat(semaphore.tryAcquire()).isFalse();
+		assertThat(this.configMap).isEmpty();
+	}
+
+	@Test
+	public void releasesOnceReady() {
+		doAnswer(invocation -> {
+			((Runnable) invocation.getArgument(0)).run();
+			return null;
+		}).when(this.taskScheduler).schedule(any(Runnable.class), any(Instant.class));
+		InMemoryRestartSemaphore semaphore = semaphore("pod-1");
+		semaphore.tryAcquire();
+		semaphore.readiness = new boolean[] { false, false, true };
+
+		semaphore.onApplicationEvent(null);
+		assertThat(holders()).isEmpty();
+		assertThat(semaphore.readinessChecks).isEqualTo(3);
+	}
+
+	@SuppressWarnings("unchecked")
+	private Map<String, String> holders() {
+		return (Map<String, String>) this.configMap.get("holders");
+	}
+
+	private InMemoryRestartSemaphore semaphore(String holder) {
+		return new InMemoryRestartSemaphore(holder);
+	}
+
+	private final class InMemoryRestartSemaphore extends RestartSemaphore {
+
+		private boolean conflict;
+
+		private boolean[] readiness = { true };
+
+		private int readinessChecks;
+
+		private InMemoryRestartSemaphore(String holder) {
+			super(holder, RestartSemaphoreTest.this.properties, RestartSemaphoreTest.this.taskScheduler,
+					RestartSemaphoreTest.this.clock);
+		}
+
+		@Override
+		@SuppressWarnings("unchecked")
+		protected Permits read() {
+			if (configMap.isEmpty()) {
+				return null;
+			}
+			return new Permits((Map<String, String>) configMap.get("holders"), (String) configMap.get("version"));
+		}
+
+		@Override
+		protected boolean write(Map<String, String> holders, String resourceVersion) {
+			if (this.conflict || (resourceVersion != null && !resourceVersion.equals(configMap.get("version")))) {
+				return false;
+			}
+			configMap.put("holders", new HashMap<>(holders));
+			configMap.put("version", resourceVersion == null ? "1"
+					: Integer.toString(Integer.parseInt(resourceVersion) + 1));
+			return true;
+		}
+
+		@Override
+		protected boolean isReady() {
+			return this.readiness[Math.min(this.readinessChecks++, this.readiness.length - 1)];
+		}
+
+	}
+
+	private static final class MutableClock extends Clock {
+
+		private volatile Instant now = Instant.ofEpochMilli(1_000_000);
+
+		void advance(Duration duration) {
+			this.now = this.now.plus(duration);
+		}
+
+		@Override
+		public ZoneId getZone() {
+			return ZoneOffset.UTC;
+		}
+
+		@Override
+		public Clock withZone(ZoneId zone) {
+			return this;
+		}
+
+		@Override
+		public Instant instant() {
+			return this.now;
+		}
+
+	}
+
+}
@@ -0,0 +1,162 @@
+/*
+ * Copyright 2013-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.kubernetes.commons.loadbalancer;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import org.springframework.cloud.client.DefaultServiceInstance;
+import org.springframework.cloud.client.ServiceInstance;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class KubernetesOutlierDetectorTests {
+
+	private final ServiceInstance first = instance("10.0.0.1");
+
+	private final ServiceInstance second = instance("10.0.0.2");
+
+	private final ServiceInstance third = instance("10.0.0.3");
+
+	private final MutableClock clock = new MutableClock();
+
+	private KubernetesLoadBalancerProperties.OutlierDetection properties;
+
+	private KubernetesOutlierDetector detector;
+
+	@BeforeEach
+	void setUp() {
+		properties = new KubernetesLoadBalancerProperties.OutlierDetection();
+		properties.setConsecutiveErrors(3);
+		properties.setMaxEjectionPercent(50);
+		detector = new KubernetesOutlierDetector(properties, clock);
+	}
+
+	@Test
+	void ejectsAfterConsecutiveErrors() {
+		detector.recordFailure(first);
+		detector.recordFailure(first);
+		assertThat(detector.isEjected(first)).isFalse();
+
+		detector.recordFailure(first);
+		assertThat(detector.isEjected(first)).isTrue();
+		assertThat(detector.filter(Arrays.asList(first, second, third))).containsExactly(second, third);
+	}
+
+	@Test
+	void successResetsConsecutiveErrors() {
+		detector.recordFailure(first);
+		detector.recordFailure(first);
+		detector.recordSuccess(first, -1);
+		detector.recordFailure(first);
+		assertThat(detector.isEjected(first)).isFalse();
+	}
+
+	@Test
+	void slowCallsCountAsFailures() {
+		properties.setSlowCallThreshold(Duration.ofMillis(100));
+		for (int i = 0; i < 3; i++) {
+			detector.recordSuccess(first, Duration.ofMillis(200).toNanos());
+		}
+		assertThat(detector.isEjected(first)).isTrue();
+	}
+
+	@Test
+	void ejectionTimeGrowsOnEachEjection() {
+		eject(first);
+		clock.advance(properties.getBaseEjectionTime().minusMillis(1));
+		assertThat(detector.isEjected(first)).isTrue();
+		clock.advance(Duration.ofMillis(1));
+		assertThat(detector.isEjected(first)).isFalse();
+
+		eject(first);
+		clock.advance(properties.getBaseEjectionTime());
+		assertThat(detector.isEjected(first)).isTrue();
+		clock.advance(properties.getBaseEjectionTime());
+		assertThat(detector.isEjected(first)).isFalse();
+	}
+
+	@Test
+	void ejectionTimeIsCapped() {
+		properties.setMaxEjectionTime(Duration.ofSeconds(45));
+		eject(first);
+		clock.advance(properties.getBaseEjectionTime());
+		eject(first);
+		clock.advance(Duration.ofSeconds(45));
+		assertThat(detector.isEjected(first)).isFalse();
+	}
+
+	@Test
+	void neverEjectsMoreThanAllowed() {
+		eject(first);
+		eject(second);
+		eject(third);
+		List<ServiceInstance> filtered = detector.filter(Arrays.asList(first, second, third));
+		assertThat(filtered).containsExactly(second, third);
+	}
+
+	@Test
+	void neverEjectsTheOnlyInstance() {
+		properties.setMaxEjectionPercent(100);
+		eject(first);
+		assertThat(detector.filter(Arrays.asList(first))).containsExactly(first);
+	}
+
+	private void eject(ServiceInstance instance) {
+		for (int i = 0; i < properties.getConsecutiveErrors(); i++) {
+			detector.recordFailure(instance);
+		}
+	}
+
+	private static ServiceInstance instance(String host) {
+		return new DefaultServiceInstance(host, "service", host, 8080, false);
+	}
+
+	private static final class MutableClock extends Clock {
+
+		private Instant now = Instant.ofEpochMilli(1_000_000);
+
+		void advance(Duration duration) {
+			now = now.plus(duration);
+		}
+
+		@Override
+		public ZoneId getZone() {
+			return ZoneOffset.UTC;
+		}
+
+		@Override
+		public Clock withZone(ZoneId zone) {
+			return this;
+		}
+
+		@Override
+		public Instant instant() {
+			return now;
+		}
+
+	}
+
+}
@@ -0,0 +1,135 @@
+/*
+ * Copyright 2013-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.kubernetes.commons.loadbalancer;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.cloud.client.DefaultServiceInstance;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.kubernetes.commons.discovery.KubernetesDiscoveryProperties;
+import org.springframework.cloud.kubernetes.commons.discovery.KubernetesServiceInstance;
+import org.springframework.cloud.loadbalancer.core.DelegatingServiceInstanceListSupplier;
+import org.springframework.cloud.loadbalancer.core.ServiceInstanceListSupplier;
+import org.springframework.cloud.loadbalancer.support.LoadBalancerClientFactory;
+import org.springframework.core.annotation.AnnotationAwareOrderComparator;
+import org.springframework.mock.env.MockEnvironment;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class KubernetesReadinessServiceInstanceListSupplierTests {
+
+	private final ServiceInstance ready = new KubernetesServiceInstance("ready", "service", "10.0.0.1", 8080,
+			Collections.emptyMap(), false);
+
+	private final ServiceInstance notReady = new KubernetesServiceInstance("not-ready", "service", "10.0.0.2", 8080,
+			Collections.emptyMap(), false, KubernetesServiceInstance.DEFAULT_WEIGHT, false);
+
+	@Test
+	void removesNotReadyInstances() {
+		List<ServiceInstance> instances = supplier(Arrays.asList(notReady, ready)).get().blockFirst();
+		assertThat(instances).containsExactly(ready);
+	}
+
+	@Test
+	void keepsTheListWhenAllInstancesAreReady() {
+		List<ServiceInstance> all = Collections.singletonList(ready);
+		assertThat(supplier(all).get().blockFirst()).isSameAs(all);
+	}
+
+	@Test
+	void keepsTheInstancesWithoutReadiness() {
+		ServiceInstance other = new DefaultServiceInstance("other", "service", "10.0.0.3", 8080, false);
+		assertThat(supplier(Arrays.asList(other, notReady)).get().blockFirst()).containsExactly(other);
+	}
+
+	@Test
+	void keepsTheServiceInServiceMode() {
+		KubernetesServicesListSupplier services = new KubernetesServicesListSupplier(
+				new MockEnvironment().withProperty(LoadBalancerClientFactory.PROPERTY_NAME, "service"), null, null) {
+
+			@Override
+			public Flux<List<ServiceInstance>> get() {
+				// the instance of a service is always ready: kube-proxy only routes to
+				// its ready endpoints
+				return Flux.just(Collections.singletonList(new KubernetesServiceInstance("uid", "service",
+						"service.default.svc.cluster.local", 80, Collections.emptyMap(), false)));
+			}
+		};
+
+		List<ServiceInstance> instances = new KubernetesReadinessServiceInstanceListSupplier(services).get()
+				.blockFirst();
+		assertThat(instances).hasSize(1);
+		assertThat(instances.get(0).getHost()).isEqualTo("service.default.svc.cluster.local");
+	}
+
+	@Test
+	void filtersReadinessBeforeTheOtherKubernetesWrappers() {
+		List<BeanPostProcessor> postProcessors = new ArrayList<>(Arrays.asList(
+				new KubernetesLoadBalancerMetricsConfiguration.MicrometerServiceInstanceListSupplierPostProcessor(
+						new StaticListableBeanFactory(Collections.singletonMap("registry", new SimpleMeterRegistry()))
+								.getBeanProvider(MeterRegistry.class)),
+				new KubernetesReadinessConfiguration.ReadinessServiceInstanceListSupplierPostProcessor(
+						new StaticListableBeanFactory().getBeanProvider(KubernetesLoadBalancerProperties.class),
+						new StaticListableBeanFactory().getBeanProvider(KubernetesDiscoveryProperties.class)),
+				new KubernetesOutlierDetectionConfiguration.OutlierEjectingServiceInstanceListSupplierPostProcessor(
+						new StaticListableBeanFactory(Collections.singletonMap("detector",
+								new KubernetesOutlierDetector(new KubernetesLoadBalancerProperties.OutlierDetection())))
+										.getBeanProvider(KubernetesOutlierDetector.class))));
+		AnnotationAwareOrderComparator.sort(postProcessors);
+
+		Object supplier = instances(Collections.singletonList(ready));
+		for (BeanPostProcessor postProcessor : postProcessors) {
+			supplier = postProcessor.postProcessAfterInitialization(supplier, "supplier");
+		}
+
+		assertThat(supplier).isInstanceOf(MicrometerKubernetesServiceInstanceListSupplier.class);
+		ServiceInstanceListSupplier outlierEjecting = ((DelegatingServiceInstanceListSupplier) supplier).getDelegate();
+		assertThat(outlierEjecting).isInstanceOf(KubernetesOutlierEjectingServiceInstanceListSupplier.class);
+		assertThat(((DelegatingServiceInstanceListSupplier) outlierEjecting).getDelegate())
+				.isInstanceOf(KubernetesReadinessServiceInstanceListSupplier.class);
+	}
+
+	private static ServiceInstanceListSupplier supplier(List<ServiceInstance> instances) {
+		return new KubernetesReadinessServiceInstanceListSupplier(instances(instances));
+	}
+
+	private static ServiceInstanceListSupplier instances(List<ServiceInstance> instances) {
+		return new ServiceInstanceListSupplier() {
+
+			@Override
+			public String getServiceId() {
+				return "service";
+			}
+
+			@Override
+			public Flux<List<ServiceInstance>> get() {
+				return Flux.just(instances);
+			}
+		};
+	}
+
+}
@@ -0,0 +1,80 @@
+/*
+ * Copyright 2013-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.kubernetes.commons.loadbalancer;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.kubernetes.commons.discovery.KubernetesServiceInstance;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class KubernetesWeightedLoadBalancerTests {
+
+	private static final long NOW = 1_000_000L;
+
+	private final KubernetesLoadBalancerProperties.Weighted properties = new KubernetesLoadBalancerProperties
+			.Weighted();
+
+	private final KubernetesWeightedLoadBalancer loadBalancer = new KubernetesWeightedLoadBalancer(null, "service",
+			properties, Clock.fixed(Instant.ofEpochMilli(NOW), ZoneOffset.UTC));
+
+	@Test
+	void instancesWithoutWeightAreNeverChosen() {
+		ServiceInstance drained = instance("10.0.0.1", 0);
+		ServiceInstance active = instance("10.0.0.2", 3);
+		List<ServiceInstance> instances = Arrays.asList(drained, active);
+		for (int i = 0; i < 100; i++) {
+			assertThat(loadBalancer.getInstanceResponse(instances).getServer()).isSameAs(active);
+		}
+	}
+
+	@Test
+	void emptyListHasNoServer() {
+		assertThat(loadBalancer.getInstanceResponse(Collections.emptyList()).hasServer()).isFalse();
+	}
+
+	@Test
+	void fullWeightWithoutSlowStart() {
+		ServiceInstance instance = instance("10.0.0.1", 4);
+		assertThat(loadBalancer.effectiveWeight(instance, NOW)).isEqualTo(4);
+	}
+
+	@Test
+	void slowStartRampsUpWeight() {
+		properties.setSlowStartWindow(Duration.ofSeconds(100));
+		properties.setMinWeightPercent(10);
+		ServiceInstance instance = instance("10.0.0.1", 10);
+
+		assertThat(loadBalancer.effectiveWeight(instance, NOW)).isEqualTo(1);
+		assertThat(loadBalancer.effectiveWeight(instance, NOW + 50_000)).isEqualTo(5);
+		assertThat(loadBalancer.effectiveWeight(instance, NOW + 100_000)).isEqualTo(10);
+	}
+
+	private static ServiceInstance instance(String host, int weight) {
+		return new KubernetesServiceInstance(host, "service", host, 8080, Collections.emptyMap(), false, weight);
+	}
+
+}
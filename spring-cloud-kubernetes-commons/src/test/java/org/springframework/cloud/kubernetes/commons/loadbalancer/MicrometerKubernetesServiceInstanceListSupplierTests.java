@@ -0,0 +1,138 @@
+/*
+ * Copyright 2013-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.kubernetes.commons.loadbalancer;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+
+import org.springframework.cloud.client.DefaultServiceInstance;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.loadbalancer.core.ServiceInstanceListSupplier;
+import org.springframework.cloud.loadbalancer.support.LoadBalancerClientFactory;
+import org.springframework.mock.env.MockEnvironment;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MicrometerKubernetesServiceInstanceListSupplierTests {
+
+	private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+	@Test
+	void recordsInstancesAndEmissions() {
+		TestServicesListSupplier delegate = new TestServicesListSupplier();
+		MicrometerKubernetesServiceInstanceListSupplier supplier = new MicrometerKubernetesServiceInstanceListSupplier(
+				delegate, registry);
+
+		supplier.get().blockLast();
+		supplier.get().blockLast();
+
+		assertThat(registry.get(MicrometerKubernetesServiceInstanceListSupplier.EMISSIONS_COUNTER)
+				.tag("service", "service").counter().count()).isEqualTo(2);
+		assertThat(registry.get(MicrometerKubernetesServiceInstanceListSupplier.INSTANCES_GAUGE).gauge().value())
+				.isEqualTo(2);
+		assertThat(registry.get(MicrometerKubernetesServiceInstanceListSupplier.API_REQUESTS_COUNTER).counter()
+				.count()).isEqualTo(2);
+		assertThat(registry.get(MicrometerKubernetesServiceInstanceListSupplier.SUPPLIER_TIMER)
+				.tag("outcome", "SUCCESS").timer().count()).isEqualTo(2);
+		assertThat(registry.get(MicrometerKubernetesServiceInstanceListSupplier.CACHE_AGE_GAUGE).gauge().value())
+				.isGreaterThanOrEqualTo(0);
+	}
+
+	@Test
+	void recordsApiErrors() {
+		TestServicesListSupplier delegate = new TestServicesListSupplier();
+		delegate.fail = true;
+		MicrometerKubernetesServiceInstanceListSupplier supplier = new MicrometerKubernetesServiceInstanceListSupplier(
+				delegate, registry);
+
+		assertThat(supplier.get().blockLast()).isEmpty();
+
+		assertThat(registry.get(MicrometerKubernetesServiceInstanceListSupplier.API_ERRORS_COUNTER)
+				.tag("exception", "IllegalStateException").counter().count()).isEqualTo(1);
+		assertThat(registry.get(MicrometerKubernetesServiceInstanceListSupplier.SUPPLIER_TIMER)
+				.tag("outcome", "ERROR").timer().count()).isEqualTo(1);
+		assertThat(registry.get(MicrometerKubernetesServiceInstanceListSupplier.CACHE_AGE_GAUGE).gauge().value())
+				.isNaN();
+	}
+
+	@Test
+	void timesTheSubscriptionRatherThanTheAssembly() {
+		ServiceInstanceListSupplier delegate = new ServiceInstanceListSupplier() {
+
+			@Override
+			public String getServiceId() {
+				return "service";
+			}
+
+			@Override
+			public Flux<List<ServiceInstance>> get() {
+				return Flux.just(Collections.<ServiceInstance>emptyList()).delayElements(Duration.ofMillis(50));
+			}
+		};
+		MicrometerKubernetesServiceInstanceListSupplier supplier = new MicrometerKubernetesServiceInstanceListSupplier(
+				delegate, registry);
+
+		Flux<List<ServiceInstance>> instances = supplier.get();
+		assertThat(registry.get(MicrometerKubernetesServiceInstanceListSupplier.SUPPLIER_TIMER)
+				.tag("outcome", "SUCCESS").timer().count()).isEqualTo(0);
+		instances.blockLast();
+
+		Timer timer = registry.get(MicrometerKubernetesServiceInstanceListSupplier.SUPPLIER_TIMER)
+				.tag("outcome", "SUCCESS").timer();
+		assertThat(timer.count()).isEqualTo(1);
+		assertThat(timer.totalTime(TimeUnit.MILLISECONDS)).isGreaterThanOrEqualTo(50);
+		// no API call is made outside of SERVICE mode
+		assertThat(registry.get(MicrometerKubernetesServiceInstanceListSupplier.API_REQUESTS_COUNTER).counter()
+				.count()).isEqualTo(0);
+		assertThat(registry.find(MicrometerKubernetesServiceInstanceListSupplier.CACHE_AGE_GAUGE).gauge()).isNull();
+	}
+
+	private static final class TestServicesListSupplier extends KubernetesServicesListSupplier {
+
+		private boolean fail;
+
+		TestServicesListSupplier() {
+			super(new MockEnvironment().withProperty(LoadBalancerClientFactory.PROPERTY_NAME, "service"), null,
+					null);
+		}
+
+		@Override
+		public Flux<List<ServiceInstance>> get() {
+			onApiRequest();
+			if (fail) {
+				onApiError(new IllegalStateException("boom"));
+				return Flux.just(Collections.emptyList());
+			}
+			onApiResponse();
+			return Flux.just(Arrays.asList(instance("10.0.0.1"), instance("10.0.0.2")));
+		}
+
+		private static ServiceInstance instance(String host) {
+			return new DefaultServiceInstance(host, "service", host, 8080, false);
+		}
+
+	}
+
+}
@@ -16,22 +16,32 @@
 
 package org.springframework.cloud.kubernetes.configuration.watcher;
 
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
 
 import io.fabric8.kubernetes.api.model.ConfigMap;
+import io.fabric8.kubernetes.api.model.ObjectMeta;
 import io.fabric8.kubernetes.client.KubernetesClient;
+import io.fabric8.kubernetes.client.Watcher;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 import reactor.core.publisher.Mono;
 
+import org.springframework.cloud.kubernetes.commons.config.CompressedConfigMapEntries;
+import org.springframework.cloud.kubernetes.commons.config.ConsumedSources;
 import org.springframework.cloud.kubernetes.commons.config.reload.ConfigReloadProperties;
 import org.springframework.cloud.kubernetes.commons.config.reload.ConfigurationUpdateStrategy;
 import org.springframework.cloud.kubernetes.fabric8.config.Fabric8ConfigMapPropertySourceLocator;
 import org.springframework.cloud.kubernetes.fabric8.config.reload.EventBasedConfigMapChangeDetector;
 import org.springframework.core.env.AbstractEnvironment;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.util.DigestUtils;
 
 /**
  * @author Ryan Baxter
@@ -45,6 +55,11 @@ public abstract class ConfigMapWatcherChangeDetector extends EventBasedConfigMap
 
 	protected ConfigurationWatcherConfigurationProperties k8SConfigurationProperties;
 
+	/**
+	 * Hash of the content of the config maps, keyed by namespace and name.
+	 */
+	private final Map<String, String> contents = new ConcurrentHashMap<>();
+
 	public ConfigMapWatcherChangeDetector(AbstractEnvironment environment, ConfigReloadProperties properties,
 			KubernetesClient kubernetesClient, ConfigurationUpdateStrategy strategy,
 			Fabric8ConfigMapPropertySourceLocator fabric8ConfigMapPropertySourceLocator,
@@ -56,6 +71,36 @@ public abstract class ConfigMapWatcherChangeDetector extends EventBasedConfigMap
 		this.k8SConfigurationProperties = k8SConfigurationProperties;
 	}
 
+	/**
+	 * Ignores the updates that do not change the content of a config map, its labels or
+	 * its annotations. The gzip-compressed files of its {@code binaryData} are compared
+	 * by their decompressed content, since compressing the same file again can give
+	 * different bytes.
+	 * @param action action of the event
+	 * @param configMap config map of the event
+	 */
+	@Override
+	protected void onEvent(Watcher.Action action, ConfigMap configMap) {
+		ObjectMeta metadata = configMap.getMetadata();
+		if (metadata != null) {
+			String key = metadata.getNamespace() + "/" + metadata.getName();
+			if (action == Watcher.Action.DELETED) {
+				contents.remove(key);
+			}
+			else {
+				String content = content(configMap);
+				if (content.equals(contents.put(key, content)) && action == Watcher.Action.MODIFIED) {
+					if (log.isDebugEnabled()) {
+						log.debug("Not publishing event. The content of ConfigMap " + metadata.getName()
+								+ " did not change");
+					}
+					return;
+				}
+			}
+		}
+		onEvent(configMap);
+	}
+
 	@Override
 	protected void onEvent(ConfigMap configMap) {
 		if (isSpringCloudKubernetesConfig(configMap)) {
@@ -75,6 +120,31 @@ public abstract class ConfigMapWatcherChangeDetector extends EventBasedConfigMap
 		}
 	}
 
+	private String content(ConfigMap configMap) {
+		StringBuilder content = new StringBuilder();
+		content.append(sorted(configMap.getMetadata().getLabels()))
+				.append(sorted(configMap.getMetadata().getAnnotations())).append(sorted(configMap.getData()));
+		if (configMap.getBinaryData() != null) {
+			new TreeMap<>(configMap.getBinaryData()).forEach((key, value) -> content.append(key).append('=')
+					.append(CompressedConfigMapEntries.isCompressed(key) ? decompressedDigest(value) : value));
+		}
+		return DigestUtils.md5DigestAsHex(content.toString().getBytes(StandardCharsets.UTF_8));
+	}
+
+	private static Map<String, String> sorted(Map<String, String> map) {
+		return map == null ? null : new TreeMap<>(map);
+	}
+
+	private String decompressedDigest(String value) {
+		try {
+			return CompressedConfigMapEntries.digest(Base64.getDecoder().decode(value), this.environment);
+		}
+		catch (RuntimeException e) {
+			// not valid gzip, or too large once decompressed, compared as it is
+			return value;
+		}
+	}
+
 	protected boolean isSpringCloudKubernetesConfig(ConfigMap configMap) {
 		if (configMap.getMetadata() == null || configMap.getMetadata().getLabels() == null) {
 			return false;
@@ -83,6 +153,20 @@ public abstract class ConfigMapWatcherChangeDetector extends EventBasedConfigMap
 				configMap.getMetadata().getLabels().getOrDefault(k8SConfigurationProperties.getConfigLabel(), "false"));
 	}
 
+	/**
+	 * The configuration watcher is not interested in its own property sources, but in
+	 * every labelled object of the namespace.
+	 */
+	@Override
+	protected ConsumedSources watchedConfigMaps() {
+		return null;
+	}
+
+	@Override
+	protected boolean isConsumed(ConfigMap configMap) {
+		return true;
+	}
+
 	protected abstract Mono<Void> triggerRefresh(ConfigMap configMap);
 
 }
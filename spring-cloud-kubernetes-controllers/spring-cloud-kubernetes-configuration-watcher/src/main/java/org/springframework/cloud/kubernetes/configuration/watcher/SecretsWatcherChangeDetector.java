@@ -26,6 +26,7 @@ import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 import reactor.core.publisher.Mono;
 
+import org.springframework.cloud.kubernetes.commons.config.ConsumedSources;
 import org.springframework.cloud.kubernetes.commons.config.reload.ConfigReloadProperties;
 import org.springframework.cloud.kubernetes.commons.config.reload.ConfigurationUpdateStrategy;
 import org.springframework.cloud.kubernetes.fabric8.config.Fabric8SecretsPropertySourceLocator;
@@ -64,6 +65,20 @@ public abstract class SecretsWatcherChangeDetector extends EventBasedSecretsChan
 				secret.getMetadata().getLabels().getOrDefault(k8SConfigurationProperties.getSecretLabel(), "false"));
 	}
 
+	/**
+	 * The configuration watcher is not interested in its own property sources, but in
+	 * every labelled object of the namespace.
+	 */
+	@Override
+	protected ConsumedSources watchedSecrets() {
+		return null;
+	}
+
+	@Override
+	protected boolean isConsumed(Secret secret) {
+		return true;
+	}
+
 	protected abstract Mono<Void> triggerRefresh(Secret secret);
 
 	@Override
@@ -16,21 +16,33 @@
 
 package org.springframework.cloud.kubernetes.fabric8.config;
 
+import java.util.ArrayList;
+import java.util.Base64;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.Supplier;
 
 import io.fabric8.kubernetes.api.model.ConfigMap;
+import io.fabric8.kubernetes.api.model.LabelSelectorBuilder;
 import io.fabric8.kubernetes.client.KubernetesClient;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 
+import org.springframework.cloud.kubernetes.commons.config.CompressedConfigMapEntries;
 import org.springframework.cloud.kubernetes.commons.config.ConfigMapPropertySource;
+import org.springframework.cloud.kubernetes.commons.config.ConfigUtils;
+import org.springframework.cloud.kubernetes.commons.config.ResourceVersionedPropertySource;
 import org.springframework.core.env.Environment;
 import org.springframework.core.env.MapPropertySource;
 import org.springframework.util.StringUtils;
 
 import static org.springframework.cloud.kubernetes.fabric8.config.Fabric8ConfigUtils.getNamespace;
+import static org.springframework.cloud.kubernetes.fabric8.config.Fabric8ConfigUtils.resourceVersion;
 
 /**
  * A {@link MapPropertySource} that uses Kubernetes config maps.
@@ -49,19 +61,117 @@ public class Fabric8ConfigMapPropertySource extends ConfigMapPropertySource {
 
 	public Fabric8ConfigMapPropertySource(KubernetesClient client, String applicationName, String namespace,
 			Environment environment) {
-		super(getName(applicationName, getNamespace(client, namespace)),
-				getData(client, applicationName, getNamespace(client, namespace), environment));
+		this(client, applicationName, getNamespace(client, namespace), environment, null, new HashMap<>());
+	}
+
+	// reads the config maps from the watch cache, when there is one
+	Fabric8ConfigMapPropertySource(KubernetesClient client, String applicationName, String namespace,
+			Environment environment, Fabric8WatchCache<ConfigMap> watchCache) {
+		this(client, applicationName, getNamespace(client, namespace), environment, watchCache, new HashMap<>());
+	}
+
+	// getData records the resourceVersions of the config maps while reading them
+	private Fabric8ConfigMapPropertySource(KubernetesClient client, String applicationName, String namespace,
+			Environment environment, Fabric8WatchCache<ConfigMap> watchCache, Map<String, String> resourceVersions) {
+		super(getName(applicationName, namespace),
+				getData(client, applicationName, namespace, environment, watchCache, resourceVersions),
+				resourceVersions);
+	}
+
+	// used to restore snapshots
+	Fabric8ConfigMapPropertySource(String name, Map<String, Object> source) {
+		super(name, source);
+	}
+
+	/**
+	 * Reads the config maps selected by several sets of labels with a single list
+	 * request, or with one list request per set of labels when they have no label in
+	 * common. The config maps selected by each set of labels are merged in the order of
+	 * their names.
+	 * @param client the Kubernetes client
+	 * @param selectors labels of each property source
+	 * @param namespace namespace of the config maps
+	 * @param environment environment the property sources are read for
+	 * @return the property source of each set of labels, in the same order
+	 */
+	static List<Fabric8ConfigMapPropertySource> selectedByLabels(KubernetesClient client,
+			List<Map<String, String>> selectors, String namespace, Environment environment) {
+		namespace = getNamespace(client, namespace);
+		List<ConfigMap> configMaps;
+		try {
+			configMaps = listByLabels(client, selectors, namespace);
+		}
+		catch (Exception e) {
+			LOG.warn("Can't read configMaps with labels: " + selectors + " in namespace:[" + namespace
+					+ "]. Ignoring.", e);
+			configMaps = Collections.emptyList();
+		}
+
+		List<Fabric8ConfigMapPropertySource> propertySources = new ArrayList<>(selectors.size());
+		for (Map<String, String> selector : selectors) {
+			Map<String, Object> result = new HashMap<>();
+			configMaps.stream().filter(map -> ConfigUtils.matchesLabels(map.getMetadata().getLabels(), selector))
+					.forEach(map -> result.putAll(processAllEntries(map, environment)));
+			// the set of config maps matching the labels can change without any of the
+			// config maps read here changing, so no resourceVersions are recorded
+			propertySources.add(new Fabric8ConfigMapPropertySource(getName(selector, namespace), result));
+		}
+		return propertySources;
+	}
+
+	// the config maps matching any of the selectors, sorted by name
+	private static List<ConfigMap> listByLabels(KubernetesClient client, List<Map<String, String>> selectors,
+			String namespace) {
+		Map<String, ConfigMap> byName = new TreeMap<>();
+		// list request filtered by the labels all the selectors have in common, the
+		// config maps matching each selector are told apart here
+		Map<String, Set<String>> commonLabels = ConfigUtils.commonLabelValues(selectors);
+		if (commonLabels.isEmpty()) {
+			// rather than listing the whole namespace, one list request per selector, a
+			// config map matching several of them is kept once
+			for (Map<String, String> selector : new LinkedHashSet<>(selectors)) {
+				client.configMaps().inNamespace(namespace).withLabels(selector).list().getItems()
+						.forEach(map -> byName.put(map.getMetadata().getName(), map));
+			}
+			return new ArrayList<>(byName.values());
+		}
+		LabelSelectorBuilder labelSelector = new LabelSelectorBuilder();
+		commonLabels.forEach((key, values) -> {
+			if (values.size() == 1) {
+				labelSelector.addToMatchLabels(key, values.iterator().next());
+			}
+			else {
+				labelSelector.addNewMatchExpression().withKey(key).withOperator("In")
+						.withValues(new ArrayList<>(values)).endMatchExpression();
+			}
+		});
+		client.configMaps().inNamespace(namespace).withLabelSelector(labelSelector.build()).list().getItems()
+				.forEach(map -> byName.put(map.getMetadata().getName(), map));
+		return new ArrayList<>(byName.values());
+	}
+
+	private static Map<String, Object> processAllEntries(ConfigMap map, Environment environment) {
+		Map<String, byte[]> binaryData = new HashMap<>();
+		if (map.getBinaryData() != null) {
+			map.getBinaryData().forEach((key, content) -> {
+				if (CompressedConfigMapEntries.isCompressed(key)) {
+					binaryData.put(key, Base64.getDecoder().decode(content));
+				}
+			});
+		}
+		return processAllEntries(map.getData(), binaryData, environment);
 	}
 
 	private static Map<String, Object> getData(KubernetesClient client, String applicationName, String namespace,
-			Environment environment) {
+			Environment environment, Fabric8WatchCache<ConfigMap> watchCache, Map<String, String> resourceVersions) {
 		try {
 			Map<String, Object> result = new HashMap<>();
-			ConfigMap map = !StringUtils.hasLength(namespace) ? client.configMaps().withName(applicationName).get()
-					: client.configMaps().inNamespace(namespace).withName(applicationName).get();
+			ConfigMap map = getConfigMap(client, applicationName, namespace, watchCache);
+			resourceVersions.put(ResourceVersionedPropertySource.key(namespace, applicationName),
+					resourceVersion(map));
 
 			if (map != null) {
-				result.putAll(processAllEntries(map.getData(), environment));
+				result.putAll(processAllEntries(map, environment));
 			}
 
 			if (environment != null) {
@@ -69,12 +179,12 @@ public class Fabric8ConfigMapPropertySource extends ConfigMapPropertySource {
 
 					String mapNameWithProfile = applicationName + "-" + activeProfile;
 
-					ConfigMap mapWithProfile = !StringUtils.hasLength(namespace)
-							? client.configMaps().withName(mapNameWithProfile).get()
-							: client.configMaps().inNamespace(namespace).withName(mapNameWithProfile).get();
+					ConfigMap mapWithProfile = getConfigMap(client, mapNameWithProfile, namespace, watchCache);
+					resourceVersions.put(ResourceVersionedPropertySource.key(namespace, mapNameWithProfile),
+							resourceVersion(mapWithProfile));
 
 					if (mapWithProfile != null) {
-						result.putAll(processAllEntries(mapWithProfile.getData(), environment));
+						result.putAll(processAllEntries(mapWithProfile, environment));
 					}
 
 				}
@@ -84,6 +194,7 @@ public class Fabric8ConfigMapPropertySource extends ConfigMapPropertySource {
 
 		}
 		catch (Exception e) {
+			resourceVersions.clear();
 			LOG.warn("Can't read configMap with name: [" + applicationName + "] in namespace:[" + namespace
 					+ "]. Ignoring.", e);
 		}
@@ -91,4 +202,12 @@ public class Fabric8ConfigMapPropertySource extends ConfigMapPropertySource {
 		return Collections.emptyMap();
 	}
 
+	private static ConfigMap getConfigMap(KubernetesClient client, String name, String namespace,
+			Fabric8WatchCache<ConfigMap> watchCache) {
+		Supplier<ConfigMap> reader = () -> !StringUtils.hasLength(namespace)
+				? client.configMaps().withName(name).get()
+				: client.configMaps().inNamespace(namespace).withName(name).get();
+		return watchCache == null ? reader.get() : watchCache.get(namespace, name, reader);
+	}
+
 }
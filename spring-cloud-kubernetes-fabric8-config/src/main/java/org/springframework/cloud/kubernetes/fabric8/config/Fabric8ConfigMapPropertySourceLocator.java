@@ -16,12 +16,21 @@
 
 package org.springframework.cloud.kubernetes.fabric8.config;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import io.fabric8.kubernetes.api.model.ConfigMap;
 import io.fabric8.kubernetes.client.KubernetesClient;
 
 import org.springframework.cloud.bootstrap.config.PropertySourceLocator;
 import org.springframework.cloud.kubernetes.commons.config.ConfigMapConfigProperties;
 import org.springframework.cloud.kubernetes.commons.config.ConfigMapConfigProperties.NormalizedSource;
 import org.springframework.cloud.kubernetes.commons.config.ConfigMapPropertySourceLocator;
+import org.springframework.cloud.kubernetes.commons.config.ResourceVersionReader;
+import org.springframework.cloud.kubernetes.commons.config.ResourceVersionedPropertySource;
 import org.springframework.core.annotation.Order;
 import org.springframework.core.env.ConfigurableEnvironment;
 import org.springframework.core.env.MapPropertySource;
@@ -35,7 +44,8 @@ import static org.springframework.cloud.kubernetes.fabric8.config.Fabric8ConfigU
  * @author Michael Moudatsos
  */
 @Order(0)
-public class Fabric8ConfigMapPropertySourceLocator extends ConfigMapPropertySourceLocator {
+public class Fabric8ConfigMapPropertySourceLocator extends ConfigMapPropertySourceLocator
+		implements ResourceVersionReader {
 
 	private final KubernetesClient client;
 
@@ -49,7 +59,34 @@ public class Fabric8ConfigMapPropertySourceLocator extends ConfigMapPropertySour
 			String configurationTarget, ConfigurableEnvironment environment) {
 		String namespaceName = getApplicationNamespace(this.client, normalizedSource.getNamespace(),
 				configurationTarget);
-		return new Fabric8ConfigMapPropertySource(this.client, applicationName, namespaceName, environment);
+		return new Fabric8ConfigMapPropertySource(this.client, applicationName, namespaceName, environment,
+				Fabric8WatchCache.registered(ConfigMap.class, this.client));
+	}
+
+	@Override
+	protected List<MapPropertySource> getMapPropertySources(List<NormalizedSource> normalizedSources,
+			String configurationTarget, ConfigurableEnvironment environment) {
+		String namespaceName = getApplicationNamespace(this.client, normalizedSources.get(0).getNamespace(),
+				configurationTarget);
+		List<Map<String, String>> selectors = normalizedSources.stream().map(NormalizedSource::getLabels)
+				.collect(Collectors.toList());
+		return new ArrayList<>(
+				Fabric8ConfigMapPropertySource.selectedByLabels(this.client, selectors, namespaceName, environment));
+	}
+
+	@Override
+	protected MapPropertySource restoreMapPropertySource(String name, Map<String, Object> source) {
+		return new Fabric8ConfigMapPropertySource(name, source);
+	}
+
+	@Override
+	public Map<String, String> readResourceVersions(Collection<String> keys) {
+		return Fabric8ConfigUtils.readResourceVersions(keys, key -> {
+			String namespace = ResourceVersionedPropertySource.namespace(key);
+			String name = ResourceVersionedPropertySource.name(key);
+			return namespace == null ? this.client.configMaps().withName(name).get()
+					: this.client.configMaps().inNamespace(namespace).withName(name).get();
+		});
 	}
 
 }
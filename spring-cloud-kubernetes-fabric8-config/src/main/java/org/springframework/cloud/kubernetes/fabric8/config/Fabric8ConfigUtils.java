@@ -16,10 +16,19 @@
 
 package org.springframework.cloud.kubernetes.fabric8.config;
 
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+import io.fabric8.kubernetes.api.model.HasMetadata;
 import io.fabric8.kubernetes.client.KubernetesClient;
+import io.fabric8.kubernetes.client.KubernetesClientException;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 
+import org.springframework.cloud.kubernetes.commons.config.ResourceVersionedPropertySource;
+import org.springframework.cloud.kubernetes.commons.config.reload.ConfigurationPollingCycle;
 import org.springframework.util.StringUtils;
 
 /**
@@ -49,4 +58,31 @@ public final class Fabric8ConfigUtils {
 		return !StringUtils.hasLength(namespace) ? client.getNamespace() : namespace;
 	}
 
+	static String resourceVersion(HasMetadata resource) {
+		if (resource == null) {
+			return ResourceVersionedPropertySource.ABSENT;
+		}
+		return resource.getMetadata() == null ? null : resource.getMetadata().getResourceVersion();
+	}
+
+	static Map<String, String> readResourceVersions(Collection<String> keys,
+			Function<String, ? extends HasMetadata> reader) {
+		Map<String, String> resourceVersions = new LinkedHashMap<>();
+		keys.forEach(key -> resourceVersions.put(key, resourceVersion(reader.apply(key))));
+		return resourceVersions;
+	}
+
+	/**
+	 * @param failure failure of a request to the Kubernetes API
+	 * @return {@code true} if the API server answered with 429 or 5xx
+	 */
+	public static boolean isThrottled(Throwable failure) {
+		for (Throwable cause = failure; cause != null; cause = cause.getCause()) {
+			if (cause instanceof KubernetesClientException) {
+				return ConfigurationPollingCycle.isThrottled(((KubernetesClientException) cause).getCode());
+			}
+		}
+		return false;
+	}
+
 }
@@ -18,16 +18,20 @@ package org.springframework.cloud.kubernetes.fabric8.config;
 
 import java.util.HashMap;
 import java.util.Map;
+import java.util.function.Supplier;
 
 import io.fabric8.kubernetes.api.model.Secret;
 import io.fabric8.kubernetes.client.KubernetesClient;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 
+import org.springframework.cloud.kubernetes.commons.config.ResourceVersionedPropertySource;
 import org.springframework.cloud.kubernetes.commons.config.SecretsPropertySource;
 import org.springframework.core.env.Environment;
 import org.springframework.util.StringUtils;
 
+import static org.springframework.cloud.kubernetes.fabric8.config.Fabric8ConfigUtils.resourceVersion;
+
 /**
  * Kubernetes property source for secrets.
  *
@@ -42,26 +46,45 @@ public class Fabric8SecretsPropertySource extends SecretsPropertySource {
 
 	public Fabric8SecretsPropertySource(KubernetesClient client, Environment env, String name, String namespace,
 			Map<String, String> labels) {
-		super(getSourceName(name, namespace), getSourceData(client, env, name, namespace, labels));
+		this(client, env, name, namespace, labels, null, new HashMap<>());
+	}
+
+	// reads the secret from the watch cache, when there is one
+	Fabric8SecretsPropertySource(KubernetesClient client, Environment env, String name, String namespace,
+			Map<String, String> labels, Fabric8WatchCache<Secret> watchCache) {
+		this(client, env, name, namespace, labels, watchCache, new HashMap<>());
+	}
+
+	// getSourceData records the resourceVersion of the secret while reading it
+	private Fabric8SecretsPropertySource(KubernetesClient client, Environment env, String name, String namespace,
+			Map<String, String> labels, Fabric8WatchCache<Secret> watchCache, Map<String, String> resourceVersions) {
+		super(getSourceName(name, namespace),
+				getSourceData(client, env, name, namespace, labels, watchCache, resourceVersions), resourceVersions);
+	}
+
+	// used to restore snapshots
+	Fabric8SecretsPropertySource(String name, Map<String, Object> source) {
+		super(name, source);
 	}
 
 	private static Map<String, Object> getSourceData(KubernetesClient client, Environment env, String name,
-			String namespace, Map<String, String> labels) {
+			String namespace, Map<String, String> labels, Fabric8WatchCache<Secret> watchCache,
+			Map<String, String> resourceVersions) {
 		Map<String, Object> result = new HashMap<>();
 
 		try {
 			// Read for secrets api (named)
-			Secret secret;
-			if (StringUtils.isEmpty(namespace)) {
-				secret = client.secrets().withName(name).get();
-			}
-			else {
-				secret = client.secrets().inNamespace(namespace).withName(name).get();
-			}
+			Supplier<Secret> reader = () -> StringUtils.isEmpty(namespace) ? client.secrets().withName(name).get()
+					: client.secrets().inNamespace(namespace).withName(name).get();
+			Secret secret = watchCache == null ? reader.get() : watchCache.get(namespace, name, reader);
 			putAll(secret, result);
+			resourceVersions.put(ResourceVersionedPropertySource.key(namespace, name), resourceVersion(secret));
 
 			// Read for secrets api (label)
 			if (!labels.isEmpty()) {
+				// the set of secrets matching the labels can change without any of the
+				// secrets read here changing
+				resourceVersions.clear();
 				if (StringUtils.isEmpty(namespace)) {
 					client.secrets().withLabels(labels).list().getItems().forEach(s -> putAll(s, result));
 				}
@@ -72,6 +95,7 @@ public class Fabric8SecretsPropertySource extends SecretsPropertySource {
 			}
 		}
 		catch (Exception e) {
+			resourceVersions.clear();
 			LOG.warn("Can't read secret with name: [" + name + "] or labels [" + labels + "] in namespace:[" + namespace
 					+ "] (cause: " + e.getMessage() + "). Ignoring");
 		}
@@ -16,9 +16,15 @@
 
 package org.springframework.cloud.kubernetes.fabric8.config;
 
+import java.util.Collection;
+import java.util.Map;
+
+import io.fabric8.kubernetes.api.model.Secret;
 import io.fabric8.kubernetes.client.KubernetesClient;
 
 import org.springframework.cloud.bootstrap.config.PropertySourceLocator;
+import org.springframework.cloud.kubernetes.commons.config.ResourceVersionReader;
+import org.springframework.cloud.kubernetes.commons.config.ResourceVersionedPropertySource;
 import org.springframework.cloud.kubernetes.commons.config.SecretsConfigProperties;
 import org.springframework.cloud.kubernetes.commons.config.SecretsPropertySourceLocator;
 import org.springframework.core.annotation.Order;
@@ -34,7 +40,7 @@ import static org.springframework.cloud.kubernetes.commons.config.ConfigUtils.ge
  * @author Haytham Mohamed
  */
 @Order(1)
-public class Fabric8SecretsPropertySourceLocator extends SecretsPropertySourceLocator {
+public class Fabric8SecretsPropertySourceLocator extends SecretsPropertySourceLocator implements ResourceVersionReader {
 
 	private final KubernetesClient client;
 
@@ -49,7 +55,22 @@ public class Fabric8SecretsPropertySourceLocator extends SecretsPropertySourceLo
 		return new Fabric8SecretsPropertySource(this.client, environment,
 				getApplicationName(environment, normalizedSource.getName(), configurationTarget), Fabric8ConfigUtils
 						.getApplicationNamespace(this.client, normalizedSource.getNamespace(), configurationTarget),
-				normalizedSource.getLabels());
+				normalizedSource.getLabels(), Fabric8WatchCache.registered(Secret.class, this.client));
+	}
+
+	@Override
+	protected MapPropertySource restorePropertySource(String name, Map<String, Object> source) {
+		return new Fabric8SecretsPropertySource(name, source);
+	}
+
+	@Override
+	public Map<String, String> readResourceVersions(Collection<String> keys) {
+		return Fabric8ConfigUtils.readResourceVersions(keys, key -> {
+			String namespace = ResourceVersionedPropertySource.namespace(key);
+			String name = ResourceVersionedPropertySource.name(key);
+			return namespace == null ? this.client.secrets().withName(name).get()
+					: this.client.secrets().inNamespace(namespace).withName(name).get();
+		});
 	}
 
 }
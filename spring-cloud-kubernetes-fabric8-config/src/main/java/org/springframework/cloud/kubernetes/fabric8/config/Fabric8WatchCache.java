@@ -0,0 +1,137 @@
+/*
+ * Copyright 2013-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.kubernetes.fabric8.config;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+import io.fabric8.kubernetes.api.model.HasMetadata;
+import io.fabric8.kubernetes.api.model.ObjectMeta;
+import io.fabric8.kubernetes.client.KubernetesClient;
+import io.fabric8.kubernetes.client.Watcher;
+
+import org.springframework.cloud.kubernetes.commons.config.ResourceVersionedPropertySource;
+import org.springframework.util.StringUtils;
+
+/**
+ * The latest version of the objects delivered by the watches of an event based change
+ * detector. The property source locators read the objects from it instead of the
+ * Kubernetes API, so that reading the property sources again after an event does not
+ * cost any request and reads the version of the object the event was for.
+ *
+ * Objects that were never delivered are read from the API once and kept until a watch
+ * updates them. The cache must be cleared when a watch stops, since it can no longer be
+ * trusted to be up to date.
+ *
+ * The property source locators are beans of the bootstrap context, which is created
+ * again when the application context is refreshed. A cache is therefore not handed to
+ * them but registered for the API server of a client, and the locators look it up every
+ * time they read the property sources.
+ *
+ * @param <T> type of the objects
+ */
+public class Fabric8WatchCache<T extends HasMetadata> {
+
+	private static final Map<String, Fabric8WatchCache<?>> REGISTERED = new ConcurrentHashMap<>();
+
+	private final Map<String, Optional<T>> objects = new ConcurrentHashMap<>();
+
+	/**
+	 * @param type type of the objects
+	 * @param client client of the API server the objects are read from
+	 * @param <T> type of the objects
+	 * @return the cache registered for the objects of the API server, {@code null} if
+	 * they are read from the API
+	 */
+	@SuppressWarnings("unchecked")
+	public static <T extends HasMetadata> Fabric8WatchCache<T> registered(Class<T> type, KubernetesClient client) {
+		return (Fabric8WatchCache<T>) REGISTERED.get(key(type, client));
+	}
+
+	private static String key(Class<?> type, KubernetesClient client) {
+		return type.getName() + "@" + client.getMasterUrl();
+	}
+
+	/**
+	 * Makes the objects of the API server of the client be read from this cache by every
+	 * property source locator, including the ones of the bootstrap contexts created later.
+	 * @param type type of the objects
+	 * @param client client of the API server the objects are read from
+	 */
+	public void register(Class<T> type, KubernetesClient client) {
+		REGISTERED.put(key(type, client), this);
+	}
+
+	/**
+	 * Makes the objects be read from the API again, unless another cache was registered
+	 * since.
+	 * @param type type of the objects
+	 * @param client client of the API server the objects are read from
+	 */
+	public void unregister(Class<T> type, KubernetesClient client) {
+		REGISTERED.remove(key(type, client), this);
+	}
+
+	/**
+	 * @param namespace namespace of the object
+	 * @param name name of the object
+	 * @param reader reads the object from the Kubernetes API when it is not cached
+	 * @return the object, {@code null} if it does not exist
+	 */
+	public T get(String namespace, String name, Supplier<T> reader) {
+		if (!StringUtils.hasLength(namespace)) {
+			// objects are cached by the namespace they are in
+			return reader.get();
+		}
+		String key = ResourceVersionedPropertySource.key(namespace, name);
+		Optional<T> object = this.objects.get(key);
+		if (object == null) {
+			object = Optional.ofNullable(reader.get());
+			// a watch event received in the meantime is more recent than what was read
+			Optional<T> delivered = this.objects.putIfAbsent(key, object);
+			if (delivered != null) {
+				object = delivered;
+			}
+		}
+		return object.orElse(null);
+	}
+
+	/**
+	 * Records the object of a watch event.
+	 * @param action action of the event
+	 * @param object object of the event
+	 */
+	public void update(Watcher.Action action, T object) {
+		ObjectMeta metadata = object.getMetadata();
+		if (metadata == null || action == Watcher.Action.ERROR) {
+			return;
+		}
+		String key = ResourceVersionedPropertySource.key(metadata.getNamespace(), metadata.getName());
+		this.objects.put(key, action == Watcher.Action.DELETED ? Optional.empty() : Optional.of(object));
+	}
+
+	public void clear() {
+		this.objects.clear();
+	}
+
+	int size() {
+		return this.objects.size();
+	}
+
+}
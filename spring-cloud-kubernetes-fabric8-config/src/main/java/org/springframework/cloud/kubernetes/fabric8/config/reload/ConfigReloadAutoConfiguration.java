@@ -16,6 +16,8 @@
 
 package org.springframework.cloud.kubernetes.fabric8.config.reload;
 
+import java.net.InetAddress;
+import java.net.UnknownHostException;
 import java.util.concurrent.ThreadLocalRandom;
 
 import io.fabric8.kubernetes.client.KubernetesClient;
@@ -37,13 +39,18 @@ import org.springframework.cloud.context.restart.RestartEndpoint;
 import org.springframework.cloud.kubernetes.commons.config.ConditionalOnKubernetesAndConfigEnabled;
 import org.springframework.cloud.kubernetes.commons.config.reload.ConfigReloadProperties;
 import org.springframework.cloud.kubernetes.commons.config.reload.ConfigurationChangeDetector;
+import org.springframework.cloud.kubernetes.commons.config.reload.ConfigurationPollingCycle;
 import org.springframework.cloud.kubernetes.commons.config.reload.ConfigurationUpdateStrategy;
 import org.springframework.cloud.kubernetes.commons.config.reload.PollingConfigMapChangeDetector;
 import org.springframework.cloud.kubernetes.commons.config.reload.PollingSecretsChangeDetector;
+import org.springframework.cloud.kubernetes.commons.config.reload.PropertySourceDeltaRefresher;
+import org.springframework.cloud.kubernetes.commons.config.reload.RestartSemaphore;
+import org.springframework.cloud.kubernetes.commons.config.reload.condition.CoordinatedRestarts;
 import org.springframework.cloud.kubernetes.commons.config.reload.condition.EventReloadDetectionMode;
 import org.springframework.cloud.kubernetes.commons.config.reload.condition.PollingReloadDetectionMode;
 import org.springframework.cloud.kubernetes.fabric8.config.Fabric8ConfigMapPropertySource;
 import org.springframework.cloud.kubernetes.fabric8.config.Fabric8ConfigMapPropertySourceLocator;
+import org.springframework.cloud.kubernetes.fabric8.config.Fabric8ConfigUtils;
 import org.springframework.cloud.kubernetes.fabric8.config.Fabric8SecretsPropertySource;
 import org.springframework.cloud.kubernetes.fabric8.config.Fabric8SecretsPropertySourceLocator;
 import org.springframework.context.ConfigurableApplicationContext;
@@ -80,6 +87,37 @@ public class ConfigReloadAutoConfiguration {
 		@Autowired
 		private KubernetesClient kubernetesClient;
 
+		/**
+		 * @param properties config reload properties
+		 * @param taskScheduler task scheduler the restart permit is released on
+		 * @return limits the number of replicas restarting at the same time.
+		 * @throws UnknownHostException if the name of the pod cannot be read
+		 */
+		@Bean
+		@ConditionalOnMissingBean
+		@Conditional(CoordinatedRestarts.class)
+		public RestartSemaphore restartSemaphore(ConfigReloadProperties properties,
+				TaskSchedulerWrapper taskScheduler) throws UnknownHostException {
+			String name = RestartSemaphore.getName(properties,
+					this.environment.getProperty("spring.application.name", "application"));
+			return new Fabric8RestartSemaphore(InetAddress.getLocalHost().getHostName(), name, properties,
+					taskScheduler.getTaskScheduler(), this.kubernetesClient);
+		}
+
+		/**
+		 * @param properties config reload properties
+		 * @param taskScheduler task scheduler the polls run on
+		 * @return runs the polls of the config maps and secrets in a single cycle.
+		 */
+		@Bean
+		@ConditionalOnMissingBean
+		@Conditional(PollingReloadDetectionMode.class)
+		public ConfigurationPollingCycle configurationPollingCycle(ConfigReloadProperties properties,
+				TaskSchedulerWrapper taskScheduler) {
+			return new ConfigurationPollingCycle(taskScheduler.getTaskScheduler(), properties,
+					Fabric8ConfigUtils::isThrottled);
+		}
+
 		/**
 		 * Polling configMap ConfigurationChangeDetector.
 		 * @param properties config reload properties
@@ -93,11 +131,10 @@ public class ConfigReloadAutoConfiguration {
 		public ConfigurationChangeDetector configMapPropertyChangePollingWatcher(ConfigReloadProperties properties,
 				ConfigurationUpdateStrategy strategy,
 				Fabric8ConfigMapPropertySourceLocator fabric8ConfigMapPropertySourceLocator,
-				TaskSchedulerWrapper taskSchedulerWrapper) {
+				ConfigurationPollingCycle pollingCycle) {
 
 			return new PollingConfigMapChangeDetector(this.environment, properties, strategy,
-					Fabric8ConfigMapPropertySource.class, fabric8ConfigMapPropertySourceLocator,
-					taskSchedulerWrapper.getTaskScheduler());
+					Fabric8ConfigMapPropertySource.class, fabric8ConfigMapPropertySourceLocator, pollingCycle);
 		}
 
 		/**
@@ -113,11 +150,10 @@ public class ConfigReloadAutoConfiguration {
 		public ConfigurationChangeDetector secretsPropertyChangePollingWatcher(ConfigReloadProperties properties,
 				ConfigurationUpdateStrategy strategy,
 				Fabric8SecretsPropertySourceLocator fabric8SecretsPropertySourceLocator,
-				TaskSchedulerWrapper taskScheduler) {
+				ConfigurationPollingCycle pollingCycle) {
 
 			return new PollingSecretsChangeDetector(this.environment, properties, strategy,
-					Fabric8SecretsPropertySource.class, fabric8SecretsPropertySourceLocator,
-					taskScheduler.getTaskScheduler());
+					Fabric8SecretsPropertySource.class, fabric8SecretsPropertySourceLocator, pollingCycle);
 		}
 
 		/**
@@ -177,6 +213,9 @@ public class ConfigReloadAutoConfiguration {
 				});
 			case REFRESH:
 				return new ConfigurationUpdateStrategy(properties.getStrategy().name(), refresher::refresh);
+			case REFRESH_CHANGED_KEYS:
+				return new ConfigurationUpdateStrategy(properties.getStrategy().name(),
+						new PropertySourceDeltaRefresher(ctx, refresher)::refresh);
 			case SHUTDOWN:
 				return new ConfigurationUpdateStrategy(properties.getStrategy().name(), () -> {
 					wait(properties);
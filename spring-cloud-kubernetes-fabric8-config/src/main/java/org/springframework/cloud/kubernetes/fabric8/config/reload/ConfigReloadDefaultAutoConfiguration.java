@@ -28,6 +28,7 @@ import org.springframework.boot.context.properties.EnableConfigurationProperties
 import org.springframework.cloud.commons.util.TaskSchedulerWrapper;
 import org.springframework.cloud.kubernetes.commons.config.reload.ConfigReloadProperties;
 import org.springframework.cloud.kubernetes.commons.config.reload.ConfigurationChangeDetector;
+import org.springframework.cloud.kubernetes.commons.config.reload.ConfigurationPollingCycle;
 import org.springframework.cloud.kubernetes.commons.config.reload.ConfigurationUpdateStrategy;
 import org.springframework.cloud.kubernetes.commons.config.reload.PollingConfigMapChangeDetector;
 import org.springframework.cloud.kubernetes.commons.config.reload.PollingSecretsChangeDetector;
@@ -35,6 +36,7 @@ import org.springframework.cloud.kubernetes.commons.config.reload.condition.Even
 import org.springframework.cloud.kubernetes.commons.config.reload.condition.PollingReloadDetectionMode;
 import org.springframework.cloud.kubernetes.fabric8.config.Fabric8ConfigMapPropertySource;
 import org.springframework.cloud.kubernetes.fabric8.config.Fabric8ConfigMapPropertySourceLocator;
+import org.springframework.cloud.kubernetes.fabric8.config.Fabric8ConfigUtils;
 import org.springframework.cloud.kubernetes.fabric8.config.Fabric8SecretsPropertySource;
 import org.springframework.cloud.kubernetes.fabric8.config.Fabric8SecretsPropertySourceLocator;
 import org.springframework.context.ConfigurableApplicationContext;
@@ -80,6 +82,20 @@ public class ConfigReloadDefaultAutoConfiguration {
 			}
 		}
 
+		/**
+		 * @param properties config reload properties
+		 * @param taskScheduler task scheduler the polls run on
+		 * @return runs the polls of the config maps and secrets in a single cycle.
+		 */
+		@Bean
+		@ConditionalOnMissingBean
+		@Conditional(PollingReloadDetectionMode.class)
+		public ConfigurationPollingCycle configurationPollingCycle(ConfigReloadProperties properties,
+				TaskSchedulerWrapper taskScheduler) {
+			return new ConfigurationPollingCycle(taskScheduler.getTaskScheduler(), properties,
+					Fabric8ConfigUtils::isThrottled);
+		}
+
 		/**
 		 * Polling configMap ConfigurationChangeDetector.
 		 * @param properties config reload properties
@@ -93,11 +109,10 @@ public class ConfigReloadDefaultAutoConfiguration {
 		public ConfigurationChangeDetector configMapPropertyChangePollingWatcher(ConfigReloadProperties properties,
 				ConfigurationUpdateStrategy strategy,
 				Fabric8ConfigMapPropertySourceLocator fabric8ConfigMapPropertySourceLocator,
-				TaskSchedulerWrapper taskSchedulerWrapper) {
+				ConfigurationPollingCycle pollingCycle) {
 
 			return new PollingConfigMapChangeDetector(this.environment, properties, strategy,
-					Fabric8ConfigMapPropertySource.class, fabric8ConfigMapPropertySourceLocator,
-					taskSchedulerWrapper.getTaskScheduler());
+					Fabric8ConfigMapPropertySource.class, fabric8ConfigMapPropertySourceLocator, pollingCycle);
 		}
 
 		/**
@@ -113,11 +128,10 @@ public class ConfigReloadDefaultAutoConfiguration {
 		public ConfigurationChangeDetector secretsPropertyChangePollingWatcher(ConfigReloadProperties properties,
 				ConfigurationUpdateStrategy strategy,
 				Fabric8SecretsPropertySourceLocator fabric8SecretsPropertySourceLocator,
-				TaskSchedulerWrapper taskScheduler) {
+				ConfigurationPollingCycle pollingCycle) {
 
 			return new PollingSecretsChangeDetector(this.environment, properties, strategy,
-					Fabric8SecretsPropertySource.class, fabric8SecretsPropertySourceLocator,
-					taskScheduler.getTaskScheduler());
+					Fabric8SecretsPropertySource.class, fabric8SecretsPropertySourceLocator, pollingCycle);
 		}
 
 		/**
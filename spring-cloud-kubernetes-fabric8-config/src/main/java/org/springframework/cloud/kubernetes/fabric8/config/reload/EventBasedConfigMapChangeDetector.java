@@ -17,22 +17,28 @@
 package org.springframework.cloud.kubernetes.fabric8.config.reload;
 
 import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 import javax.annotation.PostConstruct;
 import javax.annotation.PreDestroy;
 
 import io.fabric8.kubernetes.api.model.ConfigMap;
+import io.fabric8.kubernetes.api.model.ObjectMeta;
 import io.fabric8.kubernetes.client.KubernetesClient;
 import io.fabric8.kubernetes.client.KubernetesClientException;
 import io.fabric8.kubernetes.client.Watch;
 import io.fabric8.kubernetes.client.Watcher;
 
+import org.springframework.cloud.kubernetes.commons.config.ConsumedSources;
 import org.springframework.cloud.kubernetes.commons.config.reload.ConfigReloadProperties;
 import org.springframework.cloud.kubernetes.commons.config.reload.ConfigurationChangeDetector;
 import org.springframework.cloud.kubernetes.commons.config.reload.ConfigurationUpdateStrategy;
 import org.springframework.cloud.kubernetes.fabric8.config.Fabric8ConfigMapPropertySource;
 import org.springframework.cloud.kubernetes.fabric8.config.Fabric8ConfigMapPropertySourceLocator;
+import org.springframework.cloud.kubernetes.fabric8.config.Fabric8WatchCache;
 import org.springframework.core.env.AbstractEnvironment;
 
 /**
@@ -49,6 +55,10 @@ public class EventBasedConfigMapChangeDetector extends ConfigurationChangeDetect
 
 	private final Map<String, Watch> watches;
 
+	private volatile ConsumedSources consumedSources;
+
+	private volatile Fabric8WatchCache<ConfigMap> watchCache;
+
 	private KubernetesClient kubernetesClient;
 
 	public EventBasedConfigMapChangeDetector(AbstractEnvironment environment, ConfigReloadProperties properties,
@@ -74,19 +84,61 @@ public class EventBasedConfigMapChangeDetector extends ConfigurationChangeDetect
 		if (this.properties.isMonitoringConfigMaps()) {
 			try {
 				String name = "config-maps-watch-event";
-				this.watches.put(name, this.kubernetesClient.configMaps().watch(new Watcher<ConfigMap>() {
+				Watcher<ConfigMap> watcher = new Watcher<ConfigMap>() {
 					@Override
 					public void eventReceived(Action action, ConfigMap configMap) {
 						if (log.isDebugEnabled()) {
 							log.debug(name + " received event for ConfigMap " + configMap.getMetadata().getName());
 						}
-						onEvent(configMap);
+						EventBasedConfigMapChangeDetector.this.eventReceived(CONFIG_MAP);
+						if (!isConsumed(configMap)) {
+							eventFiltered(CONFIG_MAP);
+							log.debug("Ignoring event for ConfigMap " + configMap.getMetadata().getName()
+									+ ", it is not read by the property sources");
+							return;
+						}
+						if (watchCache != null) {
+							watchCache.update(action, configMap);
+						}
+						if (action != Action.DELETED && isAlreadyRead(configMap)) {
+							eventFiltered(CONFIG_MAP);
+							log.debug("Ignoring event for ConfigMap " + configMap.getMetadata().getName()
+									+ ", the property sources were read from that version");
+							return;
+						}
+						onEvent(action, configMap);
 					}
 
 					@Override
 					public void onClose(KubernetesClientException e) {
+						if (e != null && watchCache != null) {
+							// events may have been missed, read from the API again
+							watchCache.unregister(ConfigMap.class, kubernetesClient);
+							watchCache.clear();
+						}
+					}
+				};
+				if (this.properties.isUseWatchCache()) {
+					this.watchCache = new Fabric8WatchCache<>();
+					this.watchCache.register(ConfigMap.class, this.kubernetesClient);
+				}
+				ConsumedSources watched = watchedConfigMaps();
+				if (watched == null) {
+					this.watches.put(name, this.kubernetesClient.configMaps().watch(watcher));
+				}
+				else {
+					// a single watch per namespace, whatever the number of config maps read in it:
+					// the watcher ignores the events for the other ones
+					for (String namespace : watchedNamespaces(watched)) {
+						if (namespace == null) {
+							this.watches.put(name, this.kubernetesClient.configMaps().watch(watcher));
+						}
+						else {
+							this.watches.put(name + "-" + namespace,
+									this.kubernetesClient.configMaps().inNamespace(namespace).watch(watcher));
+						}
 					}
-				}));
+				}
 				activated = true;
 				this.log.info("Added new Kubernetes watch: " + name);
 			}
@@ -104,6 +156,9 @@ public class EventBasedConfigMapChangeDetector extends ConfigurationChangeDetect
 
 	@PreDestroy
 	public void unwatch() {
+		if (this.watchCache != null) {
+			this.watchCache.unregister(ConfigMap.class, this.kubernetesClient);
+		}
 		if (this.watches != null) {
 			for (Map.Entry<String, Watch> entry : this.watches.entrySet()) {
 				try {
@@ -118,15 +173,76 @@ public class EventBasedConfigMapChangeDetector extends ConfigurationChangeDetect
 		}
 	}
 
+	/**
+	 * Called for the events that are not ignored. Defaults to
+	 * {@link #onEvent(ConfigMap)}.
+	 * @param action action of the event
+	 * @param configMap config map of the event
+	 */
+	protected void onEvent(Watcher.Action action, ConfigMap configMap) {
+		onEvent(configMap);
+	}
+
 	protected void onEvent(ConfigMap configMap) {
 		this.log.debug(String.format("onEvent configMap: %s", configMap.toString()));
-		boolean changed = changed(
-				locateMapPropertySources(this.fabric8ConfigMapPropertySourceLocator, this.environment),
-				findPropertySources(Fabric8ConfigMapPropertySource.class));
+		List<Fabric8ConfigMapPropertySource> propertySources = findPropertySources(
+				Fabric8ConfigMapPropertySource.class);
+		boolean changed = detectChange(CONFIG_MAP, this.fabric8ConfigMapPropertySourceLocator, propertySources);
 		if (changed) {
 			this.log.info("Detected change in config maps");
 			reloadProperties();
 		}
+		else if (configMap.getMetadata() != null) {
+			resourceVersionChecked(propertySources, configMap.getMetadata().getNamespace(),
+					configMap.getMetadata().getName(), configMap.getMetadata().getResourceVersion());
+		}
+	}
+
+	/**
+	 * @return the config maps to watch, or {@code null} to watch all the config maps of the
+	 * namespace. Defaults to the ones the property sources are read from.
+	 */
+	protected ConsumedSources watchedConfigMaps() {
+		return consumedSources();
+	}
+
+	/**
+	 * Determines whether a config map is read by the property sources. Events for other
+	 * config maps are ignored.
+	 * @param configMap the config map an event was received for
+	 * @return {@code true} if the config map is read by the property sources
+	 */
+	protected boolean isConsumed(ConfigMap configMap) {
+		ConsumedSources consumedSources = consumedSources();
+		ObjectMeta metadata = configMap.getMetadata();
+		return consumedSources == null || metadata == null
+				|| consumedSources.isConsumed(metadata.getNamespace(), metadata.getName(), metadata.getLabels());
+	}
+
+	/**
+	 * @return the namespaces of the watched objects, the default namespace of the client
+	 * being resolved so that it is not watched twice. {@code null} stands for the default
+	 * namespace when the client does not know it.
+	 */
+	private Set<String> watchedNamespaces(ConsumedSources watched) {
+		Set<String> namespaces = new LinkedHashSet<>();
+		for (String namespace : watched.getNamespaces()) {
+			namespaces.add(namespace != null ? namespace : this.kubernetesClient.getNamespace());
+		}
+		return namespaces;
+	}
+
+	private ConsumedSources consumedSources() {
+		if (this.consumedSources == null) {
+			this.consumedSources = this.fabric8ConfigMapPropertySourceLocator.getConsumedSources(this.environment);
+		}
+		return this.consumedSources;
+	}
+
+	private boolean isAlreadyRead(ConfigMap configMap) {
+		ObjectMeta metadata = configMap.getMetadata();
+		return metadata != null && isCurrentResourceVersion(findPropertySources(Fabric8ConfigMapPropertySource.class),
+				metadata.getNamespace(), metadata.getName(), metadata.getResourceVersion());
 	}
 
 }
@@ -17,22 +17,28 @@
 package org.springframework.cloud.kubernetes.fabric8.config.reload;
 
 import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 import javax.annotation.PostConstruct;
 import javax.annotation.PreDestroy;
 
+import io.fabric8.kubernetes.api.model.ObjectMeta;
 import io.fabric8.kubernetes.api.model.Secret;
 import io.fabric8.kubernetes.client.KubernetesClient;
 import io.fabric8.kubernetes.client.KubernetesClientException;
 import io.fabric8.kubernetes.client.Watch;
 import io.fabric8.kubernetes.client.Watcher;
 
+import org.springframework.cloud.kubernetes.commons.config.ConsumedSources;
 import org.springframework.cloud.kubernetes.commons.config.reload.ConfigReloadProperties;
 import org.springframework.cloud.kubernetes.commons.config.reload.ConfigurationChangeDetector;
 import org.springframework.cloud.kubernetes.commons.config.reload.ConfigurationUpdateStrategy;
 import org.springframework.cloud.kubernetes.fabric8.config.Fabric8SecretsPropertySource;
 import org.springframework.cloud.kubernetes.fabric8.config.Fabric8SecretsPropertySourceLocator;
+import org.springframework.cloud.kubernetes.fabric8.config.Fabric8WatchCache;
 import org.springframework.core.env.AbstractEnvironment;
 
 /**
@@ -49,6 +55,10 @@ public class EventBasedSecretsChangeDetector extends ConfigurationChangeDetector
 
 	private Map<String, Watch> watches;
 
+	private volatile ConsumedSources consumedSources;
+
+	private volatile Fabric8WatchCache<Secret> watchCache;
+
 	private KubernetesClient kubernetesClient;
 
 	public EventBasedSecretsChangeDetector(AbstractEnvironment environment, ConfigReloadProperties properties,
@@ -75,19 +85,61 @@ public class EventBasedSecretsChangeDetector extends ConfigurationChangeDetector
 			try {
 				activated = false;
 				String name = "secrets-watch-event";
-				this.watches.put(name, this.kubernetesClient.secrets().watch(new Watcher<Secret>() {
+				Watcher<Secret> watcher = new Watcher<Secret>() {
 					@Override
 					public void eventReceived(Action action, Secret secret) {
 						if (log.isDebugEnabled()) {
 							log.debug(name + " received event for Secret " + secret.getMetadata().getName());
 						}
+						EventBasedSecretsChangeDetector.this.eventReceived(SECRET);
+						if (!isConsumed(secret)) {
+							eventFiltered(SECRET);
+							log.debug("Ignoring event for Secret " + secret.getMetadata().getName()
+									+ ", it is not read by the property sources");
+							return;
+						}
+						if (watchCache != null) {
+							watchCache.update(action, secret);
+						}
+						if (action != Action.DELETED && isAlreadyRead(secret)) {
+							eventFiltered(SECRET);
+							log.debug("Ignoring event for Secret " + secret.getMetadata().getName()
+									+ ", the property sources were read from that version");
+							return;
+						}
 						onEvent(secret);
 					}
 
 					@Override
 					public void onClose(KubernetesClientException e) {
+						if (e != null && watchCache != null) {
+							// events may have been missed, read from the API again
+							watchCache.unregister(Secret.class, kubernetesClient);
+							watchCache.clear();
+						}
 					}
-				}));
+				};
+				if (this.properties.isUseWatchCache()) {
+					this.watchCache = new Fabric8WatchCache<>();
+					this.watchCache.register(Secret.class, this.kubernetesClient);
+				}
+				ConsumedSources watched = watchedSecrets();
+				if (watched == null) {
+					this.watches.put(name, this.kubernetesClient.secrets().watch(watcher));
+				}
+				else {
+					// a single watch per namespace, whatever the number of secrets read in it:
+					// the watcher ignores the events for the other ones
+					for (String namespace : watchedNamespaces(watched)) {
+						if (namespace == null) {
+							this.watches.put(name, this.kubernetesClient.secrets().watch(watcher));
+						}
+						else {
+							this.watches.put(name + "-" + namespace,
+									this.kubernetesClient.secrets().inNamespace(namespace).watch(watcher));
+						}
+					}
+				}
 				activated = true;
 				this.log.info("Added new Kubernetes watch: " + name);
 			}
@@ -104,6 +156,9 @@ public class EventBasedSecretsChangeDetector extends ConfigurationChangeDetector
 
 	@PreDestroy
 	public void unwatch() {
+		if (this.watchCache != null) {
+			this.watchCache.unregister(Secret.class, this.kubernetesClient);
+		}
 		if (this.watches != null) {
 			for (Map.Entry<String, Watch> entry : this.watches.entrySet()) {
 				try {
@@ -119,13 +174,64 @@ public class EventBasedSecretsChangeDetector extends ConfigurationChangeDetector
 	}
 
 	protected void onEvent(Secret secret) {
-		this.log.debug(String.format("onEvent configMap: %s", secret.toString()));
-		boolean changed = changed(locateMapPropertySources(this.fabric8SecretsPropertySourceLocator, this.environment),
-				findPropertySources(Fabric8SecretsPropertySource.class));
+		this.log.debug(String.format("onEvent secret: %s", secret.toString()));
+		List<Fabric8SecretsPropertySource> propertySources = findPropertySources(Fabric8SecretsPropertySource.class);
+		boolean changed = detectChange(SECRET, this.fabric8SecretsPropertySourceLocator, propertySources);
 		if (changed) {
 			this.log.info("Detected change in secrets");
 			reloadProperties();
 		}
+		else if (secret.getMetadata() != null) {
+			resourceVersionChecked(propertySources, secret.getMetadata().getNamespace(),
+					secret.getMetadata().getName(), secret.getMetadata().getResourceVersion());
+		}
+	}
+
+	/**
+	 * @return the secrets to watch, or {@code null} to watch all the secrets of the
+	 * namespace. Defaults to the ones the property sources are read from.
+	 */
+	protected ConsumedSources watchedSecrets() {
+		return consumedSources();
+	}
+
+	/**
+	 * Determines whether a secret is read by the property sources. Events for other
+	 * secrets are ignored.
+	 * @param secret the secret an event was received for
+	 * @return {@code true} if the secret is read by the property sources
+	 */
+	protected boolean isConsumed(Secret secret) {
+		ConsumedSources consumedSources = consumedSources();
+		ObjectMeta metadata = secret.getMetadata();
+		return consumedSources == null || metadata == null
+				|| consumedSources.isConsumed(metadata.getNamespace(), metadata.getName(), metadata.getLabels());
+	}
+
+	/**
+	 * @return the namespaces of the watched objects, the default namespace of the client
+	 * being resolved so that it is not watched twice. {@code null} stands for the default
+	 * namespace when the client does not know it.
+	 */
+	private Set<String> watchedNamespaces(ConsumedSources watched) {
+		Set<String> namespaces = new LinkedHashSet<>();
+		for (String namespace : watched.getNamespaces()) {
+			namespaces.add(namespace != null ? namespace : this.kubernetesClient.getNamespace());
+		}
+		return namespaces;
+	}
+
+	private ConsumedSources consumedSources() {
+		if (this.consumedSources == null) {
+			this.consumedSources = this.fabric8SecretsPropertySourceLocator.getConsumedSources(this.environment);
+		}
+		return this.consumedSources;
+	}
+
+	private boolean isAlreadyRead(Secret secret) {
+		ObjectMeta metadata = secret.getMetadata();
+		return metadata != null && isCurrentResourceVersion(findPropertySources(Fabric8SecretsPropertySource.class),
+				metadata.getNamespace(), metadata.getName(), metadata.getResourceVersion());
 	}
 
 }
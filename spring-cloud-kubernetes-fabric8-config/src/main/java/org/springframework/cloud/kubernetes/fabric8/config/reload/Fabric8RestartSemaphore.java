@@ -0,0 +1,97 @@
+/*
+ * Copyright 2013-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.kubernetes.fabric8.config.reload;
+
+import java.util.Map;
+
+import io.fabric8.kubernetes.api.model.ConfigMap;
+import io.fabric8.kubernetes.api.model.ConfigMapBuilder;
+import io.fabric8.kubernetes.api.model.Pod;
+import io.fabric8.kubernetes.client.KubernetesClient;
+import io.fabric8.kubernetes.client.KubernetesClientException;
+
+import org.springframework.cloud.kubernetes.commons.config.reload.ConfigReloadProperties;
+import org.springframework.cloud.kubernetes.commons.config.reload.RestartSemaphore;
+import org.springframework.scheduling.TaskScheduler;
+
+/**
+ * A {@link RestartSemaphore} that uses the Fabric8 Kubernetes client.
+ */
+public class Fabric8RestartSemaphore extends RestartSemaphore {
+
+	private static final int CONFLICT = 409;
+
+	private final KubernetesClient client;
+
+	private final String namespace;
+
+	private final String name;
+
+	public Fabric8RestartSemaphore(String holder, String name, ConfigReloadProperties properties,
+			TaskScheduler taskScheduler, KubernetesClient client) {
+		super(holder, properties, taskScheduler);
+		this.client = client;
+		this.namespace = client.getNamespace();
+		this.name = name;
+	}
+
+	@Override
+	protected Permits read() {
+		ConfigMap configMap = this.client.configMaps().inNamespace(this.namespace).withName(this.name).get();
+		if (configMap == null) {
+			return null;
+		}
+		return new Permits(configMap.getData(), configMap.getMetadata().getResourceVersion());
+	}
+
+	@Override
+	protected boolean write(Map<String, String> holders, String resourceVersion) {
+		ConfigMap configMap = new ConfigMapBuilder().withNewMetadata().withName(this.name)
+				.withNamespace(this.namespace).endMetadata().withData(holders).build();
+		try {
+			if (resourceVersion == null) {
+				this.client.configMaps().inNamespace(this.namespace).create(configMap);
+			}
+			else {
+				this.client.configMaps().inNamespace(this.namespace).withName(this.name)
+						.lockResourceVersion(resourceVersion).replace(configMap);
+			}
+			return true;
+		}
+		catch (KubernetesClientException e) {
+			if (e.getCode() == CONFLICT) {
+				this.log.debug("The restart permits were changed by another replica");
+				return false;
+			}
+			throw e;
+		}
+	}
+
+	@Override
+	protected boolean isReady() {
+		Pod pod = this.client.pods().inNamespace(this.namespace).withName(getHolder()).get();
+		if (pod == null) {
+			return true;
+		}
+		if (pod.getStatus() == null || pod.getStatus().getConditions() == null) {
+			return false;
+		}
+		return pod.getStatus().getConditions().stream()
+				.anyMatch(condition -> "Ready".equals(condition.getType()) && "True".equals(condition.getStatus()));
+	}
+
+}
@@ -16,16 +16,26 @@
 
 package org.springframework.cloud.kubernetes.fabric8.config;
 
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
 
 import io.fabric8.kubernetes.api.model.ConfigMap;
 import io.fabric8.kubernetes.api.model.ConfigMapBuilder;
 import io.fabric8.kubernetes.api.model.ConfigMapList;
 import io.fabric8.kubernetes.client.KubernetesClient;
 import io.fabric8.kubernetes.client.server.mock.EnableKubernetesMockClient;
+import io.fabric8.kubernetes.client.server.mock.KubernetesMockServer;
 import org.junit.jupiter.api.Test;
 
+import org.springframework.cloud.kubernetes.commons.config.ConfigMapConfigProperties;
+import org.springframework.cloud.kubernetes.commons.config.ResourceVersionedPropertySource;
+import org.springframework.mock.env.MockEnvironment;
+
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.entry;
 
 /**
  * @author Charles Moulliard
@@ -35,6 +45,8 @@ public class ConfigMapsTest {
 
 	private static KubernetesClient mockClient;
 
+	private static KubernetesMockServer mockServer;
+
 	@Test
 	public void testConfigMapList() {
 		mockClient.configMaps().inNamespace("ns1").createNew();
@@ -154,4 +166,92 @@ public class ConfigMapsTest {
 		assertThat(cmps.getProperty("dummy.property.bool2")).isNull();
 	}
 
+	@Test
+	public void testConfigMapResourceVersions() {
+		String configMapName = "resource-versions-test";
+		ConfigMap configMap = new ConfigMapBuilder().withNewMetadata().withName(configMapName).endMetadata()
+				.addToData("KEY", "123").build();
+
+		mockClient.configMaps().inNamespace("test").create(configMap);
+
+		MockEnvironment environment = new MockEnvironment();
+		environment.setActiveProfiles("dev");
+		Fabric8ConfigMapPropertySource cmps = new Fabric8ConfigMapPropertySource(mockClient, configMapName, "test",
+				environment);
+
+		Map<String, String> resourceVersions = cmps.getResourceVersions();
+		assertThat(resourceVersions).containsOnlyKeys("test/" + configMapName, "test/" + configMapName + "-dev");
+		assertThat(resourceVersions.get("test/" + configMapName + "-dev"))
+				.isEqualTo(ResourceVersionedPropertySource.ABSENT);
+
+		Fabric8ConfigMapPropertySourceLocator locator = new Fabric8ConfigMapPropertySourceLocator(mockClient,
+				new ConfigMapConfigProperties());
+		assertThat(locator.readResourceVersions(resourceVersions.keySet())).isEqualTo(resourceVersions);
+	}
+
+	@Test
+	public void testConfigMapsSelectedByLabels() {
+		createConfigMap("labels", "web-b", Collections.singletonMap("tier", "web"), "key", "b");
+		createConfigMap("labels", "web-a", Collections.singletonMap("tier", "web"), "key", "a");
+		createConfigMap("labels", "payments", Collections.singletonMap("team", "payments"), "team-key", "payments");
+		createConfigMap("labels", "unrelated", Collections.singletonMap("tier", "db"), "key", "db");
+
+		List<Fabric8ConfigMapPropertySource> propertySources = Fabric8ConfigMapPropertySource.selectedByLabels(
+				mockClient, Arrays.asList(Collections.singletonMap("tier", "web"),
+						Collections.singletonMap("team", "payments")),
+				"labels", new MockEnvironment());
+
+		assertThat(propertySources).hasSize(2);
+		// config maps are merged in name order, whatever the order they were listed in
+		assertThat(propertySources.get(0).getName()).isEqualTo("configmap.tier=web.labels");
+		assertThat(propertySources.get(0).getProperty("key")).isEqualTo("b");
+		assertThat(propertySources.get(0).getProperty("team-key")).isNull();
+		assertThat(propertySources.get(0).getResourceVersions()).isNull();
+		assertThat(propertySources.get(1).getName()).isEqualTo("configmap.team=payments.labels");
+		assertThat(propertySources.get(1).getSource()).containsOnlyKeys("team-key");
+	}
+
+	@Test
+	public void testConfigMapsSelectedBySingleLabelSelector() {
+		createConfigMap("single-label", "web", Collections.singletonMap("tier", "web"), "key", "web");
+		createConfigMap("single-label", "db", Collections.singletonMap("tier", "db"), "key", "db");
+
+		List<Fabric8ConfigMapPropertySource> propertySources = Fabric8ConfigMapPropertySource.selectedByLabels(
+				mockClient, Collections.singletonList(Collections.singletonMap("tier", "web")), "single-label",
+				new MockEnvironment());
+
+		assertThat(propertySources).hasSize(1);
+		assertThat(propertySources.get(0).getProperty("key")).isEqualTo("web");
+	}
+
+	@Test
+	public void testConfigMapsSelectedByLabelsWithoutCommonLabelsAreListedBySelector() throws Exception {
+		createConfigMap("no-common-labels", "web", Collections.singletonMap("tier", "web"), "key", "web");
+		createConfigMap("no-common-labels", "payments", Collections.singletonMap("team", "payments"), "team-key",
+				"payments");
+		createConfigMap("no-common-labels", "unrelated", Collections.singletonMap("tier", "db"), "key", "db");
+		// drains the requests made so far
+		mockServer.getLastRequest();
+		int before = mockServer.getRequestCount();
+
+		List<Fabric8ConfigMapPropertySource> propertySources = Fabric8ConfigMapPropertySource.selectedByLabels(
+				mockClient, Arrays.asList(Collections.singletonMap("tier", "web"),
+						Collections.singletonMap("team", "payments")),
+				"no-common-labels", new MockEnvironment());
+
+		assertThat(propertySources.get(0).getSource()).containsOnly(entry("key", "web"));
+		assertThat(propertySources.get(1).getSource()).containsOnly(entry("team-key", "payments"));
+		// one list request per selector, the whole namespace is never listed
+		assertThat(mockServer.getRequestCount() - before).isEqualTo(2);
+		for (int i = 0; i < 2; i++) {
+			assertThat(mockServer.takeRequest(1, TimeUnit.SECONDS).getPath()).contains("labelSelector=");
+		}
+	}
+
+	private static void createConfigMap(String namespace, String name, Map<String, String> labels, String key,
+			String value) {
+		mockClient.configMaps().inNamespace(namespace).create(new ConfigMapBuilder().withNewMetadata().withName(name)
+				.withLabels(labels).endMetadata().addToData(key, value).build());
+	}
+
 }
@@ -0,0 +1,141 @@
+/*
+ * Copyright 2013-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.kubernetes.fabric8.config;
+
+import java.net.URL;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import io.fabric8.kubernetes.api.model.ConfigMap;
+import io.fabric8.kubernetes.api.model.ConfigMapBuilder;
+import io.fabric8.kubernetes.api.model.Secret;
+import io.fabric8.kubernetes.client.KubernetesClient;
+import io.fabric8.kubernetes.client.Watcher;
+import org.junit.jupiter.api.Test;
+
+import org.springframework.mock.env.MockEnvironment;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+class Fabric8WatchCacheTest {
+
+	private final Fabric8WatchCache<ConfigMap> cache = new Fabric8WatchCache<>();
+
+	@Test
+	void readsObjectsOnce() {
+		AtomicInteger reads = new AtomicInteger();
+		ConfigMap configMap = configMap("app", "1", "value");
+
+		assertThat(cache.get("ns", "app", () -> {
+			reads.incrementAndGet();
+			return configMap;
+		})).isSameAs(configMap);
+		assertThat(cache.get("ns", "app", () -> {
+			reads.incrementAndGet();
+			return null;
+		})).isSameAs(configMap);
+		assertThat(reads).hasValue(1);
+	}
+
+	@Test
+	void remembersAbsentObjects() {
+		AtomicInteger reads = new AtomicInteger();
+		for (int i = 0; i < 2; i++) {
+			assertThat(cache.get("ns", "app-dev", () -> {
+				reads.incrementAndGet();
+				return null;
+			})).isNull();
+		}
+		assertThat(reads).hasValue(1);
+	}
+
+	@Test
+	void keepsTheObjectsOfWatchEvents() {
+		cache.get("ns", "app", () -> configMap("app", "1", "old"));
+
+		ConfigMap modified = configMap("app", "2", "new");
+		cache.update(Watcher.Action.MODIFIED, modified);
+		assertThat(cache.get("ns", "app", () -> null)).isSameAs(modified);
+
+		cache.update(Watcher.Action.DELETED, modified);
+		assertThat(cache.get("ns", "app", () -> modified)).isNull();
+	}
+
+	@Test
+	void prefersEventsReceivedWhileReading() {
+		ConfigMap delivered = configMap("app", "2", "new");
+		ConfigMap read = cache.get("ns", "app", () -> {
+			cache.update(Watcher.Action.MODIFIED, delivered);
+			return configMap("app", "1", "old");
+		});
+		assertThat(read).isSameAs(delivered);
+	}
+
+	@Test
+	void readsAgainOnceCleared() {
+		cache.get("ns", "app", () -> configMap("app", "1", "old"));
+		cache.clear();
+		assertThat(cache.size()).isZero();
+		assertThat(cache.get("ns", "app", () -> null)).isNull();
+	}
+
+	@Test
+	void propertySourcesReadFromTheCache() {
+		cache.update(Watcher.Action.ADDED, configMap("app", "1", "cached"));
+		cache.update(Watcher.Action.DELETED, configMap("app-dev", "2", "deleted"));
+		KubernetesClient client = mock(KubernetesClient.class);
+		MockEnvironment environment = new MockEnvironment();
+		environment.setActiveProfiles("dev");
+
+		Fabric8ConfigMapPropertySource propertySource = new Fabric8ConfigMapPropertySource(client, "app", "ns",
+				environment, cache);
+
+		assertThat(propertySource.getProperty("key")).isEqualTo("cached");
+		assertThat(propertySource.getResourceVersions()).containsEntry("ns/app", "1").containsKey("ns/app-dev");
+		verifyNoInteractions(client);
+	}
+
+	@Test
+	void isSharedWithTheClientsOfTheSameApiServer() throws Exception {
+		KubernetesClient detectorClient = mock(KubernetesClient.class);
+		when(detectorClient.getMasterUrl()).thenReturn(new URL("https://kubernetes:443/"));
+		// the bootstrap context created by a refresh has its own client
+		KubernetesClient bootstrapClient = mock(KubernetesClient.class);
+		when(bootstrapClient.getMasterUrl()).thenReturn(new URL("https://kubernetes:443/"));
+		KubernetesClient otherClient = mock(KubernetesClient.class);
+		when(otherClient.getMasterUrl()).thenReturn(new URL("https://other:443/"));
+
+		cache.register(ConfigMap.class, detectorClient);
+		try {
+			assertThat(Fabric8WatchCache.registered(ConfigMap.class, bootstrapClient)).isSameAs(cache);
+			assertThat(Fabric8WatchCache.registered(Secret.class, bootstrapClient)).isNull();
+			assertThat(Fabric8WatchCache.registered(ConfigMap.class, otherClient)).isNull();
+		}
+		finally {
+			cache.unregister(ConfigMap.class, detectorClient);
+		}
+		assertThat(Fabric8WatchCache.registered(ConfigMap.class, bootstrapClient)).isNull();
+	}
+
+	private static ConfigMap configMap(String name, String resourceVersion, String value) {
+		return new ConfigMapBuilder().withNewMetadata().withNamespace("ns").withName(name)
+				.withResourceVersion(resourceVersion).endMetadata().addToData("key", value).build();
+	}
+
+}
@@ -16,20 +16,29 @@
 
 package org.springframework.cloud.kubernetes.fabric8.config.reload;
 
+import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 import org.junit.jupiter.api.Test;
 
+import org.springframework.cloud.bootstrap.config.PropertySourceLocator;
+import org.springframework.cloud.kubernetes.commons.config.ResourceVersionReader;
+import org.springframework.cloud.kubernetes.commons.config.SecretsPropertySource;
 import org.springframework.cloud.kubernetes.commons.config.reload.ConfigReloadProperties;
 import org.springframework.cloud.kubernetes.commons.config.reload.ConfigurationChangeDetector;
 import org.springframework.cloud.kubernetes.commons.config.reload.ConfigurationUpdateStrategy;
 import org.springframework.core.env.ConfigurableEnvironment;
+import org.springframework.core.env.Environment;
 import org.springframework.core.env.MapPropertySource;
+import org.springframework.core.env.PropertySource;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
 
 /**
  * @author wind57
@@ -119,6 +128,71 @@ public class ConfigurationChangeDetectorTest {
 		assertThat(changed).isTrue();
 	}
 
+	@Test
+	public void testResourceVersionsUnchanged() {
+		List<MapPropertySource> sources = Collections.singletonList(versioned("ns/a", "1"));
+		assertThat(stub.resourceVersionsUnchanged(sources, new StubLocator(Collections.singletonMap("ns/a", "1"))))
+				.isTrue();
+	}
+
+	@Test
+	public void testResourceVersionsMoved() {
+		List<MapPropertySource> sources = Collections.singletonList(versioned("ns/a", "1"));
+		StubLocator locator = new StubLocator(Collections.singletonMap("ns/a", "2"));
+		assertThat(stub.resourceVersionsUnchanged(sources, locator)).isFalse();
+
+		// the property sources read for version 2 turned out to be the same
+		stub.resourceVersionsChecked();
+		assertThat(stub.resourceVersionsUnchanged(sources, locator)).isTrue();
+	}
+
+	@Test
+	public void testResourceVersionsUnknown() {
+		List<MapPropertySource> sources = Collections
+				.singletonList(new MapPropertySource("a", Collections.emptyMap()));
+		assertThat(stub.resourceVersionsUnchanged(sources, new StubLocator(Collections.emptyMap()))).isFalse();
+		assertThat(stub.resourceVersionsUnchanged(Collections.singletonList(versioned("ns/a", "1")),
+				mock(PropertySourceLocator.class))).isFalse();
+	}
+
+	@Test
+	public void testIsCurrentResourceVersion() {
+		List<MapPropertySource> sources = Collections.singletonList(versioned("ns/a", "1"));
+		assertThat(stub.isCurrentResourceVersion(sources, "ns", "a", "1")).isTrue();
+		assertThat(stub.isCurrentResourceVersion(sources, "ns", "a", "2")).isFalse();
+		assertThat(stub.isCurrentResourceVersion(sources, "ns", "b", "1")).isFalse();
+
+		stub.resourceVersionChecked(sources, "ns", "a", "2");
+		assertThat(stub.isCurrentResourceVersion(sources, "ns", "a", "2")).isTrue();
+	}
+
+	private static MapPropertySource versioned(String key, String resourceVersion) {
+		return new SecretsPropertySource("versioned", Collections.emptyMap(),
+				Collections.singletonMap(key, resourceVersion)) {
+		};
+	}
+
+	private static final class StubLocator implements PropertySourceLocator, ResourceVersionReader {
+
+		private final Map<String, String> resourceVersions;
+
+		private StubLocator(Map<String, String> resourceVersions) {
+			this.resourceVersions = resourceVersions;
+		}
+
+		@Override
+		public PropertySource<?> locate(Environment environment) {
+			return null;
+		}
+
+		@Override
+		public Map<String, String> readResourceVersions(Collection<String> keys) {
+			return keys.stream().filter(resourceVersions::containsKey)
+					.collect(Collectors.toMap(Function.identity(), resourceVersions::get));
+		}
+
+	}
+
 	/**
 	 * only needed to test some protected methods it defines
 	 */
@@ -129,6 +203,29 @@ public class ConfigurationChangeDetectorTest {
 			super(environment, properties, strategy);
 		}
 
+		@Override
+		public boolean resourceVersionsUnchanged(List<? extends PropertySource<?>> propertySources,
+				PropertySourceLocator propertySourceLocator) {
+			return super.resourceVersionsUnchanged(propertySources, propertySourceLocator);
+		}
+
+		@Override
+		public void resourceVersionsChecked() {
+			super.resourceVersionsChecked();
+		}
+
+		@Override
+		public boolean isCurrentResourceVersion(List<? extends PropertySource<?>> propertySources, String namespace,
+				String name, String resourceVersion) {
+			return super.isCurrentResourceVersion(propertySources, namespace, name, resourceVersion);
+		}
+
+		@Override
+		public void resourceVersionChecked(List<? extends PropertySource<?>> propertySources, String namespace,
+				String name, String resourceVersion) {
+			super.resourceVersionChecked(propertySources, namespace, name, resourceVersion);
+		}
+
 	}
 
 }
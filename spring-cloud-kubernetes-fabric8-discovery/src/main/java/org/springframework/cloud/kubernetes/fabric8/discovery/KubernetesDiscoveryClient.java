@@ -165,27 +165,15 @@ public class KubernetesDiscoveryClient implements DiscoveryClient {
 					endpointMetadata.put(NAMESPACE_METADATA_KEY, namespace);
 				}
 
-				List<EndpointAddress> addresses = s.getAddresses();
+				if (!CollectionUtils.isEmpty(s.getAddresses())) {
+					instances.addAll(getInstances(s.getAddresses(), s, service, serviceId, primaryPortName,
+							endpointMetadata, true));
+				}
 
 				if (this.properties.isIncludeNotReadyAddresses()
 						&& !CollectionUtils.isEmpty(s.getNotReadyAddresses())) {
-					if (addresses == null) {
-						addresses = new ArrayList<>();
-					}
-					addresses.addAll(s.getNotReadyAddresses());
-				}
-
-				for (EndpointAddress endpointAddress : addresses) {
-					int endpointPort = findEndpointPort(s, serviceId, primaryPortName);
-					String instanceId = null;
-					if (endpointAddress.getTargetRef() != null) {
-						instanceId = endpointAddress.getTargetRef().getUid();
-					}
-					instances.add(new KubernetesServiceInstance(instanceId, serviceId, endpointAddress.getIp(),
-							endpointPort, endpointMetadata,
-							this.servicePortSecureResolver.resolve(new ServicePortSecureResolver.Input(endpointPort,
-									service.getMetadata().getName(), service.getMetadata().getLabels(),
-									service.getMetadata().getAnnotations()))));
+					instances.addAll(getInstances(s.getNotReadyAddresses(), s, service, serviceId, primaryPortName,
+							endpointMetadata, false));
 				}
 			}
 		}
@@ -193,6 +181,25 @@ public class KubernetesDiscoveryClient implements DiscoveryClient {
 		return instances;
 	}
 
+	private List<ServiceInstance> getInstances(List<EndpointAddress> addresses, EndpointSubset s, Service service,
+			String serviceId, String primaryPortName, Map<String, String> metadata, boolean ready) {
+		List<ServiceInstance> instances = new ArrayList<>(addresses.size());
+		for (EndpointAddress endpointAddress : addresses) {
+			int endpointPort = findEndpointPort(s, serviceId, primaryPortName);
+			String instanceId = null;
+			if (endpointAddress.getTargetRef() != null) {
+				instanceId = endpointAddress.getTargetRef().getUid();
+			}
+			instances.add(new KubernetesServiceInstance(instanceId, serviceId, endpointAddress.getIp(), endpointPort,
+					metadata,
+					this.servicePortSecureResolver.resolve(new ServicePortSecureResolver.Input(endpointPort,
+							service.getMetadata().getName(), service.getMetadata().getLabels(),
+							service.getMetadata().getAnnotations())),
+					KubernetesServiceInstance.getWeight(service.getMetadata().getAnnotations()), ready));
+		}
+		return instances;
+	}
+
 	private Map<String, String> getServiceMetadata(Service service) {
 		final Map<String, String> serviceMetadata = new HashMap<>();
 		KubernetesDiscoveryProperties.Metadata metadataProps = this.properties.getMetadata();
@@ -20,8 +20,13 @@ import io.fabric8.kubernetes.client.KubernetesClient;
 
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.cloud.kubernetes.commons.discovery.KubernetesDiscoveryProperties;
+import org.springframework.cloud.kubernetes.commons.loadbalancer.KubernetesLoadBalancerMetricsConfiguration;
+import org.springframework.cloud.kubernetes.commons.loadbalancer.KubernetesOutlierDetectionConfiguration;
+import org.springframework.cloud.kubernetes.commons.loadbalancer.KubernetesReadinessConfiguration;
 import org.springframework.cloud.kubernetes.commons.loadbalancer.KubernetesServicesListSupplier;
+import org.springframework.cloud.kubernetes.commons.loadbalancer.KubernetesWeightedLoadBalancerConfiguration;
 import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
 import org.springframework.core.env.Environment;
 
 /**
@@ -29,6 +34,8 @@ import org.springframework.core.env.Environment;
  *
  * @author Piotr Minkowski
  */
+@Import({ KubernetesOutlierDetectionConfiguration.class, KubernetesWeightedLoadBalancerConfiguration.class,
+		KubernetesLoadBalancerMetricsConfiguration.class, KubernetesReadinessConfiguration.class })
 public class Fabric8LoadBalancerClientConfiguration {
 
 	@Bean
@@ -21,6 +21,7 @@ import java.util.List;
 
 import io.fabric8.kubernetes.api.model.Service;
 import io.fabric8.kubernetes.client.KubernetesClient;
+import io.fabric8.kubernetes.client.KubernetesClientException;
 import reactor.core.publisher.Flux;
 
 import org.springframework.cloud.client.ServiceInstance;
@@ -48,7 +49,18 @@ public class Fabric8ServicesListSupplier extends KubernetesServicesListSupplier
 
 	@Override
 	public Flux<List<ServiceInstance>> get() {
+		try {
+			return fetch();
+		}
+		catch (KubernetesClientException e) {
+			onApiError(e);
+			throw e;
+		}
+	}
+
+	private Flux<List<ServiceInstance>> fetch() {
 		List<ServiceInstance> result = new ArrayList<>();
+		onApiRequest();
 		if (discoveryProperties.isAllNamespaces()) {
 			List<Service> services = this.kubernetesClient.services().inAnyNamespace()
 					.withField("metadata.name", this.getServiceId()).list().getItems();
@@ -63,6 +75,7 @@ public class Fabric8ServicesListSupplier extends KubernetesServicesListSupplier
 				result.add(mapper.map(service));
 			}
 		}
+		onApiResponse();
 		return Flux.defer(() -> Flux.just(result));
 	}
 
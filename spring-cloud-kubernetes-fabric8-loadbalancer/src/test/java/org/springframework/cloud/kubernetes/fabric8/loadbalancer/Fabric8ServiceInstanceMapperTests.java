@@ -109,6 +109,38 @@ class Fabric8ServiceInstanceMapperTests {
 		Assertions.assertEquals(2, instance.getMetadata().keySet().size());
 	}
 
+	@Test
+	void testMapperReusesInstanceUntilResourceVersionChanges() {
+		Fabric8ServiceInstanceMapper mapper = new Fabric8ServiceInstanceMapper(new KubernetesLoadBalancerProperties(),
+				new KubernetesDiscoveryProperties());
+		Service service = buildService("test", "abc", 8080, null, new HashMap<>());
+		service.getMetadata().setResourceVersion("1");
+		KubernetesServiceInstance first = mapper.map(service);
+		Assertions.assertSame(first, mapper.map(service));
+
+		service.getMetadata().setResourceVersion("2");
+		service.getMetadata().getLabels().put("label1", "123");
+		KubernetesServiceInstance updated = mapper.map(service);
+		Assertions.assertNotSame(first, updated);
+		Assertions.assertEquals("123", updated.getMetadata().get("label1"));
+	}
+
+	@Test
+	void testMapperReplacesTheInstanceOfARecreatedService() {
+		Fabric8ServiceInstanceMapper mapper = new Fabric8ServiceInstanceMapper(new KubernetesLoadBalancerProperties(),
+				new KubernetesDiscoveryProperties());
+		Service service = buildService("test", "abc", 8080, null, new HashMap<>());
+		service.getMetadata().setResourceVersion("1");
+		KubernetesServiceInstance first = mapper.map(service);
+
+		Service recreated = buildService("test", "def", 8080, null, new HashMap<>());
+		recreated.getMetadata().setResourceVersion("1");
+		KubernetesServiceInstance second = mapper.map(recreated);
+		Assertions.assertNotSame(first, second);
+		Assertions.assertEquals("def", second.getInstanceId());
+		Assertions.assertThrows(UnsupportedOperationException.class, () -> second.getMetadata().put("a", "b"));
+	}
+
 	private Service buildService(String name, String uid, int port, String portName, Map<String, String> labels) {
 		ServicePort servicePort = new ServicePortBuilder().withPort(port).withName(portName).build();
 		return buildService(name, uid, Collections.singletonList(servicePort), labels);